@@ -120,9 +120,9 @@ public class ApprovalDirectoryPanel
         columns.add(new PropertyColumn<>(
                 new ResourceModel("taskId"), "taskId", "taskId"));
         columns.add(new PropertyColumn<>(
-                new ResourceModel("key"), "key", "key"));
+                new ResourceModel("key"), "key"));
         columns.add(new PropertyColumn<>(
-                new ResourceModel("username"), "username", "username"));
+                new ResourceModel("username"), "username"));
         columns.add(new DatePropertyColumn<>(
                 new ResourceModel("createTime"), "createTime", "createTime"));
         columns.add(new DatePropertyColumn<>(
@@ -269,14 +269,17 @@ public class ApprovalDirectoryPanel
 
         @Override
         public Iterator<WorkflowFormTO> iterator(final long first, final long count) {
-            final List<WorkflowFormTO> list = restClient.getForms();
+            int page = ((int) first / paginatorRows);
+            List<WorkflowFormTO> list = restClient.getForms(
+                    (page < 0 ? 0 : page) + 1, paginatorRows, getSort(), true);
+
             Collections.sort(list, comparator);
-            return list.subList((int) first, (int) first + (int) count).iterator();
+            return list.iterator();
         }
 
         @Override
         public long size() {
-            return restClient.getForms().size();
+            return restClient.countForms();
         }
 
         @Override
@@ -63,7 +63,7 @@ public class LogViewer extends WebPage {
         stContainer.setOutputMarkupId(true);
         viewer.add(stContainer);
 
-        final Model<Long> lastTimeInMillis = Model.of(0L);
+        final Model<Long> lastSequence = Model.of(0L);
         final IModel<List<LogStatementTO>> statementViewModel = new ListModel<>(new ArrayList<>());
         final ListView<LogStatementTO> statementView = new ListView<LogStatementTO>("statements", statementViewModel) {
 
@@ -90,9 +90,9 @@ public class LogViewer extends WebPage {
 
                 List<LogStatementTO> recentLogStatements = appenders.getModelObject() == null
                         ? new ArrayList<>()
-                        : restClient.getLastLogStatements(appenders.getModelObject(), lastTimeInMillis.getObject());
+                        : restClient.getLastLogStatements(appenders.getModelObject(), lastSequence.getObject());
                 if (!recentLogStatements.isEmpty()) {
-                    lastTimeInMillis.setObject(recentLogStatements.get(recentLogStatements.size() - 1).getTimeMillis());
+                    lastSequence.setObject(recentLogStatements.get(recentLogStatements.size() - 1).getSequence());
 
                     int currentSize = statementView.getModelObject().size();
                     int recentSize = recentLogStatements.size();
@@ -130,7 +130,9 @@ public class LogViewer extends WebPage {
                 statementViewModel.setObject(lastStatements);
                 target.add(stContainer);
 
-                lastTimeInMillis.setObject(0L);
+                lastSequence.setObject(lastStatements.isEmpty()
+                        ? 0L
+                        : lastStatements.get(lastStatements.size() - 1).getSequence());
             }
         });
     }
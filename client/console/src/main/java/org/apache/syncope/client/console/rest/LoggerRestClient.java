@@ -18,7 +18,6 @@
  */
 package org.apache.syncope.client.console.rest;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -46,15 +45,8 @@ public class LoggerRestClient extends BaseRestClient {
                 map(LogAppender::getName).collect(Collectors.toList());
     }
 
-    public List<LogStatementTO> getLastLogStatements(final String appender, final long lastStatementTime) {
-        List<LogStatementTO> result = new ArrayList<>();
-        getService(LoggerService.class).getLastLogStatements(appender).stream().
-                filter(statement -> statement.getTimeMillis() > lastStatementTime).
-                forEachOrdered(statement -> {
-                    result.add(statement);
-                });
-
-        return result;
+    public List<LogStatementTO> getLastLogStatements(final String appender, final long lastSequence) {
+        return getService(LoggerService.class).getLogStatements(appender, lastSequence);
     }
 
     public List<LoggerTO> listLogs() {
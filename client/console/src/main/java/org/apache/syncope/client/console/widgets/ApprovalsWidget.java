@@ -35,6 +35,7 @@ import org.apache.wicket.PageReference;
 import org.apache.wicket.ajax.AjaxRequestTarget;
 import org.apache.wicket.ajax.markup.html.AjaxLink;
 import org.apache.wicket.authroles.authorization.strategies.role.metadata.MetaDataRoleAuthorizationStrategy;
+import org.apache.wicket.extensions.markup.html.repeater.util.SortParam;
 import org.apache.wicket.markup.ComponentTag;
 import org.apache.wicket.markup.html.WebMarkupContainer;
 import org.apache.wicket.markup.html.WebPage;
@@ -76,10 +77,12 @@ public class ApprovalsWidget extends AlertWidget<WorkflowFormTO> {
         latestAlerts.getObject().clear();
         latestAlerts.getObject().addAll(lastApprovals);
 
-        linkAlertsNumber.setDefaultModelObject(latestAlerts.getObject().size());
+        int size = getLatestAlertsSize();
+
+        linkAlertsNumber.setDefaultModelObject(size);
         target.add(linkAlertsNumber);
 
-        headerAlertsNumber.setDefaultModelObject(latestAlerts.getObject().size());
+        headerAlertsNumber.setDefaultModelObject(size);
         target.add(headerAlertsNumber);
 
         latestFive.removeAll();
@@ -101,7 +104,7 @@ public class ApprovalsWidget extends AlertWidget<WorkflowFormTO> {
                 if (SyncopeConsoleSession.get().owns(StandardEntitlement.WORKFLOW_FORM_LIST)
                         && SyncopeConsoleSession.get().owns(StandardEntitlement.WORKFLOW_FORM_READ)) {
 
-                    updatedApprovals = restClient.getForms();
+                    updatedApprovals = restClient.getForms(1, 5, new SortParam<>("createTime", false), false);
                     Collections.sort(updatedApprovals, new WorkflowFormComparator());
                 } else {
                     updatedApprovals = Collections.<WorkflowFormTO>emptyList();
@@ -112,6 +115,14 @@ public class ApprovalsWidget extends AlertWidget<WorkflowFormTO> {
         };
     }
 
+    @Override
+    protected int getLatestAlertsSize() {
+        return SyncopeConsoleSession.get().owns(StandardEntitlement.WORKFLOW_FORM_LIST)
+                && SyncopeConsoleSession.get().owns(StandardEntitlement.WORKFLOW_FORM_READ)
+                ? restClient.countForms()
+                : 0;
+    }
+
     @Override
     protected Panel getAlertLink(final String panelid, final WorkflowFormTO event) {
         return new ApprovalsWidget.InnerPanel(panelid, event);
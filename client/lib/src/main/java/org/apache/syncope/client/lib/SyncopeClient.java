@@ -26,6 +26,10 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
@@ -38,6 +42,7 @@ import org.apache.cxf.jaxrs.client.WebClient;
 import org.apache.cxf.transport.common.gzip.GZIPInInterceptor;
 import org.apache.cxf.transport.common.gzip.GZIPOutInterceptor;
 import org.apache.cxf.transport.http.URLConnectionHTTPConduit;
+import org.apache.cxf.transports.http.configuration.HTTPClientPolicy;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.search.AnyObjectFiqlSearchConditionBuilder;
 import org.apache.syncope.common.lib.search.OrderByClauseBuilder;
@@ -65,6 +70,17 @@ public class SyncopeClient {
 
     private final boolean useCompression;
 
+    private final HTTPClientPolicy httpClientPolicy;
+
+    private final boolean cacheServices;
+
+    private final Supplier<ExecutorService> asyncExecutor;
+
+    /**
+     * Service proxies created by the current thread, replaced altogether whenever authentication changes.
+     */
+    private volatile ThreadLocal<Map<Class<?>, Object>> services = newServiceCache();
+
     public SyncopeClient(
             final MediaType mediaType,
             final JAXRSClientFactoryBean restClientFactory,
@@ -72,16 +88,36 @@ public class SyncopeClient {
             final AuthenticationHandler handler,
             final boolean useCompression) {
 
+        this(mediaType, restClientFactory, exceptionMapper, handler, useCompression, null, false, null);
+    }
+
+    public SyncopeClient(
+            final MediaType mediaType,
+            final JAXRSClientFactoryBean restClientFactory,
+            final RestClientExceptionMapper exceptionMapper,
+            final AuthenticationHandler handler,
+            final boolean useCompression,
+            final HTTPClientPolicy httpClientPolicy,
+            final boolean cacheServices,
+            final Supplier<ExecutorService> asyncExecutor) {
+
         this.mediaType = mediaType;
         this.restClientFactory = restClientFactory;
         if (this.restClientFactory.getHeaders() == null) {
             this.restClientFactory.setHeaders(new HashMap<>());
         }
         this.exceptionMapper = exceptionMapper;
+        this.httpClientPolicy = httpClientPolicy;
+        this.cacheServices = cacheServices;
+        this.asyncExecutor = asyncExecutor;
         init(handler);
         this.useCompression = useCompression;
     }
 
+    private static ThreadLocal<Map<Class<?>, Object>> newServiceCache() {
+        return ThreadLocal.withInitial(HashMap::new);
+    }
+
     /**
      * Initializes the provided {@code restClientFactory} with the authentication capabilities of the provided
      * {@code handler}.
@@ -107,21 +143,32 @@ public class SyncopeClient {
             restClientFactory.setPassword(((BasicAuthenticationHandler) handler).getPassword());
 
             String jwt = getService(AccessTokenService.class).login().getHeaderString(RESTHeaders.TOKEN);
-            restClientFactory.getHeaders().put(HttpHeaders.AUTHORIZATION, Collections.singletonList("Bearer " + jwt));
+            setAuthorization("Bearer " + jwt);
 
             restClientFactory.setUsername(null);
             restClientFactory.setPassword(null);
         } else if (handler instanceof JWTAuthenticationHandler) {
-            restClientFactory.getHeaders().put(
-                    HttpHeaders.AUTHORIZATION,
-                    Collections.singletonList("Bearer " + ((JWTAuthenticationHandler) handler).getJwt()));
+            setAuthorization("Bearer " + ((JWTAuthenticationHandler) handler).getJwt());
         }
+        services = newServiceCache();
     }
 
     protected void cleanup() {
-        restClientFactory.getHeaders().remove(HttpHeaders.AUTHORIZATION);
+        setAuthorization(null);
         restClientFactory.setUsername(null);
         restClientFactory.setPassword(null);
+        services = newServiceCache();
+    }
+
+    private void setAuthorization(final String authorization) {
+        synchronized (restClientFactory) {
+            if (authorization == null) {
+                restClientFactory.getHeaders().remove(HttpHeaders.AUTHORIZATION);
+            } else {
+                restClientFactory.getHeaders().put(
+                        HttpHeaders.AUTHORIZATION, Collections.singletonList(authorization));
+            }
+        }
     }
 
     /**
@@ -129,7 +176,8 @@ public class SyncopeClient {
      */
     public void refresh() {
         String jwt = getService(AccessTokenService.class).refresh().getHeaderString(RESTHeaders.TOKEN);
-        restClientFactory.getHeaders().put(HttpHeaders.AUTHORIZATION, Collections.singletonList("Bearer " + jwt));
+        setAuthorization("Bearer " + jwt);
+        services = newServiceCache();
     }
 
     /**
@@ -218,13 +266,53 @@ public class SyncopeClient {
     }
 
     /**
-     * Creates an instance of the given service class, with configured content type and authentication.
+     * Returns an instance of the given service class, with configured content type and authentication.
+     * When service caching is enabled, the instance is created once per thread and reset to the configured
+     * headers on each call; it must not be shared with other threads.
      *
      * @param <T> any service class
      * @param serviceClass service class reference
      * @return service instance of the given reference class
      */
     public <T> T getService(final Class<T> serviceClass) {
+        if (!cacheServices) {
+            return createService(serviceClass);
+        }
+
+        Map<Class<?>, Object> cache = services.get();
+        T serviceInstance = serviceClass.cast(cache.get(serviceClass));
+        if (serviceInstance == null) {
+            serviceInstance = createService(serviceClass);
+            cache.put(serviceClass, serviceInstance);
+        } else {
+            Client client = WebClient.client(serviceInstance).reset();
+            synchronized (restClientFactory) {
+                restClientFactory.getHeaders().forEach((key, values) -> client.header(key, values.toArray()));
+            }
+            client.type(mediaType).accept(mediaType);
+        }
+        return serviceInstance;
+    }
+
+    /**
+     * Invokes the given call on an instance of the given service class, asynchronously.
+     * For example, {@code client.async(UserService.class, service -> service.read(key))}.
+     *
+     * @param <T> any service class
+     * @param <R> call result
+     * @param serviceClass service class reference
+     * @param call call to perform on the service instance
+     * @return future completed with the call result, or exceptionally with what the call has thrown
+     */
+    public <T, R> CompletableFuture<R> async(final Class<T> serviceClass, final Function<T, R> call) {
+        ExecutorService executor = asyncExecutor == null ? null : asyncExecutor.get();
+        if (executor == null) {
+            throw new IllegalStateException("No executor configured for asynchronous calls");
+        }
+        return CompletableFuture.supplyAsync(() -> call.apply(getService(serviceClass)), executor);
+    }
+
+    private <T> T createService(final Class<T> serviceClass) {
         synchronized (restClientFactory) {
             restClientFactory.setServiceClass(serviceClass);
             T serviceInstance = restClientFactory.create(serviceClass);
@@ -239,6 +327,9 @@ public class SyncopeClient {
                 config.getInInterceptors().add(new GZIPInInterceptor());
                 config.getOutInterceptors().add(new GZIPOutInterceptor());
             }
+            if (httpClientPolicy != null) {
+                config.getHttpConduit().setClient(httpClientPolicy);
+            }
 
             return serviceInstance;
         }
@@ -247,7 +338,7 @@ public class SyncopeClient {
     @SuppressWarnings("unchecked")
     public Pair<Map<String, Set<String>>, UserTO> self() {
         // Explicitly disable header value split because it interferes with JSON deserialization below
-        UserSelfService service = getService(UserSelfService.class);
+        UserSelfService service = createService(UserSelfService.class);
         WebClient.getConfig(WebClient.client(service)).getRequestContext().put(HEADER_SPLIT_PROPERTY, false);
 
         Response response = service.read();
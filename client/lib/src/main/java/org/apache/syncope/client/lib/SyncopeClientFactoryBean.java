@@ -26,6 +26,11 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.ws.rs.core.MediaType;
 import javax.xml.bind.Marshaller;
 import org.apache.commons.lang3.StringUtils;
@@ -34,6 +39,8 @@ import org.apache.cxf.ext.logging.LoggingFeature;
 import org.apache.cxf.jaxrs.client.JAXRSClientFactoryBean;
 import org.apache.cxf.jaxrs.provider.JAXBElementProvider;
 import org.apache.cxf.staxutils.DocumentDepthProperties;
+import org.apache.cxf.transports.http.configuration.ConnectionType;
+import org.apache.cxf.transports.http.configuration.HTTPClientPolicy;
 import org.apache.syncope.common.lib.policy.AbstractPolicyTO;
 import org.apache.syncope.common.rest.api.DateParamConverterProvider;
 import org.apache.syncope.common.rest.api.RESTHeaders;
@@ -42,7 +49,7 @@ import org.apache.syncope.common.rest.api.RESTHeaders;
  * Factory bean for creating instances of {@link SyncopeClient}.
  * Supports Spring-bean configuration and override via subclassing (see protected methods).
  */
-public class SyncopeClientFactoryBean {
+public class SyncopeClientFactoryBean implements AutoCloseable {
 
     public enum ContentType {
 
@@ -66,6 +73,11 @@ public class SyncopeClientFactoryBean {
         }
     }
 
+    /**
+     * Default number of concurrent asynchronous calls.
+     */
+    private static final int DEFAULT_ASYNC_POOL_SIZE = 5;
+
     private JacksonJaxbJsonProvider jsonProvider;
 
     private JAXBElementProvider<?> jaxbProvider;
@@ -82,6 +94,18 @@ public class SyncopeClientFactoryBean {
 
     private JAXRSClientFactoryBean restClientFactoryBean;
 
+    private HTTPClientPolicy httpClientPolicy;
+
+    private int asyncPoolSize;
+
+    private boolean cacheServices;
+
+    private ExecutorService asyncExecutor;
+
+    private ExecutorService defaultAsyncExecutor;
+
+    private boolean closed;
+
     protected JacksonJaxbJsonProvider defaultJsonProvider() {
         ObjectMapper objectMapper = new ObjectMapper();
         objectMapper.registerModule(new JodaModule());
@@ -142,6 +166,26 @@ public class SyncopeClientFactoryBean {
         return defaultRestClientFactoryBean;
     }
 
+    protected HTTPClientPolicy defaultHttpClientPolicy() {
+        HTTPClientPolicy defaultHttpClientPolicy = new HTTPClientPolicy();
+        defaultHttpClientPolicy.setConnection(ConnectionType.KEEP_ALIVE);
+        return defaultHttpClientPolicy;
+    }
+
+    protected ExecutorService defaultAsyncExecutor() {
+        int poolSize = asyncPoolSize > 0 ? asyncPoolSize : DEFAULT_ASYNC_POOL_SIZE;
+        AtomicInteger threadNumber = new AtomicInteger();
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                poolSize, poolSize, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "SyncopeClient-async-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     public JacksonJaxbJsonProvider getJsonProvider() {
         return jsonProvider == null
                 ? defaultJsonProvider()
@@ -234,6 +278,91 @@ public class SyncopeClientFactoryBean {
         return this;
     }
 
+    public HTTPClientPolicy getHttpClientPolicy() {
+        return httpClientPolicy == null
+                ? defaultHttpClientPolicy()
+                : httpClientPolicy;
+    }
+
+    /**
+     * Sets the HTTP transport settings (keep-alive, timeouts, chunking, ...) for all service instances.
+     *
+     * @param httpClientPolicy HTTP transport settings
+     * @return the current instance
+     */
+    public SyncopeClientFactoryBean setHttpClientPolicy(final HTTPClientPolicy httpClientPolicy) {
+        this.httpClientPolicy = httpClientPolicy;
+        return this;
+    }
+
+    public int getAsyncPoolSize() {
+        return asyncPoolSize;
+    }
+
+    /**
+     * Sets the number of threads serving asynchronous calls when no executor is provided, hence how many
+     * connections towards the Syncope core such calls keep busy at most; synchronous calls are not affected.
+     * Idle connections are kept alive by the JDK, whose cache size is governed by the JVM-wide
+     * <tt>http.maxConnections</tt> system property: this is left to the application.
+     *
+     * @param asyncPoolSize maximum number of concurrent asynchronous calls
+     * @return the current instance
+     */
+    public SyncopeClientFactoryBean setAsyncPoolSize(final int asyncPoolSize) {
+        this.asyncPoolSize = asyncPoolSize;
+        return this;
+    }
+
+    public boolean isCacheServices() {
+        return cacheServices;
+    }
+
+    /**
+     * Sets whether service instances are to be created once per thread and reused, instead of being created on
+     * each {@link SyncopeClient#getService(java.lang.Class)} call.
+     *
+     * @param cacheServices whether service instances are to be cached per thread
+     * @return the current instance
+     */
+    public SyncopeClientFactoryBean setCacheServices(final boolean cacheServices) {
+        this.cacheServices = cacheServices;
+        return this;
+    }
+
+    /**
+     * Returns the executor set via {@link #setAsyncExecutor(java.util.concurrent.ExecutorService)} or, if none,
+     * the default executor, created on first invocation and shared by all client instances built by this factory.
+     *
+     * @return executor for asynchronous calls
+     * @throws IllegalStateException if no executor was set and this factory was closed
+     */
+    public ExecutorService getAsyncExecutor() {
+        if (asyncExecutor != null) {
+            return asyncExecutor;
+        }
+
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Client factory closed");
+            }
+            if (defaultAsyncExecutor == null) {
+                defaultAsyncExecutor = defaultAsyncExecutor();
+            }
+            return defaultAsyncExecutor;
+        }
+    }
+
+    /**
+     * Sets the executor running {@link SyncopeClient#async(java.lang.Class, java.util.function.Function)} calls.
+     *
+     * @param asyncExecutor executor for asynchronous calls
+     * @return the current instance
+     */
+    public SyncopeClientFactoryBean setAsyncExecutor(final ExecutorService asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+        return this;
+    }
+
     /**
      * Builds client instance with no authentication, for user self-registration and password reset.
      *
@@ -282,6 +411,24 @@ public class SyncopeClientFactoryBean {
                 getRestClientFactoryBean(),
                 getExceptionMapper(),
                 handler,
-                useCompression);
+                useCompression,
+                getHttpClientPolicy(),
+                cacheServices,
+                this::getAsyncExecutor);
+    }
+
+    /**
+     * Shuts down the default executor for asynchronous calls, if created; any executor set via
+     * {@link #setAsyncExecutor(java.util.concurrent.ExecutorService)} is left to its owner.
+     * Asynchronous calls on client instances built by this factory will fail afterwards, unless an executor is set.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+            if (defaultAsyncExecutor != null) {
+                defaultAsyncExecutor.shutdown();
+            }
+        }
     }
 }
@@ -0,0 +1,259 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.client.lib;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.ws.rs.core.HttpHeaders;
+import org.apache.cxf.jaxrs.client.JAXRSClientFactoryBean;
+import org.apache.syncope.common.lib.to.ResourceTO;
+import org.apache.syncope.common.rest.api.Preference;
+import org.apache.syncope.common.rest.api.RESTHeaders;
+import org.apache.syncope.common.rest.api.service.ResourceService;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class ThroughputTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ThroughputTest.class);
+
+    private static final int THREAD_NUMBER = 8;
+
+    private static final int CALL_NUMBER = 100;
+
+    private static final AtomicInteger READS = new AtomicInteger();
+
+    private static final Map<String, String> AUTHORIZATIONS = new ConcurrentHashMap<>();
+
+    private static final Map<String, String> PREFERENCES = new ConcurrentHashMap<>();
+
+    private static HttpServer SERVER;
+
+    private static String ADDRESS;
+
+    @BeforeClass
+    public static void startServer() throws IOException {
+        SERVER = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        SERVER.createContext("/resources/", exchange -> {
+            String key = exchange.getRequestURI().getPath().substring("/resources/".length());
+            READS.incrementAndGet();
+
+            String authorization = exchange.getRequestHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+            if (authorization != null) {
+                AUTHORIZATIONS.put(key, authorization);
+            }
+            String preference = exchange.getRequestHeaders().getFirst(RESTHeaders.PREFER);
+            if (preference != null) {
+                PREFERENCES.put(key, preference);
+            }
+
+            byte[] body = ("{\"key\":\"" + key + "\"}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add(HttpHeaders.CONTENT_TYPE, "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        SERVER.setExecutor(Executors.newFixedThreadPool(THREAD_NUMBER));
+        SERVER.start();
+
+        ADDRESS = "http://localhost:" + SERVER.getAddress().getPort();
+    }
+
+    @AfterClass
+    public static void stopServer() {
+        SERVER.stop(0);
+    }
+
+    private static long readAll(final SyncopeClient client) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_NUMBER);
+        try {
+            int before = READS.get();
+            long start = System.nanoTime();
+
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < THREAD_NUMBER; i++) {
+                String prefix = "th" + i + "-";
+                results.add(executor.submit(() -> {
+                    for (int j = 0; j < CALL_NUMBER; j++) {
+                        String key = prefix + j;
+                        assertEquals(key, client.getService(ResourceService.class).read(key).getKey());
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            assertEquals(THREAD_NUMBER * CALL_NUMBER, READS.get() - before);
+            return elapsed;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static SyncopeClientFactoryBean countingFactory(final AtomicInteger created) {
+        SyncopeClientFactoryBean factory = new SyncopeClientFactoryBean().setAddress(ADDRESS);
+
+        JAXRSClientFactoryBean defaultRestClientFactoryBean = factory.getRestClientFactoryBean();
+        JAXRSClientFactoryBean restClientFactoryBean = new JAXRSClientFactoryBean() {
+
+            @Override
+            public <T> T create(final Class<T> cls, final Object... varValues) {
+                created.incrementAndGet();
+                return super.create(cls, varValues);
+            }
+        };
+        restClientFactoryBean.setAddress(ADDRESS);
+        restClientFactoryBean.setHeaders(new HashMap<>());
+        restClientFactoryBean.setThreadSafe(true);
+        restClientFactoryBean.setInheritHeaders(true);
+        restClientFactoryBean.setProviders(defaultRestClientFactoryBean.getProviders());
+
+        return factory.setRestClientFactoryBean(restClientFactoryBean);
+    }
+
+    @Test
+    public void throughput() throws Exception {
+        AtomicInteger uncachedCreated = new AtomicInteger();
+        SyncopeClient uncached = countingFactory(uncachedCreated).create("token");
+        AtomicInteger cachedCreated = new AtomicInteger();
+        SyncopeClient cached = countingFactory(cachedCreated).setCacheServices(true).create("token");
+
+        // warm up
+        readAll(uncached);
+        readAll(cached);
+
+        long uncachedElapsed = readAll(uncached);
+        long cachedElapsed = readAll(cached);
+        LOG.info("{} calls from {} threads: {} ms with a new service per call, {} ms with cached services",
+                THREAD_NUMBER * CALL_NUMBER, THREAD_NUMBER, uncachedElapsed, cachedElapsed);
+
+        // without caching, each call pays for a new service instance, under the shared factory lock...
+        assertEquals(2 * THREAD_NUMBER * CALL_NUMBER, uncachedCreated.get());
+        // ...with caching, only the first call from each thread does
+        assertEquals(2 * THREAD_NUMBER, cachedCreated.get());
+    }
+
+    @Test
+    public void async() {
+        SyncopeClientFactoryBean factory = new SyncopeClientFactoryBean().setAddress(ADDRESS).
+                setCacheServices(true).setAsyncPoolSize(THREAD_NUMBER);
+        SyncopeClient client = factory.create("token");
+
+        List<CompletableFuture<ResourceTO>> results = new ArrayList<>();
+        for (int i = 0; i < CALL_NUMBER; i++) {
+            String key = "async-" + i;
+            results.add(client.async(ResourceService.class, service -> service.read(key)));
+        }
+        for (int i = 0; i < CALL_NUMBER; i++) {
+            assertEquals("async-" + i, results.get(i).join().getKey());
+        }
+
+        factory.close();
+    }
+
+    @Test
+    public void asyncExecutor() {
+        String maxConnections = System.getProperty("http.maxConnections");
+
+        SyncopeClientFactoryBean factory = new SyncopeClientFactoryBean().setAddress(ADDRESS).
+                setAsyncPoolSize(THREAD_NUMBER);
+        SyncopeClient client = factory.create("token");
+
+        // the default executor is created once per factory, with no side effects on JVM-wide settings
+        ExecutorService executor = factory.getAsyncExecutor();
+        assertSame(executor, factory.getAsyncExecutor());
+        factory.create("token");
+        assertSame(executor, factory.getAsyncExecutor());
+        assertEquals(maxConnections, System.getProperty("http.maxConnections"));
+
+        assertEquals("closing", client.async(ResourceService.class, service -> service.read("closing")).
+                join().getKey());
+
+        factory.close();
+        assertTrue(executor.isShutdown());
+        try {
+            client.async(ResourceService.class, service -> service.read("closed"));
+            fail();
+        } catch (IllegalStateException e) {
+            assertNotNull(e);
+        }
+
+        // an executor provided by the application is not shut down
+        ExecutorService provided = Executors.newSingleThreadExecutor();
+        try {
+            factory.setAsyncExecutor(provided);
+            assertSame(provided, factory.getAsyncExecutor());
+            factory.close();
+            assertFalse(provided.isShutdown());
+        } finally {
+            provided.shutdownNow();
+        }
+    }
+
+    @Test
+    public void cachedServicesAreReset() {
+        SyncopeClient client = new SyncopeClientFactoryBean().setAddress(ADDRESS).
+                setCacheServices(true).create("token1");
+
+        ResourceService service = client.getService(ResourceService.class);
+        assertSame(service, client.getService(ResourceService.class));
+
+        // headers set on a cached service instance do not survive the next getService() call
+        client.prefer(service, Preference.RETURN_NO_CONTENT).read("prefer-1");
+        client.getService(ResourceService.class).read("prefer-2");
+        assertEquals(Preference.RETURN_NO_CONTENT.toString(), PREFERENCES.get("prefer-1"));
+        assertNull(PREFERENCES.get("prefer-2"));
+        assertEquals("Bearer token1", AUTHORIZATIONS.get("prefer-2"));
+
+        // authentication changes replace cached service instances
+        client.login(new JWTAuthenticationHandler("token2"));
+        assertNotSame(service, client.getService(ResourceService.class));
+        client.getService(ResourceService.class).read("login");
+        assertEquals("Bearer token2", AUTHORIZATIONS.get("login"));
+    }
+}
@@ -18,12 +18,14 @@
  */
 package org.apache.syncope.common.lib;
 
-import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
-import org.apache.commons.lang3.SerializationUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.patch.AnyObjectPatch;
@@ -111,15 +113,18 @@ public final class AnyOperations {
         // 2. auxilairy classes
         result.getAuxClasses().clear();
 
+        Set<String> updatedAuxClasses = new HashSet<>(updated.getAuxClasses());
+        Set<String> originalAuxClasses = new HashSet<>(original.getAuxClasses());
+
         if (!incremental) {
-            original.getAuxClasses().stream().filter(auxClass -> !updated.getAuxClasses().contains(auxClass)).
+            original.getAuxClasses().stream().filter(auxClass -> !updatedAuxClasses.contains(auxClass)).
                     forEach(auxClass -> {
                         result.getAuxClasses().add(new StringPatchItem.Builder().
                                 operation(PatchOperation.DELETE).value(auxClass).build());
                     });
         }
 
-        updated.getAuxClasses().stream().filter(auxClass -> !original.getAuxClasses().contains(auxClass)).
+        updated.getAuxClasses().stream().filter(auxClass -> !originalAuxClasses.contains(auxClass)).
                 forEach(auxClass -> {
                     result.getAuxClasses().add(new StringPatchItem.Builder().
                             operation(PatchOperation.ADD_REPLACE).value(auxClass).build());
@@ -289,15 +294,18 @@ public final class AnyOperations {
                 updated.isMustChangePassword(), original.isMustChangePassword(), new BooleanReplacePatchItem()));
 
         // 4. roles
+        Set<String> updatedRoles = new HashSet<>(updated.getRoles());
+        Set<String> originalRoles = new HashSet<>(original.getRoles());
+
         if (!incremental) {
-            original.getRoles().stream().filter(role -> !updated.getRoles().contains(role)).
+            original.getRoles().stream().filter(role -> !updatedRoles.contains(role)).
                     forEach(toRemove -> {
                         result.getRoles().add(new StringPatchItem.Builder().
                                 operation(PatchOperation.DELETE).value(toRemove).build());
                     });
         }
 
-        updated.getRoles().stream().filter(role -> !original.getRoles().contains(role)).
+        updated.getRoles().stream().filter(role -> !originalRoles.contains(role)).
                 forEach(toAdd -> {
                     result.getRoles().add(new StringPatchItem.Builder().
                             operation(PatchOperation.ADD_REPLACE).value(toAdd).build());
@@ -407,15 +415,97 @@ public final class AnyOperations {
         throw new IllegalArgumentException("Unsupported: " + updated.getClass().getName());
     }
 
-    private static Collection<AttrTO> patch(final Map<String, AttrTO> attrs, final Set<AttrPatch> attrPatches) {
-        Map<String, AttrTO> rwattrs = new HashMap<>(attrs);
+    /**
+     * Copies the fields common to all TOs, as starting point for patching: collections are copied, so that the given
+     * TO is not affected by patching, while their elements (attributes, ...) are shared.
+     *
+     * @param to any TO
+     * @param copy copy of the given TO
+     */
+    private static void copy(final AnyTO to, final AnyTO copy) {
+        copy.setCreator(to.getCreator());
+        copy.setCreationDate(to.getCreationDate());
+        copy.setLastModifier(to.getLastModifier());
+        copy.setLastChangeDate(to.getLastChangeDate());
+
+        copy.setKey(to.getKey());
+        copy.setType(to.getType());
+        copy.setRealm(to.getRealm());
+        copy.getDynRealms().addAll(to.getDynRealms());
+        copy.setStatus(to.getStatus());
+        copy.getAuxClasses().addAll(to.getAuxClasses());
+        copy.getPlainAttrs().addAll(to.getPlainAttrs());
+        copy.getDerAttrs().addAll(to.getDerAttrs());
+        copy.getVirAttrs().addAll(to.getVirAttrs());
+        copy.getResources().addAll(to.getResources());
+    }
+
+    private static UserTO copy(final UserTO userTO) {
+        UserTO copy = new UserTO();
+        copy(userTO, copy);
+
+        copy.setPassword(userTO.getPassword());
+        copy.getRoles().addAll(userTO.getRoles());
+        copy.getDynRoles().addAll(userTO.getDynRoles());
+        copy.setToken(userTO.getToken());
+        copy.setTokenExpireTime(userTO.getTokenExpireTime());
+        copy.setUsername(userTO.getUsername());
+        copy.setLastLoginDate(userTO.getLastLoginDate());
+        copy.setChangePwdDate(userTO.getChangePwdDate());
+        copy.setFailedLogins(userTO.getFailedLogins());
+        copy.setSecurityQuestion(userTO.getSecurityQuestion());
+        copy.setSecurityAnswer(userTO.getSecurityAnswer());
+        copy.setMustChangePassword(userTO.isMustChangePassword());
+        copy.getRelationships().addAll(userTO.getRelationships());
+        copy.getMemberships().addAll(userTO.getMemberships());
+        copy.getDynMemberships().addAll(userTO.getDynMemberships());
+
+        return copy;
+    }
+
+    private static GroupTO copy(final GroupTO groupTO) {
+        GroupTO copy = new GroupTO();
+        copy(groupTO, copy);
+
+        copy.setName(groupTO.getName());
+        copy.setUserOwner(groupTO.getUserOwner());
+        copy.setGroupOwner(groupTO.getGroupOwner());
+        copy.setUDynMembershipCond(groupTO.getUDynMembershipCond());
+        copy.getADynMembershipConds().putAll(groupTO.getADynMembershipConds());
+        copy.getTypeExtensions().addAll(groupTO.getTypeExtensions());
+
+        return copy;
+    }
+
+    private static AnyObjectTO copy(final AnyObjectTO anyObjectTO) {
+        AnyObjectTO copy = new AnyObjectTO();
+        copy(anyObjectTO, copy);
+
+        copy.setName(anyObjectTO.getName());
+        copy.getRelationships().addAll(anyObjectTO.getRelationships());
+        copy.getMemberships().addAll(anyObjectTO.getMemberships());
+        copy.getDynMemberships().addAll(anyObjectTO.getDynMemberships());
+
+        return copy;
+    }
+
+    private static void patch(final Set<AttrTO> attrs, final Set<AttrPatch> attrPatches) {
+        if (attrPatches.isEmpty()) {
+            return;
+        }
+
+        Map<String, AttrTO> rwattrs = new HashMap<>(EntityTOUtils.buildAttrMap(attrs));
+        Set<AttrTO> removed = Collections.newSetFromMap(new IdentityHashMap<>());
         attrPatches.forEach(patch -> {
             if (patch.getAttrTO() == null) {
                 LOG.warn("Invalid {} specified: {}", AttrPatch.class.getName(), patch);
             } else {
-                AttrTO removed = rwattrs.remove(patch.getAttrTO().getSchema());
-                if (removed != null && removed.getSchemaInfo() != null) {
-                    patch.getAttrTO().setSchemaInfo(removed.getSchemaInfo());
+                AttrTO previous = rwattrs.remove(patch.getAttrTO().getSchema());
+                if (previous != null) {
+                    removed.add(previous);
+                    if (previous.getSchemaInfo() != null) {
+                        patch.getAttrTO().setSchemaInfo(previous.getSchemaInfo());
+                    }
                 }
                 if (patch.getOperation() == PatchOperation.ADD_REPLACE) {
                     rwattrs.put(patch.getAttrTO().getSchema(), patch.getAttrTO());
@@ -423,7 +513,42 @@ public final class AnyOperations {
             }
         });
 
-        return rwattrs.values();
+        // only replaced and removed attributes are touched, without re-hashing the others
+        attrs.removeIf(removed::contains);
+        attrPatches.stream().map(AttrPatch::getAttrTO).
+                filter(attrTO -> attrTO != null && rwattrs.get(attrTO.getSchema()) == attrTO).
+                forEach(attrs::add);
+    }
+
+    private static void patch(final List<MembershipTO> memberships, final Set<MembershipPatch> membershipPatches) {
+        if (membershipPatches.isEmpty()) {
+            return;
+        }
+
+        Map<String, MembershipTO> rwmembs = new LinkedHashMap<>();
+        memberships.forEach(membership -> rwmembs.putIfAbsent(membership.getGroupKey(), membership));
+        membershipPatches.forEach(membPatch -> {
+            if (membPatch.getGroup() == null) {
+                LOG.warn("Invalid {} specified: {}", MembershipPatch.class.getName(), membPatch);
+            } else {
+                rwmembs.remove(membPatch.getGroup());
+
+                if (membPatch.getOperation() == PatchOperation.ADD_REPLACE) {
+                    MembershipTO newMembershipTO = new MembershipTO.Builder().group(membPatch.getGroup()).build();
+
+                    // 1. plain attributes
+                    newMembershipTO.getPlainAttrs().addAll(membPatch.getPlainAttrs());
+
+                    // 2. virtual attributes
+                    newMembershipTO.getVirAttrs().addAll(membPatch.getVirAttrs());
+
+                    rwmembs.put(membPatch.getGroup(), newMembershipTO);
+                }
+            }
+        });
+
+        memberships.clear();
+        memberships.addAll(rwmembs.values());
     }
 
     private static <T extends AnyTO, K extends AnyPatch> void patch(final T to, final K patch, final T result) {
@@ -453,8 +578,7 @@ public final class AnyOperations {
         }
 
         // 2. plain attributes
-        result.getPlainAttrs().clear();
-        result.getPlainAttrs().addAll(patch(EntityTOUtils.buildAttrMap(to.getPlainAttrs()), patch.getPlainAttrs()));
+        patch(result.getPlainAttrs(), patch.getPlainAttrs());
 
         // 3. virtual attributes
         result.getVirAttrs().clear();
@@ -488,7 +612,7 @@ public final class AnyOperations {
     }
 
     public static GroupTO patch(final GroupTO groupTO, final GroupPatch groupPatch) {
-        GroupTO result = SerializationUtils.clone(groupTO);
+        GroupTO result = copy(groupTO);
         patch(groupTO, groupPatch, result);
 
         if (groupPatch.getName() != null) {
@@ -510,7 +634,7 @@ public final class AnyOperations {
     }
 
     public static AnyObjectTO patch(final AnyObjectTO anyObjectTO, final AnyObjectPatch anyObjectPatch) {
-        AnyObjectTO result = SerializationUtils.clone(anyObjectTO);
+        AnyObjectTO result = copy(anyObjectTO);
         patch(anyObjectTO, anyObjectPatch, result);
 
         if (anyObjectPatch.getName() != null) {
@@ -531,37 +655,13 @@ public final class AnyOperations {
                 });
 
         // 2. memberships
-        anyObjectPatch.getMemberships().
-                forEach(membPatch -> {
-                    if (membPatch.getGroup() == null) {
-                        LOG.warn("Invalid {} specified: {}", MembershipPatch.class.getName(), membPatch);
-                    } else {
-                        Optional<MembershipTO> memb = result.getMemberships().stream().
-                                filter(membership -> membPatch.getGroup().equals(membership.getGroupKey())).findFirst();
-                        if (memb.isPresent()) {
-                            result.getMemberships().remove(memb.get());
-                        }
-
-                        if (membPatch.getOperation() == PatchOperation.ADD_REPLACE) {
-                            MembershipTO newMembershipTO =
-                                    new MembershipTO.Builder().group(membPatch.getGroup()).build();
-
-                            // 3. plain attributes
-                            newMembershipTO.getPlainAttrs().addAll(membPatch.getPlainAttrs());
-
-                            // 4. virtual attributes
-                            newMembershipTO.getVirAttrs().addAll(membPatch.getVirAttrs());
-
-                            result.getMemberships().add(newMembershipTO);
-                        }
-                    }
-                });
+        patch(result.getMemberships(), anyObjectPatch.getMemberships());
 
         return result;
     }
 
     public static UserTO patch(final UserTO userTO, final UserPatch userPatch) {
-        UserTO result = SerializationUtils.clone(userTO);
+        UserTO result = copy(userTO);
         patch(userTO, userPatch, result);
 
         // 1. password
@@ -588,31 +688,7 @@ public final class AnyOperations {
                 });
 
         // 4. memberships
-        userPatch.getMemberships().
-                forEach(membPatch -> {
-                    if (membPatch.getGroup() == null) {
-                        LOG.warn("Invalid {} specified: {}", MembershipPatch.class.getName(), membPatch);
-                    } else {
-                        Optional<MembershipTO> memb = result.getMemberships().stream().
-                                filter(membership -> membPatch.getGroup().equals(membership.getGroupKey())).findFirst();
-                        if (memb.isPresent()) {
-                            result.getMemberships().remove(memb.get());
-                        }
-
-                        if (membPatch.getOperation() == PatchOperation.ADD_REPLACE) {
-                            MembershipTO newMembershipTO =
-                                    new MembershipTO.Builder().group(membPatch.getGroup()).build();
-
-                            // 3. plain attributes
-                            newMembershipTO.getPlainAttrs().addAll(membPatch.getPlainAttrs());
-
-                            // 4. virtual attributes
-                            newMembershipTO.getVirAttrs().addAll(membPatch.getVirAttrs());
-
-                            result.getMemberships().add(newMembershipTO);
-                        }
-                    }
-                });
+        patch(result.getMemberships(), userPatch.getMemberships());
 
         // 5. roles
         for (StringPatchItem rolePatch : userPatch.getRoles()) {
@@ -29,6 +29,8 @@ public class LogStatementTO extends AbstractBaseBean {
 
     private static final long serialVersionUID = -2931205859104653385L;
 
+    private long sequence;
+
     private LoggerLevel level;
 
     private String loggerName;
@@ -45,6 +47,14 @@ public class LogStatementTO extends AbstractBaseBean {
 
     private int threadPriority;
 
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(final long sequence) {
+        this.sequence = sequence;
+    }
+
     public LoggerLevel getLevel() {
         return level;
     }
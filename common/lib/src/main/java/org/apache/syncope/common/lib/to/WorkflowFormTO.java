@@ -33,7 +33,7 @@ import org.apache.syncope.common.lib.patch.UserPatch;
 
 @XmlRootElement(name = "workflowForm")
 @XmlType
-public class WorkflowFormTO extends AbstractBaseBean {
+public class WorkflowFormTO extends AbstractBaseBean implements EntityTO {
 
     private static final long serialVersionUID = -7044543391316529128L;
 
@@ -71,10 +71,12 @@ public class WorkflowFormTO extends AbstractBaseBean {
         this.taskId = taskId;
     }
 
+    @Override
     public String getKey() {
         return key;
     }
 
+    @Override
     public void setKey(final String key) {
         this.key = key;
     }
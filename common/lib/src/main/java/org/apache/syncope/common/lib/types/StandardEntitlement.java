@@ -262,6 +262,8 @@ public final class StandardEntitlement {
 
     public static final String LOG_DELETE = "LOG_DELETE";
 
+    public static final String METRICS_READ = "METRICS_READ";
+
     public static final String AUDIT_LIST = "AUDIT_LIST";
 
     public static final String AUDIT_READ = "AUDIT_READ";
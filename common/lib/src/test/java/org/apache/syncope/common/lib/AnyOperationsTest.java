@@ -19,11 +19,28 @@
 package org.apache.syncope.common.lib;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
+import java.util.Date;
+import java.util.UUID;
 import org.apache.syncope.common.lib.patch.AnyObjectPatch;
 import org.apache.syncope.common.lib.patch.AttrPatch;
+import org.apache.syncope.common.lib.patch.GroupPatch;
+import org.apache.syncope.common.lib.patch.MembershipPatch;
+import org.apache.syncope.common.lib.patch.StringPatchItem;
+import org.apache.syncope.common.lib.patch.StringReplacePatchItem;
+import org.apache.syncope.common.lib.patch.UserPatch;
 import org.apache.syncope.common.lib.to.AnyObjectTO;
+import org.apache.syncope.common.lib.to.AnyTO;
 import org.apache.syncope.common.lib.to.AttrTO;
+import org.apache.syncope.common.lib.to.GroupTO;
+import org.apache.syncope.common.lib.to.MembershipTO;
+import org.apache.syncope.common.lib.to.RelationshipTO;
+import org.apache.syncope.common.lib.to.TypeExtensionTO;
+import org.apache.syncope.common.lib.to.UserTO;
 import org.apache.syncope.common.lib.types.PatchOperation;
 import org.junit.Test;
 
@@ -48,4 +65,162 @@ public class AnyOperationsTest {
         assertEquals(PatchOperation.ADD_REPLACE, patch.getOperation());
         assertEquals("plain", patch.getAttrTO().getSchema());
     }
+
+    @Test
+    public void patch() {
+        AttrTO firstname = new AttrTO.Builder().schema("firstname").value("Gioacchino").build();
+        AttrTO surname = new AttrTO.Builder().schema("surname").value("Rossini").build();
+
+        UserTO userTO = new UserTO();
+        userTO.setKey("1417acbe-cbf6-4277-9372-e75e04f97000");
+        userTO.setUsername("rossini");
+        userTO.getPlainAttrs().add(firstname);
+        userTO.getPlainAttrs().add(surname);
+        userTO.getMemberships().add(new MembershipTO.Builder().group("group1").build());
+        userTO.getMemberships().add(new MembershipTO.Builder().group("group2").build());
+        userTO.getRoles().add("role1");
+        userTO.getResources().add("resource1");
+
+        UserPatch userPatch = new UserPatch();
+        userPatch.setKey(userTO.getKey());
+        userPatch.setUsername(new StringReplacePatchItem.Builder().value("rossini2").build());
+        userPatch.getPlainAttrs().add(new AttrPatch.Builder().operation(PatchOperation.ADD_REPLACE).
+                attrTO(new AttrTO.Builder().schema("surname").value("Verdi").build()).build());
+        userPatch.getPlainAttrs().add(new AttrPatch.Builder().operation(PatchOperation.ADD_REPLACE).
+                attrTO(new AttrTO.Builder().schema("fullname").value("Giuseppe Verdi").build()).build());
+        userPatch.getMemberships().add(new MembershipPatch.Builder().
+                operation(PatchOperation.DELETE).group("group1").build());
+        userPatch.getMemberships().add(new MembershipPatch.Builder().
+                operation(PatchOperation.ADD_REPLACE).group("group3").build());
+        userPatch.getResources().add(new StringPatchItem.Builder().
+                operation(PatchOperation.DELETE).value("resource1").build());
+
+        UserTO patched = AnyOperations.patch(userTO, userPatch);
+        assertEquals("rossini2", patched.getUsername());
+        assertEquals(3, patched.getPlainAttrs().size());
+        assertEquals("Verdi", patched.getPlainAttr("surname").get().getValues().get(0));
+        assertEquals("Giuseppe Verdi", patched.getPlainAttr("fullname").get().getValues().get(0));
+        assertEquals(2, patched.getMemberships().size());
+        assertFalse(patched.getMembership("group1").isPresent());
+        assertTrue(patched.getMembership("group3").isPresent());
+        assertTrue(patched.getResources().isEmpty());
+        assertEquals(userTO.getRoles(), patched.getRoles());
+
+        // unchanged elements are shared, the original TO is not affected
+        assertSame(firstname, patched.getPlainAttr("firstname").get());
+        assertNotSame(userTO.getPlainAttrs(), patched.getPlainAttrs());
+        assertEquals("rossini", userTO.getUsername());
+        assertEquals(2, userTO.getPlainAttrs().size());
+        assertEquals("Rossini", userTO.getPlainAttr("surname").get().getValues().get(0));
+        assertTrue(userTO.getMembership("group1").isPresent());
+        assertTrue(userTO.getResources().contains("resource1"));
+
+        // patching back with the diff brings the original TO
+        UserTO reverted = AnyOperations.patch(patched, AnyOperations.diff(userTO, patched, false));
+        assertEquals(userTO.getUsername(), reverted.getUsername());
+        assertEquals(userTO.getPlainAttrs(), reverted.getPlainAttrs());
+        assertEquals(userTO.getResources(), reverted.getResources());
+        assertEquals(2, reverted.getMemberships().size());
+        assertTrue(reverted.getMembership("group1").isPresent());
+    }
+
+    private static void fill(final AnyTO anyTO) {
+        anyTO.setCreator("admin");
+        anyTO.setCreationDate(new Date());
+        anyTO.setLastModifier("admin");
+        anyTO.setLastChangeDate(new Date());
+        anyTO.setKey(UUID.randomUUID().toString());
+        anyTO.setRealm("/even");
+        anyTO.getDynRealms().add("dynRealm");
+        anyTO.setStatus("active");
+        anyTO.getAuxClasses().add("aux");
+        anyTO.getPlainAttrs().add(new AttrTO.Builder().schema("plain").value("value").build());
+        anyTO.getDerAttrs().add(new AttrTO.Builder().schema("der").value("value").build());
+        anyTO.getVirAttrs().add(new AttrTO.Builder().schema("vir").value("value").build());
+        anyTO.getResources().add("resource");
+    }
+
+    private static <T extends AnyTO> void assertCopy(final T anyTO, final T copy) {
+        assertNotSame(anyTO, copy);
+        assertEquals(anyTO, copy);
+        assertNotSame(anyTO.getPlainAttrs(), copy.getPlainAttrs());
+        assertNotSame(anyTO.getAuxClasses(), copy.getAuxClasses());
+        assertNotSame(anyTO.getResources(), copy.getResources());
+    }
+
+    @Test
+    public void copyUser() {
+        UserTO userTO = new UserTO();
+        fill(userTO);
+        userTO.setPassword("password123");
+        userTO.getRoles().add("role");
+        userTO.getDynRoles().add("dynRole");
+        userTO.setToken("token");
+        userTO.setTokenExpireTime(new Date());
+        userTO.setUsername("rossini");
+        userTO.setLastLoginDate(new Date());
+        userTO.setChangePwdDate(new Date());
+        userTO.setFailedLogins(1);
+        userTO.setSecurityQuestion("question");
+        userTO.setSecurityAnswer("answer");
+        userTO.setMustChangePassword(true);
+        userTO.getRelationships().add(new RelationshipTO.Builder().type("neighborhood").
+                right("PRINTER", UUID.randomUUID().toString()).build());
+        userTO.getMemberships().add(new MembershipTO.Builder().group("group").build());
+        userTO.getDynMemberships().add(new MembershipTO.Builder().group("dynGroup").build());
+
+        UserPatch userPatch = new UserPatch();
+        userPatch.setKey(userTO.getKey());
+        userPatch.getVirAttrs().addAll(userTO.getVirAttrs());
+
+        UserTO copy = AnyOperations.patch(userTO, userPatch);
+        assertCopy(userTO, copy);
+        assertNotSame(userTO.getRoles(), copy.getRoles());
+        assertNotSame(userTO.getMemberships(), copy.getMemberships());
+    }
+
+    @Test
+    public void copyGroup() {
+        GroupTO groupTO = new GroupTO();
+        fill(groupTO);
+        groupTO.setName("group");
+        groupTO.setUserOwner(UUID.randomUUID().toString());
+        groupTO.setGroupOwner(UUID.randomUUID().toString());
+        groupTO.setUDynMembershipCond("username==rossini");
+        groupTO.getADynMembershipConds().put("PRINTER", "location==out");
+        TypeExtensionTO typeExtension = new TypeExtensionTO();
+        typeExtension.setAnyType("USER");
+        typeExtension.getAuxClasses().add("aux");
+        groupTO.getTypeExtensions().add(typeExtension);
+
+        GroupPatch groupPatch = new GroupPatch();
+        groupPatch.setKey(groupTO.getKey());
+        groupPatch.getVirAttrs().addAll(groupTO.getVirAttrs());
+        groupPatch.setUDynMembershipCond(groupTO.getUDynMembershipCond());
+        groupPatch.getADynMembershipConds().putAll(groupTO.getADynMembershipConds());
+
+        GroupTO copy = AnyOperations.patch(groupTO, groupPatch);
+        assertCopy(groupTO, copy);
+        assertNotSame(groupTO.getTypeExtensions(), copy.getTypeExtensions());
+    }
+
+    @Test
+    public void copyAnyObject() {
+        AnyObjectTO anyObjectTO = new AnyObjectTO();
+        fill(anyObjectTO);
+        anyObjectTO.setType("PRINTER");
+        anyObjectTO.setName("printer");
+        anyObjectTO.getRelationships().add(new RelationshipTO.Builder().type("neighborhood").
+                right("PRINTER", UUID.randomUUID().toString()).build());
+        anyObjectTO.getMemberships().add(new MembershipTO.Builder().group("group").build());
+        anyObjectTO.getDynMemberships().add(new MembershipTO.Builder().group("dynGroup").build());
+
+        AnyObjectPatch anyObjectPatch = new AnyObjectPatch();
+        anyObjectPatch.setKey(anyObjectTO.getKey());
+        anyObjectPatch.getVirAttrs().addAll(anyObjectTO.getVirAttrs());
+
+        AnyObjectTO copy = AnyOperations.patch(anyObjectTO, anyObjectPatch);
+        assertCopy(anyObjectTO, copy);
+        assertNotSame(anyObjectTO.getRelationships(), copy.getRelationships());
+    }
 }
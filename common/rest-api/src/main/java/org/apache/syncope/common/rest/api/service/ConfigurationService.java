@@ -23,6 +23,7 @@ import javax.validation.constraints.NotNull;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
+import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
@@ -85,4 +86,12 @@ public interface ConfigurationService extends JAXRSService {
     @Path("{schema}")
     @Consumes({ MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML })
     void delete(@NotNull @PathParam("schema") String schema);
+
+    /**
+     * Reloads configuration parameters from internal storage, for the current domain; to be invoked on each node
+     * when configuration parameters were changed elsewhere.
+     */
+    @POST
+    @Path("reload")
+    void reload();
 }
@@ -22,11 +22,15 @@ import java.util.List;
 import javax.validation.constraints.NotNull;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.MediaType;
 import org.apache.syncope.common.lib.log.EventCategoryTO;
 import org.apache.syncope.common.lib.log.LogAppender;
@@ -61,6 +65,40 @@ public interface LoggerService extends JAXRSService {
     @Produces({ MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML })
     List<LogStatementTO> getLastLogStatements(@NotNull @PathParam("memoryAppender") String memoryAppender);
 
+    /**
+     * Return the log statements available in the provided memory appender and appended after the given sequence
+     * number; meant for incremental polling, by passing the sequence number of the last statement received.
+     *
+     * @param memoryAppender memory appender name
+     * @param since sequence number of the last statement already received, 0 to get all available statements
+     * @return the log statements available in the provided memory appender and appended after the given sequence
+     * number
+     */
+    @GET
+    @Path("memoryAppenders/{memoryAppender}/logStatements")
+    @Produces({ MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML })
+    List<LogStatementTO> getLogStatements(
+            @NotNull @PathParam("memoryAppender") String memoryAppender,
+            @QueryParam("since") @DefaultValue("0") long since);
+
+    /**
+     * Streams, as server-sent events, the log statements appended to the provided memory appender after the given
+     * sequence number (or after the one provided via {@code Last-Event-ID} header, if greater); the stream is
+     * periodically closed by the server, so clients are expected to reconnect.
+     * The request is processed asynchronously, without holding any request processing thread while streaming.
+     *
+     * @param memoryAppender memory appender name
+     * @param since sequence number of the last statement already received, 0 to get all available statements
+     * @param asyncResponse resumed with the server-sent events stream of log statements
+     */
+    @GET
+    @Path("memoryAppenders/{memoryAppender}/logStatements/stream")
+    @Produces({ MediaType.SERVER_SENT_EVENTS })
+    void streamLogStatements(
+            @NotNull @PathParam("memoryAppender") String memoryAppender,
+            @QueryParam("since") @DefaultValue("0") long since,
+            @Suspended AsyncResponse asyncResponse);
+
     /**
      * Returns the list of all managed events in audit.
      *
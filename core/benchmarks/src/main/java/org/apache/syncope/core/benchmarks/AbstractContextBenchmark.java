@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.benchmarks;
+
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Base state for benchmarks requiring the Core Spring context, backed by the in-memory H2 database and loaded with
+ * the same content used by unit tests.
+ */
+@State(Scope.Benchmark)
+public abstract class AbstractContextBenchmark {
+
+    private static final String[] CONTEXT_LOCATIONS = {
+        "classpath:persistenceTest.xml",
+        "classpath:provisioningContext.xml",
+        "classpath:workflowContext.xml",
+        "classpath:benchmarksContext.xml"
+    };
+
+    protected ConfigurableApplicationContext ctx;
+
+    protected TransactionTemplate txTemplate;
+
+    protected void startContext() {
+        ctx = new ClassPathXmlApplicationContext(CONTEXT_LOCATIONS);
+        txTemplate = new TransactionTemplate(ctx.getBean(
+                SyncopeConstants.MASTER_DOMAIN + "TransactionManager", PlatformTransactionManager.class));
+    }
+
+    protected <T> T inMasterDomain(final AuthContextUtils.Executable<T> executable) {
+        return AuthContextUtils.execWithAuthContext(SyncopeConstants.MASTER_DOMAIN, executable);
+    }
+
+    @TearDown
+    public void stopContext() {
+        if (ctx != null) {
+            ctx.close();
+        }
+    }
+}
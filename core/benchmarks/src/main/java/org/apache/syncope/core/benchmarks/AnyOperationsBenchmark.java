@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.SerializationUtils;
+import org.apache.syncope.common.lib.AnyOperations;
+import org.apache.syncope.common.lib.patch.AttrPatch;
+import org.apache.syncope.common.lib.patch.MembershipPatch;
+import org.apache.syncope.common.lib.patch.UserPatch;
+import org.apache.syncope.common.lib.to.AttrTO;
+import org.apache.syncope.common.lib.to.MembershipTO;
+import org.apache.syncope.common.lib.to.UserTO;
+import org.apache.syncope.common.lib.types.PatchOperation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Patching and diffing of users with the given number of plain attributes and memberships;
+ * {@code serializationClone} measures the Java serialization round trip which patching used to start from.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class AnyOperationsBenchmark {
+
+    @Param({ "10", "300" })
+    private int size;
+
+    private UserTO userTO;
+
+    private UserTO updated;
+
+    private UserPatch userPatch;
+
+    @Setup
+    public void setUp() {
+        userTO = BenchmarkUtils.sampleUserTO();
+        userTO.setKey("1417acbe-cbf6-4277-9372-e75e04f97000");
+        for (int i = 0; i < size; i++) {
+            userTO.getPlainAttrs().add(new AttrTO.Builder().schema("attr" + i).value("value" + i).build());
+            userTO.getMemberships().add(new MembershipTO.Builder().group("group" + i).build());
+        }
+
+        // as after pull: a few attributes and memberships changed
+        userPatch = new UserPatch();
+        userPatch.setKey(userTO.getKey());
+        for (int i = 0; i < 5; i++) {
+            userPatch.getPlainAttrs().add(new AttrPatch.Builder().operation(PatchOperation.ADD_REPLACE).
+                    attrTO(new AttrTO.Builder().schema("attr" + i).value("updated" + i).build()).build());
+            userPatch.getMemberships().add(new MembershipPatch.Builder().
+                    operation(PatchOperation.DELETE).group("group" + i).build());
+            userPatch.getMemberships().add(new MembershipPatch.Builder().
+                    operation(PatchOperation.ADD_REPLACE).group("newgroup" + i).build());
+        }
+
+        updated = AnyOperations.patch(userTO, userPatch);
+    }
+
+    @Benchmark
+    public UserTO serializationClone() {
+        return SerializationUtils.clone(userTO);
+    }
+
+    @Benchmark
+    public UserTO patch() {
+        return AnyOperations.patch(userTO, userPatch);
+    }
+
+    @Benchmark
+    public UserPatch diff() {
+        return AnyOperations.diff(updated, userTO, false);
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.benchmarks;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.common.lib.types.CipherAlgorithm;
+import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
+import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
+import org.apache.syncope.core.persistence.api.dao.RealmDAO;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
+import org.apache.syncope.core.persistence.api.entity.AnyUtilsFactory;
+import org.apache.syncope.core.persistence.api.entity.EntityFactory;
+import org.apache.syncope.core.persistence.api.entity.PlainSchema;
+import org.apache.syncope.core.persistence.api.entity.Realm;
+import org.apache.syncope.core.persistence.api.entity.user.UPlainAttr;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.persistence.api.search.SearchCondConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Search and count on the configured {@link AnySearchDAO}, after seeding the given number of additional users; as
+ * from REST, each invocation runs in its own transaction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class AnySearchBenchmark extends AbstractContextBenchmark {
+
+    private static final Set<String> ADMIN_REALMS = Collections.singleton(SyncopeConstants.ROOT_REALM);
+
+    private static final Map<String, String> FIQLS = new HashMap<>();
+
+    static {
+        FIQLS.put("username", "username==bench42");
+        FIQLS.put("attr", "surname==Surname7");
+        FIQLS.put("complex", "surname==Surname7;username=~BENCH1*;$groups!=root");
+    }
+
+    @Param({ "1000" })
+    private int users;
+
+    @Param({ "username", "attr", "complex" })
+    private String fiql;
+
+    private AnySearchDAO searchDAO;
+
+    private SearchCond cond;
+
+    @Setup
+    public void setUp() {
+        startContext();
+
+        searchDAO = ctx.getBean(AnySearchDAO.class);
+        cond = SearchCondConverter.convert(FIQLS.get(fiql));
+
+        UserDAO userDAO = ctx.getBean(UserDAO.class);
+        RealmDAO realmDAO = ctx.getBean(RealmDAO.class);
+        PlainSchemaDAO plainSchemaDAO = ctx.getBean(PlainSchemaDAO.class);
+        EntityFactory entityFactory = ctx.getBean(EntityFactory.class);
+        AnyUtilsFactory anyUtilsFactory = ctx.getBean(AnyUtilsFactory.class);
+
+        txTemplate.execute(status -> {
+            Realm root = realmDAO.getRoot();
+            PlainSchema surname = plainSchemaDAO.find("surname");
+
+            for (int i = 0; i < users; i++) {
+                User user = entityFactory.newEntity(User.class);
+                user.setUsername("bench" + i);
+                user.setRealm(root);
+                user.setCreator("admin");
+                user.setCreationDate(new Date());
+                user.setPassword("password123", CipherAlgorithm.SHA256);
+
+                UPlainAttr attr = entityFactory.newEntity(UPlainAttr.class);
+                attr.setOwner(user);
+                attr.setSchema(surname);
+                attr.add("Surname" + (i % 100), anyUtilsFactory.getInstance(AnyTypeKind.USER));
+                user.add(attr);
+
+                userDAO.save(user);
+            }
+            return null;
+        });
+    }
+
+    @Benchmark
+    public List<User> search() {
+        return txTemplate.execute(status -> searchDAO.search(cond, AnyTypeKind.USER));
+    }
+
+    @Benchmark
+    public int count() {
+        return txTemplate.execute(status -> searchDAO.count(ADMIN_REALMS, cond, AnyTypeKind.USER));
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.benchmarks;
+
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.common.lib.to.AttrTO;
+import org.apache.syncope.common.lib.to.MembershipTO;
+import org.apache.syncope.common.lib.to.UserTO;
+
+public final class BenchmarkUtils {
+
+    public static UserTO sampleUserTO() {
+        UserTO userTO = new UserTO();
+        userTO.setRealm(SyncopeConstants.ROOT_REALM);
+        userTO.setUsername("rossini");
+        userTO.setPassword("password123");
+        userTO.setStatus("active");
+        userTO.getPlainAttrs().add(new AttrTO.Builder().schema("firstname").value("Gioacchino").build());
+        userTO.getPlainAttrs().add(new AttrTO.Builder().schema("surname").value("Rossini").build());
+        userTO.getPlainAttrs().add(new AttrTO.Builder().schema("fullname").value("Gioacchino Rossini").build());
+        userTO.getPlainAttrs().add(new AttrTO.Builder().schema("userId").value("rossini@apache.org").build());
+        userTO.getPlainAttrs().add(new AttrTO.Builder().schema("loginDate").
+                values("2009-05-26", "2010-05-26", "2011-05-26").build());
+        userTO.getMemberships().add(new MembershipTO.Builder().group("37d15e4c-cdc1-460b-a591-8505c8133806", "root").
+                build());
+        userTO.getResources().add("resource-testdb");
+        userTO.getResources().add("ws-target-resource-1");
+        return userTO;
+    }
+
+    private BenchmarkUtils() {
+        // private constructor for static utility class
+    }
+}
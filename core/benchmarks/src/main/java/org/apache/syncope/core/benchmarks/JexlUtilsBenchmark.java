@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.jexl3.JexlContext;
+import org.apache.commons.jexl3.MapContext;
+import org.apache.syncope.common.lib.to.UserTO;
+import org.apache.syncope.core.provisioning.java.jexl.JexlUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class JexlUtilsBenchmark {
+
+    private static final Map<String, String> EXPRESSIONS = new HashMap<>();
+
+    static {
+        EXPRESSIONS.put("constant", "'reconciled@syncope.apache.org'");
+        EXPRESSIONS.put("concat", "username + '@syncope.apache.org'");
+        EXPRESSIONS.put("conditional", "surname == 'Rossini' ? firstname.toUpperCase() + ' ' + surname : username");
+    }
+
+    @Param({ "constant", "concat", "conditional" })
+    private String expression;
+
+    private String jexl;
+
+    private UserTO userTO;
+
+    private JexlContext jexlContext;
+
+    @Setup
+    public void setUp() {
+        jexl = EXPRESSIONS.get(expression);
+        userTO = BenchmarkUtils.sampleUserTO();
+
+        jexlContext = new MapContext();
+        JexlUtils.addFieldsToContext(userTO, jexlContext);
+        userTO.getPlainAttrs().forEach(attr -> jexlContext.set(attr.getSchema(), attr.getValues().get(0)));
+    }
+
+    @Benchmark
+    public String evaluate() {
+        return JexlUtils.evaluate(jexl, jexlContext);
+    }
+
+    @Benchmark
+    public String evaluateWithAnyTO() {
+        return JexlUtils.evaluate(jexl, userTO, new MapContext());
+    }
+}
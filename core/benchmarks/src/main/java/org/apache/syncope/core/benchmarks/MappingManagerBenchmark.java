@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.benchmarks;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.syncope.core.persistence.api.dao.AnyTypeDAO;
+import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.provisioning.api.MappingManager;
+import org.identityconnectors.framework.common.objects.Attribute;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link MappingManager#prepareAttrs(org.apache.syncope.core.persistence.api.entity.Any, String, boolean, Boolean,
+ * org.apache.syncope.core.persistence.api.entity.resource.Provision)} for user {@code rossini}; as during propagation,
+ * user and provision are looked up in the same transaction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class MappingManagerBenchmark extends AbstractContextBenchmark {
+
+    @Param({ "ws-target-resource-1", "resource-testdb" })
+    private String resource;
+
+    private UserDAO userDAO;
+
+    private AnyTypeDAO anyTypeDAO;
+
+    private ExternalResourceDAO resourceDAO;
+
+    private MappingManager mappingManager;
+
+    @Setup
+    public void setUp() {
+        startContext();
+
+        userDAO = ctx.getBean(UserDAO.class);
+        anyTypeDAO = ctx.getBean(AnyTypeDAO.class);
+        resourceDAO = ctx.getBean(ExternalResourceDAO.class);
+        mappingManager = ctx.getBean(MappingManager.class);
+    }
+
+    @Benchmark
+    public Pair<String, Set<Attribute>> prepareAttrs() {
+        return txTemplate.execute(status -> mappingManager.prepareAttrs(
+                userDAO.findByUsername("rossini"),
+                "password123",
+                true,
+                true,
+                resourceDAO.find(resource).getProvision(anyTypeDAO.findUser()).get()));
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.syncope.common.lib.to.AttrTO;
+import org.apache.syncope.common.lib.to.UserTO;
+import org.apache.syncope.core.persistence.api.dao.AnyTypeDAO;
+import org.apache.syncope.core.persistence.api.dao.TaskDAO;
+import org.apache.syncope.core.persistence.api.entity.task.AnyTemplatePullTask;
+import org.apache.syncope.core.persistence.api.entity.task.PullTask;
+import org.apache.syncope.core.provisioning.api.Connector;
+import org.apache.syncope.core.provisioning.java.pushpull.PullJobDelegate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.quartz.JobExecutionException;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+
+/**
+ * End-to-end execution of the {@code TestDB Task} pull task, fed by {@link SyncDeltaConnector}: each invocation
+ * reconciles the given number of accounts, which are all new (and thus provisioned, unless running dry).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class PullJobDelegateBenchmark extends AbstractContextBenchmark {
+
+    private static final String PULL_TASK_KEY = "83f7e85d-9774-43fe-adba-ccd856312994";
+
+    @Param({ "100" })
+    private int size;
+
+    @Param({ "true", "false" })
+    private boolean dryRun;
+
+    private TaskDAO taskDAO;
+
+    private BenchmarkPullExecutor delegate;
+
+    private SyncDeltaConnector connector;
+
+    private int round;
+
+    @Setup
+    public void setUp() {
+        startContext();
+
+        taskDAO = ctx.getBean(TaskDAO.class);
+        AnyTypeDAO anyTypeDAO = ctx.getBean(AnyTypeDAO.class);
+
+        // unique attributes must be computed from the pulled username, to allow provisioning several users
+        connector = txTemplate.execute(status -> {
+            PullTask task = taskDAO.find(PULL_TASK_KEY);
+
+            AnyTemplatePullTask template = task.getTemplate(anyTypeDAO.findUser()).get();
+            UserTO userTO = (UserTO) template.get();
+            userTO.getPlainAttrs().removeIf(attr -> "userId".equals(attr.getSchema())
+                    || "fullname".equals(attr.getSchema()));
+            userTO.getPlainAttrs().add(new AttrTO.Builder().
+                    schema("userId").value("username + '@syncope.apache.org'").build());
+            userTO.getPlainAttrs().add(new AttrTO.Builder().
+                    schema("fullname").value("username").build());
+            template.set(userTO);
+            taskDAO.save(task);
+
+            return new SyncDeltaConnector(task.getResource().getConnector(), size);
+        });
+
+        delegate = (BenchmarkPullExecutor) ctx.getBeanFactory().
+                createBean(BenchmarkPullJobDelegate.class, AbstractBeanDefinition.AUTOWIRE_BY_NAME, false);
+    }
+
+    @Benchmark
+    public String pull() {
+        connector.setPrefix("pull" + round++ + "_");
+
+        return inMasterDomain(() -> txTemplate.execute(status -> {
+            try {
+                return delegate.pull(taskDAO.find(PULL_TASK_KEY), connector, dryRun);
+            } catch (JobExecutionException e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+    }
+
+    /**
+     * Delegates are proxied by interface, due to {@code @Transactional}.
+     */
+    public interface BenchmarkPullExecutor {
+
+        String pull(PullTask pullTask, Connector connector, boolean dryRun) throws JobExecutionException;
+    }
+
+    public static class BenchmarkPullJobDelegate extends PullJobDelegate implements BenchmarkPullExecutor {
+
+        @Override
+        public String pull(final PullTask pullTask, final Connector connector, final boolean dryRun)
+                throws JobExecutionException {
+
+            return doExecuteProvisioning(pullTask, connector, dryRun);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.benchmarks;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import org.apache.syncope.core.persistence.api.dao.search.OrderByClause;
+import org.apache.syncope.core.persistence.api.entity.ConnInstance;
+import org.apache.syncope.core.provisioning.api.Connector;
+import org.apache.syncope.core.provisioning.api.pushpull.ReconciliationFilterBuilder;
+import org.identityconnectors.common.security.GuardedString;
+import org.identityconnectors.framework.common.objects.Attribute;
+import org.identityconnectors.framework.common.objects.AttributeBuilder;
+import org.identityconnectors.framework.common.objects.ConnectorObject;
+import org.identityconnectors.framework.common.objects.ConnectorObjectBuilder;
+import org.identityconnectors.framework.common.objects.ObjectClass;
+import org.identityconnectors.framework.common.objects.ObjectClassInfo;
+import org.identityconnectors.framework.common.objects.OperationOptions;
+import org.identityconnectors.framework.common.objects.ResultsHandler;
+import org.identityconnectors.framework.common.objects.SearchResult;
+import org.identityconnectors.framework.common.objects.SyncDeltaBuilder;
+import org.identityconnectors.framework.common.objects.SyncDeltaType;
+import org.identityconnectors.framework.common.objects.SyncResultsHandler;
+import org.identityconnectors.framework.common.objects.SyncToken;
+import org.identityconnectors.framework.common.objects.Uid;
+import org.identityconnectors.framework.common.objects.filter.Filter;
+
+/**
+ * In-memory {@link Connector} feeding reconciliation with a configurable number of accounts, shaped as the ones
+ * returned by the DatabaseTable connector for {@code resource-testdb}; no bundle nor external system is required.
+ */
+public class SyncDeltaConnector implements Connector {
+
+    private final ConnInstance connInstance;
+
+    private final int size;
+
+    private String prefix = "pull";
+
+    public SyncDeltaConnector(final ConnInstance connInstance, final int size) {
+        this.connInstance = connInstance;
+        this.size = size;
+    }
+
+    public void setPrefix(final String prefix) {
+        this.prefix = prefix;
+    }
+
+    private ConnectorObject connObject(final ObjectClass objectClass, final int index) {
+        String id = prefix + index;
+
+        return new ConnectorObjectBuilder().
+                setObjectClass(objectClass).
+                setUid(id).
+                setName(id).
+                addAttribute(AttributeBuilder.build("ID", id)).
+                addAttribute(AttributeBuilder.buildPassword(new GuardedString("Password123".toCharArray()))).
+                build();
+    }
+
+    @Override
+    public void fullReconciliation(
+            final ObjectClass objectClass,
+            final SyncResultsHandler handler,
+            final OperationOptions options) {
+
+        filteredReconciliation(objectClass, null, handler, options);
+    }
+
+    @Override
+    public void filteredReconciliation(
+            final ObjectClass objectClass,
+            final ReconciliationFilterBuilder filterBuilder,
+            final SyncResultsHandler handler,
+            final OperationOptions options) {
+
+        for (int i = 0; i < size; i++) {
+            ConnectorObject object = connObject(objectClass, i);
+            if (!handler.handle(new SyncDeltaBuilder().
+                    setObject(object).
+                    setUid(object.getUid()).
+                    setDeltaType(SyncDeltaType.CREATE_OR_UPDATE).
+                    setToken(new SyncToken("")).
+                    build())) {
+
+                break;
+            }
+        }
+    }
+
+    @Override
+    public void sync(
+            final ObjectClass objectClass,
+            final SyncToken token,
+            final SyncResultsHandler handler,
+            final OperationOptions options) {
+
+        filteredReconciliation(objectClass, null, handler, options);
+    }
+
+    @Override
+    public SyncToken getLatestSyncToken(final ObjectClass objectClass) {
+        return new SyncToken("");
+    }
+
+    @Override
+    public Uid authenticate(final String username, final String password, final OperationOptions options) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Uid create(
+            final ObjectClass objectClass,
+            final Set<Attribute> attrs,
+            final OperationOptions options,
+            final Boolean[] propagationAttempted) {
+
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Uid update(
+            final ObjectClass objectClass,
+            final Uid uid,
+            final Set<Attribute> attrs,
+            final OperationOptions options,
+            final Boolean[] propagationAttempted) {
+
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void delete(
+            final ObjectClass objectClass,
+            final Uid uid,
+            final OperationOptions options,
+            final Boolean[] propagationAttempted) {
+
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ConnectorObject getObject(
+            final ObjectClass objectClass,
+            final Attribute connObjectKey,
+            final OperationOptions options) {
+
+        return null;
+    }
+
+    @Override
+    public SearchResult search(
+            final ObjectClass objectClass,
+            final Filter filter,
+            final ResultsHandler handler,
+            final OperationOptions options) {
+
+        return new SearchResult();
+    }
+
+    @Override
+    public SearchResult search(
+            final ObjectClass objectClass,
+            final Filter filter,
+            final ResultsHandler handler,
+            final int pageSize,
+            final String pagedResultsCookie,
+            final List<OrderByClause> orderBy,
+            final OperationOptions options) {
+
+        return new SearchResult();
+    }
+
+    @Override
+    public Set<ObjectClassInfo> getObjectClassInfo() {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public void validate() {
+        // nothing to validate
+    }
+
+    @Override
+    public void test() {
+        // nothing to test
+    }
+
+    @Override
+    public ConnInstance getConnInstance() {
+        return connInstance;
+    }
+}
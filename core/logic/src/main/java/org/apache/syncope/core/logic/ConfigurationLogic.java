@@ -108,6 +108,11 @@ public class ConfigurationLogic extends AbstractTransactionalLogic<AttrTO> {
         confDAO.save(binder.getAttr(value));
     }
 
+    @PreAuthorize("hasRole('" + StandardEntitlement.CONFIGURATION_SET + "')")
+    public void reload() {
+        confDAO.reload();
+    }
+
     @PreAuthorize("hasRole('" + StandardEntitlement.CONFIGURATION_EXPORT + "')")
     @Transactional(readOnly = true)
     public void export(final OutputStream os) {
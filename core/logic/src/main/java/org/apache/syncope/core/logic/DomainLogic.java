@@ -67,7 +67,7 @@ public class DomainLogic extends AbstractTransactionalLogic<DomainTO> {
     @PreAuthorize("hasRole('" + StandardEntitlement.DOMAIN_CREATE + "') and authentication.details.domain == "
             + "T(org.apache.syncope.common.lib.SyncopeConstants).MASTER_DOMAIN")
     public DomainTO create(final DomainTO domainTO) {
-        if (!domainsHolder.getDomains().keySet().contains(domainTO.getKey())) {
+        if (!domainsHolder.getAvailableDomains().contains(domainTO.getKey())) {
             throw new NotFoundException("No configuration is available for domain " + domainTO.getKey());
         }
 
@@ -18,8 +18,13 @@
  */
 package org.apache.syncope.core.logic;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -56,6 +61,7 @@ import org.apache.syncope.core.persistence.api.dao.TaskDAO;
 import org.apache.syncope.core.persistence.api.entity.EntityFactory;
 import org.apache.syncope.core.persistence.api.entity.Logger;
 import org.apache.syncope.core.persistence.api.entity.task.SchedTask;
+import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
 import org.apache.syncope.core.spring.BeanUtils;
 import org.apache.syncope.core.provisioning.java.pushpull.PushJobDelegate;
 import org.apache.syncope.core.provisioning.java.pushpull.PullJobDelegate;
@@ -69,6 +75,7 @@ import org.springframework.core.type.classreading.MetadataReader;
 import org.springframework.core.type.classreading.MetadataReaderFactory;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.SystemPropertyUtils;
@@ -76,6 +83,10 @@ import org.springframework.util.SystemPropertyUtils;
 @Component
 public class LoggerLogic extends AbstractTransactionalLogic<LoggerTO> {
 
+    private static final long STREAM_POLL_INTERVAL = 1000L;
+
+    private static final long STREAM_MAX_DURATION = 5 * 60 * 1000L;
+
     @Autowired
     private LoggerLoader loggerLoader;
 
@@ -112,12 +123,66 @@ public class LoggerLogic extends AbstractTransactionalLogic<LoggerTO> {
     @PreAuthorize("hasRole('" + StandardEntitlement.LOG_READ + "') and authentication.details.domain == "
             + "T(org.apache.syncope.common.lib.SyncopeConstants).MASTER_DOMAIN")
     public List<LogStatementTO> getLastLogStatements(final String memoryAppender) {
+        return getLogStatements(memoryAppender, 0);
+    }
+
+    private MemoryAppender getMemoryAppender(final String memoryAppender) {
         MemoryAppender appender = loggerLoader.getMemoryAppenders().get(memoryAppender);
         if (appender == null) {
             throw new NotFoundException("Appender " + memoryAppender);
         }
+        return appender;
+    }
+
+    @PreAuthorize("hasRole('" + StandardEntitlement.LOG_READ + "') and authentication.details.domain == "
+            + "T(org.apache.syncope.common.lib.SyncopeConstants).MASTER_DOMAIN")
+    public List<LogStatementTO> getLogStatements(final String memoryAppender, final long since) {
+        return getMemoryAppender(memoryAppender).getStatements(since);
+    }
 
-        return appender.getStatements().stream().collect(Collectors.toList());
+    /**
+     * Writes to the given stream, as server-sent events, the statements appended to the given memory appender after
+     * the given sequence number, then keeps polling for new statements until either the client disconnects or
+     * {@link #STREAM_MAX_DURATION} has elapsed; clients are expected to reconnect by passing the last event id.
+     * No transaction is involved, as the in-memory statements are all what is read while streaming.
+     *
+     * @param memoryAppender memory appender name
+     * @param since sequence number of the last statement already known to the caller
+     * @param os output stream
+     */
+    @PreAuthorize("hasRole('" + StandardEntitlement.LOG_READ + "') and authentication.details.domain == "
+            + "T(org.apache.syncope.common.lib.SyncopeConstants).MASTER_DOMAIN")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamLogStatements(final String memoryAppender, final long since, final OutputStream os) {
+        MemoryAppender appender = getMemoryAppender(memoryAppender);
+
+        Writer writer = new OutputStreamWriter(os, StandardCharsets.UTF_8);
+        long last = since;
+        long until = System.currentTimeMillis() + STREAM_MAX_DURATION;
+        try {
+            writer.write("retry: " + STREAM_POLL_INTERVAL + "\n\n");
+            while (System.currentTimeMillis() < until) {
+                List<LogStatementTO> statements = appender.getStatements(last);
+                if (statements.isEmpty()) {
+                    // heartbeat, also used to detect disconnected clients
+                    writer.write(":\n\n");
+                } else {
+                    for (LogStatementTO statement : statements) {
+                        writer.write("id: " + statement.getSequence() + "\n");
+                        writer.write("event: logStatement\n");
+                        writer.write("data: " + POJOHelper.serialize(statement) + "\n\n");
+                        last = statement.getSequence();
+                    }
+                }
+                writer.flush();
+
+                Thread.sleep(STREAM_POLL_INTERVAL);
+            }
+        } catch (IOException e) {
+            LOG.debug("Client disconnected while streaming statements from {}", memoryAppender, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 
     @PreAuthorize("hasRole('" + StandardEntitlement.LOG_LIST + "') and authentication.details.domain == "
@@ -18,7 +18,10 @@
  */
 package org.apache.syncope.core.logic;
 
-import java.util.Queue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import org.apache.logging.log4j.core.Appender;
 import org.apache.logging.log4j.core.Filter;
 import org.apache.logging.log4j.core.LogEvent;
@@ -27,17 +30,71 @@ import org.apache.logging.log4j.core.config.plugins.Plugin;
 import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
 import org.apache.logging.log4j.core.config.plugins.PluginElement;
 import org.apache.logging.log4j.core.config.plugins.PluginFactory;
-import org.apache.logging.log4j.message.Message;
-import org.apache.logging.log4j.message.ReusableMessage;
-import org.apache.syncope.common.lib.collections.CircularFifoQueue;
 import org.apache.syncope.common.lib.log.LogStatementTO;
 import org.apache.syncope.common.lib.types.LoggerLevel;
 import org.apache.syncope.core.provisioning.api.utils.ExceptionUtils2;
 
+/**
+ * Keeps the last {@code size} log events in a lock-free ring buffer.
+ *
+ * Each event is assigned an increasing sequence number, so that readers can incrementally fetch only what was
+ * appended after the last statement they have seen; message formatting and stack trace rendering are deferred
+ * until a reader actually asks for a given statement.
+ */
 @Plugin(name = "Memory", category = "Core", elementType = Appender.ELEMENT_TYPE, printObject = true)
 public class MemoryAppender extends AbstractAppender {
 
-    private final CircularFifoQueue<LogStatementTO> statements;
+    private static final class Slot {
+
+        private final long sequence;
+
+        private final LogEvent event;
+
+        private final long threadId;
+
+        private final String threadName;
+
+        private final int threadPriority;
+
+        private volatile LogStatementTO statement;
+
+        Slot(final long sequence, final LogEvent event) {
+            this.sequence = sequence;
+            this.event = event;
+            // thread information is lazily computed by some LogEvent implementations from the current thread
+            this.threadId = event.getThreadId();
+            this.threadName = event.getThreadName();
+            this.threadPriority = event.getThreadPriority();
+        }
+
+        public LogStatementTO getStatement() {
+            LogStatementTO result = statement;
+            if (result == null) {
+                result = new LogStatementTO();
+                result.setSequence(sequence);
+                result.setLevel(LoggerLevel.fromLevel(event.getLevel()));
+                result.setLoggerName(event.getLoggerName());
+                result.setMessage(event.getMessage().getFormattedMessage());
+                result.setTimeMillis(event.getTimeMillis());
+                if (event.getThrown() != null) {
+                    result.setStackTrace(ExceptionUtils2.getFullStackTrace(event.getThrown()));
+                }
+                result.setThreadId(threadId);
+                result.setThreadName(threadName);
+                result.setThreadPriority(threadPriority);
+
+                // concurrent readers might end up building the same statement: no harm, as the result is equal
+                statement = result;
+            }
+            return result;
+        }
+    }
+
+    private final int size;
+
+    private final AtomicReferenceArray<Slot> slots;
+
+    private final AtomicLong sequence = new AtomicLong(0);
 
     protected MemoryAppender(
             final String name,
@@ -46,36 +103,70 @@ public class MemoryAppender extends AbstractAppender {
             final boolean ignoreExceptions) {
 
         super(name, filter, null, ignoreExceptions);
-        this.statements = new CircularFifoQueue<>(size);
+        this.size = size;
+        this.slots = new AtomicReferenceArray<>(size);
+    }
+
+    private int index(final long seq) {
+        return (int) ((seq - 1) % size);
     }
 
     @Override
     public void append(final LogEvent event) {
-        LogStatementTO statement = new LogStatementTO();
-
-        statement.setLevel(LoggerLevel.fromLevel(event.getLevel()));
-        statement.setLoggerName(event.getLoggerName());
-
-        Message msg = event.getMessage();
-        statement.setMessage((msg instanceof ReusableMessage
-                ? ((ReusableMessage) msg).memento()
-                : msg).getFormattedMessage());
+        // immutable events retain parameters and throwable, leaving formatting to readers
+        LogEvent immutable = event.toImmutable();
+
+        long seq = sequence.incrementAndGet();
+        Slot slot = new Slot(seq, immutable);
+
+        int index = index(seq);
+        Slot current;
+        do {
+            current = slots.get(index);
+            if (current != null && current.sequence > seq) {
+                // a faster producer has already lapped this one: the statement is gone anyway
+                return;
+            }
+        } while (!slots.compareAndSet(index, current, slot));
+    }
 
-        statement.setTimeMillis(event.getTimeMillis());
+    /**
+     * @return sequence number of the last statement appended so far, 0 if none
+     */
+    public long getLastSequence() {
+        return sequence.get();
+    }
 
-        if (event.getThrown() != null) {
-            statement.setStackTrace(ExceptionUtils2.getFullStackTrace(event.getThrown()));
+    /**
+     * Returns the statements still in buffer having sequence number greater than the given one, in append order.
+     *
+     * @param since sequence number of the last statement already known to the caller, 0 to get all statements
+     * @return statements still in buffer having sequence number greater than the given one
+     */
+    public List<LogStatementTO> getStatements(final long since) {
+        long last = sequence.get();
+        if (since >= last) {
+            return new ArrayList<>();
         }
-
-        statement.setThreadId(event.getThreadId());
-        statement.setThreadName(event.getThreadName());
-        statement.setThreadPriority(event.getThreadPriority());
-
-        this.statements.add(statement);
+        long first = Math.max(since + 1, last - size + 1);
+
+        List<LogStatementTO> result = new ArrayList<>((int) Math.max(0, last - first + 1));
+        for (long seq = first; seq <= last; seq++) {
+            Slot slot = slots.get(index(seq));
+            if (slot == null || slot.sequence < seq) {
+                // sequence claimed but statement not yet published: stop here, so that callers polling from the
+                // last returned sequence will not miss it
+                break;
+            }
+            if (slot.sequence == seq) {
+                result.add(slot.getStatement());
+            }
+        }
+        return result;
     }
 
-    public Queue<LogStatementTO> getStatements() {
-        return statements;
+    public List<LogStatementTO> getStatements() {
+        return getStatements(0);
     }
 
     @PluginFactory
@@ -18,7 +18,6 @@
  */
 package org.apache.syncope.core.logic.init;
 
-import java.util.Map;
 import javax.sql.DataSource;
 import org.apache.syncope.common.lib.types.StandardEntitlement;
 import org.apache.syncope.core.provisioning.api.EntitlementsHolder;
@@ -46,11 +45,14 @@ public class EntitlementLoader implements SyncopeLoader {
     public void load() {
         EntitlementsHolder.getInstance().init(StandardEntitlement.values());
 
-        for (Map.Entry<String, DataSource> entry : domainsHolder.getDomains().entrySet()) {
-            AuthContextUtils.execWithAuthContext(entry.getKey(), () -> {
-                entitlementAccessor.addEntitlementsForAnyTypes();
-                return null;
-            });
-        }
+        domainsHolder.getDomains().forEach(this::load);
+    }
+
+    @Override
+    public void load(final String domain, final DataSource datasource) {
+        AuthContextUtils.execWithAuthContext(domain, () -> {
+            entitlementAccessor.addEntitlementsForAnyTypes();
+            return null;
+        });
     }
 }
@@ -34,6 +34,7 @@ import org.apache.logging.log4j.core.appender.db.jdbc.ColumnConfig;
 import org.apache.logging.log4j.core.appender.db.jdbc.ConnectionSource;
 import org.apache.logging.log4j.core.appender.db.jdbc.JdbcAppender;
 import org.apache.logging.log4j.core.appender.rewrite.RewriteAppender;
+import org.apache.logging.log4j.core.config.AbstractConfiguration;
 import org.apache.logging.log4j.core.config.LoggerConfig;
 import org.apache.syncope.common.lib.types.AuditLoggerName;
 import org.apache.syncope.core.logic.audit.AuditAppender;
@@ -78,7 +79,14 @@ public class LoggerLoader implements SyncopeLoader {
                     memoryAppenders.put(entry.getKey(), (MemoryAppender) entry.getValue());
                 });
 
-        // Audit table and DataSource for each configured domain
+        domainsHolder.getDomains().forEach(this::load);
+    }
+
+    @Override
+    public void load(final String domain, final DataSource datasource) {
+        final LoggerContext ctx = (LoggerContext) LogManager.getContext(false);
+
+        // Audit table and DataSource for the given domain
         ColumnConfig[] columnConfigs = {
             ColumnConfig.newBuilder().
             setConfiguration(ctx.getConfiguration()).setName("EVENT_DATE").setEventTimestamp(true).build(),
@@ -93,50 +101,50 @@ public class LoggerLoader implements SyncopeLoader {
         };
         ColumnMapping[] columnMappings = new ColumnMapping[0];
 
-        for (Map.Entry<String, DataSource> entry : domainsHolder.getDomains().entrySet()) {
-            Appender appender = ctx.getConfiguration().getAppender("audit_for_" + entry.getKey());
-            if (appender == null) {
-                appender = JdbcAppender.newBuilder().
-                        withName("audit_for_" + entry.getKey()).
-                        withIgnoreExceptions(false).
-                        setConnectionSource(new DataSourceConnectionSource(entry.getValue())).
-                        setBufferSize(0).
-                        setTableName("SYNCOPEAUDIT").
-                        setColumnConfigs(columnConfigs).
-                        setColumnMappings(columnMappings).
-                        build();
-                appender.start();
-                ctx.getConfiguration().addAppender(appender);
-            }
-
-            LoggerConfig logConf = new LoggerConfig(
-                    AuditLoggerName.getAuditLoggerName(entry.getKey()), null, false);
-            logConf.addAppender(appender, Level.DEBUG, null);
-            logConf.setLevel(Level.DEBUG);
-            ctx.getConfiguration().addLogger(AuditLoggerName.getAuditLoggerName(entry.getKey()), logConf);
-
-            // SYNCOPE-1144 For each custom audit appender class add related appenders to log4j logger
-            auditAppenders(entry.getKey()).forEach(auditAppender -> {
-                auditAppender.getEvents().stream().
-                        map(event -> AuditLoggerName.getAuditEventLoggerName(entry.getKey(), event.toLoggerName())).
-                        forEachOrdered(domainAuditLoggerName -> {
-                            LoggerConfig eventLogConf = ctx.getConfiguration().getLoggerConfig(domainAuditLoggerName);
-                            if (LogManager.ROOT_LOGGER_NAME.equals(eventLogConf.getName())) {
-                                eventLogConf = new LoggerConfig(domainAuditLoggerName, null, false);
-                            }
-                            addAppenderToContext(ctx, auditAppender, eventLogConf);
-                            eventLogConf.setLevel(Level.DEBUG);
-                            if (LogManager.ROOT_LOGGER_NAME.equals(eventLogConf.getName())) {
-                                ctx.getConfiguration().addLogger(domainAuditLoggerName, eventLogConf);
-                            }
-                        });
-            });
-
-            AuthContextUtils.execWithAuthContext(entry.getKey(), () -> {
-                loggerAccessor.synchronizeLog4J(ctx);
-                return null;
-            });
+        // replace any appender left by a previous activation of the domain, bound to a closed DataSource
+        Appender appender = ctx.getConfiguration().getAppender("audit_for_" + domain);
+        if (appender != null) {
+            appender.stop();
+            ((AbstractConfiguration) ctx.getConfiguration()).removeAppender(appender.getName());
         }
+        appender = JdbcAppender.newBuilder().
+                withName("audit_for_" + domain).
+                withIgnoreExceptions(false).
+                setConnectionSource(new DataSourceConnectionSource(datasource)).
+                setBufferSize(0).
+                setTableName("SYNCOPEAUDIT").
+                setColumnConfigs(columnConfigs).
+                setColumnMappings(columnMappings).
+                build();
+        appender.start();
+        ctx.getConfiguration().addAppender(appender);
+
+        LoggerConfig logConf = new LoggerConfig(AuditLoggerName.getAuditLoggerName(domain), null, false);
+        logConf.addAppender(appender, Level.DEBUG, null);
+        logConf.setLevel(Level.DEBUG);
+        ctx.getConfiguration().addLogger(AuditLoggerName.getAuditLoggerName(domain), logConf);
+
+        // SYNCOPE-1144 For each custom audit appender class add related appenders to log4j logger
+        auditAppenders(domain).forEach(auditAppender -> {
+            auditAppender.getEvents().stream().
+                    map(event -> AuditLoggerName.getAuditEventLoggerName(domain, event.toLoggerName())).
+                    forEachOrdered(domainAuditLoggerName -> {
+                        LoggerConfig eventLogConf = ctx.getConfiguration().getLoggerConfig(domainAuditLoggerName);
+                        if (LogManager.ROOT_LOGGER_NAME.equals(eventLogConf.getName())) {
+                            eventLogConf = new LoggerConfig(domainAuditLoggerName, null, false);
+                        }
+                        addAppenderToContext(ctx, auditAppender, eventLogConf);
+                        eventLogConf.setLevel(Level.DEBUG);
+                        if (LogManager.ROOT_LOGGER_NAME.equals(eventLogConf.getName())) {
+                            ctx.getConfiguration().addLogger(domainAuditLoggerName, eventLogConf);
+                        }
+                    });
+        });
+
+        AuthContextUtils.execWithAuthContext(domain, () -> {
+            loggerAccessor.synchronizeLog4J(ctx);
+            return null;
+        });
 
         ctx.updateLoggers();
     }
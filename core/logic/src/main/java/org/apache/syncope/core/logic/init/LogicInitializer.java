@@ -22,7 +22,12 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.apache.syncope.core.persistence.api.DomainsHolder;
 import org.apache.syncope.core.persistence.api.SyncopeLoader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -65,5 +70,24 @@ public class LogicInitializer implements InitializingBean, BeanFactoryAware {
             loader.load();
         });
         LOG.debug("Initialization completed");
+
+        // domains activated upon first usage are preloaded in background, for their scheduled jobs to be registered
+        DomainsHolder domainsHolder = beanFactory.getBean(DomainsHolder.class);
+        Set<String> inactive = new TreeSet<>(domainsHolder.getAvailableDomains());
+        inactive.removeAll(domainsHolder.getDomains().keySet());
+        if (!inactive.isEmpty()) {
+            ExecutorService preloader = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "DomainPreload");
+                thread.setDaemon(true);
+                return thread;
+            });
+            inactive.forEach(domain -> preloader.submit(() -> {
+                LOG.debug("[{}] Preloading domain", domain);
+                if (!domainsHolder.preload(domain)) {
+                    LOG.error("[{}] Could not preload domain, its scheduled jobs will not run until activated", domain);
+                }
+            }));
+            preloader.shutdown();
+        }
     }
 }
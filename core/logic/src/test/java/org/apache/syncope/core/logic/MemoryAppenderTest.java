@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.logic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.apache.syncope.common.lib.log.LogStatementTO;
+import org.apache.syncope.common.lib.types.LoggerLevel;
+import org.junit.Test;
+
+public class MemoryAppenderTest {
+
+    private static LogEvent event(final String message, final Object... params) {
+        return Log4jLogEvent.newBuilder().
+                setLoggerName(MemoryAppenderTest.class.getName()).
+                setLevel(Level.INFO).
+                setMessage(new ParameterizedMessage(message, params)).
+                setThrown(params.length > 0 && params[params.length - 1] instanceof Throwable
+                        ? (Throwable) params[params.length - 1] : null).
+                build();
+    }
+
+    private static List<Long> sequences(final List<LogStatementTO> statements) {
+        return statements.stream().map(LogStatementTO::getSequence).collect(Collectors.toList());
+    }
+
+    @Test
+    public void sequence() {
+        MemoryAppender appender = new MemoryAppender("test", 10, null, true);
+        assertEquals(0, appender.getLastSequence());
+        assertTrue(appender.getStatements().isEmpty());
+
+        for (int i = 1; i <= 5; i++) {
+            appender.append(event("message {}", i));
+        }
+        assertEquals(5, appender.getLastSequence());
+
+        List<LogStatementTO> statements = appender.getStatements();
+        assertEquals(5, statements.size());
+        assertEquals(Arrays.asList(1L, 2L, 3L, 4L, 5L), sequences(statements));
+        assertEquals("message 1", statements.get(0).getMessage());
+        assertEquals(LoggerLevel.INFO, statements.get(0).getLevel());
+        assertEquals(MemoryAppenderTest.class.getName(), statements.get(0).getLoggerName());
+
+        // incremental reads only return what was appended after the given sequence
+        assertEquals(Arrays.asList(4L, 5L), sequences(appender.getStatements(3)));
+        assertTrue(appender.getStatements(5).isEmpty());
+        assertTrue(appender.getStatements(Long.MAX_VALUE).isEmpty());
+
+        appender.append(event("message {}", 6));
+        assertEquals(Collections.singletonList(6L), sequences(appender.getStatements(5)));
+    }
+
+    @Test
+    public void ringBuffer() {
+        MemoryAppender appender = new MemoryAppender("test", 3, null, true);
+        for (int i = 1; i <= 7; i++) {
+            appender.append(event("message {}", i));
+        }
+
+        // only the last 3 statements are kept, whatever the given sequence
+        assertEquals(Arrays.asList(5L, 6L, 7L), sequences(appender.getStatements()));
+        assertEquals(Arrays.asList(5L, 6L, 7L), sequences(appender.getStatements(2)));
+        assertEquals(Arrays.asList(7L), sequences(appender.getStatements(6)));
+        assertEquals("message 7", appender.getStatements(6).get(0).getMessage());
+    }
+
+    @Test
+    public void stackTrace() {
+        MemoryAppender appender = new MemoryAppender("test", 3, null, true);
+        appender.append(event("failure on {}", "resource", new IllegalStateException("boom")));
+
+        LogStatementTO statement = appender.getStatements().get(0);
+        assertEquals("failure on resource", statement.getMessage());
+        assertNotNull(statement.getStackTrace());
+        assertTrue(statement.getStackTrace().contains("boom"));
+
+        // the same statement is returned upon later reads
+        assertSame(statement, appender.getStatements().get(0));
+    }
+
+    @Test
+    public void concurrentAppends() throws Exception {
+        int threads = 4;
+        int perThread = 1000;
+        int size = 100;
+        MemoryAppender appender = new MemoryAppender("test", size, null, true);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        appender.append(event("message {}", i));
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long last = threads * perThread;
+        assertEquals(last, appender.getLastSequence());
+
+        // all the last statements are there, with no gaps and in sequence order
+        List<Long> sequences = sequences(appender.getStatements());
+        assertEquals(size, sequences.size());
+        for (int i = 0; i < size; i++) {
+            assertEquals(last - size + 1 + i, sequences.get(i).longValue());
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.logic;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import org.apache.syncope.core.provisioning.api.metrics.MetricsCollector;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class MetricsLogicTest {
+
+    @Test
+    public void scrape() {
+        MetricsCollector failing = registry -> {
+            throw new IllegalStateException("collector failure");
+        };
+        MetricsCollector working = registry -> registry.gauge("test_scrape_gauge", "Scraped gauge", "pool", "main").
+                set(3);
+
+        MetricsLogic logic = new MetricsLogic();
+        ReflectionTestUtils.setField(logic, "collectors", Arrays.asList(failing, working));
+
+        // collectors are invoked right before writing, and failing ones do not prevent scraping
+        String scraped = logic.scrape();
+        assertTrue(scraped.contains("# HELP test_scrape_gauge Scraped gauge\n"));
+        assertTrue(scraped.contains("# TYPE test_scrape_gauge gauge\n"));
+        assertTrue(scraped.contains("test_scrape_gauge{pool=\"main\"} 3.0\n"));
+    }
+}
@@ -19,9 +19,71 @@
 package org.apache.syncope.core.persistence.api;
 
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 import javax.sql.DataSource;
 
 public interface DomainsHolder {
 
+    /**
+     * @return DataSource of each active domain
+     */
     Map<String, DataSource> getDomains();
+
+    /**
+     * @return all domains: active ones, plus the ones which will be activated upon first usage
+     */
+    Set<String> getAvailableDomains();
+
+    /**
+     * Activates the given domain, if available and not active yet; otherwise, just records its usage.
+     *
+     * @param domain domain
+     * @return whether the given domain is active
+     */
+    boolean activate(String domain);
+
+    /**
+     * Activates the given domain, if available and not active yet, for every {@link SyncopeLoader} to register what
+     * it needs - such as scheduled jobs - then passivates it again, unless used meanwhile; this is not recorded as
+     * usage.
+     *
+     * @param domain domain
+     * @return whether the given domain could be activated
+     */
+    default boolean preload(String domain) {
+        return activate(domain);
+    }
+
+    /**
+     * Activates the given domain as {@link #activate(java.lang.String)} does, and records one more usage in progress:
+     * the domain is not passivated until {@link #release(java.lang.String)} is invoked for each usage.
+     *
+     * @param domain domain
+     * @return whether the given domain is active: only in this case, {@link #release(java.lang.String)} is expected
+     */
+    default boolean acquire(String domain) {
+        return activate(domain);
+    }
+
+    /**
+     * Records the end of an usage started by {@link #acquire(java.lang.String)}.
+     *
+     * @param domain domain
+     */
+    default void release(String domain) {
+        // nothing to do by default
+    }
+
+    /**
+     * Runs the given action without recording it as usage of any domain, so that periodic background activity does
+     * not prevent idle domains from being passivated.
+     *
+     * @param <T> result type
+     * @param action action
+     * @return action result
+     */
+    default <T> T execInBackground(Supplier<T> action) {
+        return action.get();
+    }
 }
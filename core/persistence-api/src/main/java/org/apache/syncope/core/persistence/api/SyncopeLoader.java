@@ -18,6 +18,8 @@
  */
 package org.apache.syncope.core.persistence.api;
 
+import javax.sql.DataSource;
+
 /**
  * Marker interface for Syncope components initialization.
  */
@@ -32,4 +34,23 @@ public interface SyncopeLoader {
      * Perform initialization operations.
      */
     void load();
+
+    /**
+     * Perform initialization operations on the given domain, when activated after startup.
+     *
+     * @param domain domain
+     * @param datasource domain's DataSource
+     */
+    default void load(String domain, DataSource datasource) {
+        // nothing to do by default
+    }
+
+    /**
+     * Release any resource held for the given domain, when passivated.
+     *
+     * @param domain domain
+     */
+    default void unload(String domain) {
+        // nothing to do by default
+    }
 }
@@ -18,7 +18,9 @@
  */
 package org.apache.syncope.core.persistence.api.content;
 
+import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.file.Path;
 import javax.xml.transform.TransformerConfigurationException;
 import org.xml.sax.SAXException;
 
@@ -26,4 +28,24 @@ public interface ContentExporter {
 
     void export(String domain, OutputStream output, String uwfPrefix, String gwfPrefix, String awfPrefix) 
             throws SAXException, TransformerConfigurationException;
+
+    /**
+     * Exports the given domain's content into the given directory, as a set of compressed XML chunk files per table,
+     * each accompanied by its SHA-256 checksum; tables are dumped in parallel, each over its own connection at
+     * READ COMMITTED isolation, through a single query: each table is consistent by itself, but no snapshot spans
+     * across tables, so that the export should be taken while the domain is not being modified.
+     * If the directory holds an interrupted export, tables whose chunks were already successfully exported are
+     * skipped, so that the export is resumed; a complete export is replaced instead.
+     * The top-level manifest is written last: its presence marks the export as complete.
+     *
+     * @param domain domain
+     * @param directory target directory, created if not existing
+     * @param parallelism how many tables to dump at the same time
+     * @param uwfPrefix user workflow table prefix, to be excluded
+     * @param gwfPrefix group workflow table prefix, to be excluded
+     * @param awfPrefix any object workflow table prefix, to be excluded
+     * @throws IOException if the directory cannot be written or any table could not be exported
+     */
+    void export(String domain, Path directory, int parallelism, String uwfPrefix, String gwfPrefix, String awfPrefix)
+            throws IOException;
 }
@@ -18,8 +18,21 @@
  */
 package org.apache.syncope.core.persistence.api.content;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import javax.sql.DataSource;
 import org.apache.syncope.core.persistence.api.SyncopeLoader;
 
 public interface ContentLoader extends SyncopeLoader {
 
+    /**
+     * Loads the content exported by {@link ContentExporter#export(String, Path, String, String, String)} into the
+     * given domain, whose exported tables must be empty; all chunk checksums are verified before loading anything.
+     *
+     * @param domain domain
+     * @param datasource domain's DataSource
+     * @param directory export directory
+     * @throws IOException if the export is incomplete, or any chunk is missing or corrupted
+     */
+    void load(String domain, DataSource datasource, Path directory) throws IOException;
 }
@@ -21,6 +21,8 @@ package org.apache.syncope.core.persistence.api.dao;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.persistence.api.entity.Any;
 import org.apache.syncope.core.persistence.api.entity.resource.ExternalResource;
@@ -31,8 +33,17 @@ public interface AnyDAO<A extends Any<?>> extends DAO<A> {
 
     int DEFAULT_PAGE_SIZE = 10;
 
+    int DEFAULT_FETCH_SIZE = 100;
+
     String findKey(String name);
 
+    /**
+     * Finds, with a single query, keys of all any objects mapped by their name (username for users).
+     *
+     * @return map from name to keys of matching any objects
+     */
+    Map<String, List<String>> findKeysByName();
+
     Date findLastChange(String key);
 
     A authFind(String key);
@@ -43,8 +54,29 @@ public interface AnyDAO<A extends Any<?>> extends DAO<A> {
 
     List<A> findByPlainAttrValue(String schemaName, PlainAttrValue attrValue);
 
+    /**
+     * Finds any objects owning the given value for the given plain schema.
+     *
+     * @param schemaName plain schema name
+     * @param attrValue value, as parsed by the given schema
+     * @param ignoreCaseMatch whether string and enum values shall be compared ignoring case
+     * @return any objects owning the given value
+     */
+    List<A> findByPlainAttrValue(String schemaName, PlainAttrValue attrValue, boolean ignoreCaseMatch);
+
     A findByPlainAttrUniqueValue(String schemaName, PlainAttrValue attrUniqueValue);
 
+    /**
+     * Finds, with a single query, all values of the given plain schema, mapped to the keys of their owners.
+     * Values are represented as by {@link PlainAttrValue#getValueAsString(
+     * org.apache.syncope.common.lib.types.AttrSchemaType)} on values not bound to any attribute, e.g. not applying
+     * the schema's conversion pattern; binary values are not supported.
+     *
+     * @param schemaName plain schema name
+     * @return map from value string representation to keys of owning any objects
+     */
+    Map<String, List<String>> findKeysByPlainAttrValue(String schemaName);
+
     /**
      * Find any objects by derived attribute value. This method could fail if one or more string literals contained
      * into the derived attribute value provided derive from identifier (schema name) replacement. When you are going to
@@ -78,6 +110,18 @@ public interface AnyDAO<A extends Any<?>> extends DAO<A> {
      */
     List<A> findAll(int page, int itemsPerPage);
 
+    /**
+     * Streams all any objects by key order, fetching them in chunks of the given size; each chunk is selected by keys
+     * greater than the last one of the previous chunk, so that fetching does not get slower while moving forward and
+     * concurrent changes do not cause any object to be skipped or repeated.
+     *
+     * @param fetchSize how many any objects to fetch with each query
+     * @param detached whether each chunk shall be detached from the persistence context once consumed, to keep memory
+     * usage flat; only suitable when the streamed any objects are not going to be modified
+     * @return any objects of type {@link A}, by key order
+     */
+    Stream<A> streamAll(int fetchSize, boolean detached);
+
     <S extends Schema> AllowedSchemas<S> findAllowedSchemas(A any, Class<S> reference);
 
     A save(A any);
@@ -20,6 +20,7 @@ package org.apache.syncope.core.persistence.api.dao;
 
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.core.persistence.api.dao.search.OrderByClause;
 import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
@@ -66,6 +67,22 @@ public interface AnySearchDAO extends DAO<Any<?>> {
             Set<String> adminRealms, SearchCond searchCondition, int page, int itemsPerPage,
             List<OrderByClause> orderBy, AnyTypeKind kind);
 
+    /**
+     * Streams, by key order, all any objects matching the given search condition, fetching them in chunks of the given
+     * size; each chunk is selected by keys greater than the last one of the previous chunk, rather than by offset.
+     *
+     * @param adminRealms realms for which the caller owns the proper entitlement(s)
+     * @param searchCondition the search condition
+     * @param fetchSize how many any objects to fetch with each query
+     * @param detached whether each chunk shall be detached from the persistence context once consumed, to keep memory
+     * usage flat; only suitable when the streamed any objects are not going to be modified
+     * @param kind any object
+     * @param <T> any
+     * @return the any objects matching the given search condition, by key order
+     */
+    <T extends Any<?>> Stream<T> stream(
+            Set<String> adminRealms, SearchCond searchCondition, int fetchSize, boolean detached, AnyTypeKind kind);
+
     /**
      * Verify if any matches the given search condition.
      *
@@ -21,6 +21,7 @@ package org.apache.syncope.core.persistence.api.dao;
 import java.util.Optional;
 import org.apache.syncope.core.persistence.api.entity.conf.CPlainAttr;
 import org.apache.syncope.core.persistence.api.entity.conf.Conf;
+import org.apache.syncope.core.persistence.api.entity.conf.ConfSnapshot;
 
 public interface ConfDAO extends DAO<Conf> {
 
@@ -28,6 +29,20 @@ public interface ConfDAO extends DAO<Conf> {
 
     <T> T find(String key, T defaultValue);
 
+    /**
+     * Returns the configuration snapshot for the current domain: built once, then replaced as soon as any change
+     * to configuration parameters is committed.
+     *
+     * @return configuration snapshot for the current domain
+     */
+    ConfSnapshot snapshot();
+
+    /**
+     * Discards the configuration snapshot for the current domain, so that it is rebuilt on next access: to be
+     * invoked when configuration parameters were changed elsewhere, e.g. by another node.
+     */
+    void reload();
+
     Conf get();
 
     Conf save(CPlainAttr attr);
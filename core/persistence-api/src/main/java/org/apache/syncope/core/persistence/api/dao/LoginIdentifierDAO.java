@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.api.dao;
+
+import java.util.List;
+import java.util.Map;
+import org.apache.syncope.core.persistence.api.entity.Entity;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+
+/**
+ * Maps the values of the user plain schemas listed by the {@code authentication.attributes} configuration parameter
+ * to the keys of the owning users: finding users by login name requires a single indexed lookup, whatever the number
+ * of such schemas.
+ */
+public interface LoginIdentifierDAO extends DAO<Entity> {
+
+    /**
+     * Finds the users owning the given login identifier, for each configured login schema.
+     *
+     * @param identifier login identifier
+     * @return user keys, by login schema
+     */
+    Map<String, List<String>> find(String identifier);
+
+    /**
+     * Finds the users owning the given value for the given login schema, e.g. for checking uniqueness.
+     *
+     * @param schema login schema
+     * @param identifier login identifier
+     * @return user keys
+     */
+    List<String> find(String schema, String identifier);
+
+    /**
+     * Rebuilds the index for the configured login schemas, in its own transaction: invoked whenever the
+     * {@code authentication.attributes} configuration parameter is changed.
+     */
+    void rebuild();
+
+    /**
+     * Rebuilds the index, in its own transaction, only if the configured login schemas differ from the ones the
+     * index was last built for: invoked at domain startup.
+     *
+     * @return whether the index was rebuilt
+     */
+    boolean refresh();
+
+    void save(User user);
+
+    void deleteByUser(String userKey);
+
+    void deleteBySchema(String schema);
+}
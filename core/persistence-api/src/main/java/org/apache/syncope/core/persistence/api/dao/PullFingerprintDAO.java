@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.api.dao;
+
+import java.util.Date;
+import org.apache.syncope.core.persistence.api.entity.Entity;
+
+/**
+ * Stores, for each connector object pulled from an external resource, a fingerprint of the values read and the
+ * last change date of the matching any object: on subsequent pulls, objects found with the same fingerprint for
+ * the same, not modified ever since, any object can be safely skipped.
+ */
+public interface PullFingerprintDAO extends DAO<Entity> {
+
+    boolean matches(
+            String resource, String anyType, String connObjectKey, String anyKey, String fingerprint, Date lastChange);
+
+    void save(
+            String resource, String anyType, String connObjectKey, String anyKey, String fingerprint, Date lastChange);
+
+    void delete(String resource);
+
+    void deleteByAny(String anyKey);
+}
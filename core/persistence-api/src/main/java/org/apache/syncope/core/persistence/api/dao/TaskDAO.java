@@ -18,6 +18,8 @@
  */
 package org.apache.syncope.core.persistence.api.dao;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.common.lib.types.TaskType;
@@ -53,6 +55,20 @@ public interface TaskDAO extends DAO<Task> {
             AnyTypeKind anyTypeKind,
             String entityKey);
 
+    /**
+     * Finds, by key order, keys of tasks of the given type whose latest execution ended before the given date with
+     * one of the given statuses; tasks with no executions or with executions still running are never returned.
+     *
+     * @param type task type
+     * @param endedBefore tasks whose latest execution ended since this date are not returned
+     * @param statuses statuses of the latest execution to match
+     * @param afterKey only keys greater than this are returned, to fetch the next chunk; null for the first chunk
+     * @param max maximum number of keys to return
+     * @return keys of matching tasks
+     */
+    List<String> findKeysToPurge(
+            TaskType type, Date endedBefore, Collection<String> statuses, String afterKey, int max);
+
     <T extends Task> T save(T task);
 
     void delete(String key);
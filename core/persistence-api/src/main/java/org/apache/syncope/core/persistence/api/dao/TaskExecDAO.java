@@ -18,8 +18,10 @@
  */
 package org.apache.syncope.core.persistence.api.dao;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import org.apache.syncope.common.lib.types.TaskType;
 import org.apache.syncope.core.persistence.api.dao.search.OrderByClause;
 import org.apache.syncope.core.persistence.api.entity.task.Task;
 import org.apache.syncope.core.persistence.api.entity.task.TaskExec;
@@ -41,6 +43,20 @@ public interface TaskExecDAO extends DAO<TaskExec> {
     <T extends Task> List<TaskExec> findAll(
             T task, Date startedBefore, Date startedAfter, Date endedBefore, Date endedAfter);
 
+    /**
+     * Finds, by key order, keys of executions of tasks of the given type which ended before the given date with one
+     * of the given statuses.
+     *
+     * @param type task type
+     * @param endedBefore executions ended since this date are not returned
+     * @param statuses execution statuses to match
+     * @param afterKey only keys greater than this are returned, to fetch the next chunk; null for the first chunk
+     * @param max maximum number of keys to return
+     * @return keys of matching executions
+     */
+    List<String> findKeysToPurge(
+            TaskType type, Date endedBefore, Collection<String> statuses, String afterKey, int max);
+
     TaskExec save(TaskExec execution);
 
     void saveAndAdd(String taskKey, TaskExec execution);
@@ -48,4 +64,12 @@ public interface TaskExecDAO extends DAO<TaskExec> {
     void delete(String key);
 
     void delete(TaskExec execution);
+
+    /**
+     * Deletes the executions with given keys by means of a single bulk statement, without loading them.
+     *
+     * @param keys execution keys
+     * @return number of deleted executions
+     */
+    int purge(Collection<String> keys);
 }
@@ -19,6 +19,7 @@
 package org.apache.syncope.core.persistence.api.dao;
 
 import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -41,6 +42,17 @@ public interface UserDAO extends AnyDAO<User> {
 
     List<User> findBySecurityQuestion(SecurityQuestion securityQuestion);
 
+    /**
+     * Finds, by key order, keys of users due for recertification: not suspended, bound to a workflow and either
+     * never recertified or last recertified before the given date.
+     *
+     * @param lastRecertificationBefore users recertified since this date are not due
+     * @param afterKey only keys greater than this are returned, to fetch the next chunk; null for the first chunk
+     * @param max maximum number of keys to return
+     * @return keys of users due for recertification
+     */
+    List<String> findKeysToBeRecertified(Date lastRecertificationBefore, String afterKey, int max);
+
     List<Role> findDynRoles(String key);
 
     Collection<Role> findAllRoles(User user);
@@ -55,7 +67,38 @@ public interface UserDAO extends AnyDAO<User> {
 
     Collection<ExternalResource> findAllResources(User user);
 
+    /**
+     * Returns the external resources to attempt pass-through authentication against, for the given user: the ones
+     * shared by all account policies - either from the user's resources or realms - having authentication resources.
+     *
+     * @param user user
+     * @return external resources for pass-through authentication
+     */
+    Collection<ExternalResource> findPassthroughResources(User user);
+
     Pair<Boolean, Boolean> enforcePolicies(User user);
 
+    /**
+     * Atomically increments the failed logins counter of the given user, without going through the full save.
+     *
+     * @param key user key
+     */
+    void incrementFailedLogins(String key);
+
+    /**
+     * Resets the failed logins counter of the given user, without going through the full save.
+     *
+     * @param key user key
+     */
+    void resetFailedLogins(String key);
+
+    /**
+     * Sets the last login date of the given users, without going through the full save; dates older than the
+     * ones already stored are ignored.
+     *
+     * @param lastLoginDates last login dates, by user key
+     */
+    void updateLastLoginDates(Map<String, Date> lastLoginDates);
+
     Pair<Set<String>, Set<String>> saveAndGetDynGroupMembs(User user);
 }
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.api.entity.conf;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.ArrayUtils;
+
+/**
+ * Immutable view of configuration parameters, with values already unwrapped from their attributes.
+ */
+public final class ConfSnapshot {
+
+    private static Object copy(final Object value) {
+        if (value instanceof Date) {
+            return new Date(((Date) value).getTime());
+        }
+        if (value instanceof byte[]) {
+            return ArrayUtils.clone((byte[]) value);
+        }
+        return value;
+    }
+
+    private final Map<String, List<Object>> values;
+
+    private final Map<String, List<String>> valuesAsStrings;
+
+    public ConfSnapshot(final Conf conf) {
+        Map<String, List<Object>> confValues = new HashMap<>();
+        Map<String, List<String>> confValuesAsStrings = new HashMap<>();
+
+        conf.getPlainAttrs().forEach(attr -> {
+            confValues.put(attr.getSchema().getKey(), Collections.unmodifiableList(attr.getUniqueValue() == null
+                    ? attr.getValues().stream().map(value -> value.getValue()).collect(Collectors.toList())
+                    : Collections.singletonList(attr.getUniqueValue().getValue())));
+            confValuesAsStrings.put(
+                    attr.getSchema().getKey(), Collections.unmodifiableList(attr.getValuesAsStrings()));
+        });
+
+        this.values = Collections.unmodifiableMap(confValues);
+        this.valuesAsStrings = Collections.unmodifiableMap(confValuesAsStrings);
+    }
+
+    public boolean contains(final String key) {
+        return values.containsKey(key);
+    }
+
+    /**
+     * Returns the first value of the given configuration parameter, if set; the default value otherwise.
+     *
+     * @param <T> value type
+     * @param key configuration parameter
+     * @param defaultValue value to return when the configuration parameter is not set
+     * @return first value of the given configuration parameter, or default value
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(final String key, final T defaultValue) {
+        List<Object> confValues = values.get(key);
+        if (confValues == null) {
+            return defaultValue;
+        }
+        if (confValues.isEmpty()) {
+            return null;
+        }
+        return (T) copy(confValues.get(0));
+    }
+
+    public List<Object> getValues(final String key) {
+        List<Object> confValues = values.get(key);
+        return confValues == null
+                ? Collections.emptyList()
+                : confValues.stream().map(ConfSnapshot::copy).collect(Collectors.toList());
+    }
+
+    public Optional<List<String>> getValuesAsStrings(final String key) {
+        return Optional.ofNullable(valuesAsStrings.get(key));
+    }
+}
@@ -18,6 +18,14 @@
  */
 package org.apache.syncope.core.persistence.jpa.content;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import javax.xml.bind.DatatypeConverter;
 import org.apache.syncope.core.persistence.api.DomainsHolder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,6 +37,41 @@ public abstract class AbstractContentDealer {
 
     protected static final String ROOT_ELEMENT = "dataset";
 
+    /**
+     * Name of the file listing, in foreign key order, the tables exported into a directory.
+     */
+    protected static final String MANIFEST = "manifest";
+
+    /**
+     * Suffix of the per-table files listing chunks, row counts and checksums.
+     */
+    protected static final String TABLE_MANIFEST_SUFFIX = ".manifest";
+
+    protected static final int STREAM_BUFFER_SIZE = 8192;
+
+    protected static Path tableManifest(final Path directory, final String tableName) {
+        return directory.resolve(tableName + TABLE_MANIFEST_SUFFIX);
+    }
+
+    protected static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    protected static String sha256(final Path file) throws IOException {
+        MessageDigest digest = sha256();
+        try (InputStream is = new DigestInputStream(Files.newInputStream(file), digest)) {
+            byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+            while (is.read(buffer) != -1) {
+                // digest is updated while reading
+            }
+        }
+        return DatatypeConverter.printHexBinary(digest.digest());
+    }
+
     @Autowired
     protected DomainsHolder domainsHolder;
 
@@ -47,25 +47,28 @@ public class ContentLoaderHandler extends DefaultHandler {
 
     private final boolean continueOnError;
 
+    private final Map<String, Map<String, Integer>> colTypesByTable = new HashMap<>();
+
     public ContentLoaderHandler(final DataSource dataSource, final String rootElement, final boolean continueOnError) {
         this.dataSource = dataSource;
         this.rootElement = rootElement;
         this.continueOnError = continueOnError;
     }
 
-    private Object[] getParameters(final String tableName, final Attributes attrs) {
-        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
-
-        Map<String, Integer> colTypes = jdbcTemplate.query(
-                "SELECT * FROM " + tableName + " WHERE 0=1", (final ResultSet rs) -> {
-                    Map<String, Integer> colTypes1 = new HashMap<>();
-                    for (int i = 1; i <= rs.getMetaData().getColumnCount();
-                    i++) {
-                        colTypes1.
-                                put(rs.getMetaData().getColumnName(i).toUpperCase(), rs.getMetaData().getColumnType(i));
+    private Map<String, Integer> getColTypes(final String tableName) {
+        return colTypesByTable.computeIfAbsent(tableName, table -> new JdbcTemplate(dataSource).query(
+                "SELECT * FROM " + table + " WHERE 0=1", (final ResultSet rs) -> {
+                    Map<String, Integer> colTypes = new HashMap<>();
+                    for (int i = 1; i <= rs.getMetaData().getColumnCount(); i++) {
+                        colTypes.put(
+                                rs.getMetaData().getColumnName(i).toUpperCase(), rs.getMetaData().getColumnType(i));
                     }
-                    return colTypes1;
-                });
+                    return colTypes;
+                }));
+    }
+
+    private Object[] getParameters(final String tableName, final Attributes attrs) {
+        Map<String, Integer> colTypes = getColTypes(tableName);
 
         Object[] parameters = new Object[attrs.getLength()];
         for (int i = 0; i < attrs.getLength(); i++) {
@@ -162,16 +165,15 @@ public class ContentLoaderHandler extends DefaultHandler {
         return parameters;
     }
 
-    @Override
-    public void startElement(final String uri, final String localName, final String qName, final Attributes atts)
-            throws SAXException {
-
-        // skip root element
-        if (rootElement.equals(qName)) {
-            return;
-        }
-
-        StringBuilder query = new StringBuilder("INSERT INTO ").append(qName).append('(');
+    /**
+     * Inserts a row into the given table.
+     *
+     * @param tableName table name
+     * @param atts row values
+     * @throws DataAccessException if the row cannot be inserted
+     */
+    protected void insert(final String tableName, final Attributes atts) {
+        StringBuilder query = new StringBuilder("INSERT INTO ").append(tableName).append('(');
 
         StringBuilder values = new StringBuilder();
 
@@ -185,11 +187,22 @@ public class ContentLoaderHandler extends DefaultHandler {
         }
         query.append(") VALUES (").append(values).append(')');
 
-        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        new JdbcTemplate(dataSource).update(query.toString(), getParameters(tableName, atts));
+    }
+
+    @Override
+    public void startElement(final String uri, final String localName, final String qName, final Attributes atts)
+            throws SAXException {
+
+        // skip root element
+        if (rootElement.equals(qName)) {
+            return;
+        }
+
         try {
-            jdbcTemplate.update(query.toString(), getParameters(qName, atts));
+            insert(qName, atts);
         } catch (DataAccessException e) {
-            LOG.error("While trying to perform {} with params {}", query, getParameters(qName, atts), e);
+            LOG.error("While trying to insert into {} with params {}", qName, getParameters(qName, atts), e);
             if (!continueOnError) {
                 throw e;
             }
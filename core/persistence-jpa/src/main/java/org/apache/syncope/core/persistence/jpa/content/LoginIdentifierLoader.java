@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.content;
+
+import javax.sql.DataSource;
+import org.apache.syncope.core.persistence.api.DomainsHolder;
+import org.apache.syncope.core.persistence.api.SyncopeLoader;
+import org.apache.syncope.core.persistence.api.dao.LoginIdentifierDAO;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the login identifier index of each domain, once content is available, unless already built for the
+ * configured login schemas.
+ */
+@Component
+public class LoginIdentifierLoader implements SyncopeLoader {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LoginIdentifierLoader.class);
+
+    @Autowired
+    private DomainsHolder domainsHolder;
+
+    @Autowired
+    private LoginIdentifierDAO loginIdentifierDAO;
+
+    @Override
+    public Integer getPriority() {
+        return 10;
+    }
+
+    @Override
+    public void load() {
+        domainsHolder.getDomains().forEach(this::load);
+    }
+
+    @Override
+    public void load(final String domain, final DataSource datasource) {
+        LOG.debug("[{}] Checking login identifiers", domain);
+
+        try {
+            boolean rebuilt = AuthContextUtils.execWithAuthContext(domain, loginIdentifierDAO::refresh);
+            LOG.debug("[{}] Login identifiers rebuilt: {}", domain, rebuilt);
+        } catch (Exception e) {
+            LOG.error("[{}] Could not build login identifiers", domain, e);
+        }
+    }
+}
@@ -18,10 +18,22 @@
  */
 package org.apache.syncope.core.persistence.jpa.content;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
 import java.sql.Blob;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
@@ -36,11 +48,17 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
 import javax.sql.DataSource;
 import javax.xml.bind.DatatypeConverter;
 import javax.xml.transform.OutputKeys;
@@ -94,11 +112,53 @@ public class XMLContentExporter extends AbstractContentDealer implements Content
     protected static final Map<String, Set<String>> COLUMNS_TO_BE_NULLIFIED =
             Collections.singletonMap("SYNCOPEGROUP", Collections.singleton("USEROWNER_ID"));
 
-    private boolean isTableAllowed(final String tableName) {
-        return TABLE_PREFIXES_TO_BE_EXCLUDED.stream().
+    protected static final int EXPORT_FETCH_SIZE = 1000;
+
+    protected static final int EXPORT_CHUNK_ROWS = 10000;
+
+    /**
+     * Replacement for characters which cannot appear in XML 1.0 documents.
+     */
+    private static final char REPLACEMENT_CHARACTER = '\uFFFD';
+
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    private boolean isTableAllowed(final Set<String> excludedPrefixes, final String tableName) {
+        return excludedPrefixes.stream().
                 allMatch(prefix -> !tableName.toUpperCase().startsWith(prefix.toUpperCase()));
     }
 
+    private Set<String> getTableNames(final String dbSchema, final Connection conn, final Set<String> excludedPrefixes)
+            throws SQLException {
+
+        Set<String> tableNames = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+        ResultSet rs = null;
+        try {
+            rs = conn.getMetaData().getTables(null, StringUtils.isBlank(dbSchema) ? null : dbSchema, null,
+                    new String[] { "TABLE" });
+            while (rs.next()) {
+                String tableName = rs.getString("TABLE_NAME");
+                LOG.debug("Found table {}", tableName);
+                if (isTableAllowed(excludedPrefixes, tableName)) {
+                    tableNames.add(tableName);
+                }
+            }
+        } finally {
+            if (rs != null) {
+                try {
+                    rs.close();
+                } catch (SQLException e) {
+                    LOG.error("While closing tables result set", e);
+                }
+            }
+        }
+
+        LOG.debug("Tables to be exported {}", tableNames);
+
+        return tableNames;
+    }
+
     private List<String> sortByForeignKeys(final String dbSchema, final Connection conn, final Set<String> tableNames)
             throws SQLException {
 
@@ -220,56 +280,20 @@ public class XMLContentExporter extends AbstractContentDealer implements Content
         return res;
     }
 
-    private void doExportTable(
-            final TransformerHandler handler,
-            final String dbSchema,
-            final Connection conn,
-            final String tableName,
-            final String whereClause) throws SQLException, SAXException {
+    private String getOrderBy(final String dbSchema, final Connection conn, final String tableName)
+            throws SQLException {
 
-        LOG.debug("Export table {}", tableName);
+        StringBuilder orderBy = new StringBuilder();
 
-        AttributesImpl attrs = new AttributesImpl();
+        DatabaseMetaData meta = conn.getMetaData();
 
-        PreparedStatement stmt = null;
-        ResultSet rs = null;
+        // retrieve foreign keys (linked to the same table) to perform an ordered select
+        ResultSet pkeyRS = null;
         try {
-            StringBuilder orderBy = new StringBuilder();
-
-            DatabaseMetaData meta = conn.getMetaData();
-
-            // ------------------------------------
-            // retrieve foreign keys (linked to the same table) to perform an ordered select
-            ResultSet pkeyRS = null;
-            try {
-                pkeyRS = meta.getImportedKeys(conn.getCatalog(), dbSchema, tableName);
-                while (pkeyRS.next()) {
-                    if (tableName.equals(pkeyRS.getString("PKTABLE_NAME"))) {
-                        String columnName = pkeyRS.getString("FKCOLUMN_NAME");
-                        if (columnName != null) {
-                            if (orderBy.length() > 0) {
-                                orderBy.append(",");
-                            }
-
-                            orderBy.append(columnName);
-                        }
-                    }
-                }
-            } finally {
-                if (pkeyRS != null) {
-                    try {
-                        pkeyRS.close();
-                    } catch (SQLException e) {
-                        LOG.error("While closing result set", e);
-                    }
-                }
-            }
-
-            // retrieve primary keys to perform an ordered select
-            try {
-                pkeyRS = meta.getPrimaryKeys(null, null, tableName);
-                while (pkeyRS.next()) {
-                    String columnName = pkeyRS.getString("COLUMN_NAME");
+            pkeyRS = meta.getImportedKeys(conn.getCatalog(), dbSchema, tableName);
+            while (pkeyRS.next()) {
+                if (tableName.equals(pkeyRS.getString("PKTABLE_NAME"))) {
+                    String columnName = pkeyRS.getString("FKCOLUMN_NAME");
                     if (columnName != null) {
                         if (orderBy.length() > 0) {
                             orderBy.append(",");
@@ -278,15 +302,58 @@ public class XMLContentExporter extends AbstractContentDealer implements Content
                         orderBy.append(columnName);
                     }
                 }
-            } finally {
-                if (pkeyRS != null) {
-                    try {
-                        pkeyRS.close();
-                    } catch (SQLException e) {
-                        LOG.error("While closing result set", e);
+            }
+        } finally {
+            if (pkeyRS != null) {
+                try {
+                    pkeyRS.close();
+                } catch (SQLException e) {
+                    LOG.error("While closing result set", e);
+                }
+            }
+        }
+
+        // retrieve primary keys to perform an ordered select
+        try {
+            pkeyRS = meta.getPrimaryKeys(null, null, tableName);
+            while (pkeyRS.next()) {
+                String columnName = pkeyRS.getString("COLUMN_NAME");
+                if (columnName != null) {
+                    if (orderBy.length() > 0) {
+                        orderBy.append(",");
                     }
+
+                    orderBy.append(columnName);
                 }
             }
+        } finally {
+            if (pkeyRS != null) {
+                try {
+                    pkeyRS.close();
+                } catch (SQLException e) {
+                    LOG.error("While closing result set", e);
+                }
+            }
+        }
+
+        return orderBy.toString();
+    }
+
+    private void doExportTable(
+            final TransformerHandler handler,
+            final String dbSchema,
+            final Connection conn,
+            final String tableName,
+            final String whereClause) throws SQLException, SAXException {
+
+        LOG.debug("Export table {}", tableName);
+
+        AttributesImpl attrs = new AttributesImpl();
+
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+        try {
+            String orderBy = getOrderBy(dbSchema, conn, tableName);
 
             // ------------------------------------
             StringBuilder query = new StringBuilder();
@@ -380,25 +447,10 @@ public class XMLContentExporter extends AbstractContentDealer implements Content
                 String.class);
 
         Connection conn = null;
-        ResultSet rs = null;
         try {
             conn = DataSourceUtils.getConnection(dataSource);
-            final DatabaseMetaData meta = conn.getMetaData();
-
-            rs = meta.getTables(null, StringUtils.isBlank(dbSchema) ? null : dbSchema, null,
-                    new String[] { "TABLE" });
-
-            final Set<String> tableNames = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
-
-            while (rs.next()) {
-                String tableName = rs.getString("TABLE_NAME");
-                LOG.debug("Found table {}", tableName);
-                if (isTableAllowed(tableName)) {
-                    tableNames.add(tableName);
-                }
-            }
 
-            LOG.debug("Tables to be exported {}", tableNames);
+            Set<String> tableNames = getTableNames(dbSchema, conn, TABLE_PREFIXES_TO_BE_EXCLUDED);
 
             // then sort tables based on foreign keys and dump
             for (String tableName : sortByForeignKeys(dbSchema, conn, tableNames)) {
@@ -412,14 +464,6 @@ public class XMLContentExporter extends AbstractContentDealer implements Content
         } catch (SQLException e) {
             LOG.error("While exporting database content", e);
         } finally {
-            if (rs != null) {
-                try {
-                    rs.close();
-                } catch (SQLException e) {
-                    LOG.error("While closing tables result set", e);
-                }
-            }
-
             DataSourceUtils.releaseConnection(conn, dataSource);
             if (conn != null) {
                 try {
@@ -435,4 +479,479 @@ public class XMLContentExporter extends AbstractContentDealer implements Content
         handler.endElement("", "", ROOT_ELEMENT);
         handler.endDocument();
     }
+
+    private static void writeInvalid(final Writer writer, final char c) throws IOException {
+        LOG.debug("Replacing character U+{} not allowed in XML", String.format("%04X", (int) c));
+        writer.write(REPLACEMENT_CHARACTER);
+    }
+
+    /**
+     * Writes the given characters as XML attribute value: markup characters are escaped, as well as tabs and line
+     * breaks, which would be otherwise normalized to spaces when parsing; characters not allowed in XML 1.0 (other
+     * control characters, unpaired surrogates, U+FFFE and U+FFFF) are replaced by U+FFFD.
+     *
+     * @param writer target writer
+     * @param reader value, read through a fixed buffer
+     * @throws IOException if reading or writing fails
+     */
+    private static void writeEscaped(final Writer writer, final Reader reader) throws IOException {
+        char[] buffer = new char[STREAM_BUFFER_SIZE];
+        char highSurrogate = 0;
+
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            for (int i = 0; i < read; i++) {
+                char c = buffer[i];
+
+                if (highSurrogate != 0) {
+                    if (Character.isLowSurrogate(c)) {
+                        writer.write(highSurrogate);
+                        writer.write(c);
+                        highSurrogate = 0;
+                        continue;
+                    }
+                    writeInvalid(writer, highSurrogate);
+                    highSurrogate = 0;
+                }
+
+                switch (c) {
+                    case '&':
+                        writer.write("&amp;");
+                        break;
+
+                    case '<':
+                        writer.write("&lt;");
+                        break;
+
+                    case '>':
+                        writer.write("&gt;");
+                        break;
+
+                    case '"':
+                        writer.write("&quot;");
+                        break;
+
+                    case '\t':
+                        writer.write("&#9;");
+                        break;
+
+                    case '\n':
+                        writer.write("&#10;");
+                        break;
+
+                    case '\r':
+                        writer.write("&#13;");
+                        break;
+
+                    default:
+                        if (Character.isHighSurrogate(c)) {
+                            highSurrogate = c;
+                        } else if (c < 0x20 || Character.isLowSurrogate(c) || c == '\uFFFE' || c == '\uFFFF') {
+                            writeInvalid(writer, c);
+                        } else {
+                            writer.write(c);
+                        }
+                }
+            }
+        }
+
+        if (highSurrogate != 0) {
+            writeInvalid(writer, highSurrogate);
+        }
+    }
+
+    private static void writeHex(final Writer writer, final InputStream is) throws IOException {
+        byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+        char[] hex = new char[STREAM_BUFFER_SIZE * 2];
+
+        int read;
+        while ((read = is.read(buffer)) != -1) {
+            for (int i = 0; i < read; i++) {
+                hex[i * 2] = HEX_DIGITS[(buffer[i] >> 4) & 0x0F];
+                hex[i * 2 + 1] = HEX_DIGITS[buffer[i] & 0x0F];
+            }
+            writer.write(hex, 0, read * 2);
+        }
+    }
+
+    private static void writeAtomically(final Path target, final List<String> lines) throws IOException {
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.write(tmp, lines, StandardCharsets.UTF_8);
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Removes the files of any previous export from the given directory, starting with the top-level manifest so
+     * that the directory is never seen as holding a complete export while being cleaned.
+     *
+     * @param directory export directory
+     * @throws IOException if files cannot be removed
+     */
+    private static void clean(final Path directory) throws IOException {
+        Files.deleteIfExists(directory.resolve(MANIFEST));
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(
+                directory, "*{" + TABLE_MANIFEST_SUFFIX + ",.xml.gz,.tmp}")) {
+
+            for (Path file : files) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /**
+     * Removes the chunks of the given table possibly left by a previous, interrupted, export.
+     *
+     * @param directory export directory
+     * @param tableName table name
+     * @throws IOException if files cannot be removed
+     */
+    private static void cleanTable(final Path directory, final String tableName) throws IOException {
+        Files.deleteIfExists(tableManifest(directory, tableName));
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, tableName + ".*.xml.gz")) {
+            for (Path file : files) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /**
+     * Tells whether the given table was already exported into the given directory, by verifying that all chunks
+     * listed in the table manifest are available with the expected checksum.
+     *
+     * @param directory export directory
+     * @param tableName table name
+     * @return whether the table export can be skipped
+     */
+    private boolean isTableExported(final Path directory, final String tableName) {
+        Path manifest = tableManifest(directory, tableName);
+        if (!Files.isRegularFile(manifest)) {
+            return false;
+        }
+
+        try {
+            for (String line : Files.readAllLines(manifest, StandardCharsets.UTF_8)) {
+                if (StringUtils.isNotBlank(line)) {
+                    String[] chunk = line.split(" ");
+                    Path file = directory.resolve(chunk[0]);
+                    if (chunk.length != 3 || !Files.isRegularFile(file) || !chunk[2].equals(sha256(file))) {
+                        LOG.debug("Chunk {} of table {} missing or corrupted", chunk[0], tableName);
+                        return false;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            LOG.error("While verifying exported table {}", tableName, e);
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Gzipped XML chunk file, whose checksum is computed while writing.
+     */
+    private static final class Chunk {
+
+        private final Path file;
+
+        private final MessageDigest digest;
+
+        private final Writer writer;
+
+        private int rows;
+
+        Chunk(final Path file) throws IOException {
+            this.file = file;
+            this.digest = sha256();
+            this.writer = new BufferedWriter(new OutputStreamWriter(new GZIPOutputStream(
+                    new DigestOutputStream(Files.newOutputStream(file), digest), STREAM_BUFFER_SIZE),
+                    StandardCharsets.UTF_8), STREAM_BUFFER_SIZE);
+
+            writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<" + ROOT_ELEMENT + ">\n");
+        }
+
+        /**
+         * Closes the dataset and the underlying file.
+         *
+         * @return manifest line: file name, rows and SHA-256 checksum
+         * @throws IOException if the file cannot be written
+         */
+        String end() throws IOException {
+            writer.write("</" + ROOT_ELEMENT + ">\n");
+            writer.close();
+            return file.getFileName() + " " + rows + " " + DatatypeConverter.printHexBinary(digest.digest());
+        }
+    }
+
+    /**
+     * Dumps the given table, over a dedicated read-only connection at READ COMMITTED isolation: the single query
+     * reading the table sees it as of a given point in time, on databases implementing such isolation level via
+     * multi-versioning, or otherwise only takes short-lived locks, without blocking writers for the whole dump.
+     *
+     * @param dataSource data source
+     * @param dbSchema database schema
+     * @param directory export directory
+     * @param tableName table name
+     * @param whereClause optional filter
+     * @return manifest lines, one per chunk: file name, rows and SHA-256 checksum
+     * @throws SQLException if the table cannot be read
+     * @throws IOException if chunks cannot be written
+     */
+    private List<String> exportTable(
+            final DataSource dataSource,
+            final String dbSchema,
+            final Path directory,
+            final String tableName,
+            final String whereClause) throws SQLException, IOException {
+
+        try (Connection conn = dataSource.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            boolean readOnly = conn.isReadOnly();
+            int isolation = conn.getTransactionIsolation();
+
+            conn.setReadOnly(true);
+            conn.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+            // some drivers (as PostgreSQL's) only honor the fetch size when not in auto-commit mode
+            conn.setAutoCommit(false);
+            try {
+                return doExportTable(conn, dbSchema, directory, tableName, whereClause);
+            } finally {
+                conn.rollback();
+                conn.setAutoCommit(autoCommit);
+                conn.setTransactionIsolation(isolation);
+                conn.setReadOnly(readOnly);
+            }
+        }
+    }
+
+    /**
+     * Dumps the given table into one or more gzipped XML chunk files, each a standalone dataset of at most
+     * {@link #EXPORT_CHUNK_ROWS} rows; rows are read through a forward-only cursor and binary or character large
+     * values are streamed, so that neither the table nor any of its LOBs are ever held in memory.
+     *
+     * @param conn connection
+     * @param dbSchema database schema
+     * @param directory export directory
+     * @param tableName table name
+     * @param whereClause optional filter
+     * @return manifest lines, one per chunk: file name, rows and SHA-256 checksum
+     * @throws SQLException if the table cannot be read
+     * @throws IOException if chunks cannot be written
+     */
+    private List<String> doExportTable(
+            final Connection conn,
+            final String dbSchema,
+            final Path directory,
+            final String tableName,
+            final String whereClause) throws SQLException, IOException {
+
+        LOG.debug("Export table {} into {}", tableName, directory);
+
+        List<String> manifest = new ArrayList<>();
+
+        StringBuilder query = new StringBuilder();
+        query.append("SELECT * FROM ").append(tableName).append(" a");
+        if (StringUtils.isNotBlank(whereClause)) {
+            query.append(" WHERE ").append(whereClause);
+        }
+        String orderBy = getOrderBy(dbSchema, conn, tableName);
+        if (orderBy.length() > 0) {
+            query.append(" ORDER BY ").append(orderBy);
+        }
+
+        try (PreparedStatement stmt = conn.prepareStatement(
+                query.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            stmt.setFetchSize(EXPORT_FETCH_SIZE);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                ResultSetMetaData rsMeta = rs.getMetaData();
+                String[] columnNames = new String[rsMeta.getColumnCount()];
+                int[] columnTypes = new int[rsMeta.getColumnCount()];
+                Set<String> nullified = COLUMNS_TO_BE_NULLIFIED.getOrDefault(
+                        tableName.toUpperCase(), Collections.emptySet());
+                for (int i = 0; i < columnNames.length; i++) {
+                    columnNames[i] = rsMeta.getColumnName(i + 1);
+                    columnTypes[i] = rsMeta.getColumnType(i + 1);
+                }
+
+                Chunk chunk = null;
+                try {
+                    while (rs.next()) {
+                        if (chunk == null) {
+                            chunk = new Chunk(directory.resolve(
+                                    String.format("%s.%05d.xml.gz", tableName, manifest.size())));
+                        }
+                        Writer writer = chunk.writer;
+
+                        writer.write('<');
+                        writer.write(tableName);
+                        for (int i = 0; i < columnNames.length; i++) {
+                            if (nullified.contains(columnNames[i])) {
+                                continue;
+                            }
+
+                            InputStream is = null;
+                            Reader reader = null;
+                            String value = null;
+                            switch (columnTypes[i]) {
+                                case Types.BINARY:
+                                case Types.VARBINARY:
+                                case Types.LONGVARBINARY:
+                                    is = rs.getBinaryStream(i + 1);
+                                    break;
+
+                                case Types.BLOB:
+                                    Blob blob = rs.getBlob(i + 1);
+                                    if (blob != null) {
+                                        is = blob.getBinaryStream();
+                                    }
+                                    break;
+
+                                case Types.CLOB:
+                                case Types.NCLOB:
+                                case Types.LONGVARCHAR:
+                                case Types.LONGNVARCHAR:
+                                    reader = rs.getCharacterStream(i + 1);
+                                    break;
+
+                                default:
+                                    value = getValues(rs, columnNames[i], columnTypes[i]);
+                                    if (value != null) {
+                                        reader = new StringReader(value);
+                                    }
+                            }
+
+                            if (is != null) {
+                                writer.write(' ' + columnNames[i] + "=\"");
+                                try {
+                                    writeHex(writer, is);
+                                } finally {
+                                    is.close();
+                                }
+                                writer.write('"');
+                            } else if (reader != null) {
+                                writer.write(' ' + columnNames[i] + "=\"");
+                                try {
+                                    writeEscaped(writer, reader);
+                                } finally {
+                                    reader.close();
+                                }
+                                writer.write('"');
+                            }
+                        }
+                        writer.write("/>\n");
+
+                        chunk.rows++;
+                        if (chunk.rows == EXPORT_CHUNK_ROWS) {
+                            manifest.add(chunk.end());
+                            chunk = null;
+                        }
+                    }
+
+                    if (chunk != null) {
+                        manifest.add(chunk.end());
+                        chunk = null;
+                    }
+                } finally {
+                    if (chunk != null) {
+                        try {
+                            chunk.writer.close();
+                        } catch (IOException e) {
+                            LOG.error("While closing chunk {}", chunk.file, e);
+                        }
+                    }
+                }
+            }
+        }
+
+        return manifest;
+    }
+
+    @Override
+    public void export(
+            final String domain,
+            final Path directory,
+            final int parallelism,
+            final String uwfPrefix,
+            final String gwfPrefix,
+            final String awfPrefix)
+            throws IOException {
+
+        Set<String> excludedPrefixes = new HashSet<>(TABLE_PREFIXES_TO_BE_EXCLUDED);
+        if (StringUtils.isNotBlank(uwfPrefix)) {
+            excludedPrefixes.add(uwfPrefix);
+        }
+        if (StringUtils.isNotBlank(gwfPrefix)) {
+            excludedPrefixes.add(gwfPrefix);
+        }
+        if (StringUtils.isNotBlank(awfPrefix)) {
+            excludedPrefixes.add(awfPrefix);
+        }
+
+        DataSource dataSource = domainsHolder.getDomains().get(domain);
+        if (dataSource == null) {
+            throw new IllegalArgumentException("Could not find DataSource for domain " + domain);
+        }
+
+        String dbSchema = ApplicationContextProvider.getBeanFactory().getBean(domain + "DatabaseSchema",
+                String.class);
+
+        Files.createDirectories(directory);
+        if (Files.isRegularFile(directory.resolve(MANIFEST))) {
+            LOG.info("Replacing complete export found in {}", directory);
+            clean(directory);
+        }
+
+        List<String> sortedTableNames;
+        try (Connection conn = dataSource.getConnection()) {
+            sortedTableNames = sortByForeignKeys(dbSchema, conn, getTableNames(dbSchema, conn, excludedPrefixes));
+        } catch (SQLException e) {
+            throw new IOException("While reading tables for domain " + domain, e);
+        }
+
+        // since each table goes into its own chunks, there is no need to respect foreign key order while dumping
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, parallelism));
+        Map<String, Future<List<String>>> exports = new LinkedHashMap<>();
+        try {
+            for (String tableName : sortedTableNames) {
+                if (isTableExported(directory, tableName)) {
+                    LOG.info("Table {} already exported into {}, skipping", tableName, directory);
+                } else {
+                    exports.put(tableName, executor.submit(() -> {
+                        cleanTable(directory, tableName);
+                        List<String> manifest = exportTable(
+                                dataSource,
+                                dbSchema,
+                                directory,
+                                tableName,
+                                TABLES_TO_BE_FILTERED.get(tableName.toUpperCase()));
+                        writeAtomically(tableManifest(directory, tableName), manifest);
+                        return manifest;
+                    }));
+                }
+            }
+
+            List<String> failed = new ArrayList<>();
+            for (Map.Entry<String, Future<List<String>>> export : exports.entrySet()) {
+                try {
+                    LOG.debug("Table {} exported into {} chunk(s)", export.getKey(), export.getValue().get().size());
+                } catch (ExecutionException e) {
+                    LOG.error("Failure exporting table {}", export.getKey(), e.getCause());
+                    failed.add(export.getKey());
+                }
+            }
+            if (!failed.isEmpty()) {
+                throw new IOException("Could not export tables " + failed + ", run again to resume");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while exporting domain " + domain);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // tables are listed in foreign key order, as they will need to be loaded back
+        writeAtomically(directory.resolve(MANIFEST), sortedTableNames);
+    }
 }
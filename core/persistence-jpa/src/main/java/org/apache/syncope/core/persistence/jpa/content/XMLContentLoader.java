@@ -18,24 +18,50 @@
  */
 package org.apache.syncope.core.persistence.jpa.content;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
 import javax.annotation.Resource;
 import javax.sql.DataSource;
+import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.core.spring.ApplicationContextProvider;
 import org.apache.syncope.core.spring.ResourceWithFallbackLoader;
 import org.apache.syncope.core.persistence.api.content.ContentLoader;
+import org.apache.syncope.core.persistence.jpa.entity.anyobject.JPAAPlainAttrUniqueValue;
+import org.apache.syncope.core.persistence.jpa.entity.anyobject.JPAAPlainAttrValue;
 import org.apache.syncope.core.persistence.jpa.entity.conf.JPAConf;
+import org.apache.syncope.core.persistence.jpa.entity.conf.JPACPlainAttrUniqueValue;
+import org.apache.syncope.core.persistence.jpa.entity.conf.JPACPlainAttrValue;
+import org.apache.syncope.core.persistence.jpa.entity.group.JPAGPlainAttrUniqueValue;
+import org.apache.syncope.core.persistence.jpa.entity.group.JPAGPlainAttrValue;
+import org.apache.syncope.core.persistence.jpa.entity.user.JPAUPlainAttrUniqueValue;
+import org.apache.syncope.core.persistence.jpa.entity.user.JPAUPlainAttrValue;
 import org.springframework.core.io.support.PropertiesLoaderUtils;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.orm.jpa.EntityManagerFactoryUtils;
 import org.springframework.stereotype.Component;
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
 
 /**
  * Initialize Database with default content if no data is present already.
@@ -43,6 +69,19 @@ import org.springframework.stereotype.Component;
 @Component
 public class XMLContentLoader extends AbstractContentDealer implements ContentLoader {
 
+    private static final String[] PLAIN_ATTR_VALUE_TABLES = new String[] {
+        JPAUPlainAttrValue.TABLE, JPAUPlainAttrUniqueValue.TABLE,
+        JPAGPlainAttrValue.TABLE, JPAGPlainAttrUniqueValue.TABLE,
+        JPAAPlainAttrValue.TABLE, JPAAPlainAttrUniqueValue.TABLE,
+        JPACPlainAttrValue.TABLE, JPACPlainAttrUniqueValue.TABLE
+    };
+
+    private static final Pattern CREATE_TABLE = Pattern.compile(
+            "^\\s*CREATE\\s+TABLE\\s+(\\w+)", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern CREATE_VIEW = Pattern.compile(
+            "^\\s*CREATE\\s+VIEW\\s+(\\w+)", Pattern.CASE_INSENSITIVE);
+
     @Resource(name = "viewsXML")
     private ResourceWithFallbackLoader viewsXML;
 
@@ -56,39 +95,220 @@ public class XMLContentLoader extends AbstractContentDealer implements ContentLo
 
     @Override
     public void load() {
-        for (Map.Entry<String, DataSource> entry : domainsHolder.getDomains().entrySet()) {
-            // create EntityManager so OpenJPA will build the SQL schema
-            EntityManagerFactoryUtils.findEntityManagerFactory(
-                    ApplicationContextProvider.getBeanFactory(), entry.getKey()).createEntityManager();
+        domainsHolder.getDomains().forEach(this::load);
+    }
+
+    @Override
+    public void load(final String domain, final DataSource datasource) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(datasource);
+
+        // checked before OpenJPA updates the SQL schema, so that the column is found missing only once
+        boolean lowerStringValueMissing = isLowerStringValueMissing(jdbcTemplate);
+
+        // create EntityManager so OpenJPA will build the SQL schema
+        EntityManagerFactoryUtils.findEntityManagerFactory(
+                ApplicationContextProvider.getBeanFactory(), domain).createEntityManager();
+
+        boolean existingData;
+        try {
+            existingData = jdbcTemplate.queryForObject("SELECT COUNT(0) FROM " + JPAConf.TABLE, Integer.class) > 0;
+        } catch (DataAccessException e) {
+            LOG.error("[{}] Could not access to table " + JPAConf.TABLE, domain, e);
+            existingData = true;
+        }
+
+        if (existingData) {
+            LOG.info("[{}] Data found in the database, leaving untouched", domain);
+        } else {
+            LOG.info("[{}] Empty database found, loading default content", domain);
 
-            JdbcTemplate jdbcTemplate = new JdbcTemplate(entry.getValue());
-            boolean existingData;
             try {
-                existingData = jdbcTemplate.queryForObject("SELECT COUNT(0) FROM " + JPAConf.TABLE, Integer.class) > 0;
-            } catch (DataAccessException e) {
-                LOG.error("[{}] Could not access to table " + JPAConf.TABLE, entry.getKey(), e);
-                existingData = true;
+                ResourceWithFallbackLoader contentXML = ApplicationContextProvider.getBeanFactory().
+                        getBean(domain + "ContentXML", ResourceWithFallbackLoader.class);
+                Path exported = getExportDirectory(contentXML);
+                if (exported == null) {
+                    loadDefaultContent(domain, contentXML, datasource);
+                } else {
+                    LOG.info("[{}] Loading content exported into {}", domain, exported);
+                    load(domain, datasource, exported);
+                }
+                fillLowerStringValues(domain, datasource);
+            } catch (Exception e) {
+                LOG.error("[{}] While loading default content", domain, e);
             }
+            try {
+                createViews(domain, datasource, false);
+                createIndexes(domain, datasource, false);
+            } catch (IOException e) {
+                LOG.error("[{}] While creating indexes and views", domain, e);
+            }
+        }
 
-            if (existingData) {
-                LOG.info("[{}] Data found in the database, leaving untouched", entry.getKey());
-            } else {
-                LOG.info("[{}] Empty database found, loading default content", entry.getKey());
+        if (existingData) {
+            try {
+                createMissingTables(domain, datasource);
+            } catch (IOException e) {
+                LOG.error("[{}] While creating missing tables", domain, e);
+            }
+        }
 
-                try {
-                    ResourceWithFallbackLoader contentXML = ApplicationContextProvider.getBeanFactory().
-                            getBean(entry.getKey() + "ContentXML", ResourceWithFallbackLoader.class);
-                    loadDefaultContent(entry.getKey(), contentXML, entry.getValue());
-                } catch (Exception e) {
-                    LOG.error("[{}] While loading default content", entry.getKey(), e);
+        if (existingData && lowerStringValueMissing) {
+            LOG.info("[{}] Filling lower-case copy of plain attribute string values", domain);
+            fillLowerStringValues(domain, datasource);
+
+            // search views expose the new column, and new indexes were defined along with it
+            LOG.info("[{}] Upgrading views and indexes", domain);
+            try {
+                createViews(domain, datasource, true);
+                createIndexes(domain, datasource, true);
+            } catch (IOException e) {
+                LOG.error("[{}] While upgrading indexes and views", domain, e);
+            }
+        }
+    }
+
+    /**
+     * Tells whether plain attribute values are stored already, but without the lower-case copy of their string
+     * value, as happens with databases created before such column was introduced.
+     *
+     * @param jdbcTemplate JDBC template for domain
+     * @return whether plain attribute values are stored without the lower-case copy of their string value
+     */
+    private boolean isLowerStringValueMissing(final JdbcTemplate jdbcTemplate) {
+        try {
+            jdbcTemplate.queryForList("SELECT id FROM " + JPAUPlainAttrValue.TABLE + " WHERE 1=0");
+        } catch (DataAccessException e) {
+            // empty database: the column will be created along with the table
+            return false;
+        }
+
+        try {
+            jdbcTemplate.queryForList("SELECT lowerStringValue FROM " + JPAUPlainAttrValue.TABLE + " WHERE 1=0");
+            return false;
+        } catch (DataAccessException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Rows of tables referencing themselves (as REALM) are exported by primary key, which does not necessarily
+     * follow the hierarchy: rows violating referential integrity are then kept aside and inserted again once the
+     * rest of the table is loaded, until no more progress can be made.
+     */
+    private static class ExportedContentHandler extends ContentLoaderHandler {
+
+        private final List<Pair<String, Attributes>> deferred = new ArrayList<>();
+
+        ExportedContentHandler(final DataSource dataSource) {
+            super(dataSource, ROOT_ELEMENT, false);
+        }
+
+        @Override
+        public void startElement(final String uri, final String localName, final String qName, final Attributes atts)
+                throws SAXException {
+
+            if (ROOT_ELEMENT.equals(qName)) {
+                return;
+            }
+
+            try {
+                insert(qName, atts);
+            } catch (DataIntegrityViolationException e) {
+                LOG.debug("Deferring insert into {}: {}", qName, e.getMessage());
+                deferred.add(Pair.of(qName, new AttributesImpl(atts)));
+            }
+        }
+
+        void insertDeferred() {
+            while (!deferred.isEmpty()) {
+                int before = deferred.size();
+                DataIntegrityViolationException last = null;
+                for (Iterator<Pair<String, Attributes>> itor = deferred.iterator(); itor.hasNext();) {
+                    Pair<String, Attributes> row = itor.next();
+                    try {
+                        insert(row.getLeft(), row.getRight());
+                        itor.remove();
+                    } catch (DataIntegrityViolationException e) {
+                        last = e;
+                    }
                 }
-                try {
-                    createViews(entry.getKey(), entry.getValue());
-                    createIndexes(entry.getKey(), entry.getValue());
-                } catch (IOException e) {
-                    LOG.error("[{}] While creating indexes and views", entry.getKey(), e);
+
+                if (deferred.size() == before) {
+                    deferred.clear();
+                    throw last;
+                }
+            }
+        }
+    }
+
+    /**
+     * Default content can also be given as a directory holding a complete export, as generated by
+     * {@link org.apache.syncope.core.persistence.api.content.ContentExporter#export(String, Path, String, String,
+     * String)}.
+     *
+     * @param contentXML default content location
+     * @return export directory, or {@code null} if the default content is not given as such
+     */
+    private Path getExportDirectory(final ResourceWithFallbackLoader contentXML) {
+        try {
+            File file = contentXML.getResource().getFile();
+            return file.isDirectory() && new File(file, MANIFEST).isFile() ? file.toPath() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void load(final String domain, final DataSource datasource, final Path directory) throws IOException {
+        Path manifest = directory.resolve(MANIFEST);
+        if (!Files.isRegularFile(manifest)) {
+            throw new IOException("No complete export found in " + directory);
+        }
+
+        // verify the whole export before loading anything
+        Map<String, List<Path>> chunks = new LinkedHashMap<>();
+        for (String tableName : Files.readAllLines(manifest, StandardCharsets.UTF_8)) {
+            if (StringUtils.isBlank(tableName)) {
+                continue;
+            }
+
+            List<Path> tableChunks = new ArrayList<>();
+            for (String line : Files.readAllLines(tableManifest(directory, tableName), StandardCharsets.UTF_8)) {
+                if (StringUtils.isNotBlank(line)) {
+                    String[] chunk = line.split(" ");
+                    Path file = directory.resolve(chunk[0]);
+                    if (chunk.length != 3 || !Files.isRegularFile(file) || !chunk[2].equals(sha256(file))) {
+                        throw new IOException("Chunk " + chunk[0] + " of table " + tableName
+                                + " is missing or corrupted");
+                    }
+                    tableChunks.add(file);
                 }
             }
+            chunks.put(tableName, tableChunks);
+        }
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(datasource);
+        for (String tableName : chunks.keySet()) {
+            if (jdbcTemplate.queryForObject("SELECT COUNT(0) FROM " + tableName, Integer.class) > 0) {
+                throw new IllegalStateException("[" + domain + "] Table " + tableName + " is not empty");
+            }
+        }
+
+        ExportedContentHandler handler = new ExportedContentHandler(datasource);
+        try {
+            SAXParser parser = SAXParserFactory.newInstance().newSAXParser();
+            for (Map.Entry<String, List<Path>> table : chunks.entrySet()) {
+                for (Path chunk : table.getValue()) {
+                    try (InputStream in = new GZIPInputStream(Files.newInputStream(chunk), STREAM_BUFFER_SIZE)) {
+                        parser.reset();
+                        parser.parse(in, handler);
+                    }
+                }
+                handler.insertDeferred();
+                LOG.debug("[{}] Table {} loaded from {} chunk(s)", domain, table.getKey(), table.getValue().size());
+            }
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IOException("While loading content exported into " + directory, e);
         }
     }
 
@@ -109,17 +329,42 @@ public class XMLContentLoader extends AbstractContentDealer implements ContentLo
         }
     }
 
-    private void createViews(final String domain, final DataSource dataSource) throws IOException {
+    /**
+     * Creates the views defined in {@code views.xml}.
+     *
+     * @param domain domain
+     * @param dataSource data source for domain
+     * @param replace whether only views shall be created, dropping existing ones first, as required when upgrading
+     * @throws IOException if {@code views.xml} cannot be read
+     */
+    private void createViews(final String domain, final DataSource dataSource, final boolean replace)
+            throws IOException {
+
         LOG.debug("[{}] Creating views", domain);
 
         JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
 
         Properties views = PropertiesLoaderUtils.loadProperties(viewsXML.getResource());
         for (String idx : views.stringPropertyNames()) {
-            LOG.debug("[{}] Creating view {}", domain, views.get(idx).toString());
+            String statement = views.get(idx).toString().replaceAll("\\n", " ");
 
+            if (replace) {
+                Matcher matcher = CREATE_VIEW.matcher(statement);
+                if (!matcher.find()) {
+                    // tables are left untouched
+                    continue;
+                }
+
+                try {
+                    jdbcTemplate.execute("DROP VIEW " + matcher.group(1));
+                } catch (DataAccessException e) {
+                    LOG.debug("[{}] Could not drop view {}", domain, matcher.group(1), e);
+                }
+            }
+
+            LOG.debug("[{}] Creating view {}", domain, views.get(idx).toString());
             try {
-                jdbcTemplate.execute(views.get(idx).toString().replaceAll("\\n", " "));
+                jdbcTemplate.execute(statement);
             } catch (DataAccessException e) {
                 LOG.error("[{}] Could not create view", domain, e);
             }
@@ -128,7 +373,69 @@ public class XMLContentLoader extends AbstractContentDealer implements ContentLo
         LOG.debug("Views created");
     }
 
-    private void createIndexes(final String domain, final DataSource dataSource) throws IOException {
+    /**
+     * Creates the tables defined in {@code views.xml} which are not found, as happens with databases created before
+     * such tables were introduced, along with their indexes from {@code indexes.xml}.
+     *
+     * @param domain domain
+     * @param dataSource data source for domain
+     * @throws IOException if {@code views.xml} or {@code indexes.xml} cannot be read
+     */
+    private void createMissingTables(final String domain, final DataSource dataSource) throws IOException {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        Properties views = PropertiesLoaderUtils.loadProperties(viewsXML.getResource());
+        Properties indexes = null;
+        for (String idx : views.stringPropertyNames()) {
+            String statement = views.get(idx).toString().replaceAll("\\n", " ");
+
+            Matcher matcher = CREATE_TABLE.matcher(statement);
+            if (!matcher.find()) {
+                continue;
+            }
+            String table = matcher.group(1);
+            try {
+                jdbcTemplate.queryForList("SELECT * FROM " + table + " WHERE 1=0");
+                continue;
+            } catch (DataAccessException e) {
+                LOG.info("[{}] Creating missing table {}", domain, table);
+            }
+
+            try {
+                jdbcTemplate.execute(statement);
+            } catch (DataAccessException e) {
+                LOG.error("[{}] Could not create table {}", domain, table, e);
+                continue;
+            }
+
+            if (indexes == null) {
+                indexes = PropertiesLoaderUtils.loadProperties(indexesXML.getResource());
+            }
+            Pattern onTable = Pattern.compile("\\sON\\s+" + table + "\\s*\\(", Pattern.CASE_INSENSITIVE);
+            for (String index : indexes.stringPropertyNames()) {
+                String indexStatement = indexes.get(index).toString();
+                if (onTable.matcher(indexStatement).find()) {
+                    try {
+                        jdbcTemplate.execute(indexStatement);
+                    } catch (DataAccessException e) {
+                        LOG.error("[{}] Could not create index", domain, e);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates the indexes defined in {@code indexes.xml}.
+     *
+     * @param domain domain
+     * @param dataSource data source for domain
+     * @param upgrade whether some of the indexes are expected to exist already, as happens when upgrading
+     * @throws IOException if {@code indexes.xml} cannot be read
+     */
+    private void createIndexes(final String domain, final DataSource dataSource, final boolean upgrade)
+            throws IOException {
+
         LOG.debug("[{}] Creating indexes", domain);
 
         JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
@@ -140,11 +447,37 @@ public class XMLContentLoader extends AbstractContentDealer implements ContentLo
             try {
                 jdbcTemplate.execute(indexes.get(idx).toString());
             } catch (DataAccessException e) {
-                LOG.error("[{}] Could not create index", domain, e);
+                if (upgrade) {
+                    LOG.debug("[{}] Could not create index, assuming it exists already", domain, e);
+                } else {
+                    LOG.error("[{}] Could not create index", domain, e);
+                }
             }
         }
 
         LOG.debug("Indexes created");
     }
 
+    /**
+     * Plain attribute values inserted via SQL (default content, or data pre-dating the column) miss the lower-case
+     * copy of their string value, which is otherwise set by JPA; this is only needed once, right after either loading
+     * default content or adding the column.
+     *
+     * @param domain domain
+     * @param dataSource data source for domain
+     */
+    private void fillLowerStringValues(final String domain, final DataSource dataSource) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        for (String table : PLAIN_ATTR_VALUE_TABLES) {
+            try {
+                int updated = jdbcTemplate.update("UPDATE " + table + " SET lowerStringValue=LOWER(stringValue) "
+                        + "WHERE stringValue IS NOT NULL AND lowerStringValue IS NULL");
+                LOG.debug("[{}] Filled lower-case string values for {} rows in {}", domain, updated, table);
+            } catch (DataAccessException e) {
+                LOG.error("[{}] Could not fill lower-case string values in {}", domain, table, e);
+            }
+        }
+    }
+
 }
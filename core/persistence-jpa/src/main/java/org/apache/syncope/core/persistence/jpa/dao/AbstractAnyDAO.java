@@ -26,22 +26,27 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 import javax.persistence.NoResultException;
 import javax.persistence.Query;
 import javax.persistence.TemporalType;
+import javax.persistence.TypedQuery;
 import org.apache.commons.jexl3.parser.Parser;
 import org.apache.commons.jexl3.parser.ParserConstants;
 import org.apache.commons.jexl3.parser.Token;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.syncope.common.lib.types.AttrSchemaType;
 import org.apache.syncope.core.persistence.api.dao.AllowedSchemas;
 import org.apache.syncope.core.persistence.api.dao.AnyDAO;
 import org.apache.syncope.core.persistence.api.dao.DerSchemaDAO;
 import org.apache.syncope.core.persistence.api.dao.DynRealmDAO;
 import org.apache.syncope.core.persistence.api.dao.NotFoundException;
 import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
+import org.apache.syncope.core.persistence.api.dao.PullFingerprintDAO;
 import org.apache.syncope.core.persistence.api.dao.search.AnyCond;
 import org.apache.syncope.core.persistence.api.dao.search.AttributeCond;
 import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
@@ -71,6 +76,9 @@ public abstract class AbstractAnyDAO<A extends Any<?>> extends AbstractDAO<A> im
     @Autowired
     protected ApplicationEventPublisher publisher;
 
+    @Autowired
+    protected PullFingerprintDAO pullFingerprintDAO;
+
     private PlainSchemaDAO plainSchemaDAO;
 
     private DerSchemaDAO derSchemaDAO;
@@ -133,6 +141,19 @@ public abstract class AbstractAnyDAO<A extends Any<?>> extends AbstractDAO<A> im
         return key;
     }
 
+    @SuppressWarnings("unchecked")
+    protected Map<String, List<String>> findKeysByName(final String table) {
+        Query query = entityManager().createNativeQuery(
+                "SELECT " + (JPAUser.TABLE.equals(table) ? "username" : "name") + ", id FROM " + table);
+
+        Map<String, List<String>> result = new HashMap<>();
+        ((List<Object[]>) query.getResultList()).forEach(row -> {
+            result.computeIfAbsent((String) row[0], k -> new ArrayList<>()).add((String) row[1]);
+        });
+
+        return result;
+    }
+
     protected Date findLastChange(final String key, final String table) {
         Query query = entityManager().createNativeQuery(
                 "SELECT creationDate, lastChangeDate FROM " + table + " WHERE id=?");
@@ -195,45 +216,84 @@ public abstract class AbstractAnyDAO<A extends Any<?>> extends AbstractDAO<A> im
         return result;
     }
 
-    private Query findByPlainAttrValueQuery(final String entityName) {
-        return entityManager().createQuery("SELECT e FROM " + entityName + " e"
-                + " WHERE e.attribute.schema.id = :schemaKey AND (e.stringValue IS NOT NULL"
-                + " AND e.stringValue = :stringValue)"
-                + " OR (e.booleanValue IS NOT NULL AND e.booleanValue = :booleanValue)"
-                + " OR (e.dateValue IS NOT NULL AND e.dateValue = :dateValue)"
-                + " OR (e.longValue IS NOT NULL AND e.longValue = :longValue)"
-                + " OR (e.doubleValue IS NOT NULL AND e.doubleValue = :doubleValue)");
+    @Override
+    public List<A> findByPlainAttrValue(final String schemaKey, final PlainAttrValue attrValue) {
+        return findByPlainAttrValue(schemaKey, attrValue, false);
     }
 
     @Override
     @SuppressWarnings("unchecked")
-    public List<A> findByPlainAttrValue(final String schemaKey, final PlainAttrValue attrValue) {
+    public List<A> findByPlainAttrValue(
+            final String schemaKey, final PlainAttrValue attrValue, final boolean ignoreCaseMatch) {
+
         PlainSchema schema = plainSchemaDAO().find(schemaKey);
         if (schema == null) {
             LOG.error("Invalid schema name '{}'", schemaKey);
             return Collections.<A>emptyList();
         }
 
+        // match only the column holding values for the schema type, so that (schema, value) indexes can be used
+        String column;
+        Object value;
+        switch (schema.getType()) {
+            case Boolean:
+                column = "booleanValue";
+                value = attrValue.getBooleanValue() == null
+                        ? null
+                        : ((AbstractPlainAttrValue) attrValue).getBooleanAsInteger(attrValue.getBooleanValue());
+                break;
+
+            case Date:
+                column = "dateValue";
+                value = attrValue.getDateValue();
+                break;
+
+            case Long:
+                column = "longValue";
+                value = attrValue.getLongValue();
+                break;
+
+            case Double:
+                column = "doubleValue";
+                value = attrValue.getDoubleValue();
+                break;
+
+            case Binary:
+                LOG.error("Binary schema not supported: '{}'", schemaKey);
+                return Collections.<A>emptyList();
+
+            case String:
+            case Enum:
+                column = ignoreCaseMatch ? "lowerStringValue" : "stringValue";
+                value = ignoreCaseMatch && attrValue.getStringValue() != null
+                        ? attrValue.getStringValue().toLowerCase(Locale.ROOT)
+                        : attrValue.getStringValue();
+                break;
+
+            case Encrypted:
+            default:
+                column = "stringValue";
+                value = attrValue.getStringValue();
+        }
+        if (value == null) {
+            return Collections.<A>emptyList();
+        }
+
         String entityName = schema.isUniqueConstraint()
                 ? anyUtils().plainAttrUniqueValueClass().getName()
                 : anyUtils().plainAttrValueClass().getName();
-        Query query = findByPlainAttrValueQuery(entityName);
+        Query query = entityManager().createQuery("SELECT e FROM " + entityName + " e"
+                + " WHERE e.attribute.schema.id = :schemaKey AND e." + column + " = :value");
         query.setParameter("schemaKey", schemaKey);
-        query.setParameter("stringValue", attrValue.getStringValue());
-        query.setParameter("booleanValue", attrValue.getBooleanValue() == null
-                ? null
-                : ((AbstractPlainAttrValue) attrValue).getBooleanAsInteger(attrValue.getBooleanValue()));
-        if (attrValue.getDateValue() == null) {
-            query.setParameter("dateValue", null);
+        if (value instanceof Date) {
+            query.setParameter("value", (Date) value, TemporalType.TIMESTAMP);
         } else {
-            query.setParameter("dateValue", attrValue.getDateValue(), TemporalType.TIMESTAMP);
+            query.setParameter("value", value);
         }
-        query.setParameter("longValue", attrValue.getLongValue());
-        query.setParameter("doubleValue", attrValue.getDoubleValue());
 
         List<A> result = new ArrayList<>();
-        ((List<PlainAttrValue>) query.getResultList()).stream().forEach(value -> {
-            A any = (A) value.getAttr().getOwner();
+        ((List<PlainAttrValue>) query.getResultList()).stream().forEach(attrVal -> {
+            A any = (A) attrVal.getAttr().getOwner();
             if (!result.contains(any)) {
                 result.add(any);
             }
@@ -242,6 +302,49 @@ public abstract class AbstractAnyDAO<A extends Any<?>> extends AbstractDAO<A> im
         return result;
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<String, List<String>> findKeysByPlainAttrValue(final String schemaKey) {
+        PlainSchema schema = plainSchemaDAO().find(schemaKey);
+        if (schema == null) {
+            LOG.error("Invalid schema name '{}'", schemaKey);
+            return Collections.emptyMap();
+        }
+        if (schema.getType() == AttrSchemaType.Binary) {
+            LOG.error("Binary schema not supported: '{}'", schemaKey);
+            return Collections.emptyMap();
+        }
+
+        String entityName = schema.isUniqueConstraint()
+                ? anyUtils().plainAttrUniqueValueClass().getName()
+                : anyUtils().plainAttrValueClass().getName();
+        Query query = entityManager().createQuery("SELECT e.attribute.owner.id,"
+                + " e.stringValue, e.booleanValue, e.dateValue, e.longValue, e.doubleValue"
+                + " FROM " + entityName + " e WHERE e.attribute.schema.id = :schemaKey");
+        query.setParameter("schemaKey", schemaKey);
+
+        Map<String, List<String>> result = new HashMap<>();
+        ((List<Object[]>) query.getResultList()).forEach(row -> {
+            PlainAttrValue value = anyUtils().newPlainAttrValue();
+            value.setStringValue((String) row[1]);
+            value.setBooleanValue(row[2] == null
+                    ? null
+                    : ((AbstractPlainAttrValue) value).isBooleanAsInteger((Integer) row[2]));
+            value.setDateValue((Date) row[3]);
+            value.setLongValue((Long) row[4]);
+            value.setDoubleValue((Double) row[5]);
+
+            List<String> keys = result.computeIfAbsent(
+                    value.getValueAsString(schema.getType()), k -> new ArrayList<>());
+            String key = (String) row[0];
+            if (!keys.contains(key)) {
+                keys.add(key);
+            }
+        });
+
+        return result;
+    }
+
     @Override
     public A findByPlainAttrUniqueValue(final String schemaKey, final PlainAttrValue attrUniqueValue) {
         PlainSchema schema = plainSchemaDAO().find(schemaKey);
@@ -464,6 +567,27 @@ public abstract class AbstractAnyDAO<A extends Any<?>> extends AbstractDAO<A> im
         return SearchCond.getLeafCond(idCond);
     }
 
+    private List<A> findAllAfter(final String lastKey, final int fetchSize) {
+        TypedQuery<A> query = entityManager().createQuery(
+                "SELECT e FROM " + anyUtils().anyClass().getSimpleName() + " e"
+                + (lastKey == null ? "" : " WHERE e.id > :lastKey")
+                + " ORDER BY e.id", anyUtils().<A>anyClass());
+        if (lastKey != null) {
+            query.setParameter("lastKey", lastKey);
+        }
+        query.setMaxResults(fetchSize);
+
+        return query.getResultList();
+    }
+
+    @Override
+    public Stream<A> streamAll(final int fetchSize, final boolean detached) {
+        return KeysetIterator.stream(
+                fetchSize,
+                lastKey -> findAllAfter(lastKey, fetchSize),
+                detached ? any -> entityManager().detach(any) : null);
+    }
+
     @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
     @Override
     @SuppressWarnings("unchecked")
@@ -26,6 +26,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.persistence.Entity;
 import javax.validation.ValidationException;
 import javax.validation.constraints.Max;
@@ -62,6 +63,8 @@ import org.apache.syncope.core.persistence.api.entity.Realm;
 import org.apache.syncope.core.persistence.api.entity.anyobject.AnyObject;
 import org.apache.syncope.core.persistence.api.entity.group.Group;
 import org.apache.syncope.core.persistence.jpa.entity.JPAPlainSchema;
+import org.apache.syncope.core.provisioning.api.metrics.MetricsRegistry;
+import org.apache.syncope.core.provisioning.api.metrics.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.util.ReflectionUtils;
 
@@ -99,6 +102,12 @@ public abstract class AbstractAnySearchDAO extends AbstractDAO<Any<?>> implement
         return SearchCond.getAndCond(effectiveConds);
     }
 
+    private Timer timer(final AnyTypeKind kind, final String operation) {
+        return MetricsRegistry.getInstance().timer(
+                "syncope_any_search_seconds", "Any search query time",
+                "dao", getClass().getSimpleName(), "kind", kind.name(), "operation", operation);
+    }
+
     protected abstract int doCount(Set<String> adminRealms, SearchCond cond, AnyTypeKind kind);
 
     @Override
@@ -114,7 +123,12 @@ public abstract class AbstractAnySearchDAO extends AbstractDAO<Any<?>> implement
             return 0;
         }
 
-        return doCount(adminRealms, cond, kind);
+        long start = System.nanoTime();
+        try {
+            return doCount(adminRealms, cond, kind);
+        } finally {
+            timer(kind, "count").recordSince(start);
+        }
     }
 
     @Override
@@ -349,7 +363,37 @@ public abstract class AbstractAnySearchDAO extends AbstractDAO<Any<?>> implement
             effectiveOrderBy = orderBy;
         }
 
-        return doSearch(adminRealms, cond, page, itemsPerPage, effectiveOrderBy, kind);
+        long start = System.nanoTime();
+        try {
+            return doSearch(adminRealms, cond, page, itemsPerPage, effectiveOrderBy, kind);
+        } finally {
+            timer(kind, "search").recordSince(start);
+        }
+    }
+
+    @Override
+    public <T extends Any<?>> Stream<T> stream(
+            final Set<String> adminRealms,
+            final SearchCond cond,
+            final int fetchSize,
+            final boolean detached,
+            final AnyTypeKind kind) {
+
+        return KeysetIterator.<T>stream(
+                fetchSize,
+                lastKey -> {
+                    SearchCond effectiveCond = cond;
+                    if (lastKey != null) {
+                        AnyCond keyCond = new AnyCond(AttributeCond.Type.GT);
+                        keyCond.setSchema("key");
+                        keyCond.setExpression(lastKey);
+                        effectiveCond = SearchCond.getAndCond(cond, SearchCond.getLeafCond(keyCond));
+                    }
+
+                    // default ordering is by key
+                    return search(adminRealms, effectiveCond, 1, fetchSize, Collections.emptyList(), kind);
+                },
+                detached ? any -> entityManager().detach(any) : null);
     }
 
     @Override
@@ -19,12 +19,15 @@
 package org.apache.syncope.core.persistence.jpa.dao;
 
 import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.apache.syncope.core.persistence.api.DomainsHolder;
 import org.apache.syncope.core.persistence.api.dao.DAO;
 import org.apache.syncope.core.persistence.api.entity.Entity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.beans.factory.annotation.Configurable;
 import org.springframework.orm.jpa.EntityManagerFactoryUtils;
 
@@ -34,9 +37,22 @@ public abstract class AbstractDAO<E extends Entity> implements DAO<E> {
     protected static final Logger LOG = LoggerFactory.getLogger(DAO.class);
 
     protected EntityManager entityManager() {
-        EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(
-                EntityManagerFactoryUtils.findEntityManagerFactory(
-                        ApplicationContextProvider.getBeanFactory(), AuthContextUtils.getDomain()));
+        EntityManagerFactory entityManagerFactory;
+        try {
+            entityManagerFactory = EntityManagerFactoryUtils.findEntityManagerFactory(
+                    ApplicationContextProvider.getBeanFactory(), AuthContextUtils.getDomain());
+        } catch (NoSuchBeanDefinitionException e) {
+            // domain not active yet: activate and look up again
+            if (!ApplicationContextProvider.getBeanFactory().getBean(DomainsHolder.class).
+                    activate(AuthContextUtils.getDomain())) {
+
+                throw e;
+            }
+            entityManagerFactory = EntityManagerFactoryUtils.findEntityManagerFactory(
+                    ApplicationContextProvider.getBeanFactory(), AuthContextUtils.getDomain());
+        }
+
+        EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
         if (entityManager == null) {
             throw new IllegalStateException("Could not find EntityManager for domain " + AuthContextUtils.getDomain());
         }
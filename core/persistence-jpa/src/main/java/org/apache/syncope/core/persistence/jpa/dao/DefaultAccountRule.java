@@ -18,6 +18,8 @@
  */
 package org.apache.syncope.core.persistence.jpa.dao;
 
+import java.util.HashSet;
+import java.util.Set;
 import java.util.regex.Pattern;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.syncope.common.lib.policy.AccountRuleConf;
@@ -33,69 +35,70 @@ public class DefaultAccountRule implements AccountRule {
 
     private static final Pattern DEFAULT_PATTERN = Pattern.compile("[a-zA-Z0-9-_@. ]+");
 
-    private DefaultAccountRuleConf conf;
-
     @Transactional(readOnly = true)
     @Override
     public void enforce(final AccountRuleConf conf, final User user) {
+        DefaultAccountRuleConf ruleConf;
         if (conf instanceof DefaultAccountRuleConf) {
-            this.conf = DefaultAccountRuleConf.class.cast(conf);
+            ruleConf = DefaultAccountRuleConf.class.cast(conf);
         } else {
             throw new IllegalArgumentException(
                     AccountRuleConf.class.getName() + " expected, got " + conf.getClass().getName());
         }
 
-        this.conf.getSchemasNotPermitted().stream().
+        // rule configurations are shared: words not permitted are collected apart
+        Set<String> wordsNotPermitted = new HashSet<>(ruleConf.getWordsNotPermitted());
+        ruleConf.getSchemasNotPermitted().stream().
                 map(schema -> user.getPlainAttr(schema)).
                 filter(attr -> attr.isPresent()).
                 map(attr -> attr.get().getValuesAsStrings()).
                 filter(values -> (values != null && !values.isEmpty())).
-                forEachOrdered(values -> this.conf.getWordsNotPermitted().add(values.get(0)));
+                forEachOrdered(values -> wordsNotPermitted.add(values.get(0)));
 
         if (user.getUsername() == null) {
             throw new AccountPolicyException("Invalid account");
         }
 
         // check min length
-        if (this.conf.getMinLength() > 0 && this.conf.getMinLength() > user.getUsername().length()) {
+        if (ruleConf.getMinLength() > 0 && ruleConf.getMinLength() > user.getUsername().length()) {
             throw new AccountPolicyException("Username too short");
         }
 
         // check max length
-        if (this.conf.getMaxLength() > 0 && this.conf.getMaxLength() < user.getUsername().length()) {
+        if (ruleConf.getMaxLength() > 0 && ruleConf.getMaxLength() < user.getUsername().length()) {
             throw new AccountPolicyException("Username too long");
         }
 
         // check words not permitted
-        this.conf.getWordsNotPermitted().stream().
+        wordsNotPermitted.stream().
                 filter(word -> StringUtils.containsIgnoreCase(user.getUsername(), word)).
                 forEachOrdered(item -> {
                     throw new AccountPolicyException("Used word(s) not permitted");
                 });
 
         // check case
-        if (this.conf.isAllUpperCase() && !user.getUsername().equals(user.getUsername().toUpperCase())) {
+        if (ruleConf.isAllUpperCase() && !user.getUsername().equals(user.getUsername().toUpperCase())) {
             throw new AccountPolicyException("No lowercase characters permitted");
         }
-        if (this.conf.isAllLowerCase() && !user.getUsername().equals(user.getUsername().toLowerCase())) {
+        if (ruleConf.isAllLowerCase() && !user.getUsername().equals(user.getUsername().toLowerCase())) {
             throw new AccountPolicyException("No uppercase characters permitted");
         }
 
         // check pattern
-        Pattern pattern = (this.conf.getPattern() == null) ? DEFAULT_PATTERN : Pattern.compile(this.conf.getPattern());
+        Pattern pattern = (ruleConf.getPattern() == null) ? DEFAULT_PATTERN : Pattern.compile(ruleConf.getPattern());
         if (!pattern.matcher(user.getUsername()).matches()) {
             throw new AccountPolicyException("Username does not match pattern");
         }
 
         // check prefix
-        this.conf.getPrefixesNotPermitted().stream().
+        ruleConf.getPrefixesNotPermitted().stream().
                 filter(prefix -> user.getUsername().startsWith(prefix)).
                 forEachOrdered(item -> {
                     throw new AccountPolicyException("Prefix not permitted");
                 });
 
         // check suffix
-        this.conf.getSuffixesNotPermitted().stream().
+        ruleConf.getSuffixesNotPermitted().stream().
                 filter(suffix -> user.getUsername().endsWith(suffix)).
                 forEachOrdered(item -> {
                     throw new AccountPolicyException("Suffix not permitted");
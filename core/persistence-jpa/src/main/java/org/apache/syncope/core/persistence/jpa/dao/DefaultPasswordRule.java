@@ -18,6 +18,8 @@
  */
 package org.apache.syncope.core.persistence.jpa.dao;
 
+import java.util.HashSet;
+import java.util.Set;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.syncope.common.lib.policy.DefaultPasswordRuleConf;
 import org.apache.syncope.common.lib.policy.PasswordRuleConf;
@@ -31,139 +33,140 @@ import org.springframework.transaction.annotation.Transactional;
 @PasswordRuleConfClass(DefaultPasswordRuleConf.class)
 public class DefaultPasswordRule implements PasswordRule {
 
-    private DefaultPasswordRuleConf conf;
-
     @Transactional(readOnly = true)
     @Override
     public void enforce(final PasswordRuleConf conf, final User user) {
+        DefaultPasswordRuleConf ruleConf;
         if (conf instanceof DefaultPasswordRuleConf) {
-            this.conf = (DefaultPasswordRuleConf) conf;
+            ruleConf = (DefaultPasswordRuleConf) conf;
         } else {
             throw new IllegalArgumentException(
                     PasswordRuleConf.class.getName() + " expected, got " + conf.getClass().getName());
         }
 
-        this.conf.getSchemasNotPermitted().stream().
+        // rule configurations are shared: words not permitted are collected apart
+        Set<String> wordsNotPermitted = new HashSet<>(ruleConf.getWordsNotPermitted());
+        ruleConf.getSchemasNotPermitted().stream().
                 map(schema -> user.getPlainAttr(schema)).
                 filter(attr -> attr.isPresent()).
                 map(attr -> attr.get().getValuesAsStrings()).
                 filter(values -> (values != null && !values.isEmpty())).
-                forEachOrdered(values -> this.conf.getWordsNotPermitted().add(values.get(0)));
+                forEachOrdered(values -> wordsNotPermitted.add(values.get(0)));
 
         String clearPassword = user.getClearPassword();
         String password = user.getPassword();
 
         if (password != null && clearPassword != null) {
             // check length
-            if (this.conf.getMinLength() > 0 && this.conf.getMinLength() > clearPassword.length()) {
+            if (ruleConf.getMinLength() > 0 && ruleConf.getMinLength() > clearPassword.length()) {
                 throw new PasswordPolicyException("Password too short");
             }
 
-            if (this.conf.getMaxLength() > 0 && this.conf.getMaxLength() < clearPassword.length()) {
+            if (ruleConf.getMaxLength() > 0 && ruleConf.getMaxLength() < clearPassword.length()) {
                 throw new PasswordPolicyException("Password too long");
             }
 
             // check words not permitted
-            this.conf.getWordsNotPermitted().stream().
+            wordsNotPermitted.stream().
                     filter(word -> StringUtils.containsIgnoreCase(clearPassword, word)).
                     forEachOrdered(item -> {
                         throw new PasswordPolicyException("Used word(s) not permitted");
                     });
 
             // check digits occurrence
-            if (this.conf.isDigitRequired() && !checkDigit(clearPassword)) {
+            if (ruleConf.isDigitRequired() && !checkDigit(clearPassword)) {
                 throw new PasswordPolicyException("Password must contain digit(s)");
             }
 
             // check lowercase alphabetic characters occurrence
-            if (this.conf.isLowercaseRequired() && !checkLowercase(clearPassword)) {
+            if (ruleConf.isLowercaseRequired() && !checkLowercase(clearPassword)) {
                 throw new PasswordPolicyException("Password must contain lowercase alphabetic character(s)");
             }
 
             // check uppercase alphabetic characters occurrence
-            if (this.conf.isUppercaseRequired() && !checkUppercase(clearPassword)) {
+            if (ruleConf.isUppercaseRequired() && !checkUppercase(clearPassword)) {
                 throw new PasswordPolicyException("Password must contain uppercase alphabetic character(s)");
             }
 
             // check prefix
-            this.conf.getPrefixesNotPermitted().stream().
+            ruleConf.getPrefixesNotPermitted().stream().
                     filter(prefix -> clearPassword.startsWith(prefix)).
                     forEachOrdered(item -> {
                         throw new PasswordPolicyException("Prefix not permitted");
                     });
 
             // check suffix
-            this.conf.getSuffixesNotPermitted().stream().
+            ruleConf.getSuffixesNotPermitted().stream().
                     filter(suffix -> clearPassword.endsWith(suffix)).
                     forEachOrdered(item -> {
                         throw new PasswordPolicyException("Suffix not permitted");
                     });
 
             // check digit first occurrence
-            if (this.conf.isMustStartWithDigit() && !checkFirstDigit(clearPassword)) {
+            if (ruleConf.isMustStartWithDigit() && !checkFirstDigit(clearPassword)) {
                 throw new PasswordPolicyException("Password must start with a digit");
             }
 
-            if (this.conf.isMustntStartWithDigit() && checkFirstDigit(clearPassword)) {
+            if (ruleConf.isMustntStartWithDigit() && checkFirstDigit(clearPassword)) {
                 throw new PasswordPolicyException("Password mustn't start with a digit");
             }
 
             // check digit last occurrence
-            if (this.conf.isMustEndWithDigit() && !checkLastDigit(clearPassword)) {
+            if (ruleConf.isMustEndWithDigit() && !checkLastDigit(clearPassword)) {
                 throw new PasswordPolicyException("Password must end with a digit");
             }
 
-            if (this.conf.isMustntEndWithDigit() && checkLastDigit(clearPassword)) {
+            if (ruleConf.isMustntEndWithDigit() && checkLastDigit(clearPassword)) {
                 throw new PasswordPolicyException("Password mustn't end with a digit");
             }
 
             // check alphanumeric characters occurence
-            if (this.conf.isAlphanumericRequired() && !checkAlphanumeric(clearPassword)) {
+            if (ruleConf.isAlphanumericRequired() && !checkAlphanumeric(clearPassword)) {
                 throw new PasswordPolicyException("Password must contain alphanumeric character(s)");
             }
 
             // check non alphanumeric characters occurence
-            if (this.conf.isNonAlphanumericRequired() && !checkNonAlphanumeric(clearPassword)) {
+            if (ruleConf.isNonAlphanumericRequired() && !checkNonAlphanumeric(clearPassword)) {
                 throw new PasswordPolicyException("Password must contain non-alphanumeric character(s)");
             }
 
             // check alphanumeric character first occurrence
-            if (this.conf.isMustStartWithAlpha() && !checkFirstAlphanumeric(clearPassword)) {
+            if (ruleConf.isMustStartWithAlpha() && !checkFirstAlphanumeric(clearPassword)) {
                 throw new PasswordPolicyException("Password must start with an alphanumeric character");
             }
 
-            if (this.conf.isMustntStartWithAlpha() && checkFirstAlphanumeric(clearPassword)) {
+            if (ruleConf.isMustntStartWithAlpha() && checkFirstAlphanumeric(clearPassword)) {
                 throw new PasswordPolicyException("Password mustn't start with an alphanumeric character");
             }
 
             // check alphanumeric character last occurrence
-            if (this.conf.isMustEndWithAlpha() && !checkLastAlphanumeric(clearPassword)) {
+            if (ruleConf.isMustEndWithAlpha() && !checkLastAlphanumeric(clearPassword)) {
                 throw new PasswordPolicyException("Password must end with an alphanumeric character");
             }
 
-            if (this.conf.isMustntEndWithAlpha() && checkLastAlphanumeric(clearPassword)) {
+            if (ruleConf.isMustntEndWithAlpha() && checkLastAlphanumeric(clearPassword)) {
                 throw new PasswordPolicyException("Password mustn't end with an alphanumeric character");
             }
 
             // check non alphanumeric character first occurrence
-            if (this.conf.isMustStartWithNonAlpha() && !checkFirstNonAlphanumeric(clearPassword)) {
+            if (ruleConf.isMustStartWithNonAlpha() && !checkFirstNonAlphanumeric(clearPassword)) {
                 throw new PasswordPolicyException("Password must start with a non-alphanumeric character");
             }
 
-            if (this.conf.isMustntStartWithNonAlpha() && checkFirstNonAlphanumeric(clearPassword)) {
+            if (ruleConf.isMustntStartWithNonAlpha() && checkFirstNonAlphanumeric(clearPassword)) {
                 throw new PasswordPolicyException("Password mustn't start with a non-alphanumeric character");
             }
 
             // check non alphanumeric character last occurrence
-            if (this.conf.isMustEndWithNonAlpha() && !checkLastNonAlphanumeric(clearPassword)) {
+            if (ruleConf.isMustEndWithNonAlpha() && !checkLastNonAlphanumeric(clearPassword)) {
                 throw new PasswordPolicyException("Password must end with a non-alphanumeric character");
             }
 
-            if (this.conf.isMustntEndWithNonAlpha() && checkLastNonAlphanumeric(clearPassword)) {
+            if (ruleConf.isMustntEndWithNonAlpha() && checkLastNonAlphanumeric(clearPassword)) {
                 throw new PasswordPolicyException("Password mustn't end with a non-alphanumeric character");
             }
 
-            if (!this.conf.isUsernameAllowed()
+            if (!ruleConf.isUsernameAllowed()
                     && user.getUsername() != null && user.getUsername().equals(clearPassword)) {
 
                 throw new PasswordPolicyException("Password mustn't be equal to username");
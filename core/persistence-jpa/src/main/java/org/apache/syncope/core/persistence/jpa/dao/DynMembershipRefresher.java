@@ -0,0 +1,231 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
+import org.apache.syncope.core.persistence.jpa.entity.anyobject.JPAAnyObject;
+import org.apache.syncope.core.persistence.jpa.entity.group.JPAGroup;
+import org.apache.syncope.core.persistence.jpa.entity.user.JPAUser;
+import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Set-based recomputation of the dynamic members of a group or dynamic realm: the keys of all matching any objects
+ * are first copied into {@link #STAGING_TABLE} straight from the search SQL, then compared with the current membership
+ * rows, so that only actual differences are applied, in chunks of {@link #CHUNK_SIZE} keys.
+ */
+class DynMembershipRefresher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DynMembershipRefresher.class);
+
+    static final String STAGING_TABLE = "DynMembershipStaging";
+
+    static final int CHUNK_SIZE = 1000;
+
+    /**
+     * Placeholder for the key range conditions in the statements run by {@code applyInChunks}.
+     */
+    private static final String RANGE = "{range}";
+
+    /**
+     * Builds a {@link JPAAnySearchDAO} instance not wrapped by any proxy, as required to invoke
+     * {@link JPAAnySearchDAO#insertMatching(java.lang.String, java.lang.String, SearchCond, AnyTypeKind)}; it runs
+     * within the transaction of the caller.
+     *
+     * @return search DAO instance
+     */
+    static JPAAnySearchDAO buildSearchDAO() {
+        JPAAnySearchDAO searchDAO = new JPAAnySearchDAO();
+        ApplicationContextProvider.getBeanFactory().autowireBean(searchDAO);
+        return searchDAO;
+    }
+
+    private static String getTable(final AnyTypeKind kind) {
+        switch (kind) {
+            case USER:
+                return JPAUser.TABLE;
+
+            case GROUP:
+                return JPAGroup.TABLE;
+
+            case ANY_OBJECT:
+            default:
+                return JPAAnyObject.TABLE;
+        }
+    }
+
+    private final EntityManager entityManager;
+
+    private final JPAAnySearchDAO searchDAO;
+
+    private final String membersTable;
+
+    private final String ownerColumn;
+
+    private final boolean withAnyType;
+
+    private final String ownerKey;
+
+    /**
+     * @param entityManager entity manager
+     * @param searchDAO search DAO, as returned by {@link #buildSearchDAO()}
+     * @param membersTable table holding dynamic members, with {@code any_id} and owner key columns
+     * @param ownerColumn name of the owner key column in {@code membersTable}
+     * @param withAnyType whether {@code membersTable} also has an {@code anyType_id} column
+     * @param ownerKey group or dynamic realm key
+     */
+    DynMembershipRefresher(
+            final EntityManager entityManager,
+            final JPAAnySearchDAO searchDAO,
+            final String membersTable,
+            final String ownerColumn,
+            final boolean withAnyType,
+            final String ownerKey) {
+
+        this.entityManager = entityManager;
+        this.searchDAO = searchDAO;
+        this.membersTable = membersTable;
+        this.ownerColumn = ownerColumn;
+        this.withAnyType = withAnyType;
+        this.ownerKey = ownerKey;
+
+        clearStaging();
+    }
+
+    private void clearStaging() {
+        Query delete = entityManager.createNativeQuery("DELETE FROM " + STAGING_TABLE + " WHERE owner_id=?");
+        delete.setParameter(1, ownerKey);
+        delete.executeUpdate();
+    }
+
+    /**
+     * Adds the any objects matching the given condition to the expected members.
+     *
+     * @param cond search condition
+     * @param kind any type kind
+     */
+    void stage(final SearchCond cond, final AnyTypeKind kind) {
+        int staged = searchDAO.insertMatching(STAGING_TABLE, ownerKey, cond, kind);
+        LOG.debug("{} {} matching dynamic membership condition of {}", staged, kind, ownerKey);
+    }
+
+    /**
+     * Aligns the actual members of the given kind with the expected ones: missing members are added and exceeding
+     * members are removed, chunk by chunk.
+     *
+     * @param kind any type kind
+     * @param changed invoked with the keys of each chunk of added or removed members
+     */
+    void apply(final AnyTypeKind kind, final Consumer<List<String>> changed) {
+        String kindTable = getTable(kind);
+
+        // 1. add staged any objects which are not members yet; the same key might have been staged more than once
+        String fromStaged = " FROM " + STAGING_TABLE + " s, " + kindTable + " k WHERE k.id=s.any_id AND s.owner_id=?";
+        String notMember = " AND NOT EXISTS (SELECT m.any_id FROM " + membersTable + " m "
+                + "WHERE m." + ownerColumn + "=? AND m.any_id=s.any_id)";
+        applyInChunks(
+                "s.any_id",
+                "SELECT DISTINCT s.any_id" + fromStaged + RANGE + notMember + " ORDER BY s.any_id",
+                "INSERT INTO " + membersTable
+                + (withAnyType ? "(anyType_id, any_id, " : "(any_id, ") + ownerColumn + ") "
+                + "SELECT DISTINCT " + (withAnyType ? "k.type_id, " : "") + "s.any_id, s.owner_id" + fromStaged
+                + RANGE + notMember,
+                changed);
+
+        // 2. remove members which are not staged
+        String fromMembers = " FROM " + membersTable + " WHERE " + ownerColumn + "=?"
+                + " AND any_id IN (SELECT id FROM " + kindTable + ")";
+        String notStaged = " AND NOT EXISTS (SELECT s.any_id FROM " + STAGING_TABLE + " s "
+                + "WHERE s.owner_id=? AND s.any_id=" + membersTable + ".any_id)";
+        applyInChunks(
+                "any_id",
+                "SELECT any_id" + fromMembers + RANGE + notStaged + " ORDER BY any_id",
+                "DELETE" + fromMembers + RANGE + notStaged,
+                changed);
+    }
+
+    /**
+     * Repeatedly reads a chunk of keys via {@code select}, then applies {@code update} to the same key range; the
+     * {@link #RANGE} placeholder in both is replaced by the conditions on {@code keyColumn} delimiting each chunk.
+     * The first chunk has no lower bound, rather than the empty string, which Oracle treats as {@code NULL}.
+     *
+     * @param keyColumn key column, as qualified in {@code select} and {@code update}
+     * @param select query with owner key, lower bound (exclusive, but for the first chunk) and owner key parameters
+     * @param update statement with owner key, lower bound (exclusive, but for the first chunk), upper bound
+     * (inclusive) and owner key parameters
+     * @param changed invoked with the keys of each chunk
+     */
+    @SuppressWarnings("unchecked")
+    private void applyInChunks(
+            final String keyColumn, final String select, final String update, final Consumer<List<String>> changed) {
+
+        String lowerBound = null;
+        List<String> chunk;
+        do {
+            String lowerBoundCond = lowerBound == null ? "" : " AND " + keyColumn + ">?";
+
+            Query query = entityManager.createNativeQuery(select.replace(RANGE, lowerBoundCond));
+            int param = 1;
+            query.setParameter(param++, ownerKey);
+            if (lowerBound != null) {
+                query.setParameter(param++, lowerBound);
+            }
+            query.setParameter(param, ownerKey);
+            query.setMaxResults(CHUNK_SIZE);
+
+            chunk = ((List<Object>) query.getResultList()).stream().
+                    map(key -> key instanceof Object[]
+                    ? (String) ((Object[]) key)[0]
+                    : ((String) key)).
+                    collect(Collectors.toList());
+            if (!chunk.isEmpty()) {
+                String upperBound = chunk.get(chunk.size() - 1);
+
+                Query statement = entityManager.createNativeQuery(
+                        update.replace(RANGE, lowerBoundCond + " AND " + keyColumn + "<=?"));
+                param = 1;
+                statement.setParameter(param++, ownerKey);
+                if (lowerBound != null) {
+                    statement.setParameter(param++, lowerBound);
+                }
+                statement.setParameter(param++, upperBound);
+                statement.setParameter(param, ownerKey);
+                statement.executeUpdate();
+
+                changed.accept(chunk);
+
+                lowerBound = upperBound;
+            }
+        } while (chunk.size() == CHUNK_SIZE);
+    }
+
+    /**
+     * Removes all rows staged for the owner.
+     */
+    void done() {
+        clearStaging();
+    }
+}
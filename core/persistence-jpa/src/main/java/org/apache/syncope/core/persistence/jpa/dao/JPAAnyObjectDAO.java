@@ -36,6 +36,7 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.types.AnyEntitlement;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.apache.syncope.core.spring.security.AuthorizationCache;
 import org.apache.syncope.core.spring.security.DelegatedAdministrationException;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
@@ -95,6 +96,12 @@ public class JPAAnyObjectDAO extends AbstractAnyDAO<AnyObject> implements AnyObj
         return findKey(username, JPAAnyObject.TABLE);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public Map<String, List<String>> findKeysByName() {
+        return findKeysByName(JPAAnyObject.TABLE);
+    }
+
     @Transactional(readOnly = true)
     @Override
     public Date findLastChange(final String key) {
@@ -136,18 +143,12 @@ public class JPAAnyObjectDAO extends AbstractAnyDAO<AnyObject> implements AnyObj
 
     @Override
     protected void securityChecks(final AnyObject anyObject) {
-        Map<String, Set<String>> authorizations = AuthContextUtils.getAuthorizations();
-        Set<String> authRealms = authorizations.containsKey(AnyEntitlement.READ.getFor(anyObject.getType().getKey()))
-                ? authorizations.get(AnyEntitlement.READ.getFor(anyObject.getType().getKey()))
-                : Collections.emptySet();
-        boolean authorized = authRealms.stream().
-                anyMatch(realm -> anyObject.getRealm().getFullPath().startsWith(realm));
+        String entitlement = AnyEntitlement.READ.getFor(anyObject.getType().getKey());
+
+        AuthorizationCache cache = AuthorizationCache.get();
+        boolean authorized = cache.isRealmAuthorized(entitlement, anyObject.getRealm().getFullPath())
+                || cache.isDynRealmAuthorized(entitlement, anyObject.getKey(), this::findDynRealms);
         if (!authorized) {
-            authorized = findDynRealms(anyObject.getKey()).stream().
-                    filter(dynRealm -> authRealms.contains(dynRealm)).
-                    count() > 0;
-        }
-        if (authRealms.isEmpty() || !authorized) {
             throw new DelegatedAdministrationException(
                     anyObject.getRealm().getFullPath(), AnyTypeKind.ANY_OBJECT.name(), anyObject.getKey());
         }
@@ -255,6 +256,8 @@ public class JPAAnyObjectDAO extends AbstractAnyDAO<AnyObject> implements AnyObj
             return relationship;
         }).forEachOrdered(relationship -> entityManager().remove(relationship));
 
+        pullFingerprintDAO.deleteByAny(anyObject.getKey());
+
         entityManager().remove(anyObject);
         publisher.publishEvent(
                 new AnyDeletedEvent(this, AnyTypeKind.ANY_OBJECT, anyObject.getKey(), AuthContextUtils.getDomain()));
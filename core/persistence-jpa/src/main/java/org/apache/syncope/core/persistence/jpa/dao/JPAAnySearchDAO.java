@@ -24,6 +24,7 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Set;
 import java.util.stream.Collectors;
 import javax.persistence.Query;
@@ -32,6 +33,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.lang3.tuple.Triple;
 import org.apache.syncope.common.lib.SyncopeClientException;
+import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.common.lib.types.AttrSchemaType;
 import org.apache.syncope.common.lib.types.ClientExceptionType;
@@ -141,6 +143,46 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
         return ((Number) countQuery.getSingleResult()).intValue();
     }
 
+    /**
+     * Copies the keys of all any objects matching the given condition into the given table, along with the given
+     * owner key, by means of a single {@code INSERT ... SELECT} statement: no entity is loaded in memory.
+     *
+     * @param table table with {@code owner_id} and {@code any_id} columns
+     * @param ownerKey value for the {@code owner_id} column
+     * @param cond search condition
+     * @param kind any type kind
+     * @return number of rows inserted
+     */
+    int insertMatching(final String table, final String ownerKey, final SearchCond cond, final AnyTypeKind kind) {
+        if (cond == null || !cond.isValid()) {
+            LOG.error("Invalid search condition:\n{}", cond);
+            return 0;
+        }
+
+        List<Object> parameters = Collections.synchronizedList(new ArrayList<>());
+
+        SearchSupport svs = new SearchSupport(kind);
+
+        Pair<String, Set<String>> filter = getAdminRealmsFilter(SyncopeConstants.FULL_ADMIN_REALMS, svs, parameters);
+
+        // 1. get the query string from the search condition
+        StringBuilder queryString = getQuery(buildEffectiveCond(cond, filter.getRight()), parameters, svs);
+
+        // 2. take into account administrative realms
+        queryString.insert(0, "SELECT DISTINCT u.any_id FROM (");
+        queryString.append(") u WHERE ").append(filter.getLeft());
+
+        // 3. prepare the INSERT ... SELECT statement
+        queryString.insert(0, "INSERT INTO " + table + "(owner_id, any_id) SELECT ?"
+                + setParameter(parameters, ownerKey) + ", matching.any_id FROM (");
+        queryString.append(") matching");
+
+        Query insert = entityManager().createNativeQuery(queryString.toString());
+        fillWithParameters(insert, parameters);
+
+        return insert.executeUpdate();
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     protected <T extends Any<?>> List<T> doSearch(
@@ -673,8 +715,14 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
         // activate ignoreCase only for EQ and LIKE operators
         boolean ignoreCase = AttributeCond.Type.ILIKE == cond.getType() || AttributeCond.Type.IEQ == cond.getType();
 
+        // plain String and Enum values come with an indexed lower-case copy, no need for LOWER() on the column
+        boolean lowerColumn = ignoreCase && !(cond instanceof AnyCond)
+                && (schema.getType() == AttrSchemaType.String || schema.getType() == AttrSchemaType.Enum);
+
         String column = (cond instanceof AnyCond) ? cond.getSchema() : svs.fieldName(schema.getType());
-        if (ignoreCase) {
+        if (lowerColumn) {
+            column = "lower" + column;
+        } else if (ignoreCase) {
             column = "LOWER (" + column + ")";
         }
         if (!(cond instanceof AnyCond)) {
@@ -703,7 +751,10 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
                         query.append(" NOT ");
                     }
                     query.append(" LIKE ");
-                    if (ignoreCase) {
+                    if (lowerColumn) {
+                        query.append('?').
+                                append(setParameter(parameters, cond.getExpression().toLowerCase(Locale.ROOT)));
+                    } else if (ignoreCase) {
                         query.append("LOWER(?").append(setParameter(parameters, cond.getExpression())).append(')');
                     } else {
                         query.append('?').append(setParameter(parameters, cond.getExpression()));
@@ -725,7 +776,10 @@ public class JPAAnySearchDAO extends AbstractAnySearchDAO {
                 } else {
                     query.append('=');
                 }
-                if (ignoreCase) {
+                if (lowerColumn) {
+                    query.append('?').
+                            append(setParameter(parameters, attrValue.getStringValue().toLowerCase(Locale.ROOT)));
+                } else if (ignoreCase) {
                     query.append("LOWER(?").append(setParameter(parameters, attrValue.getValue())).append(')');
                 } else {
                     query.append('?').append(setParameter(parameters, attrValue.getValue()));
@@ -18,19 +18,55 @@
  */
 package org.apache.syncope.core.persistence.jpa.dao;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import org.apache.syncope.core.persistence.api.dao.ConfDAO;
+import org.apache.syncope.core.persistence.api.dao.LoginIdentifierDAO;
 import org.apache.syncope.core.persistence.api.entity.conf.CPlainAttr;
 import org.apache.syncope.core.persistence.api.entity.conf.Conf;
+import org.apache.syncope.core.persistence.api.entity.conf.ConfSnapshot;
 import org.apache.syncope.core.persistence.jpa.entity.conf.JPAConf;
+import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Repository
 public class JPAConfDAO extends AbstractDAO<Conf> implements ConfDAO {
 
     private static final String KEY = "cd64d66f-6fff-4008-b966-a06b1cc1436d";
 
+    private static final String LOGIN_SCHEMAS = "authentication.attributes";
+
+    private final Map<String, ConfSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private final AtomicInteger changing = new AtomicInteger();
+
+    /**
+     * Bound to the current transaction once login schemas are found changed.
+     */
+    private final Object loginSchemasChanged = new Object();
+
+    private LoginIdentifierDAO loginIdentifierDAO;
+
+    private LoginIdentifierDAO loginIdentifierDAO() {
+        synchronized (this) {
+            if (loginIdentifierDAO == null) {
+                loginIdentifierDAO = ApplicationContextProvider.getBeanFactory().getBean(LoginIdentifierDAO.class);
+            }
+        }
+        return loginIdentifierDAO;
+    }
+
     @Override
     public Conf get() {
         Conf instance = entityManager().find(JPAConf.class, KEY);
@@ -50,19 +86,104 @@ public class JPAConfDAO extends AbstractDAO<Conf> implements ConfDAO {
         return get().getPlainAttr(key);
     }
 
-    @Transactional(readOnly = true)
     @Override
     public <T> T find(final String key, final T defaultValue) {
-        Optional<? extends CPlainAttr> result = find(key);
-        if (!result.isPresent()) {
-            return defaultValue;
+        return snapshot().get(key, defaultValue);
+    }
+
+    @Override
+    public ConfSnapshot snapshot() {
+        String domain = AuthContextUtils.getDomain();
+
+        ConfSnapshot snapshot = snapshots.get(domain);
+        if (snapshot == null) {
+            long current = generation.get();
+
+            TransactionTemplate txTemplate = new TransactionTemplate(ApplicationContextProvider.getBeanFactory().
+                    getBean(domain + "TransactionManager", PlatformTransactionManager.class));
+            txTemplate.setReadOnly(true);
+            snapshot = txTemplate.execute(status -> new ConfSnapshot(get()));
+
+            // do not keep snapshots built while configuration is being changed
+            if (changing.get() == 0 && generation.get() == current) {
+                snapshots.put(domain, snapshot);
+                if (changing.get() > 0 || generation.get() != current) {
+                    snapshots.remove(domain, snapshot);
+                }
+            }
         }
 
-        return result.get().getUniqueValue() == null
-                ? result.get().getValues().isEmpty()
-                ? null
-                : result.get().getValues().get(0).<T>getValue()
-                : result.get().getUniqueValue().<T>getValue();
+        return snapshot;
+    }
+
+    private void discard(final String domain) {
+        generation.incrementAndGet();
+        snapshots.remove(domain);
+    }
+
+    @Override
+    public void reload() {
+        discard(AuthContextUtils.getDomain());
+    }
+
+    /**
+     * Discards the snapshot for the current domain; when invoked within a transaction, no snapshot is kept until
+     * completion, so that uncommitted changes are never exposed.
+     */
+    private void invalidate() {
+        String domain = AuthContextUtils.getDomain();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && !TransactionSynchronizationManager.hasResource(this)) {
+
+            TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+            changing.incrementAndGet();
+
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                @Override
+                public void afterCompletion(final int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(JPAConfDAO.this);
+                    changing.decrementAndGet();
+                    discard(domain);
+                }
+            });
+        }
+
+        discard(domain);
+    }
+
+    /**
+     * Rebuilds the login identifier index if the given key is the one listing login schemas; when invoked within a
+     * transaction, this happens only once, after commit.
+     *
+     * @param key configuration parameter being changed
+     */
+    private void rebuildLoginIdentifiers(final String key) {
+        if (!LOGIN_SCHEMAS.equals(key)) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (!TransactionSynchronizationManager.hasResource(loginSchemasChanged)) {
+                TransactionSynchronizationManager.bindResource(loginSchemasChanged, Boolean.TRUE);
+
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                    @Override
+                    public void afterCommit() {
+                        loginIdentifierDAO().rebuild();
+                    }
+
+                    @Override
+                    public void afterCompletion(final int status) {
+                        TransactionSynchronizationManager.unbindResourceIfPossible(loginSchemasChanged);
+                    }
+                });
+            }
+        } else {
+            loginIdentifierDAO().rebuild();
+        }
     }
 
     @Override
@@ -80,7 +201,10 @@ public class JPAConfDAO extends AbstractDAO<Conf> implements ConfDAO {
         instance.add(attr);
         attr.setOwner(instance);
 
-        return entityManager().merge(instance);
+        invalidate();
+        Conf merged = entityManager().merge(instance);
+        rebuildLoginIdentifiers(attr.getSchema().getKey());
+        return merged;
     }
 
     @Override
@@ -92,6 +216,8 @@ public class JPAConfDAO extends AbstractDAO<Conf> implements ConfDAO {
             instance.remove(attr.get());
 
             instance = entityManager().merge(instance);
+            invalidate();
+            rebuildLoginIdentifiers(key);
         }
 
         return instance;
@@ -22,6 +22,7 @@ import java.util.List;
 import java.util.Optional;
 import javax.persistence.Query;
 import javax.persistence.TypedQuery;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
 import org.apache.syncope.core.persistence.api.dao.DynRealmDAO;
 import org.apache.syncope.core.persistence.api.entity.Any;
@@ -29,9 +30,10 @@ import org.apache.syncope.core.persistence.api.entity.DynRealm;
 import org.apache.syncope.core.persistence.api.entity.DynRealmMembership;
 import org.apache.syncope.core.persistence.api.search.SearchCondConverter;
 import org.apache.syncope.core.persistence.jpa.entity.JPADynRealm;
-import org.apache.syncope.core.provisioning.api.event.AnyCreatedUpdatedEvent;
+import org.apache.syncope.core.provisioning.api.event.AnyBulkUpdatedEvent;
 import org.apache.syncope.core.spring.ApplicationContextProvider;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.apache.syncope.core.spring.security.AuthorizationCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Repository;
@@ -47,6 +49,8 @@ public class JPADynRealmDAO extends AbstractDAO<DynRealm> implements DynRealmDAO
 
     private AnySearchDAO searchDAO;
 
+    private JPAAnySearchDAO stagingSearchDAO;
+
     private AnySearchDAO searchDAO() {
         synchronized (this) {
             if (searchDAO == null) {
@@ -56,6 +60,15 @@ public class JPADynRealmDAO extends AbstractDAO<DynRealm> implements DynRealmDAO
         return searchDAO;
     }
 
+    private JPAAnySearchDAO stagingSearchDAO() {
+        synchronized (this) {
+            if (stagingSearchDAO == null) {
+                stagingSearchDAO = DynMembershipRefresher.buildSearchDAO();
+            }
+        }
+        return stagingSearchDAO;
+    }
+
     @Override
     public DynRealm find(final String key) {
         return entityManager().find(JPADynRealm.class, key);
@@ -72,22 +85,17 @@ public class JPADynRealmDAO extends AbstractDAO<DynRealm> implements DynRealmDAO
     public DynRealm save(final DynRealm dynRealm) {
         DynRealm merged = entityManager().merge(dynRealm);
 
-        // refresh dynamic memberships
-        clearDynMembers(merged);
-
-        merged.getDynMemberships().stream().map(memb -> searchDAO().search(
-                SearchCondConverter.convert(memb.getFIQLCond()), memb.getAnyType().getKind())).
-                forEachOrdered(matching -> {
-                    matching.forEach(any -> {
-                        Query insert = entityManager().createNativeQuery("INSERT INTO " + DYNMEMB_TABLE
-                                + " VALUES(?, ?)");
-                        insert.setParameter(1, any.getKey());
-                        insert.setParameter(2, merged.getKey());
-                        insert.executeUpdate();
-
-                        publisher.publishEvent(new AnyCreatedUpdatedEvent<>(this, any, AuthContextUtils.getDomain()));
-                    });
-                });
+        // refresh dynamic memberships: only changed members are affected
+        DynMembershipRefresher refresher = new DynMembershipRefresher(
+                entityManager(), stagingSearchDAO(), DYNMEMB_TABLE, "dynRealm_id", false, merged.getKey());
+        merged.getDynMemberships().forEach(memb -> refresher.stage(
+                SearchCondConverter.convert(memb.getFIQLCond()), memb.getAnyType().getKind()));
+        for (AnyTypeKind kind : AnyTypeKind.values()) {
+            refresher.apply(kind, changed -> publisher.publishEvent(
+                    new AnyBulkUpdatedEvent(this, kind, changed, AuthContextUtils.getDomain())));
+        }
+        refresher.done();
+        AuthorizationCache.evictDynRealms(null);
 
         return merged;
     }
@@ -109,6 +117,8 @@ public class JPADynRealmDAO extends AbstractDAO<DynRealm> implements DynRealmDAO
         Query delete = entityManager().createNativeQuery("DELETE FROM " + DYNMEMB_TABLE + " WHERE dynRealm_id=?");
         delete.setParameter(1, dynRealm.getKey());
         delete.executeUpdate();
+
+        AuthorizationCache.evictDynRealms(null);
     }
 
     @Transactional
@@ -130,6 +140,8 @@ public class JPADynRealmDAO extends AbstractDAO<DynRealm> implements DynRealmDAO
                 }
             }
         });
+
+        AuthorizationCache.evictDynRealms(any.getKey());
     }
 
     @Override
@@ -137,6 +149,8 @@ public class JPADynRealmDAO extends AbstractDAO<DynRealm> implements DynRealmDAO
         Query delete = entityManager().createNativeQuery("DELETE FROM " + DYNMEMB_TABLE + " WHERE any_id=?");
         delete.setParameter(1, key);
         delete.executeUpdate();
+
+        AuthorizationCache.evictDynRealms(key);
     }
 
 }
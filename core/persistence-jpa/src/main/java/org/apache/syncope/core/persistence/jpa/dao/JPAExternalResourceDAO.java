@@ -32,6 +32,7 @@ import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
 import org.apache.syncope.core.persistence.api.dao.ExternalResourceHistoryConfDAO;
 import org.apache.syncope.core.persistence.api.dao.NotFoundException;
 import org.apache.syncope.core.persistence.api.dao.PolicyDAO;
+import org.apache.syncope.core.persistence.api.dao.PullFingerprintDAO;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
 import org.apache.syncope.core.persistence.api.dao.RealmDAO;
 import org.apache.syncope.core.persistence.api.dao.TaskDAO;
@@ -63,6 +64,12 @@ public class JPAExternalResourceDAO extends AbstractDAO<ExternalResource> implem
     @Autowired
     private ConnectorRegistry connRegistry;
 
+    @Autowired
+    private PolicyChainCache policyChainCache;
+
+    @Autowired
+    private PullFingerprintDAO pullFingerprintDAO;
+
     private TaskDAO taskDAO;
 
     private AnyObjectDAO anyObjectDAO;
@@ -238,6 +245,8 @@ public class JPAExternalResourceDAO extends AbstractDAO<ExternalResource> implem
     @Override
     @Transactional(rollbackFor = { Throwable.class })
     public ExternalResource save(final ExternalResource resource) {
+        policyChainCache.invalidate();
+
         ExternalResource merged = entityManager().merge(resource);
         try {
             connRegistry.registerConnector(merged);
@@ -305,6 +314,7 @@ public class JPAExternalResourceDAO extends AbstractDAO<ExternalResource> implem
                 forEach(schema -> virSchemaDAO().delete(schema.getKey())));
 
         externalResourceHistoryConfDAO().deleteByEntity(resource);
+        pullFingerprintDAO.delete(resource.getKey());
 
         if (resource.getConnector() != null && resource.getConnector().getResources() != null
                 && !resource.getConnector().getResources().isEmpty()) {
@@ -314,5 +324,6 @@ public class JPAExternalResourceDAO extends AbstractDAO<ExternalResource> implem
         resource.setConnector(null);
 
         entityManager().remove(resource);
+        policyChainCache.invalidate();
     }
 }
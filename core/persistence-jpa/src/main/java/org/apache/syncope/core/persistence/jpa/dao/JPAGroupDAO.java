@@ -42,6 +42,7 @@ import org.apache.syncope.common.lib.types.StandardEntitlement;
 import org.apache.syncope.core.provisioning.api.utils.RealmUtils;
 import org.apache.syncope.core.persistence.api.search.SearchCondConverter;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.apache.syncope.core.spring.security.AuthorizationCache;
 import org.apache.syncope.core.spring.security.DelegatedAdministrationException;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
 import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
@@ -65,6 +66,7 @@ import org.apache.syncope.core.persistence.jpa.entity.anyobject.JPAAMembership;
 import org.apache.syncope.core.persistence.jpa.entity.group.JPATypeExtension;
 import org.apache.syncope.core.persistence.jpa.entity.user.JPAUDynGroupMembership;
 import org.apache.syncope.core.persistence.jpa.entity.user.JPAUMembership;
+import org.apache.syncope.core.provisioning.api.event.AnyBulkUpdatedEvent;
 import org.apache.syncope.core.provisioning.api.event.AnyCreatedUpdatedEvent;
 import org.apache.syncope.core.provisioning.api.event.AnyDeletedEvent;
 import org.apache.syncope.core.spring.ApplicationContextProvider;
@@ -92,6 +94,8 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
 
     private AnySearchDAO jpaAnySearchDAO;
 
+    private JPAAnySearchDAO stagingSearchDAO;
+
     private UserDAO userDAO() {
         synchronized (this) {
             if (userDAO == null) {
@@ -133,6 +137,15 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
         return jpaAnySearchDAO;
     }
 
+    private JPAAnySearchDAO stagingSearchDAO() {
+        synchronized (this) {
+            if (stagingSearchDAO == null) {
+                stagingSearchDAO = DynMembershipRefresher.buildSearchDAO();
+            }
+        }
+        return stagingSearchDAO;
+    }
+
     @Override
     protected AnyUtils init() {
         return new JPAAnyUtilsFactory().getInstance(AnyTypeKind.GROUP);
@@ -144,6 +157,12 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
         return findKey(username, JPAGroup.TABLE);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public Map<String, List<String>> findKeysByName() {
+        return findKeysByName(JPAGroup.TABLE);
+    }
+
     @Transactional(readOnly = true)
     @Override
     public Date findLastChange(final String key) {
@@ -174,19 +193,12 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
 
     @Override
     protected void securityChecks(final Group group) {
-        Map<String, Set<String>> authorizations = AuthContextUtils.getAuthorizations();
-        Set<String> authRealms = authorizations.containsKey(StandardEntitlement.GROUP_READ)
-                ? authorizations.get(StandardEntitlement.GROUP_READ)
-                : Collections.emptySet();
-
-        boolean authorized = authRealms.stream().anyMatch(realm -> group.getRealm().getFullPath().startsWith(realm)
-                || realm.equals(RealmUtils.getGroupOwnerRealm(group.getRealm().getFullPath(), group.getKey())));
+        AuthorizationCache cache = AuthorizationCache.get();
+        boolean authorized = cache.isRealmAuthorized(StandardEntitlement.GROUP_READ, group.getRealm().getFullPath())
+                || cache.getRealms(StandardEntitlement.GROUP_READ).contains(
+                        RealmUtils.getGroupOwnerRealm(group.getRealm().getFullPath(), group.getKey()))
+                || cache.isDynRealmAuthorized(StandardEntitlement.GROUP_READ, group.getKey(), this::findDynRealms);
         if (!authorized) {
-            authorized = findDynRealms(group.getKey()).stream().
-                    filter(dynRealm -> authRealms.contains(dynRealm)).
-                    count() > 0;
-        }
-        if (authRealms.isEmpty() || !authorized) {
             throw new DelegatedAdministrationException(
                     group.getRealm().getFullPath(), AnyTypeKind.GROUP.name(), group.getKey());
         }
@@ -286,40 +298,26 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
         Group merged = super.save(group);
         publisher.publishEvent(new AnyCreatedUpdatedEvent<>(this, merged, AuthContextUtils.getDomain()));
 
-        // refresh dynamic memberships
+        // refresh dynamic memberships: only changed members are affected
+        DynMembershipRefresher uRefresher = new DynMembershipRefresher(
+                entityManager(), stagingSearchDAO(), UDYNMEMB_TABLE, "group_id", false, merged.getKey());
         if (merged.getUDynMembership() != null) {
-            List<User> matching = searchDAO().search(
+            uRefresher.stage(
                     buildDynMembershipCond(merged.getUDynMembership().getFIQLCond(), merged.getRealm()),
                     AnyTypeKind.USER);
-
-            clearUDynMembers(merged);
-
-            matching.forEach(user -> {
-                Query insert = entityManager().createNativeQuery("INSERT INTO " + UDYNMEMB_TABLE + " VALUES(?, ?)");
-                insert.setParameter(1, user.getKey());
-                insert.setParameter(2, merged.getKey());
-                insert.executeUpdate();
-
-                publisher.publishEvent(new AnyCreatedUpdatedEvent<>(this, user, AuthContextUtils.getDomain()));
-            });
         }
-        merged.getADynMemberships().stream().map(memb -> searchDAO().search(
-                buildDynMembershipCond(memb.getFIQLCond(), merged.getRealm()),
-                AnyTypeKind.ANY_OBJECT)).forEachOrdered(matching -> {
-            clearADynMembers(merged);
+        uRefresher.apply(AnyTypeKind.USER, changed -> publisher.publishEvent(
+                new AnyBulkUpdatedEvent(this, AnyTypeKind.USER, changed, AuthContextUtils.getDomain())));
+        uRefresher.done();
 
-            matching.forEach(anyObject -> {
-                Query insert = entityManager().createNativeQuery("INSERT INTO " + ADYNMEMB_TABLE
-                        + " VALUES(?, ?, ?)");
-                insert.setParameter(1, anyObject.getType().getKey());
-                insert.setParameter(2, anyObject.getKey());
-                insert.setParameter(3, merged.getKey());
-                insert.executeUpdate();
-
-                publisher.publishEvent(
-                        new AnyCreatedUpdatedEvent<>(this, anyObject, AuthContextUtils.getDomain()));
-            });
-        });
+        DynMembershipRefresher aRefresher = new DynMembershipRefresher(
+                entityManager(), stagingSearchDAO(), ADYNMEMB_TABLE, "group_id", true, merged.getKey());
+        merged.getADynMemberships().forEach(memb -> aRefresher.stage(
+                buildDynMembershipCond(memb.getFIQLCond(), merged.getRealm()),
+                AnyTypeKind.ANY_OBJECT));
+        aRefresher.apply(AnyTypeKind.ANY_OBJECT, changed -> publisher.publishEvent(
+                new AnyBulkUpdatedEvent(this, AnyTypeKind.ANY_OBJECT, changed, AuthContextUtils.getDomain())));
+        aRefresher.done();
 
         dynRealmDAO().refreshDynMemberships(merged);
 
@@ -362,6 +360,7 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
 
         clearUDynMembers(group);
         clearADynMembers(group);
+        pullFingerprintDAO.deleteByAny(group.getKey());
 
         entityManager().remove(group);
         publisher.publishEvent(
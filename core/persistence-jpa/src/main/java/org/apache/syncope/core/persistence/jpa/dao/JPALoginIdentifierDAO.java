@@ -0,0 +1,243 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.persistence.LockModeType;
+import javax.persistence.Query;
+import javax.persistence.TypedQuery;
+import org.apache.syncope.core.persistence.api.dao.ConfDAO;
+import org.apache.syncope.core.persistence.api.dao.LoginIdentifierDAO;
+import org.apache.syncope.core.persistence.api.entity.Entity;
+import org.apache.syncope.core.persistence.api.entity.conf.CPlainAttr;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.persistence.jpa.entity.user.JPAUPlainAttr;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public class JPALoginIdentifierDAO extends AbstractDAO<Entity> implements LoginIdentifierDAO {
+
+    public static final String TABLE = "LoginIdentifier";
+
+    private static final int MAX_IDENTIFIER_LENGTH = 255;
+
+    /**
+     * Number of plain attributes read at once while rebuilding.
+     */
+    private static final int CHUNK_SIZE = 1000;
+
+    @Autowired
+    private ConfDAO confDAO;
+
+    private static List<String> getSchemas(final Optional<List<String>> authAttrs) {
+        return authAttrs.orElse(Collections.emptyList()).stream().
+                filter(schema -> !"username".equals(schema)).
+                collect(Collectors.toList());
+    }
+
+    /**
+     * @return configured login schemas
+     */
+    private List<String> getSchemas() {
+        return getSchemas(confDAO.snapshot().getValuesAsStrings("authentication.attributes"));
+    }
+
+    /**
+     * Locks the configuration, so that the index is built by one node at a time and not while login schemas are
+     * being changed.
+     *
+     * @return configured login schemas
+     */
+    private List<String> lockSchemas() {
+        entityManager().lock(confDAO.get(), LockModeType.PESSIMISTIC_WRITE);
+        return getSchemas(confDAO.find("authentication.attributes").map(CPlainAttr::getValuesAsStrings));
+    }
+
+    /**
+     * @return login schemas the index was last built for
+     */
+    private Set<String> getIndexedSchemas() {
+        Query query = entityManager().createNativeQuery(
+                "SELECT schema_id FROM " + TABLE + " WHERE user_id IS NULL");
+        Set<String> result = new HashSet<>();
+        for (Object schema : query.getResultList()) {
+            result.add(schema.toString());
+        }
+        return result;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Override
+    public void rebuild() {
+        synchronized (this) {
+            doRebuild(lockSchemas());
+        }
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Override
+    public boolean refresh() {
+        synchronized (this) {
+            List<String> schemas = lockSchemas();
+            if (getIndexedSchemas().equals(new HashSet<>(schemas))) {
+                LOG.debug("Login identifiers up to date for {}", schemas);
+                return false;
+            }
+
+            doRebuild(schemas);
+            return true;
+        }
+    }
+
+    /**
+     * Rebuilds the whole index, reading the plain attributes of each given login schema in chunks of
+     * {@link #CHUNK_SIZE}; each schema is also recorded by a row with no user nor identifier, for
+     * {@link #refresh()} to tell which schemas the index was built for.
+     *
+     * @param schemas login schemas
+     */
+    private void doRebuild(final List<String> schemas) {
+        LOG.debug("Rebuilding login identifiers for {}", schemas);
+
+        entityManager().createNativeQuery("DELETE FROM " + TABLE).executeUpdate();
+
+        for (String schema : schemas) {
+            Query marker = entityManager().createNativeQuery(
+                    "INSERT INTO " + TABLE + "(schema_id, identifier, user_id) VALUES(?, NULL, NULL)");
+            marker.setParameter(1, schema);
+            marker.executeUpdate();
+
+            // no lower bound for the first chunk, as Oracle stores empty strings as NULL
+            String lowerBound = null;
+            List<JPAUPlainAttr> chunk;
+            do {
+                TypedQuery<JPAUPlainAttr> query = entityManager().createQuery(
+                        "SELECT e FROM " + JPAUPlainAttr.class.getSimpleName() + " e "
+                        + "WHERE e.schema.id = :schema AND e.membership IS NULL"
+                        + (lowerBound == null ? "" : " AND e.id > :lowerBound")
+                        + " ORDER BY e.id", JPAUPlainAttr.class);
+                query.setParameter("schema", schema);
+                if (lowerBound != null) {
+                    query.setParameter("lowerBound", lowerBound);
+                }
+                query.setMaxResults(CHUNK_SIZE);
+
+                chunk = query.getResultList();
+                chunk.forEach(attr -> insert(schema, attr.getValuesAsStrings(), attr.getOwner().getKey()));
+                if (!chunk.isEmpty()) {
+                    lowerBound = chunk.get(chunk.size() - 1).getKey();
+                }
+
+                // loaded attributes are not needed any longer
+                entityManager().clear();
+            } while (chunk.size() == CHUNK_SIZE);
+        }
+    }
+
+    private void insert(final String schema, final Collection<String> identifiers, final String userKey) {
+        for (String identifier : new LinkedHashSet<>(identifiers)) {
+            if (identifier == null || identifier.length() > MAX_IDENTIFIER_LENGTH) {
+                LOG.warn("Value for {} of user {} cannot be used as login identifier", schema, userKey);
+            } else {
+                Query insert = entityManager().createNativeQuery(
+                        "INSERT INTO " + TABLE + "(schema_id, identifier, user_id) VALUES(?, ?, ?)");
+                insert.setParameter(1, schema);
+                insert.setParameter(2, identifier);
+                insert.setParameter(3, userKey);
+                insert.executeUpdate();
+            }
+        }
+    }
+
+    @Override
+    public Map<String, List<String>> find(final String identifier) {
+        List<String> schemas = getSchemas();
+        if (schemas.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Query query = entityManager().createNativeQuery(
+                "SELECT schema_id, user_id FROM " + TABLE + " WHERE identifier=? AND schema_id IN ("
+                + schemas.stream().map(schema -> "?").collect(Collectors.joining(", ")) + ")");
+        query.setParameter(1, identifier);
+        for (int i = 0; i < schemas.size(); i++) {
+            query.setParameter(i + 2, schemas.get(i));
+        }
+
+        Map<String, List<String>> result = new HashMap<>();
+        for (Object row : query.getResultList()) {
+            Object[] columns = (Object[]) row;
+            result.computeIfAbsent(columns[0].toString(), schema -> new ArrayList<>()).add(columns[1].toString());
+        }
+        return result;
+    }
+
+    @Override
+    public List<String> find(final String schema, final String identifier) {
+        Query query = entityManager().createNativeQuery(
+                "SELECT user_id FROM " + TABLE + " WHERE schema_id=? AND identifier=?");
+        query.setParameter(1, schema);
+        query.setParameter(2, identifier);
+
+        List<String> result = new ArrayList<>();
+        for (Object userKey : query.getResultList()) {
+            result.add(userKey.toString());
+        }
+        return result;
+    }
+
+    @Override
+    public void save(final User user) {
+        List<String> schemas = getSchemas();
+        if (schemas.isEmpty()) {
+            return;
+        }
+
+        deleteByUser(user.getKey());
+        schemas.forEach(schema -> user.getPlainAttr(schema).
+                ifPresent(attr -> insert(schema, attr.getValuesAsStrings(), user.getKey())));
+    }
+
+    @Override
+    public void deleteByUser(final String userKey) {
+        Query delete = entityManager().createNativeQuery("DELETE FROM " + TABLE + " WHERE user_id=?");
+        delete.setParameter(1, userKey);
+        delete.executeUpdate();
+    }
+
+    @Override
+    public void deleteBySchema(final String schema) {
+        Query delete = entityManager().createNativeQuery("DELETE FROM " + TABLE + " WHERE schema_id=?");
+        delete.setParameter(1, schema);
+        delete.executeUpdate();
+    }
+}
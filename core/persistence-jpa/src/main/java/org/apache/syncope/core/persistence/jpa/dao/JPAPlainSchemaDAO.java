@@ -23,6 +23,7 @@ import java.util.List;
 import javax.persistence.TypedQuery;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
+import org.apache.syncope.core.persistence.api.dao.LoginIdentifierDAO;
 import org.apache.syncope.core.persistence.api.dao.PlainAttrDAO;
 import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
 import org.apache.syncope.core.persistence.api.entity.AnyTypeClass;
@@ -42,6 +43,9 @@ public class JPAPlainSchemaDAO extends AbstractDAO<PlainSchema> implements Plain
     @Autowired
     private PlainAttrDAO plainAttrDAO;
 
+    @Autowired
+    private LoginIdentifierDAO loginIdentifierDAO;
+
     private ExternalResourceDAO resourceDAO;
 
     private ExternalResourceDAO resourceDAO() {
@@ -112,6 +116,7 @@ public class JPAPlainSchemaDAO extends AbstractDAO<PlainSchema> implements Plain
 
             resourceDAO().deleteMapping(key);
         }
+        loginIdentifierDAO.deleteBySchema(key);
 
         if (schema.getAnyTypeClass() != null) {
             schema.getAnyTypeClass().getPlainSchemas().remove(schema);
@@ -43,6 +43,9 @@ public class JPAPolicyDAO extends AbstractDAO<Policy> implements PolicyDAO {
     @Autowired
     private RealmDAO realmDAO;
 
+    @Autowired
+    private PolicyChainCache policyChainCache;
+
     private <T extends Policy> Class<? extends AbstractPolicy> getEntityReference(final Class<T> reference) {
         return AccountPolicy.class.isAssignableFrom(reference)
                 ? JPAAccountPolicy.class
@@ -88,6 +91,7 @@ public class JPAPolicyDAO extends AbstractDAO<Policy> implements PolicyDAO {
 
     @Override
     public <T extends Policy> T save(final T policy) {
+        policyChainCache.invalidate();
         return entityManager().merge(policy);
     }
 
@@ -102,5 +106,6 @@ public class JPAPolicyDAO extends AbstractDAO<Policy> implements PolicyDAO {
         }
 
         entityManager().remove(policy);
+        policyChainCache.invalidate();
     }
 }
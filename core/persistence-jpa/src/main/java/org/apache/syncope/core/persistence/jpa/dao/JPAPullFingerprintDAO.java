@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import javax.persistence.Query;
+import javax.xml.bind.DatatypeConverter;
+import org.apache.syncope.core.persistence.api.dao.PullFingerprintDAO;
+import org.apache.syncope.core.persistence.api.entity.Entity;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class JPAPullFingerprintDAO extends AbstractDAO<Entity> implements PullFingerprintDAO {
+
+    public static final String TABLE = "PullFingerprint";
+
+    private static long toMillis(final Date date) {
+        return date == null ? 0L : date.getTime();
+    }
+
+    /**
+     * Connector object keys (LDAP DNs, for example) have no upper bound to their length: the fixed-length SHA-256
+     * hash of each key is stored instead.
+     *
+     * @param connObjectKey connector object key
+     * @return hex-encoded SHA-256 hash of the given key
+     */
+    private static String hash(final String connObjectKey) {
+        try {
+            return DatatypeConverter.printHexBinary(MessageDigest.getInstance("SHA-256").
+                    digest(connObjectKey.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    @Override
+    public boolean matches(
+            final String resource,
+            final String anyType,
+            final String connObjectKey,
+            final String anyKey,
+            final String fingerprint,
+            final Date lastChange) {
+
+        Query query = entityManager().createNativeQuery(
+                "SELECT COUNT(*) FROM " + TABLE
+                + " WHERE resource_id=? AND anyType_id=? AND connObjectKeyHash=?"
+                + " AND any_id=? AND fingerprint=? AND lastChange=?");
+        query.setParameter(1, resource);
+        query.setParameter(2, anyType);
+        query.setParameter(3, hash(connObjectKey));
+        query.setParameter(4, anyKey);
+        query.setParameter(5, fingerprint);
+        query.setParameter(6, toMillis(lastChange));
+
+        return ((Number) query.getSingleResult()).intValue() > 0;
+    }
+
+    @Override
+    public void save(
+            final String resource,
+            final String anyType,
+            final String connObjectKey,
+            final String anyKey,
+            final String fingerprint,
+            final Date lastChange) {
+
+        Query delete = entityManager().createNativeQuery(
+                "DELETE FROM " + TABLE + " WHERE resource_id=? AND anyType_id=? AND connObjectKeyHash=?");
+        delete.setParameter(1, resource);
+        delete.setParameter(2, anyType);
+        delete.setParameter(3, hash(connObjectKey));
+        delete.executeUpdate();
+
+        Query insert = entityManager().createNativeQuery(
+                "INSERT INTO " + TABLE
+                + "(resource_id, anyType_id, connObjectKeyHash, any_id, fingerprint, lastChange)"
+                + " VALUES(?, ?, ?, ?, ?, ?)");
+        insert.setParameter(1, resource);
+        insert.setParameter(2, anyType);
+        insert.setParameter(3, hash(connObjectKey));
+        insert.setParameter(4, anyKey);
+        insert.setParameter(5, fingerprint);
+        insert.setParameter(6, toMillis(lastChange));
+        insert.executeUpdate();
+    }
+
+    @Override
+    public void delete(final String resource) {
+        Query delete = entityManager().createNativeQuery("DELETE FROM " + TABLE + " WHERE resource_id=?");
+        delete.setParameter(1, resource);
+        delete.executeUpdate();
+    }
+
+    @Override
+    public void deleteByAny(final String anyKey) {
+        Query delete = entityManager().createNativeQuery("DELETE FROM " + TABLE + " WHERE any_id=?");
+        delete.setParameter(1, anyKey);
+        delete.executeUpdate();
+    }
+}
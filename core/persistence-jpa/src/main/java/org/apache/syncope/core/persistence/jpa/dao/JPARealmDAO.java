@@ -46,6 +46,9 @@ public class JPARealmDAO extends AbstractDAO<Realm> implements RealmDAO {
     @Autowired
     private RoleDAO roleDAO;
 
+    @Autowired
+    private PolicyChainCache policyChainCache;
+
     @Override
     public Realm getRoot() {
         TypedQuery<Realm> query = entityManager().createQuery(
@@ -200,6 +203,7 @@ public class JPARealmDAO extends AbstractDAO<Realm> implements RealmDAO {
 
     @Override
     public Realm save(final Realm realm) {
+        policyChainCache.invalidate();
         return entityManager().merge(realm);
     }
 
@@ -212,6 +216,7 @@ public class JPARealmDAO extends AbstractDAO<Realm> implements RealmDAO {
             toBeDeleted.setParent(null);
             return toBeDeleted;
         }).forEachOrdered(toBeDeleted -> entityManager().remove(toBeDeleted));
+        policyChainCache.invalidate();
     }
 
     @Override
@@ -18,9 +18,13 @@
  */
 package org.apache.syncope.core.persistence.jpa.dao;
 
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 import javax.persistence.Query;
+import javax.persistence.TemporalType;
+import javax.persistence.TypedQuery;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.common.lib.types.TaskType;
@@ -36,6 +40,7 @@ import org.apache.syncope.core.persistence.jpa.entity.task.JPAPushTask;
 import org.apache.syncope.core.persistence.jpa.entity.task.JPASchedTask;
 import org.apache.syncope.core.persistence.jpa.entity.task.JPAPullTask;
 import org.apache.syncope.core.persistence.jpa.entity.task.AbstractTask;
+import org.apache.syncope.core.persistence.jpa.entity.task.JPATaskExec;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.ReflectionUtils;
@@ -240,6 +245,32 @@ public class JPATaskDAO extends AbstractDAO<Task> implements TaskDAO {
         return ((Number) query.getSingleResult()).intValue();
     }
 
+    @Override
+    public List<String> findKeysToPurge(
+            final TaskType type,
+            final Date endedBefore,
+            final Collection<String> statuses,
+            final String afterKey,
+            final int max) {
+
+        TypedQuery<String> query = entityManager().createQuery("SELECT DISTINCT t.id FROM "
+                + getEntityReference(type).getSimpleName() + " t, "
+                + JPATaskExec.class.getSimpleName() + " e"
+                + " WHERE e.task = t AND e.end < :endedBefore AND e.status IN :statuses"
+                + " AND NOT EXISTS (SELECT e2.id FROM " + JPATaskExec.class.getSimpleName() + " e2"
+                + " WHERE e2.task = t AND (e2.end IS NULL OR e2.end > e.end))"
+                + (afterKey == null ? "" : " AND t.id > :afterKey")
+                + " ORDER BY t.id", String.class);
+        query.setParameter("endedBefore", endedBefore, TemporalType.TIMESTAMP);
+        query.setParameter("statuses", statuses);
+        if (afterKey != null) {
+            query.setParameter("afterKey", afterKey);
+        }
+        query.setMaxResults(max);
+
+        return query.getResultList();
+    }
+
     @Transactional(rollbackFor = { Throwable.class })
     @Override
     public <T extends Task> T save(final T task) {
@@ -18,15 +18,19 @@
  */
 package org.apache.syncope.core.persistence.jpa.dao;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import javax.persistence.Query;
+import javax.persistence.TemporalType;
 import javax.persistence.TypedQuery;
+import org.apache.syncope.common.lib.types.TaskType;
 import org.apache.syncope.core.persistence.api.dao.TaskDAO;
 import org.apache.syncope.core.persistence.api.dao.TaskExecDAO;
 import org.apache.syncope.core.persistence.api.dao.search.OrderByClause;
 import org.apache.syncope.core.persistence.api.entity.task.Task;
 import org.apache.syncope.core.persistence.api.entity.task.TaskExec;
+import org.apache.syncope.core.persistence.jpa.entity.task.AbstractTask;
 import org.apache.syncope.core.persistence.jpa.entity.task.JPATaskExec;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
@@ -164,6 +168,30 @@ public class JPATaskExecDAO extends AbstractDAO<TaskExec> implements TaskExecDAO
         return query.getResultList();
     }
 
+    @Override
+    public List<String> findKeysToPurge(
+            final TaskType type,
+            final Date endedBefore,
+            final Collection<String> statuses,
+            final String afterKey,
+            final int max) {
+
+        TypedQuery<String> query = entityManager().createQuery("SELECT e.id FROM "
+                + JPATaskExec.class.getSimpleName() + " e"
+                + " WHERE e.task.id IN (SELECT t.id FROM " + taskDAO.getEntityReference(type).getSimpleName() + " t)"
+                + " AND e.end < :endedBefore AND e.status IN :statuses"
+                + (afterKey == null ? "" : " AND e.id > :afterKey")
+                + " ORDER BY e.id", String.class);
+        query.setParameter("endedBefore", endedBefore, TemporalType.TIMESTAMP);
+        query.setParameter("statuses", statuses);
+        if (afterKey != null) {
+            query.setParameter("afterKey", afterKey);
+        }
+        query.setMaxResults(max);
+
+        return query.getResultList();
+    }
+
     @Override
     public TaskExec save(final TaskExec execution) {
         return entityManager().merge(execution);
@@ -195,4 +223,21 @@ public class JPATaskExecDAO extends AbstractDAO<TaskExec> implements TaskExecDAO
 
         entityManager().remove(execution);
     }
+
+    @Override
+    public int purge(final Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+
+        Query query = entityManager().createQuery(
+                "DELETE FROM " + JPATaskExec.class.getSimpleName() + " e WHERE e.id IN :keys");
+        query.setParameter("keys", keys);
+        int deleted = query.executeUpdate();
+
+        // cached tasks might still reference the deleted executions
+        entityManager().getEntityManagerFactory().getCache().evict(AbstractTask.class);
+
+        return deleted;
+    }
 }
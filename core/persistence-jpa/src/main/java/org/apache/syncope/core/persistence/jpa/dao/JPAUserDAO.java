@@ -19,11 +19,14 @@
 package org.apache.syncope.core.persistence.jpa.dao;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -32,23 +35,32 @@ import java.util.stream.Collectors;
 import javax.annotation.Resource;
 import javax.persistence.NoResultException;
 import javax.persistence.Query;
+import javax.persistence.TemporalType;
 import javax.persistence.TypedQuery;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.openjpa.enhance.PersistenceCapable;
+import org.apache.openjpa.kernel.OpenJPAStateManager;
+import org.apache.openjpa.meta.FieldMetaData;
 import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.common.lib.policy.AccountRuleConf;
+import org.apache.syncope.common.lib.policy.PasswordRuleConf;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.common.lib.types.EntityViolationType;
 import org.apache.syncope.common.lib.types.StandardEntitlement;
 import org.apache.syncope.core.provisioning.api.utils.policy.AccountPolicyException;
 import org.apache.syncope.core.provisioning.api.utils.policy.PasswordPolicyException;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.apache.syncope.core.spring.security.AuthorizationCache;
 import org.apache.syncope.core.spring.security.DelegatedAdministrationException;
 import org.apache.syncope.core.spring.ApplicationContextProvider;
 import org.apache.syncope.core.persistence.api.ImplementationLookup;
 import org.apache.syncope.core.persistence.api.attrvalue.validation.InvalidEntityException;
 import org.apache.syncope.core.persistence.api.dao.AccessTokenDAO;
 import org.apache.syncope.core.persistence.api.dao.AccountRule;
+import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
+import org.apache.syncope.core.persistence.api.dao.LoginIdentifierDAO;
 import org.apache.syncope.core.persistence.api.dao.PasswordRule;
 import org.apache.syncope.core.persistence.api.dao.RealmDAO;
 import org.apache.syncope.core.persistence.api.dao.RoleDAO;
@@ -65,6 +77,9 @@ import org.apache.syncope.core.persistence.api.entity.resource.ExternalResource;
 import org.apache.syncope.core.persistence.api.entity.user.SecurityQuestion;
 import org.apache.syncope.core.persistence.api.entity.user.User;
 import org.apache.syncope.core.persistence.jpa.entity.JPAAnyUtilsFactory;
+import org.apache.syncope.core.persistence.jpa.dao.PolicyChainCache.AccountPolicyLink;
+import org.apache.syncope.core.persistence.jpa.dao.PolicyChainCache.PasswordPolicyLink;
+import org.apache.syncope.core.persistence.jpa.dao.PolicyChainCache.PolicyChain;
 import org.apache.syncope.core.persistence.jpa.entity.user.JPAUser;
 import org.apache.syncope.core.provisioning.api.event.AnyCreatedUpdatedEvent;
 import org.apache.syncope.core.provisioning.api.event.AnyDeletedEvent;
@@ -80,6 +95,12 @@ public class JPAUserDAO extends AbstractAnyDAO<User> implements UserDAO {
     private static final Pattern USERNAME_PATTERN =
             Pattern.compile("^" + SyncopeConstants.NAME_PATTERN, Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
 
+    /**
+     * Fields which password and account policy enforcement depends on.
+     */
+    private static final List<String> POLICY_FIELDS =
+            Arrays.asList("username", "password", "realm", "resources", "memberships");
+
     @Autowired
     private RoleDAO roleDAO;
 
@@ -89,6 +110,12 @@ public class JPAUserDAO extends AbstractAnyDAO<User> implements UserDAO {
     @Autowired
     private ImplementationLookup implementationLookup;
 
+    @Autowired
+    private PolicyChainCache policyChainCache;
+
+    @Autowired
+    private LoginIdentifierDAO loginIdentifierDAO;
+
     @Resource(name = "adminUser")
     private String adminUser;
 
@@ -99,6 +126,8 @@ public class JPAUserDAO extends AbstractAnyDAO<User> implements UserDAO {
 
     private GroupDAO groupDAO;
 
+    private ExternalResourceDAO resourceDAO;
+
     private RealmDAO realmDAO() {
         synchronized (this) {
             if (realmDAO == null) {
@@ -117,6 +146,15 @@ public class JPAUserDAO extends AbstractAnyDAO<User> implements UserDAO {
         return groupDAO;
     }
 
+    private ExternalResourceDAO resourceDAO() {
+        synchronized (this) {
+            if (resourceDAO == null) {
+                resourceDAO = ApplicationContextProvider.getApplicationContext().getBean(ExternalResourceDAO.class);
+            }
+        }
+        return resourceDAO;
+    }
+
     @Override
     protected AnyUtils init() {
         return new JPAAnyUtilsFactory().getInstance(AnyTypeKind.USER);
@@ -128,6 +166,12 @@ public class JPAUserDAO extends AbstractAnyDAO<User> implements UserDAO {
         return findKey(username, JPAUser.TABLE);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public Map<String, List<String>> findKeysByName() {
+        return findKeysByName(JPAUser.TABLE);
+    }
+
     @Transactional(readOnly = true)
     @Override
     public Date findLastChange(final String key) {
@@ -178,18 +222,10 @@ public class JPAUserDAO extends AbstractAnyDAO<User> implements UserDAO {
         if (!AuthContextUtils.getUsername().equals(anonymousUser)
                 && !AuthContextUtils.getUsername().equals(user.getUsername())) {
 
-            Map<String, Set<String>> authorizations = AuthContextUtils.getAuthorizations();
-            Set<String> authRealms = authorizations.containsKey(StandardEntitlement.USER_READ)
-                    ? authorizations.get(StandardEntitlement.USER_READ)
-                    : Collections.emptySet();
-            boolean authorized = authRealms.stream().
-                    anyMatch(realm -> user.getRealm().getFullPath().startsWith(realm));
+            AuthorizationCache cache = AuthorizationCache.get();
+            boolean authorized = cache.isRealmAuthorized(StandardEntitlement.USER_READ, user.getRealm().getFullPath())
+                    || cache.isDynRealmAuthorized(StandardEntitlement.USER_READ, user.getKey(), this::findDynRealms);
             if (!authorized) {
-                authorized = findDynRealms(user.getKey()).stream().
-                        filter(dynRealm -> authRealms.contains(dynRealm)).
-                        count() > 0;
-            }
-            if (authRealms.isEmpty() || !authorized) {
                 throw new DelegatedAdministrationException(
                         user.getRealm().getFullPath(), AnyTypeKind.USER.name(), user.getKey());
             }
@@ -237,28 +273,23 @@ public class JPAUserDAO extends AbstractAnyDAO<User> implements UserDAO {
         return query.getResultList();
     }
 
-    private List<PasswordPolicy> getPasswordPolicies(final User user) {
-        List<PasswordPolicy> policies = new ArrayList<>();
-
-        PasswordPolicy policy;
-
-        // add resource policies
-        for (ExternalResource resource : findAllResources(user)) {
-            policy = resource.getPasswordPolicy();
-            if (policy != null) {
-                policies.add(policy);
-            }
-        }
-
-        // add realm policies
-        for (Realm realm : realmDAO().findAncestors(user.getRealm())) {
-            policy = realm.getPasswordPolicy();
-            if (policy != null) {
-                policies.add(policy);
-            }
+    @Override
+    public List<String> findKeysToBeRecertified(
+            final Date lastRecertificationBefore, final String afterKey, final int max) {
+
+        TypedQuery<String> query = entityManager().createQuery("SELECT e.id FROM " + JPAUser.class.getSimpleName()
+                + " e WHERE (e.lastRecertification IS NULL OR e.lastRecertification < :lastRecertificationBefore)"
+                + " AND (e.suspended IS NULL OR e.suspended = 0)"
+                + " AND e.workflowId IS NOT NULL"
+                + (afterKey == null ? "" : " AND e.id > :afterKey")
+                + " ORDER BY e.id", String.class);
+        query.setParameter("lastRecertificationBefore", lastRecertificationBefore, TemporalType.TIMESTAMP);
+        if (afterKey != null) {
+            query.setParameter("afterKey", afterKey);
         }
+        query.setMaxResults(max);
 
-        return policies;
+        return query.getResultList();
     }
 
     @Override
@@ -271,27 +302,99 @@ public class JPAUserDAO extends AbstractAnyDAO<User> implements UserDAO {
         return query.getResultList();
     }
 
-    private List<AccountPolicy> getAccountPolicies(final User user) {
-        List<AccountPolicy> policies = new ArrayList<>();
+    @SuppressWarnings("unchecked")
+    private synchronized <T> T getRule(final Class<?> ruleClass) {
+        // fetch (or create) rule
+        T rule;
+        if (ApplicationContextProvider.getBeanFactory().containsSingleton(ruleClass.getName())) {
+            rule = (T) ApplicationContextProvider.getBeanFactory().getSingleton(ruleClass.getName());
+        } else {
+            rule = (T) ApplicationContextProvider.getBeanFactory().
+                    createBean(ruleClass, AbstractBeanDefinition.AUTOWIRE_BY_TYPE, false);
+            ApplicationContextProvider.getBeanFactory().registerSingleton(ruleClass.getName(), rule);
+        }
+        return rule;
+    }
+
+    private PasswordPolicyLink compile(final PasswordPolicy policy) {
+        List<Pair<PasswordRuleConf, PasswordRule>> rules = new ArrayList<>();
+        policy.getRuleConfs().forEach(ruleConf -> {
+            Class<? extends PasswordRule> ruleClass = implementationLookup.getPasswordRuleClass(ruleConf.getClass());
+            if (ruleClass == null) {
+                LOG.warn("Could not find matching password rule for {}", ruleConf.getClass());
+            } else {
+                rules.add(Pair.of(ruleConf, getRule(ruleClass)));
+            }
+        });
+        return new PasswordPolicyLink(policy.isAllowNullPassword(), policy.getHistoryLength(), rules);
+    }
+
+    private AccountPolicyLink compile(final AccountPolicy policy) {
+        List<Pair<AccountRuleConf, AccountRule>> rules = new ArrayList<>();
+        policy.getRuleConfs().forEach(ruleConf -> {
+            Class<? extends AccountRule> ruleClass = implementationLookup.getAccountRuleClass(ruleConf.getClass());
+            if (ruleClass == null) {
+                LOG.warn("Could not find matching account rule for {}", ruleConf.getClass());
+            } else {
+                rules.add(Pair.of(ruleConf, getRule(ruleClass)));
+            }
+        });
+        return new AccountPolicyLink(policy.getMaxAuthenticationAttempts(), policy.isPropagateSuspension(), rules);
+    }
 
-        // add resource policies
-        findAllResources(user).stream().
-                map(resource -> resource.getAccountPolicy()).
+    private PolicyChain compile(final Realm realm, final Collection<? extends ExternalResource> resources) {
+        List<Realm> ancestors = realmDAO().findAncestors(realm);
+
+        // resource policies first, then realm policies
+        List<PasswordPolicyLink> passwordPolicies = new ArrayList<>();
+        resources.stream().map(resource -> resource.getPasswordPolicy()).
+                filter(policy -> policy != null).
+                forEachOrdered(policy -> passwordPolicies.add(compile(policy)));
+        ancestors.stream().map(ancestor -> ancestor.getPasswordPolicy()).
                 filter(policy -> policy != null).
-                forEachOrdered(policy -> policies.add(policy));
+                forEachOrdered(policy -> passwordPolicies.add(compile(policy)));
 
-        // add realm policies
-        realmDAO().findAncestors(user.getRealm()).stream().
-                map(realm -> realm.getAccountPolicy()).
+        List<AccountPolicy> accountPolicies = new ArrayList<>();
+        resources.stream().map(resource -> resource.getAccountPolicy()).
                 filter(policy -> policy != null).
-                forEachOrdered(policy -> policies.add(policy));
+                forEachOrdered(accountPolicies::add);
+        ancestors.stream().map(ancestor -> ancestor.getAccountPolicy()).
+                filter(policy -> policy != null).
+                forEachOrdered(accountPolicies::add);
+
+        // pass-through resources are the ones shared by all account policies having any
+        Set<String> passthroughResources = null;
+        for (AccountPolicy policy : accountPolicies) {
+            if (!policy.getResources().isEmpty()) {
+                Set<String> policyResources = policy.getResources().stream().
+                        map(Entity::getKey).collect(Collectors.toSet());
+                if (passthroughResources == null) {
+                    passthroughResources = new LinkedHashSet<>(policyResources);
+                } else {
+                    passthroughResources.retainAll(policyResources);
+                }
+            }
+        }
+
+        return new PolicyChain(
+                passwordPolicies,
+                accountPolicies.stream().map(this::compile).collect(Collectors.toList()),
+                passthroughResources == null ? Collections.emptySet() : passthroughResources);
+    }
 
-        return policies;
+    private PolicyChain getPolicyChain(final User user) {
+        Collection<? extends ExternalResource> resources = findAllResources(user);
+        return policyChainCache.get(
+                user.getRealm().getKey() + resources.stream().map(Entity::getKey).sorted().
+                collect(Collectors.joining(",", "|", "")),
+                () -> compile(user.getRealm(), resources));
     }
 
     @Transactional(readOnly = true)
     @Override
     public Pair<Boolean, Boolean> enforcePolicies(final User user) {
+        PolicyChain chain = getPolicyChain(user);
+
         // ------------------------------
         // Verify password policies
         // ------------------------------
@@ -299,33 +402,14 @@ public class JPAUserDAO extends AbstractAnyDAO<User> implements UserDAO {
 
         try {
             int maxPPSpecHistory = 0;
-            for (PasswordPolicy policy : getPasswordPolicies(user)) {
+            for (PasswordPolicyLink policy : chain.getPasswordPolicies()) {
                 if (user.getPassword() == null && !policy.isAllowNullPassword()) {
                     throw new PasswordPolicyException("Password mandatory");
                 }
 
-                policy.getRuleConfs().forEach(ruleConf -> {
-                    Class<? extends PasswordRule> ruleClass =
-                            implementationLookup.getPasswordRuleClass(ruleConf.getClass());
-                    if (ruleClass == null) {
-                        LOG.warn("Could not find matching password rule for {}", ruleConf.getClass());
-                    } else {
-                        // fetch (or create) rule
-                        PasswordRule rule;
-                        if (ApplicationContextProvider.getBeanFactory().containsSingleton(ruleClass.getName())) {
-                            rule = (PasswordRule) ApplicationContextProvider.getBeanFactory().
-                                    getSingleton(ruleClass.getName());
-                        } else {
-                            rule = (PasswordRule) ApplicationContextProvider.getBeanFactory().
-                                    createBean(ruleClass, AbstractBeanDefinition.AUTOWIRE_BY_TYPE, false);
-                            ApplicationContextProvider.getBeanFactory().
-                                    registerSingleton(ruleClass.getName(), rule);
-                        }
-
-                        // enforce rule
-                        rule.enforce(ruleConf, user);
-                    }
-                });
+                for (Pair<PasswordRuleConf, PasswordRule> rule : policy.getRules()) {
+                    rule.getRight().enforce(rule.getLeft(), user);
+                }
 
                 if (user.verifyPasswordHistory(user.getClearPassword(), policy.getHistoryLength())) {
                     throw new PasswordPolicyException("Password value was used in the past: not allowed");
@@ -375,29 +459,10 @@ public class JPAUserDAO extends AbstractAnyDAO<User> implements UserDAO {
                 throw new AccountPolicyException("Character(s) not allowed");
             }
 
-            for (AccountPolicy policy : getAccountPolicies(user)) {
-                policy.getRuleConfs().forEach(ruleConf -> {
-                    Class<? extends AccountRule> ruleClass =
-                            implementationLookup.getAccountRuleClass(ruleConf.getClass());
-                    if (ruleClass == null) {
-                        LOG.warn("Could not find matching account rule for {}", ruleConf.getClass());
-                    } else {
-                        // fetch (or create) rule
-                        AccountRule rule;
-                        if (ApplicationContextProvider.getBeanFactory().containsSingleton(ruleClass.getName())) {
-                            rule = (AccountRule) ApplicationContextProvider.getBeanFactory().
-                                    getSingleton(ruleClass.getName());
-                        } else {
-                            rule = (AccountRule) ApplicationContextProvider.getBeanFactory().
-                                    createBean(ruleClass, AbstractBeanDefinition.AUTOWIRE_BY_TYPE, false);
-                            ApplicationContextProvider.getBeanFactory().
-                                    registerSingleton(ruleClass.getName(), rule);
-                        }
-
-                        // enforce rule
-                        rule.enforce(ruleConf, user);
-                    }
-                });
+            for (AccountPolicyLink policy : chain.getAccountPolicies()) {
+                for (Pair<AccountRuleConf, AccountRule> rule : policy.getRules()) {
+                    rule.getRight().enforce(rule.getLeft(), user);
+                }
 
                 suspend |= user.getFailedLogins() != null && policy.getMaxAuthenticationAttempts() > 0
                         && user.getFailedLogins() > policy.getMaxAuthenticationAttempts() && !user.isSuspended();
@@ -411,7 +476,37 @@ public class JPAUserDAO extends AbstractAnyDAO<User> implements UserDAO {
         return ImmutablePair.of(suspend, propagateSuspension);
     }
 
+    /**
+     * Password and account policies depend on username, password, realm and resources - either direct or
+     * inherited via group memberships: no need to enforce them again when saving a persistent user without changes
+     * on any of such fields, unless any of their rules also depends on plain attributes, whose value changes are
+     * not tracked on the owning user - see {@link PolicyChainCache.PolicyChain#isPlainAttrsDependent()}.
+     *
+     * @param user user about to be saved
+     * @return whether password and account policies are to be enforced
+     */
+    private boolean policiesToBeEnforced(final User user) {
+        if (user.getClearPassword() != null || !(user instanceof PersistenceCapable)
+                || !(((PersistenceCapable) user).pcGetStateManager() instanceof OpenJPAStateManager)) {
+
+            return true;
+        }
+
+        OpenJPAStateManager stateManager = (OpenJPAStateManager) ((PersistenceCapable) user).pcGetStateManager();
+        if (stateManager.isNew() || stateManager.isDeleted()) {
+            return true;
+        }
+
+        BitSet dirty = stateManager.getDirty();
+        return POLICY_FIELDS.stream().anyMatch(field -> {
+            FieldMetaData fmd = stateManager.getMetaData().getField(field);
+            return fmd == null || dirty.get(fmd.getIndex());
+        });
+    }
+
     private Pair<User, Pair<Set<String>, Set<String>>> doSave(final User user) {
+        boolean enforcePolicies = policiesToBeEnforced(user);
+
         // 1. save clear password value before save
         String clearPwd = user.getClearPassword();
 
@@ -422,14 +517,18 @@ public class JPAUserDAO extends AbstractAnyDAO<User> implements UserDAO {
         // 3. set back the sole clear password value
         JPAUser.class.cast(merged).setClearPassword(clearPwd);
 
-        // 4. enforce password and account policies
-        try {
-            enforcePolicies(merged);
-        } catch (InvalidEntityException e) {
-            entityManager().remove(merged);
-            throw e;
+        // 4. enforce password and account policies, if needed
+        if (enforcePolicies || getPolicyChain(merged).isPlainAttrsDependent()) {
+            try {
+                enforcePolicies(merged);
+            } catch (InvalidEntityException e) {
+                entityManager().remove(merged);
+                throw e;
+            }
         }
 
+        loginIdentifierDAO.save(merged);
+
         publisher.publishEvent(new AnyCreatedUpdatedEvent<>(this, merged, AuthContextUtils.getDomain()));
 
         roleDAO.refreshDynMemberships(merged);
@@ -454,6 +553,8 @@ public class JPAUserDAO extends AbstractAnyDAO<User> implements UserDAO {
         roleDAO.removeDynMemberships(user.getKey());
         groupDAO().removeDynMemberships(user);
         dynRealmDAO().removeDynMemberships(user.getKey());
+        loginIdentifierDAO.deleteByUser(user.getKey());
+        pullFingerprintDAO.deleteByAny(user.getKey());
 
         AccessToken accessToken = accessTokenDAO.findByOwner(user.getUsername());
         if (accessToken != null) {
@@ -465,6 +566,56 @@ public class JPAUserDAO extends AbstractAnyDAO<User> implements UserDAO {
                 new AnyDeletedEvent(this, AnyTypeKind.USER, user.getKey(), AuthContextUtils.getDomain()));
     }
 
+    private void evictFromCache(final String key) {
+        entityManager().getEntityManagerFactory().getCache().evict(JPAUser.class, key);
+    }
+
+    @Transactional
+    @Override
+    public void incrementFailedLogins(final String key) {
+        Query query = entityManager().createQuery(
+                "UPDATE " + JPAUser.class.getSimpleName() + " e "
+                + "SET e.failedLogins = e.failedLogins + 1 WHERE e.id = :key AND e.failedLogins IS NOT NULL");
+        query.setParameter("key", key);
+        if (query.executeUpdate() == 0) {
+            query = entityManager().createQuery(
+                    "UPDATE " + JPAUser.class.getSimpleName() + " e "
+                    + "SET e.failedLogins = 1 WHERE e.id = :key AND e.failedLogins IS NULL");
+            query.setParameter("key", key);
+            query.executeUpdate();
+        }
+
+        evictFromCache(key);
+    }
+
+    @Transactional
+    @Override
+    public void resetFailedLogins(final String key) {
+        Query query = entityManager().createQuery(
+                "UPDATE " + JPAUser.class.getSimpleName() + " e "
+                + "SET e.failedLogins = 0 WHERE e.id = :key AND e.failedLogins <> 0");
+        query.setParameter("key", key);
+        if (query.executeUpdate() > 0) {
+            evictFromCache(key);
+        }
+    }
+
+    @Transactional
+    @Override
+    public void updateLastLoginDates(final Map<String, Date> lastLoginDates) {
+        Query query = entityManager().createQuery(
+                "UPDATE " + JPAUser.class.getSimpleName() + " e "
+                + "SET e.lastLoginDate = :date "
+                + "WHERE e.id = :key AND (e.lastLoginDate IS NULL OR e.lastLoginDate < :date)");
+        lastLoginDates.forEach((key, date) -> {
+            query.setParameter("key", key);
+            query.setParameter("date", date, TemporalType.TIMESTAMP);
+            if (query.executeUpdate() > 0) {
+                evictFromCache(key);
+            }
+        });
+    }
+
     @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
     @Override
     public Collection<Role> findAllRoles(final User user) {
@@ -556,6 +707,15 @@ public class JPAUserDAO extends AbstractAnyDAO<User> implements UserDAO {
         return result;
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public Collection<ExternalResource> findPassthroughResources(final User user) {
+        return getPolicyChain(user).getPassthroughResources().stream().
+                map(key -> resourceDAO().find(key)).
+                filter(resource -> resource != null).
+                collect(Collectors.toList());
+    }
+
     @Transactional(readOnly = true)
     @Override
     public Collection<String> findAllResourceKeys(final String key) {
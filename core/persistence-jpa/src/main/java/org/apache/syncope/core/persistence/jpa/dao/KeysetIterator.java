@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.apache.syncope.core.persistence.api.entity.Entity;
+
+/**
+ * Iterates over entities by key order, fetching them in chunks: each chunk is selected by keys greater than the last
+ * one of the previous chunk, rather than by offset.
+ *
+ * @param <E> entity
+ */
+class KeysetIterator<E extends Entity> implements Iterator<E> {
+
+    static <E extends Entity> Stream<E> stream(
+            final int fetchSize, final Function<String, List<E>> fetcher, final Consumer<E> detacher) {
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                new KeysetIterator<>(fetchSize, fetcher, detacher),
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+    }
+
+    private final int fetchSize;
+
+    /**
+     * Given the last key of the previous chunk (null for the first chunk), fetches the next chunk.
+     */
+    private final Function<String, List<E>> fetcher;
+
+    /**
+     * Invoked on each entity of a chunk once it was consumed, if not null.
+     */
+    private final Consumer<E> detacher;
+
+    private List<E> chunk = Collections.emptyList();
+
+    private int index;
+
+    private boolean last;
+
+    KeysetIterator(final int fetchSize, final Function<String, List<E>> fetcher, final Consumer<E> detacher) {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("Fetch size must be positive: " + fetchSize);
+        }
+
+        this.fetchSize = fetchSize;
+        this.fetcher = fetcher;
+        this.detacher = detacher;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (index < chunk.size()) {
+            return true;
+        }
+
+        String lastKey = chunk.isEmpty() ? null : chunk.get(chunk.size() - 1).getKey();
+        if (detacher != null) {
+            chunk.forEach(detacher);
+        }
+        chunk = Collections.emptyList();
+        index = 0;
+
+        if (!last) {
+            chunk = fetcher.apply(lastKey);
+            last = chunk.size() < fetchSize;
+        }
+
+        return !chunk.isEmpty();
+    }
+
+    @Override
+    public E next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        return chunk.get(index++);
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.syncope.common.lib.policy.AccountRuleConf;
+import org.apache.syncope.common.lib.policy.DefaultAccountRuleConf;
+import org.apache.syncope.common.lib.policy.DefaultPasswordRuleConf;
+import org.apache.syncope.common.lib.policy.PasswordRuleConf;
+import org.apache.syncope.core.persistence.api.dao.AccountRule;
+import org.apache.syncope.core.persistence.api.dao.PasswordRule;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Compiled password and account policy chains, by domain and by realm / external resources combination.
+ * Each chain holds, for every applicable policy, the settings relevant for enforcement and the rule instances paired
+ * with their configurations: enforcing a chain requires neither walking realm ancestors nor reading policies, nor
+ * looking up rule classes and deserializing rule configurations.
+ * Each chain also holds the keys of the external resources to attempt pass-through authentication against.
+ * Cached chains are discarded whenever policies, realms or external resources are changed on this node; as changes
+ * made on other nodes are not notified, chains also expire after a short time, which bounds how long such changes
+ * can go unenforced here.
+ */
+@Component
+class PolicyChainCache {
+
+    /**
+     * Upper bound to the number of chains cached for each domain.
+     */
+    private static final int MAX_CHAINS = 1000;
+
+    /**
+     * Milliseconds after which a cached chain is built again.
+     */
+    private static final long TTL = 60000L;
+
+    static class PasswordPolicyLink {
+
+        private final boolean allowNullPassword;
+
+        private final int historyLength;
+
+        private final List<Pair<PasswordRuleConf, PasswordRule>> rules;
+
+        PasswordPolicyLink(
+                final boolean allowNullPassword,
+                final int historyLength,
+                final List<Pair<PasswordRuleConf, PasswordRule>> rules) {
+
+            this.allowNullPassword = allowNullPassword;
+            this.historyLength = historyLength;
+            this.rules = Collections.unmodifiableList(rules);
+        }
+
+        boolean isAllowNullPassword() {
+            return allowNullPassword;
+        }
+
+        int getHistoryLength() {
+            return historyLength;
+        }
+
+        List<Pair<PasswordRuleConf, PasswordRule>> getRules() {
+            return rules;
+        }
+    }
+
+    static class AccountPolicyLink {
+
+        private final int maxAuthenticationAttempts;
+
+        private final boolean propagateSuspension;
+
+        private final List<Pair<AccountRuleConf, AccountRule>> rules;
+
+        AccountPolicyLink(
+                final int maxAuthenticationAttempts,
+                final boolean propagateSuspension,
+                final List<Pair<AccountRuleConf, AccountRule>> rules) {
+
+            this.maxAuthenticationAttempts = maxAuthenticationAttempts;
+            this.propagateSuspension = propagateSuspension;
+            this.rules = Collections.unmodifiableList(rules);
+        }
+
+        int getMaxAuthenticationAttempts() {
+            return maxAuthenticationAttempts;
+        }
+
+        boolean isPropagateSuspension() {
+            return propagateSuspension;
+        }
+
+        List<Pair<AccountRuleConf, AccountRule>> getRules() {
+            return rules;
+        }
+    }
+
+    static class PolicyChain {
+
+        private final List<PasswordPolicyLink> passwordPolicies;
+
+        private final List<AccountPolicyLink> accountPolicies;
+
+        private final Set<String> passthroughResources;
+
+        private final boolean plainAttrsDependent;
+
+        private final long built = System.currentTimeMillis();
+
+        PolicyChain(
+                final List<PasswordPolicyLink> passwordPolicies,
+                final List<AccountPolicyLink> accountPolicies,
+                final Set<String> passthroughResources) {
+
+            this.passwordPolicies = Collections.unmodifiableList(passwordPolicies);
+            this.accountPolicies = Collections.unmodifiableList(accountPolicies);
+            this.passthroughResources = Collections.unmodifiableSet(passthroughResources);
+            this.plainAttrsDependent = passwordPolicies.stream().flatMap(policy -> policy.getRules().stream()).
+                    anyMatch(rule -> isPlainAttrsDependent(rule.getLeft()))
+                    || accountPolicies.stream().flatMap(policy -> policy.getRules().stream()).
+                    anyMatch(rule -> isPlainAttrsDependent(rule.getLeft()));
+        }
+
+        /**
+         * Custom rules are assumed to depend on plain attributes, as there is no way to tell otherwise.
+         *
+         * @param ruleConf rule configuration
+         * @return whether the given rule depends on the values of plain attributes
+         */
+        private static boolean isPlainAttrsDependent(final Object ruleConf) {
+            if (ruleConf instanceof DefaultPasswordRuleConf) {
+                return !((DefaultPasswordRuleConf) ruleConf).getSchemasNotPermitted().isEmpty();
+            }
+            if (ruleConf instanceof DefaultAccountRuleConf) {
+                return !((DefaultAccountRuleConf) ruleConf).getSchemasNotPermitted().isEmpty();
+            }
+            return true;
+        }
+
+        List<PasswordPolicyLink> getPasswordPolicies() {
+            return passwordPolicies;
+        }
+
+        List<AccountPolicyLink> getAccountPolicies() {
+            return accountPolicies;
+        }
+
+        Set<String> getPassthroughResources() {
+            return passthroughResources;
+        }
+
+        boolean isPlainAttrsDependent() {
+            return plainAttrsDependent;
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() - built > TTL;
+        }
+    }
+
+    private final Map<String, Map<String, PolicyChain>> chains = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the cached chain for the given key in the current domain, building it if not available or expired.
+     *
+     * @param key realm / external resources combination
+     * @param builder builds the chain when not cached
+     * @return policy chain
+     */
+    PolicyChain get(final String key, final Supplier<PolicyChain> builder) {
+        Map<String, PolicyChain> domainChains =
+                chains.computeIfAbsent(AuthContextUtils.getDomain(), domain -> new ConcurrentHashMap<>());
+
+        PolicyChain chain = domainChains.get(key);
+        if (chain == null || chain.isExpired()) {
+            chain = builder.get();
+            if (domainChains.size() >= MAX_CHAINS) {
+                domainChains.clear();
+            }
+            domainChains.put(key, chain);
+        }
+        return chain;
+    }
+
+    /**
+     * Discards all chains cached for the current domain; when invoked within a transaction, chains are discarded
+     * once more after completion, so that chains built concurrently from data being changed are not kept.
+     */
+    void invalidate() {
+        String domain = AuthContextUtils.getDomain();
+        chains.remove(domain);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                @Override
+                public void afterCompletion(final int status) {
+                    chains.remove(domain);
+                }
+            });
+        }
+    }
+}
@@ -20,6 +20,7 @@ package org.apache.syncope.core.persistence.jpa.entity;
 
 import java.util.Base64;
 import java.util.Date;
+import java.util.Locale;
 import javax.persistence.Basic;
 import javax.persistence.Lob;
 import javax.persistence.MappedSuperclass;
@@ -47,6 +48,11 @@ public abstract class AbstractPlainAttrValue extends AbstractGeneratedKeyEntity
 
     private String stringValue;
 
+    /**
+     * Lower-case copy of {@link #stringValue}, kept for case-insensitive lookups to be able to use indexes.
+     */
+    private String lowerStringValue;
+
     @Temporal(TemporalType.TIMESTAMP)
     private Date dateValue;
 
@@ -126,6 +132,7 @@ public abstract class AbstractPlainAttrValue extends AbstractGeneratedKeyEntity
     @Override
     public void setStringValue(final String stringValue) {
         this.stringValue = stringValue;
+        this.lowerStringValue = stringValue == null ? null : stringValue.toLowerCase(Locale.ROOT);
     }
 
     @Override
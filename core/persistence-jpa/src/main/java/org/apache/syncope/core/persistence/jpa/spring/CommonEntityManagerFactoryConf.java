@@ -18,27 +18,87 @@
  */
 package org.apache.syncope.core.persistence.jpa.spring;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
 import javax.persistence.ValidationMode;
 import javax.sql.DataSource;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.syncope.core.persistence.api.DomainsHolder;
+import org.apache.syncope.core.persistence.api.SyncopeLoader;
+import org.apache.syncope.core.provisioning.api.metrics.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
 import org.springframework.orm.jpa.persistenceunit.PersistenceUnitPostProcessor;
 
 /**
  * Container for common configuration options among all EntityManagerFactory entities (one for each domain).
  * Acts as a commodity place for fetching each domain's {@link DataSource}..
+ *
+ * Domains defined via {@code *Domain.xml} are active since startup; domains only configured via
+ * {@code domains/<domain>.properties} are instead activated upon first usage - including when added at runtime - and
+ * passivated after {@link #setPassivationIdleTime(long)} seconds without usage.
  */
-public class CommonEntityManagerFactoryConf implements DomainsHolder, InitializingBean, ApplicationContextAware {
+public class CommonEntityManagerFactoryConf
+        implements DomainsHolder, InitializingBean, DisposableBean, ApplicationContextAware {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CommonEntityManagerFactoryConf.class);
+
+    private static final Pattern DOMAIN_PATTERN = Pattern.compile("\\w+");
+
+    private static final ThreadLocal<Boolean> BACKGROUND = ThreadLocal.withInitial(() -> Boolean.FALSE);
 
     private ApplicationContext ctx;
 
-    private final Map<String, DataSource> domains = new HashMap<>();
+    private final Map<String, DataSource> domains = new ConcurrentHashMap<>();
+
+    /**
+     * Domains activated at runtime, with their last usage time.
+     */
+    private final Map<String, Long> runtimeDomains = new ConcurrentHashMap<>();
+
+    /**
+     * Usages in progress of domains activated at runtime, which cannot be passivated until zero; counters are kept
+     * across passivation, for usages to be always matched by their release.
+     */
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    private final Map<String, Object> locks = new ConcurrentHashMap<>();
+
+    /**
+     * Domains being activated or passivated, with the thread doing so: this is allowed to use the domain until
+     * completion, while any other thread waits.
+     */
+    private final Map<String, Thread> activating = new ConcurrentHashMap<>();
+
+    private String contentDirectory;
+
+    private long passivationIdleTime;
+
+    private DomainConfFactory domainConfFactory;
+
+    private ScheduledExecutorService scheduler;
 
     private String[] packagesToScan;
 
@@ -53,6 +113,18 @@ public class CommonEntityManagerFactoryConf implements DomainsHolder, Initializi
         this.ctx = ctx;
     }
 
+    public void setContentDirectory(final String contentDirectory) {
+        this.contentDirectory = contentDirectory;
+    }
+
+    /**
+     * @param passivationIdleTime seconds without usage after which domains activated at runtime are passivated;
+     * 0 or less never passivates
+     */
+    public void setPassivationIdleTime(final long passivationIdleTime) {
+        this.passivationIdleTime = passivationIdleTime;
+    }
+
     @Override
     public void afterPropertiesSet() {
         for (Map.Entry<String, DataSource> entry : ctx.getBeansOfType(DataSource.class).entrySet()) {
@@ -62,6 +134,33 @@ public class CommonEntityManagerFactoryConf implements DomainsHolder, Initializi
                         entry.getValue());
             }
         }
+
+        domainConfFactory = new DomainConfFactory(
+                ctx, (DefaultListableBeanFactory) ((ConfigurableApplicationContext) ctx).getBeanFactory(), this);
+
+        if (passivationIdleTime > 0) {
+            long checkInterval = Math.min(passivationIdleTime, 60);
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "DomainPassivation");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(() -> {
+                try {
+                    passivateIdle();
+                } catch (Throwable t) {
+                    LOG.error("While passivating idle domains", t);
+                }
+            }, checkInterval, checkInterval, TimeUnit.SECONDS);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        new ArrayList<>(runtimeDomains.keySet()).forEach(domain -> domainConfFactory.unregister(domain));
     }
 
     @Override
@@ -69,6 +168,229 @@ public class CommonEntityManagerFactoryConf implements DomainsHolder, Initializi
         return domains;
     }
 
+    private Properties getProperties(final String domain) {
+        if (!DOMAIN_PATTERN.matcher(domain).matches()) {
+            return null;
+        }
+
+        for (String location : new String[] {
+            "file:" + contentDirectory + "/domains/" + domain + ".properties",
+            "classpath:domains/" + domain + ".properties" }) {
+
+            Resource resource = ctx.getResource(location);
+            if (resource.exists()) {
+                try {
+                    Properties props = PropertiesLoaderUtils.loadProperties(resource);
+                    if (props.containsKey(domain + ".driverClassName")) {
+                        return props;
+                    }
+                } catch (IOException e) {
+                    LOG.error("[{}] Could not read {}", domain, location, e);
+                }
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public Set<String> getAvailableDomains() {
+        Set<String> available = new TreeSet<>(domains.keySet());
+        for (String pattern : new String[] {
+            "file:" + contentDirectory + "/domains/*.properties", "classpath*:domains/*.properties" }) {
+
+            try {
+                for (Resource resource : ctx.getResources(pattern)) {
+                    String domain = StringUtils.substringBeforeLast(resource.getFilename(), ".properties");
+                    if (!available.contains(domain) && getProperties(domain) != null) {
+                        available.add(domain);
+                    }
+                }
+            } catch (IOException e) {
+                LOG.debug("Could not look for domains in {}", pattern, e);
+            }
+        }
+
+        return available;
+    }
+
+    private List<SyncopeLoader> loaders() {
+        List<SyncopeLoader> loaders = new ArrayList<>(ctx.getBeansOfType(SyncopeLoader.class).values());
+        loaders.sort((o1, o2) -> o1.getPriority().compareTo(o2.getPriority()));
+        return loaders;
+    }
+
+    @Override
+    public boolean activate(final String domain) {
+        if (domain == null) {
+            return false;
+        }
+        if (domains.containsKey(domain)) {
+            if (runtimeDomains.containsKey(domain) && !BACKGROUND.get()) {
+                runtimeDomains.put(domain, System.currentTimeMillis());
+            }
+            return true;
+        }
+        if (activating.get(domain) == Thread.currentThread()) {
+            return true;
+        }
+
+        Properties props = getProperties(domain);
+        if (props == null) {
+            return false;
+        }
+
+        synchronized (locks.computeIfAbsent(domain, k -> new Object())) {
+            if (domains.containsKey(domain)) {
+                return true;
+            }
+
+            LOG.info("[{}] Activating domain", domain);
+            long start = System.nanoTime();
+            inFlight.computeIfAbsent(domain, k -> new AtomicInteger());
+            activating.put(domain, Thread.currentThread());
+            try {
+                DataSource dataSource = domainConfFactory.register(domain, props, contentDirectory);
+                try {
+                    loaders().forEach(loader -> loader.load(domain, dataSource));
+                } catch (RuntimeException e) {
+                    domainConfFactory.unregister(domain);
+                    throw e;
+                }
+
+                runtimeDomains.put(domain, System.currentTimeMillis());
+                domains.put(domain, dataSource);
+                LOG.info("[{}] Domain activated", domain);
+                return true;
+            } catch (Exception e) {
+                LOG.error("[{}] Could not activate domain", domain, e);
+                return false;
+            } finally {
+                activating.remove(domain);
+                MetricsRegistry.getInstance().timer(
+                        "syncope_domain_activation_seconds", "Time taken to activate domains upon first usage",
+                        "domain", domain).recordSince(start);
+                activeDomains();
+            }
+        }
+    }
+
+    @Override
+    public boolean acquire(final String domain) {
+        while (activate(domain)) {
+            AtomicInteger usages = inFlight.get(domain);
+            if (usages == null) {
+                // domain active since startup
+                return true;
+            }
+
+            usages.incrementAndGet();
+            // passivation removes the domain before checking usages: if still there, it is safe to use
+            if (domains.containsKey(domain) || activating.get(domain) == Thread.currentThread()) {
+                return true;
+            }
+            usages.decrementAndGet();
+        }
+
+        return false;
+    }
+
+    @Override
+    public void release(final String domain) {
+        AtomicInteger usages = domain == null ? null : inFlight.get(domain);
+        if (usages != null && usages.decrementAndGet() == 0
+                && runtimeDomains.containsKey(domain) && !BACKGROUND.get()) {
+
+            runtimeDomains.put(domain, System.currentTimeMillis());
+        }
+    }
+
+    @Override
+    public <T> T execInBackground(final Supplier<T> action) {
+        boolean background = BACKGROUND.get();
+        BACKGROUND.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            BACKGROUND.set(background);
+        }
+    }
+
+    @Override
+    public boolean preload(final String domain) {
+        if (domains.containsKey(domain)) {
+            return true;
+        }
+
+        if (!execInBackground(() -> activate(domain))) {
+            return false;
+        }
+        Long activated = runtimeDomains.get(domain);
+        if (activated != null) {
+            passivate(domain, activated + 1);
+        }
+        return true;
+    }
+
+    /**
+     * Passivates the given domain, if activated at runtime and not in use: its connection pool and caches are
+     * closed, until next usage.
+     *
+     * @param domain domain
+     * @return whether the given domain was passivated
+     */
+    public boolean passivate(final String domain) {
+        return passivate(domain, Long.MAX_VALUE);
+    }
+
+    private boolean passivate(final String domain, final long lastUsageThreshold) {
+        synchronized (locks.computeIfAbsent(domain, k -> new Object())) {
+            Long lastUsage = runtimeDomains.get(domain);
+            if (lastUsage == null || lastUsage >= lastUsageThreshold) {
+                return false;
+            }
+
+            // removed first, so that new usages wait for reactivation rather than being missed
+            DataSource dataSource = domains.remove(domain);
+            if (inFlight.get(domain).get() > 0) {
+                domains.put(domain, dataSource);
+                LOG.debug("[{}] Domain still in use, not passivated", domain);
+                return false;
+            }
+
+            runtimeDomains.remove(domain);
+            List<SyncopeLoader> loaders = loaders();
+            activating.put(domain, Thread.currentThread());
+            try {
+                for (int i = loaders.size() - 1; i >= 0; i--) {
+                    try {
+                        loaders.get(i).unload(domain);
+                    } catch (Exception e) {
+                        LOG.error("[{}] While unloading {}", domain, loaders.get(i).getClass().getName(), e);
+                    }
+                }
+            } finally {
+                activating.remove(domain);
+            }
+            domainConfFactory.unregister(domain);
+            ctx.getBeansOfType(DomainTransactionInterceptor.class).values().
+                    forEach(interceptor -> interceptor.evictTransactionManager(domain));
+            LOG.info("[{}] Domain passivated", domain);
+
+            activeDomains();
+            return true;
+        }
+    }
+
+    private void passivateIdle() {
+        long threshold = System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(passivationIdleTime);
+        new ArrayList<>(runtimeDomains.keySet()).forEach(domain -> passivate(domain, threshold));
+    }
+
+    private void activeDomains() {
+        MetricsRegistry.getInstance().gauge("syncope_domains_active", "Active domains").set(domains.size());
+    }
+
     public String[] getPackagesToScan() {
         return packagesToScan;
     }
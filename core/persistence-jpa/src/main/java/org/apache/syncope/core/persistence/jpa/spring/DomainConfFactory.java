@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.spring;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.Properties;
+import javax.sql.DataSource;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.syncope.core.spring.ResourceWithFallbackLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.vendor.OpenJpaVendorAdapter;
+
+/**
+ * Builds and registers - or destroys - the same beans as defined by {@code MasterDomain.xml}, for domains which are
+ * only configured via properties and activated at runtime.
+ */
+class DomainConfFactory {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DomainConfFactory.class);
+
+    private final ApplicationContext ctx;
+
+    private final DefaultListableBeanFactory beanFactory;
+
+    private final CommonEntityManagerFactoryConf commonEMFConf;
+
+    DomainConfFactory(
+            final ApplicationContext ctx,
+            final DefaultListableBeanFactory beanFactory,
+            final CommonEntityManagerFactoryConf commonEMFConf) {
+
+        this.ctx = ctx;
+        this.beanFactory = beanFactory;
+        this.commonEMFConf = commonEMFConf;
+    }
+
+    public DataSource register(final String domain, final Properties props, final String contentDirectory) {
+        // 1. DataSource: connections are not opened until first used
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(domain);
+        dataSource.setDriverClassName(props.getProperty(domain + ".driverClassName"));
+        dataSource.setJdbcUrl(props.getProperty(domain + ".url"));
+        dataSource.setUsername(props.getProperty(domain + ".username"));
+        dataSource.setPassword(props.getProperty(domain + ".password"));
+        dataSource.setTransactionIsolation(StringUtils.substringAfterLast("." + props.getProperty(
+                domain + ".pool.transactionIsolation", "TRANSACTION_READ_COMMITTED"), "."));
+        dataSource.setMaximumPoolSize(Integer.parseInt(props.getProperty(domain + ".pool.maxActive", "8")));
+        dataSource.setMinimumIdle(Integer.parseInt(props.getProperty(domain + ".pool.minIdle", "0")));
+
+        DomainEntityManagerFactoryBean emfBean = null;
+        try {
+            // 2. audit table
+            ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
+            populator.setContinueOnError(true);
+            populator.setIgnoreFailedDrops(true);
+            populator.setSqlScriptEncoding("UTF-8");
+            populator.addScript(ctx.getResource(
+                    "classpath:/audit/" + props.getProperty(domain + ".audit.sql", "audit.sql")));
+            DatabasePopulatorUtils.execute(populator, dataSource);
+
+            // 3. EntityManagerFactory
+            OpenJpaVendorAdapter vendorAdapter = new OpenJpaVendorAdapter();
+            vendorAdapter.setShowSql(false);
+            vendorAdapter.setGenerateDdl(true);
+            vendorAdapter.setDatabasePlatform(props.getProperty(domain + ".databasePlatform"));
+
+            emfBean = new DomainEntityManagerFactoryBean();
+            emfBean.setMappingResources(props.getProperty(domain + ".orm", "META-INF/spring-orm.xml"));
+            emfBean.setPersistenceUnitName(domain);
+            emfBean.setDataSource(dataSource);
+            emfBean.setJpaVendorAdapter(vendorAdapter);
+            emfBean.setCommonEntityManagerFactoryConf(commonEMFConf);
+            emfBean.setResourceLoader(ctx);
+            emfBean.setBeanClassLoader(ctx.getClassLoader());
+            emfBean.afterPropertiesSet();
+
+            // 4. TransactionManager, also available by domain name as @Transactional qualifier
+            JpaTransactionManager transactionManager = new JpaTransactionManager(emfBean.getObject());
+
+            // 5. default content
+            ResourceWithFallbackLoader contentXML = new ResourceWithFallbackLoader();
+            contentXML.setResourceLoader(ctx);
+            contentXML.setPrimary("file:" + contentDirectory + "/domains/" + domain + "Content.xml");
+            contentXML.setFallback("classpath:domains/MasterContent.xml");
+
+            beanFactory.registerSingleton(domain + "DataSource", dataSource);
+            beanFactory.registerSingleton(domain + "EntityManagerFactory", emfBean);
+            beanFactory.registerSingleton(domain + "TransactionManager", transactionManager);
+            beanFactory.registerAlias(domain + "TransactionManager", domain);
+            beanFactory.registerSingleton(domain + "ContentXML", contentXML);
+            beanFactory.registerSingleton(domain + "DatabaseSchema", props.getProperty(domain + ".schema", ""));
+        } catch (RuntimeException e) {
+            if (emfBean != null && !beanFactory.containsSingleton(domain + "EntityManagerFactory")) {
+                emfBean.destroy();
+            }
+            unregister(domain);
+            dataSource.close();
+            throw e;
+        }
+
+        return dataSource;
+    }
+
+    public void unregister(final String domain) {
+        if (beanFactory.isAlias(domain)) {
+            beanFactory.removeAlias(domain);
+        }
+        for (String suffix : new String[] {
+            "DatabaseSchema", "ContentXML", "TransactionManager", "EntityManagerFactory", "DataSource" }) {
+
+            if (beanFactory.containsSingleton(domain + suffix)) {
+                Object bean = beanFactory.getSingleton(domain + suffix);
+                beanFactory.destroySingleton(domain + suffix);
+
+                try {
+                    if (bean instanceof DomainEntityManagerFactoryBean) {
+                        ((DomainEntityManagerFactoryBean) bean).destroy();
+                    } else if (bean instanceof HikariDataSource) {
+                        ((HikariDataSource) bean).close();
+                    }
+                } catch (Exception e) {
+                    LOG.error("[{}] While destroying {}", domain, suffix, e);
+                }
+            }
+        }
+    }
+}
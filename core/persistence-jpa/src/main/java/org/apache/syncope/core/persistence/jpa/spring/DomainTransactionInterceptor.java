@@ -19,10 +19,17 @@
 package org.apache.syncope.core.persistence.jpa.spring;
 
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.aopalliance.intercept.MethodInvocation;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.syncope.core.persistence.api.DomainsHolder;
+import org.apache.syncope.core.spring.ApplicationContextProvider;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.BeanFactoryAnnotationUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.interceptor.DefaultTransactionAttribute;
 import org.springframework.transaction.interceptor.TransactionAttribute;
 import org.springframework.transaction.interceptor.TransactionAttributeSource;
@@ -31,7 +38,8 @@ import org.springframework.transaction.interceptor.TransactionInterceptor;
 /**
  * Extends the standard {@link TransactionInterceptor} by dynamically setting the appropriate
  * {@link TransactionAttribute} qualifier according to the authentication domain of the caller - retrieved via
- * {@link AuthContextUtils#getDomain()}.
+ * {@link AuthContextUtils#getDomain()}; such domain is activated first, if not active yet, and cannot be passivated
+ * until the invocation is completed.
  */
 public class DomainTransactionInterceptor extends TransactionInterceptor {
 
@@ -39,6 +47,35 @@ public class DomainTransactionInterceptor extends TransactionInterceptor {
 
     private static final Logger LOG = LoggerFactory.getLogger(DomainTransactionInterceptor.class);
 
+    private DomainsHolder domainsHolder;
+
+    private DomainsHolder domainsHolder() {
+        if (domainsHolder == null) {
+            domainsHolder = ApplicationContextProvider.getBeanFactory().getBean(DomainsHolder.class);
+        }
+        return domainsHolder;
+    }
+
+    /**
+     * Same as the cache in {@link org.springframework.transaction.interceptor.TransactionAspectSupport}, but allowing
+     * to drop the transaction managers of passivated domains.
+     */
+    private final Map<String, PlatformTransactionManager> transactionManagers = new ConcurrentHashMap<>();
+
+    @Override
+    protected PlatformTransactionManager determineTransactionManager(final TransactionAttribute txAttr) {
+        if (txAttr == null || StringUtils.isBlank(txAttr.getQualifier()) || getBeanFactory() == null) {
+            return super.determineTransactionManager(txAttr);
+        }
+
+        return transactionManagers.computeIfAbsent(txAttr.getQualifier(), qualifier -> BeanFactoryAnnotationUtils.
+                qualifiedBeanOfType(getBeanFactory(), PlatformTransactionManager.class, qualifier));
+    }
+
+    public void evictTransactionManager(final String domain) {
+        transactionManagers.remove(domain);
+    }
+
     @Override
     public TransactionAttributeSource getTransactionAttributeSource() {
         final TransactionAttributeSource origTxAttrSource = super.getTransactionAttributeSource();
@@ -56,11 +93,17 @@ public class DomainTransactionInterceptor extends TransactionInterceptor {
 
     @Override
     public Object invoke(final MethodInvocation invocation) throws Throwable {
+        String domain = AuthContextUtils.getDomain();
+        boolean acquired = domainsHolder().acquire(domain);
         try {
             return super.invoke(invocation);
         } catch (Throwable e) {
             LOG.debug("Error during {} invocation", invocation.getMethod(), e);
             throw e;
+        } finally {
+            if (acquired) {
+                domainsHolder().release(domain);
+            }
         }
     }
 }
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.spring;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import javax.persistence.EntityManagerFactory;
+import org.apache.openjpa.datacache.CacheStatistics;
+import org.apache.openjpa.datacache.DataCache;
+import org.apache.openjpa.datacache.DataCacheManager;
+import org.apache.openjpa.datacache.QueryCache;
+import org.apache.openjpa.kernel.QueryStatistics;
+import org.apache.openjpa.persistence.OpenJPAEntityManagerFactorySPI;
+import org.apache.syncope.core.persistence.api.DomainsHolder;
+import org.apache.syncope.core.provisioning.api.metrics.MetricsCollector;
+import org.apache.syncope.core.provisioning.api.metrics.MetricsRegistry;
+import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Samples, for each domain, connection pool usage (when the local Hikari pool is in use) and OpenJPA data and query
+ * cache statistics.
+ */
+@Component
+public class PersistenceMetricsCollector implements MetricsCollector {
+
+    @Autowired
+    private DomainsHolder domainsHolder;
+
+    @Override
+    public void collect(final MetricsRegistry registry) {
+        domainsHolder.getDomains().forEach((domain, dataSource) -> {
+            if (dataSource instanceof HikariDataSource) {
+                HikariPoolMXBean pool = ((HikariDataSource) dataSource).getHikariPoolMXBean();
+                if (pool != null) {
+                    registry.gauge("syncope_db_pool_connections", "Database connections",
+                            "domain", domain, "state", "active").set(pool.getActiveConnections());
+                    registry.gauge("syncope_db_pool_connections", "Database connections",
+                            "domain", domain, "state", "idle").set(pool.getIdleConnections());
+                    registry.gauge("syncope_db_pool_connections", "Database connections",
+                            "domain", domain, "state", "total").set(pool.getTotalConnections());
+                    registry.gauge("syncope_db_pool_pending_threads", "Threads waiting for a database connection",
+                            "domain", domain).set(pool.getThreadsAwaitingConnection());
+                }
+            }
+
+            EntityManagerFactory emf = EntityManagerFactoryUtils.findEntityManagerFactory(
+                    ApplicationContextProvider.getBeanFactory(), domain);
+            if (emf instanceof OpenJPAEntityManagerFactorySPI) {
+                DataCacheManager dataCacheManager =
+                        ((OpenJPAEntityManagerFactorySPI) emf).getConfiguration().getDataCacheManagerInstance();
+                if (dataCacheManager != null) {
+                    DataCache dataCache = dataCacheManager.getSystemDataCache();
+                    if (dataCache != null && dataCache.getStatistics() != null
+                            && dataCache.getStatistics().isEnabled()) {
+
+                        CacheStatistics stats = dataCache.getStatistics();
+                        set(registry, domain, "dataCache", stats.getTotalHitCount(), stats.getTotalReadCount());
+                    }
+
+                    QueryCache queryCache = dataCacheManager.getSystemQueryCache();
+                    if (queryCache != null && queryCache.getStatistics() != null) {
+                        QueryStatistics<?> stats = queryCache.getStatistics();
+                        set(registry, domain, "queryCache", stats.getTotalHitCount(), stats.getTotalExecutionCount());
+                    }
+                }
+            }
+        });
+    }
+
+    private void set(
+            final MetricsRegistry registry,
+            final String domain,
+            final String cache,
+            final long hits,
+            final long requests) {
+
+        registry.gauge("syncope_jpa_cache_hits", "JPA cache hits",
+                "domain", domain, "cache", cache).set(hits);
+        registry.gauge("syncope_jpa_cache_requests", "JPA cache requests",
+                "domain", domain, "cache", cache).set(requests);
+        registry.gauge("syncope_jpa_cache_hit_ratio", "JPA cache hit ratio",
+                "domain", domain, "cache", cache).set(requests == 0 ? 0 : (double) hits / requests);
+    }
+}
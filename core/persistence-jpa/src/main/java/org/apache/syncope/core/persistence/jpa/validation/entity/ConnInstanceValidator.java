@@ -31,7 +31,7 @@ public class ConnInstanceValidator extends AbstractValidator<ConnInstanceCheck,
         boolean isValid = true;
 
         try {
-            URIUtils.buildForConnId(connInstance.getLocation());
+            URIUtils.buildForConnIds(connInstance.getLocation());
         } catch (Exception e) {
             LOG.error("While validating {}", connInstance.getLocation(), e);
 
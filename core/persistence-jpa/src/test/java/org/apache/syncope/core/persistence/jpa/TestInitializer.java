@@ -19,6 +19,7 @@
 package org.apache.syncope.core.persistence.jpa;
 
 import org.apache.syncope.core.persistence.api.content.ContentLoader;
+import org.apache.syncope.core.persistence.jpa.content.LoginIdentifierLoader;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -29,9 +30,13 @@ public class TestInitializer implements InitializingBean {
     @Autowired
     private ContentLoader contentLoader;
 
+    @Autowired
+    private LoginIdentifierLoader loginIdentifierLoader;
+
     @Override
     public void afterPropertiesSet() throws Exception {
         contentLoader.load();
+        loginIdentifierLoader.load();
     }
 
 }
@@ -732,4 +732,22 @@ public class AnySearchTest extends AbstractTest {
                 AnyTypeKind.USER);
         assertFalse(users.isEmpty());
     }
+
+    @Test
+    public void stream() {
+        AttributeCond fullnameLeafCond = new AttributeCond(AttributeCond.Type.LIKE);
+        fullnameLeafCond.setSchema("fullname");
+        fullnameLeafCond.setExpression("%o%");
+        SearchCond cond = SearchCond.getLeafCond(fullnameLeafCond);
+
+        List<String> expected = searchDAO.<User>search(
+                SyncopeConstants.FULL_ADMIN_REALMS, cond, -1, -1, Collections.emptyList(), AnyTypeKind.USER).
+                stream().map(Entity::getKey).collect(Collectors.toList());
+        assertTrue(expected.size() > 2);
+
+        List<String> streamed = searchDAO.<User>stream(
+                SyncopeConstants.FULL_ADMIN_REALMS, cond, 2, true, AnyTypeKind.USER).
+                map(Entity::getKey).collect(Collectors.toList());
+        assertEquals(expected, streamed);
+    }
 }
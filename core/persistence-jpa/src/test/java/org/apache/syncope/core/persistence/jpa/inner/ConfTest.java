@@ -20,6 +20,8 @@ package org.apache.syncope.core.persistence.jpa.inner;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -32,6 +34,7 @@ import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
 import org.apache.syncope.core.persistence.api.entity.PlainAttrUniqueValue;
 import org.apache.syncope.core.persistence.api.entity.PlainSchema;
 import org.apache.syncope.core.persistence.api.entity.conf.CPlainAttr;
+import org.apache.syncope.core.persistence.api.entity.conf.ConfSnapshot;
 import org.apache.syncope.core.persistence.jpa.AbstractTest;
 import org.apache.syncope.core.persistence.jpa.entity.conf.JPACPlainAttrValue;
 import org.junit.Test;
@@ -104,6 +107,30 @@ public class ConfTest extends AbstractTest {
         assertFalse(confDAO.find("useless").isPresent());
     }
 
+    @Test
+    public void snapshot() {
+        ConfSnapshot snapshot = confDAO.snapshot();
+        assertSame(snapshot, confDAO.snapshot());
+        assertTrue(snapshot.get("selfRegistration.allowed", false));
+        assertEquals(60L, snapshot.get("non.existing", 60L), 0);
+        assertEquals(2, snapshot.getValuesAsStrings("authentication.statuses").get().size());
+        assertFalse(snapshot.getValuesAsStrings("non.existing").isPresent());
+
+        // changes replace the snapshot
+        CPlainAttr attr = confDAO.find("token.length").get();
+        long tokenLength = confDAO.find("token.length", 0L);
+        attr.getValues().clear();
+        add(attr, String.valueOf(tokenLength + 1));
+        confDAO.save(attr);
+
+        assertNotSame(snapshot, confDAO.snapshot());
+        assertEquals(tokenLength + 1, confDAO.find("token.length", 0L), 0);
+        assertEquals(tokenLength, snapshot.get("token.length", 0L), 0);
+
+        confDAO.delete("token.length");
+        assertEquals(5L, confDAO.find("token.length", 5L), 0);
+    }
+
     @Test
     public void issueSYNCOPE418() {
         try {
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.inner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import org.apache.syncope.core.persistence.api.DomainsHolder;
+import org.apache.syncope.core.persistence.api.content.ContentExporter;
+import org.apache.syncope.core.persistence.api.dao.RealmDAO;
+import org.apache.syncope.core.persistence.jpa.AbstractTest;
+import org.apache.syncope.core.persistence.jpa.spring.CommonEntityManagerFactoryConf;
+import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+public class DomainActivationTest extends AbstractTest {
+
+    @Autowired
+    private DomainsHolder domainsHolder;
+
+    @Autowired
+    private CommonEntityManagerFactoryConf commonEMFConf;
+
+    @Autowired
+    private RealmDAO realmDAO;
+
+    @Autowired
+    private ContentExporter exporter;
+
+    @After
+    public void unsetAuthContext() {
+        SecurityContextHolder.getContext().setAuthentication(null);
+    }
+
+    @After
+    public void passivate() {
+        commonEMFConf.passivate("Three");
+    }
+
+    @Test
+    public void activateUponFirstUsage() {
+        assertTrue(domainsHolder.getAvailableDomains().contains("Three"));
+        assertFalse(domainsHolder.getDomains().containsKey("Three"));
+
+        int realms = AuthContextUtils.execWithAuthContext("Three", () -> realmDAO.findAll().size());
+        assertTrue(realms > 0);
+        assertTrue(domainsHolder.getDomains().containsKey("Three"));
+
+        commonEMFConf.passivate("Three");
+        assertFalse(domainsHolder.getDomains().containsKey("Three"));
+        assertTrue(domainsHolder.getAvailableDomains().contains("Three"));
+
+        // activated again, with content left by the previous activation
+        assertEquals(realms, AuthContextUtils.execWithAuthContext("Three", () -> realmDAO.findAll().size()).intValue());
+        assertTrue(domainsHolder.getDomains().containsKey("Three"));
+    }
+
+    @Test
+    public void passivateOnlyWhenIdle() throws Exception {
+        AuthContextUtils.execWithAuthContext("Three", () -> realmDAO.findAll().size());
+        assertTrue(domainsHolder.getDomains().containsKey("Three"));
+
+        // in use: not passivated
+        assertTrue(domainsHolder.acquire("Three"));
+        try {
+            assertFalse(commonEMFConf.passivate("Three"));
+            assertTrue(domainsHolder.getDomains().containsKey("Three"));
+
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            exporter.export("Three", baos, null, null, null);
+            assertTrue(baos.toString(StandardCharsets.UTF_8.name()).contains("<REALM"));
+        } finally {
+            domainsHolder.release("Three");
+        }
+
+        assertTrue(commonEMFConf.passivate("Three"));
+        assertFalse(domainsHolder.getDomains().containsKey("Three"));
+        assertFalse(ApplicationContextProvider.getBeanFactory().containsBean("ThreeDatabaseSchema"));
+    }
+
+    @Test
+    public void preload() {
+        assertFalse(domainsHolder.getDomains().containsKey("Three"));
+
+        // activated for loaders to run, then passivated again as not used meanwhile
+        assertTrue(domainsHolder.preload("Three"));
+        assertFalse(domainsHolder.getDomains().containsKey("Three"));
+
+        // already active: left as such
+        AuthContextUtils.execWithAuthContext("Three", () -> realmDAO.findAll().size());
+        assertTrue(domainsHolder.preload("Three"));
+        assertTrue(domainsHolder.getDomains().containsKey("Three"));
+
+        assertFalse(domainsHolder.preload("Four"));
+    }
+
+    @Test
+    public void activateUnknown() {
+        assertFalse(domainsHolder.getAvailableDomains().contains("Four"));
+        assertFalse(domainsHolder.activate("Four"));
+        assertFalse(domainsHolder.activate("../Master"));
+    }
+}
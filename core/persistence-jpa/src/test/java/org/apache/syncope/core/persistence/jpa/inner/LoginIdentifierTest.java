@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.inner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import org.apache.syncope.core.persistence.api.dao.ConfDAO;
+import org.apache.syncope.core.persistence.api.dao.LoginIdentifierDAO;
+import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.entity.conf.CPlainAttr;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.persistence.jpa.AbstractTest;
+import org.apache.syncope.core.persistence.jpa.entity.conf.JPACPlainAttrValue;
+import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Transactional("Master")
+public class LoginIdentifierTest extends AbstractTest {
+
+    private static final String ROSSINI = "1417acbe-cbf6-4277-9372-e75e04f97000";
+
+    @Autowired
+    private LoginIdentifierDAO loginIdentifierDAO;
+
+    @Autowired
+    private UserDAO userDAO;
+
+    @Autowired
+    private ConfDAO confDAO;
+
+    @Autowired
+    private PlainSchemaDAO plainSchemaDAO;
+    @Test
+    public void find() {
+        assertEquals(
+                Collections.singletonMap("userId", Collections.singletonList(ROSSINI)),
+                loginIdentifierDAO.find("rossini@apache.org"));
+        assertEquals(Collections.singletonList(ROSSINI), loginIdentifierDAO.find("userId", "rossini@apache.org"));
+
+        assertTrue(loginIdentifierDAO.find("notfound@apache.org").isEmpty());
+        assertTrue(loginIdentifierDAO.find("userId", "notfound@apache.org").isEmpty());
+    }
+
+    @Test
+    public void saveAndDelete() {
+        User user = userDAO.find(ROSSINI);
+        user.getPlainAttr("userId").get().getUniqueValue().setStringValue("gioacchino.rossini@apache.org");
+        userDAO.save(user);
+
+        assertTrue(loginIdentifierDAO.find("rossini@apache.org").isEmpty());
+        assertEquals(
+                Collections.singletonList(ROSSINI),
+                loginIdentifierDAO.find("userId", "gioacchino.rossini@apache.org"));
+
+        userDAO.delete(ROSSINI);
+
+        assertTrue(loginIdentifierDAO.find("gioacchino.rossini@apache.org").isEmpty());
+    }
+
+    @Test
+    public void rebuild() {
+        loginIdentifierDAO.rebuild();
+
+        assertEquals(
+                Collections.singletonMap("userId", Collections.singletonList(ROSSINI)),
+                loginIdentifierDAO.find("rossini@apache.org"));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void refresh() {
+        TransactionTemplate txTemplate = new TransactionTemplate(ApplicationContextProvider.getBeanFactory().
+                getBean("MasterTransactionManager", PlatformTransactionManager.class));
+
+        // already built at startup for the configured login schemas
+        assertFalse(loginIdentifierDAO.refresh());
+
+        txTemplate.execute(status -> {
+            loginIdentifierDAO.deleteBySchema("userId");
+            return null;
+        });
+        assertTrue(loginIdentifierDAO.refresh());
+        assertEquals(
+                Collections.singletonList(ROSSINI),
+                txTemplate.execute(status -> loginIdentifierDAO.find("userId", "rossini@apache.org")));
+
+        assertFalse(loginIdentifierDAO.refresh());
+    }
+
+    @Test
+    public void noRebuildOnLookup() {
+        loginIdentifierDAO.deleteBySchema("userId");
+
+        // the index is only rebuilt at startup or when login schemas change, never within lookups
+        assertTrue(loginIdentifierDAO.find("rossini@apache.org").isEmpty());
+        assertTrue(loginIdentifierDAO.find("userId", "rossini@apache.org").isEmpty());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void rebuildOnLoginSchemasChange() {
+        TransactionTemplate txTemplate = new TransactionTemplate(ApplicationContextProvider.getBeanFactory().
+                getBean("MasterTransactionManager", PlatformTransactionManager.class));
+
+        txTemplate.execute(status -> confDAO.delete("authentication.attributes"));
+        try {
+            // rebuilt once the change was committed
+            assertTrue(txTemplate.execute(status -> loginIdentifierDAO.find("userId", "rossini@apache.org")).
+                    isEmpty());
+        } finally {
+            txTemplate.execute(status -> {
+                CPlainAttr authAttrs = entityFactory.newEntity(CPlainAttr.class);
+                authAttrs.setOwner(confDAO.get());
+                authAttrs.setSchema(plainSchemaDAO.find("authentication.attributes"));
+                authAttrs.add("username", new JPACPlainAttrValue());
+                authAttrs.add("userId", new JPACPlainAttrValue());
+                return confDAO.save(authAttrs);
+            });
+        }
+
+        assertEquals(
+                Collections.singletonList(ROSSINI),
+                txTemplate.execute(status -> loginIdentifierDAO.find("userId", "rossini@apache.org")));
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.inner;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Date;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.syncope.core.persistence.api.dao.PullFingerprintDAO;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.jpa.AbstractTest;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional("Master")
+public class PullFingerprintTest extends AbstractTest {
+
+    @Autowired
+    private PullFingerprintDAO pullFingerprintDAO;
+
+    @Autowired
+    private UserDAO userDAO;
+
+    @Test
+    public void matches() {
+        String anyKey = "1417acbe-cbf6-4277-9372-e75e04f97000";
+        Date lastChange = new Date();
+
+        assertFalse(pullFingerprintDAO.matches("resource-testdb", "USER", "rossini", anyKey, "abc", lastChange));
+
+        pullFingerprintDAO.save("resource-testdb", "USER", "rossini", anyKey, "abc", lastChange);
+        assertTrue(pullFingerprintDAO.matches("resource-testdb", "USER", "rossini", anyKey, "abc", lastChange));
+
+        // different values read
+        assertFalse(pullFingerprintDAO.matches("resource-testdb", "USER", "rossini", anyKey, "def", lastChange));
+
+        // any object changed since
+        assertFalse(pullFingerprintDAO.matches("resource-testdb", "USER", "rossini", anyKey, "abc",
+                new Date(lastChange.getTime() + 1000)));
+
+        pullFingerprintDAO.save("resource-testdb", "USER", "rossini", anyKey, "def", lastChange);
+        assertFalse(pullFingerprintDAO.matches("resource-testdb", "USER", "rossini", anyKey, "abc", lastChange));
+        assertTrue(pullFingerprintDAO.matches("resource-testdb", "USER", "rossini", anyKey, "def", lastChange));
+
+        pullFingerprintDAO.delete("resource-testdb");
+        assertFalse(pullFingerprintDAO.matches("resource-testdb", "USER", "rossini", anyKey, "def", lastChange));
+    }
+
+    @Test
+    public void longConnObjectKey() {
+        String anyKey = "1417acbe-cbf6-4277-9372-e75e04f97000";
+        Date lastChange = new Date();
+
+        String connObjectKey = "uid=rossini," + StringUtils.repeat("ou=people,", 50) + "o=isp";
+        pullFingerprintDAO.save("resource-ldap", "USER", connObjectKey, anyKey, "abc", lastChange);
+        assertTrue(pullFingerprintDAO.matches("resource-ldap", "USER", connObjectKey, anyKey, "abc", lastChange));
+        assertFalse(pullFingerprintDAO.matches("resource-ldap", "USER", connObjectKey.toUpperCase(), anyKey, "abc",
+                lastChange));
+    }
+
+    @Test
+    public void deleteWithAny() {
+        String anyKey = "1417acbe-cbf6-4277-9372-e75e04f97000";
+        Date lastChange = new Date();
+
+        pullFingerprintDAO.save("resource-testdb", "USER", "rossini", anyKey, "abc", lastChange);
+        assertTrue(pullFingerprintDAO.matches("resource-testdb", "USER", "rossini", anyKey, "abc", lastChange));
+
+        userDAO.delete(anyKey);
+        assertFalse(pullFingerprintDAO.matches("resource-testdb", "USER", "rossini", anyKey, "abc", lastChange));
+    }
+}
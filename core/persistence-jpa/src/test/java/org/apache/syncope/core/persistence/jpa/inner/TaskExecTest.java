@@ -20,11 +20,15 @@ package org.apache.syncope.core.persistence.jpa.inner;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import org.apache.syncope.common.lib.types.PropagationTaskExecStatus;
+import org.apache.syncope.common.lib.types.TaskType;
 import org.apache.syncope.core.persistence.api.dao.TaskDAO;
 import org.apache.syncope.core.persistence.api.dao.TaskExecDAO;
 import org.apache.syncope.core.persistence.api.entity.task.PropagationTask;
@@ -89,4 +93,28 @@ public class TaskExecTest extends AbstractTest {
 
         assertEquals(faultyMessage.replace('\0', '\n'), exec.getMessage());
     }
+
+    @Test
+    public void purge() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(2016, 0, 1, 0, 0, 0);
+        Date endedBefore = calendar.getTime();
+
+        List<String> keys = taskExecDAO.findKeysToPurge(TaskType.PROPAGATION, endedBefore,
+                Collections.singleton(PropagationTaskExecStatus.SUCCESS.name()), null, 1);
+        assertEquals(Collections.singletonList("d789462f-e395-424f-bd8e-0db44a93222f"), keys);
+
+        keys = taskExecDAO.findKeysToPurge(TaskType.PROPAGATION, endedBefore,
+                Collections.singleton(PropagationTaskExecStatus.SUCCESS.name()), keys.get(0), 1);
+        assertEquals(Collections.singletonList("e58ca1c7-178a-4012-8a71-8aa14eaf0655"), keys);
+
+        assertTrue(taskExecDAO.findKeysToPurge(TaskType.PULL, endedBefore,
+                Collections.singleton(PropagationTaskExecStatus.SUCCESS.name()), null, 100).isEmpty());
+
+        assertEquals(2, taskExecDAO.purge(Arrays.asList(
+                "d789462f-e395-424f-bd8e-0db44a93222f", "e58ca1c7-178a-4012-8a71-8aa14eaf0655")));
+        assertTrue(taskExecDAO.findKeysToPurge(TaskType.PROPAGATION, endedBefore,
+                Collections.singleton(PropagationTaskExecStatus.SUCCESS.name()), null, 100).isEmpty());
+    }
 }
@@ -24,11 +24,15 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
+import java.util.Calendar;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.common.lib.types.PropagationTaskExecStatus;
 import org.apache.syncope.common.lib.types.ResourceOperation;
 import org.apache.syncope.common.lib.types.TaskType;
 import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
@@ -38,6 +42,7 @@ import org.apache.syncope.core.persistence.api.dao.search.OrderByClause;
 import org.apache.syncope.core.persistence.api.entity.resource.ExternalResource;
 import org.apache.syncope.core.persistence.api.entity.task.PropagationTask;
 import org.apache.syncope.core.persistence.api.entity.task.Task;
+import org.apache.syncope.core.persistence.api.entity.task.TaskExec;
 import org.apache.syncope.core.persistence.api.entity.user.User;
 import org.apache.syncope.core.persistence.jpa.AbstractTest;
 import org.identityconnectors.framework.common.objects.Attribute;
@@ -147,4 +152,40 @@ public class TaskTest extends AbstractTest {
                 TaskType.PROPAGATION, resource, null, null, null, -1, -1, Collections.<OrderByClause>emptyList()).
                 contains(task));
     }
+
+    @Test
+    public void findKeysToPurge() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(2016, 0, 1, 0, 0, 0);
+        Date endedBefore = calendar.getTime();
+
+        List<String> keys = taskDAO.findKeysToPurge(TaskType.PROPAGATION, endedBefore,
+                Collections.singleton(PropagationTaskExecStatus.SUCCESS.name()), null, 100);
+        assertEquals(Arrays.asList(
+                "1e697572-b896-484c-ae7f-0c8f63fcbc6c", "d6c2d6d3-6329-44c1-9187-f1469ead1cfa"), keys);
+
+        keys = taskDAO.findKeysToPurge(TaskType.PROPAGATION, endedBefore,
+                Collections.singleton(PropagationTaskExecStatus.SUCCESS.name()), keys.get(0), 100);
+        assertEquals(Collections.singletonList("d6c2d6d3-6329-44c1-9187-f1469ead1cfa"), keys);
+
+        assertTrue(taskDAO.findKeysToPurge(TaskType.PROPAGATION, endedBefore,
+                Collections.singleton(PropagationTaskExecStatus.FAILURE.name()), null, 100).isEmpty());
+        assertTrue(taskDAO.findKeysToPurge(TaskType.PULL, endedBefore,
+                Collections.singleton(PropagationTaskExecStatus.SUCCESS.name()), null, 100).isEmpty());
+
+        // a running execution keeps the task
+        PropagationTask task = taskDAO.find("1e697572-b896-484c-ae7f-0c8f63fcbc6c");
+        TaskExec exec = entityFactory.newEntity(TaskExec.class);
+        exec.setStart(new Date());
+        exec.setStatus(PropagationTaskExecStatus.CREATED.name());
+        exec.setTask(task);
+        task.add(exec);
+        taskDAO.save(task);
+        taskDAO.flush();
+
+        keys = taskDAO.findKeysToPurge(TaskType.PROPAGATION, endedBefore,
+                Collections.singleton(PropagationTaskExecStatus.SUCCESS.name()), null, 100);
+        assertEquals(Collections.singletonList("d6c2d6d3-6329-44c1-9187-f1469ead1cfa"), keys);
+    }
 }
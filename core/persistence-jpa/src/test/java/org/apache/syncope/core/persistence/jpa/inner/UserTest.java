@@ -21,14 +21,25 @@ package org.apache.syncope.core.persistence.jpa.inner;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.apache.syncope.common.lib.policy.DefaultAccountRuleConf;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.common.lib.types.CipherAlgorithm;
 import org.apache.syncope.core.persistence.api.attrvalue.validation.InvalidEntityException;
 import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
+import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
+import org.apache.syncope.core.persistence.api.dao.PolicyDAO;
+import org.apache.syncope.core.persistence.api.entity.Entity;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.entity.policy.AccountPolicy;
+import org.apache.syncope.core.persistence.api.entity.user.UPlainAttr;
 import org.apache.syncope.core.persistence.api.entity.user.UPlainAttrValue;
 import org.apache.syncope.core.persistence.api.entity.user.User;
 import org.apache.syncope.core.persistence.jpa.AbstractTest;
@@ -54,6 +65,12 @@ public class UserTest extends AbstractTest {
     @Autowired
     private ExternalResourceDAO resourceDAO;
 
+    @Autowired
+    private PolicyDAO policyDAO;
+
+    @Autowired
+    private PlainSchemaDAO plainSchemaDAO;
+
     @Test
     public void findAll() {
         List<User> list = userDAO.findAll(1, 100);
@@ -86,6 +103,41 @@ public class UserTest extends AbstractTest {
         assertEquals("did not get expected number of users", 1, list.size());
     }
 
+    @Test
+    public void streamAll() {
+        List<String> expected = userDAO.findAll(1, 100).stream().map(Entity::getKey).collect(Collectors.toList());
+
+        // fetch size not dividing the number of users, dividing it and larger than it
+        for (int fetchSize : new int[] { 2, 5, 100 }) {
+            assertEquals(expected,
+                    userDAO.streamAll(fetchSize, false).map(Entity::getKey).collect(Collectors.toList()));
+        }
+
+        List<User> detached = userDAO.streamAll(2, true).collect(Collectors.toList());
+        assertEquals(5, detached.size());
+        assertTrue(detached.stream().noneMatch(user -> entityManager().contains(user)));
+    }
+
+    @Test
+    public void findKeysToBeRecertified() {
+        List<String> keys = userDAO.findKeysToBeRecertified(new Date(), null, 100);
+        assertEquals(5, keys.size());
+
+        List<String> chunk = userDAO.findKeysToBeRecertified(new Date(), keys.get(1), 2);
+        assertEquals(keys.subList(2, 4), chunk);
+
+        User user = userDAO.find(keys.get(0));
+        user.setLastRecertification(new Date());
+        userDAO.save(user);
+        user = userDAO.find(keys.get(1));
+        user.setSuspended(true);
+        userDAO.save(user);
+        userDAO.flush();
+
+        assertEquals(keys.subList(2, 5), userDAO.findKeysToBeRecertified(
+                new Date(System.currentTimeMillis() - 60 * 60 * 1000), null, 100));
+    }
+
     @Test
     public void findByDerAttributeValue() {
         final List<User> list = userDAO.findByDerAttrValue("cn", "Vivaldi, Antonio");
@@ -111,6 +163,22 @@ public class UserTest extends AbstractTest {
         assertEquals("did not get expected number of users", 1, list.size());
     }
 
+    @Test
+    public void findByAttributeValueIgnoreCase() {
+        UPlainAttrValue fullnameValue = entityFactory.newEntity(UPlainAttrValue.class);
+        fullnameValue.setStringValue("GIOACCHINO rossini");
+
+        assertTrue(userDAO.findByPlainAttrValue("fullname", fullnameValue).isEmpty());
+        assertEquals(1, userDAO.findByPlainAttrValue("fullname", fullnameValue, true).size());
+
+        UPlainAttrValue userIdValue = entityFactory.newEntity(UPlainAttrValue.class);
+        userIdValue.setStringValue("Rossini@Apache.org");
+
+        List<User> list = userDAO.findByPlainAttrValue("userId", userIdValue, true);
+        assertEquals(1, list.size());
+        assertEquals("1417acbe-cbf6-4277-9372-e75e04f97000", list.get(0).getKey());
+    }
+
     @Test
     public void findByAttributeBooleanValue() {
         final UPlainAttrValue coolValue = entityFactory.newEntity(UPlainAttrValue.class);
@@ -120,6 +188,24 @@ public class UserTest extends AbstractTest {
         assertEquals("did not get expected number of users", 1, list.size());
     }
 
+    @Test
+    public void findKeysByPlainAttrValue() {
+        Map<String, List<String>> index = userDAO.findKeysByPlainAttrValue("userId");
+        assertEquals(Collections.singletonList("1417acbe-cbf6-4277-9372-e75e04f97000"),
+                index.get("rossini@apache.org"));
+
+        index = userDAO.findKeysByPlainAttrValue("cool");
+        assertEquals(Collections.singletonList("c9b2dec2-00a7-4855-97c0-d854842b4b24"), index.get("true"));
+    }
+
+    @Test
+    public void findKeysByName() {
+        Map<String, List<String>> index = userDAO.findKeysByName();
+        assertEquals(userDAO.count(), index.size());
+        assertEquals(Collections.singletonList("1417acbe-cbf6-4277-9372-e75e04f97000"), index.get("rossini"));
+        assertNull(index.get("user6"));
+    }
+
     @Test
     public void findByKey() {
         User user = userDAO.find("1417acbe-cbf6-4277-9372-e75e04f97000");
@@ -173,6 +259,110 @@ public class UserTest extends AbstractTest {
         assertEquals(actual.getLastChangeDate(), userDAO.findLastChange(actual.getKey()));
     }
 
+    @Test
+    public void enforcePoliciesOnlyOnRelevantChanges() {
+        User user = entityFactory.newEntity(User.class);
+        user.setUsername("username");
+        user.setRealm(realmDAO.findByFullPath("/even/two"));
+        user.setCreator("admin");
+        user.setCreationDate(new Date());
+        user.setPassword("password123", CipherAlgorithm.SHA256);
+
+        user = userDAO.save(user);
+        userDAO.flush();
+
+        // no policy-relevant field changed: save goes through
+        user.setLastLoginDate(new Date());
+        user = userDAO.save(user);
+        userDAO.flush();
+
+        // username changed: account policy is enforced again
+        user.setUsername("username!");
+        try {
+            userDAO.save(user);
+            fail();
+        } catch (InvalidEntityException e) {
+            assertNotNull(e);
+        }
+    }
+
+    @Test
+    public void enforceAccountPolicyOnPlainAttrChanges() {
+        DefaultAccountRuleConf ruleConf = new DefaultAccountRuleConf();
+        ruleConf.getSchemasNotPermitted().add("firstname");
+
+        AccountPolicy policy = entityFactory.newEntity(AccountPolicy.class);
+        policy.setDescription("firstname not permitted in username");
+        policy.add(ruleConf);
+        policy = policyDAO.save(policy);
+
+        User user = userDAO.findByUsername("rossini");
+        user.getRealm().setAccountPolicy(policy);
+        realmDAO.save(user.getRealm());
+        userDAO.flush();
+
+        // only firstname changed, now contained in username: account policy is enforced again
+        UPlainAttr firstname = user.getPlainAttr("firstname").get();
+        firstname.getValues().clear();
+        firstname.add("Rossini", anyUtilsFactory.getInstance(AnyTypeKind.USER));
+        try {
+            userDAO.save(user);
+            fail();
+        } catch (InvalidEntityException e) {
+            assertNotNull(e);
+        }
+    }
+
+    @Test
+    public void findPassthroughResources() {
+        User user = entityFactory.newEntity(User.class);
+        user.setUsername("username");
+        user.setRealm(realmDAO.findByFullPath("/even/two"));
+
+        assertEquals(
+                Collections.singletonList("resource-testdb"),
+                userDAO.findPassthroughResources(user).stream().map(Entity::getKey).collect(Collectors.toList()));
+
+        user.setRealm(realmDAO.findByFullPath("/odd"));
+        assertTrue(userDAO.findPassthroughResources(user).isEmpty());
+
+        // changing the policy discards cached pass-through resources
+        AccountPolicy policy = realmDAO.findByFullPath("/even/two").getAccountPolicy();
+        policy.add(resourceDAO.find("resource-testdb2"));
+        policyDAO.save(policy);
+
+        user.setRealm(realmDAO.findByFullPath("/even/two"));
+        assertEquals(
+                2,
+                userDAO.findPassthroughResources(user).stream().map(Entity::getKey).
+                        filter(key -> "resource-testdb".equals(key) || "resource-testdb2".equals(key)).count());
+    }
+
+    @Test
+    public void loginBookkeeping() {
+        String key = "1417acbe-cbf6-4277-9372-e75e04f97000";
+        int failedLogins = userDAO.find(key).getFailedLogins();
+
+        userDAO.incrementFailedLogins(key);
+        userDAO.incrementFailedLogins(key);
+        entityManager().clear();
+        assertEquals(failedLogins + 2, userDAO.find(key).getFailedLogins(), 0);
+
+        userDAO.resetFailedLogins(key);
+        entityManager().clear();
+        assertEquals(0, userDAO.find(key).getFailedLogins(), 0);
+
+        Date lastLoginDate = new Date();
+        userDAO.updateLastLoginDates(Collections.singletonMap(key, lastLoginDate));
+        entityManager().clear();
+        assertEquals(lastLoginDate, userDAO.find(key).getLastLoginDate());
+
+        // older dates are ignored
+        userDAO.updateLastLoginDates(Collections.singletonMap(key, new Date(lastLoginDate.getTime() - 60000)));
+        entityManager().clear();
+        assertEquals(lastLoginDate, userDAO.find(key).getLastLoginDate());
+    }
+
     @Test
     public void delete() {
         User user = userDAO.find("b3cbc78d-32e6-4bd4-92e0-bbe07566a2ee");
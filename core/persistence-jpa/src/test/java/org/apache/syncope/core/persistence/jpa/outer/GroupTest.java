@@ -27,6 +27,7 @@ import static org.junit.Assert.assertTrue;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -274,6 +275,52 @@ public class GroupTest extends AbstractTest {
         assertTrue(dynGroupMemberships.isEmpty());
     }
 
+    @Test
+    public void udynMembershipUpdate() {
+        Group group = entityFactory.newEntity(Group.class);
+        group.setRealm(realmDAO.getRoot());
+        group.setName("new");
+
+        UDynGroupMembership dynMembership = entityFactory.newEntity(UDynGroupMembership.class);
+        dynMembership.setFIQLCond("cool==true");
+        dynMembership.setGroup(group);
+        group.setUDynMembership(dynMembership);
+
+        Group actual = groupDAO.save(group);
+        groupDAO.flush();
+
+        assertEquals(Collections.singletonList("c9b2dec2-00a7-4855-97c0-d854842b4b24"),
+                groupDAO.findUDynMembers(actual));
+
+        // 1. change condition: the former member is removed, the new one is added
+        actual.getUDynMembership().setFIQLCond("username==rossini");
+        actual = groupDAO.save(actual);
+        groupDAO.flush();
+
+        assertEquals(Collections.singletonList("1417acbe-cbf6-4277-9372-e75e04f97000"),
+                groupDAO.findUDynMembers(actual));
+
+        // 2. widen condition: the existing member is kept
+        actual.getUDynMembership().setFIQLCond("username==rossini,cool==true");
+        actual = groupDAO.save(actual);
+        groupDAO.flush();
+
+        assertEquals(
+                new HashSet<>(Arrays.asList(
+                        "1417acbe-cbf6-4277-9372-e75e04f97000", "c9b2dec2-00a7-4855-97c0-d854842b4b24")),
+                new HashSet<>(groupDAO.findUDynMembers(actual)));
+
+        // 3. remove dynamic membership: all members are removed
+        actual.setUDynMembership(null);
+        actual = groupDAO.save(actual);
+        groupDAO.flush();
+
+        Query query = entityManager().createNativeQuery(
+                "SELECT COUNT(any_id) FROM " + JPAGroupDAO.UDYNMEMB_TABLE + " WHERE group_id=?");
+        query.setParameter(1, actual.getKey());
+        assertEquals(0, ((Number) query.getSingleResult()).intValue());
+    }
+
     /**
      * Static copy of {@link org.apache.syncope.core.persistence.jpa.dao.JPAAnyObjectDAO} method with same signature:
      * required for avoiding creating of a new transaction - good for general use case but bad for the way how
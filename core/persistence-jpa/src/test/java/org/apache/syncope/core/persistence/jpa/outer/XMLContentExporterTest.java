@@ -19,26 +19,57 @@
 package org.apache.syncope.core.persistence.jpa.outer;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Collections;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 import java.util.stream.Collectors;
+import javax.sql.DataSource;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.output.ByteArrayOutputStream;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.syncope.core.persistence.api.DomainsHolder;
 import org.apache.syncope.core.persistence.api.content.ContentExporter;
+import org.apache.syncope.core.persistence.api.content.ContentLoader;
 import org.apache.syncope.core.persistence.jpa.AbstractTest;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
 import org.springframework.transaction.annotation.Transactional;
 
 @Transactional("Master")
 public class XMLContentExporterTest extends AbstractTest {
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     @Autowired
     private ContentExporter exporter;
 
+    @Autowired
+    private ContentLoader loader;
+
+    @Autowired
+    private DomainsHolder domainsHolder;
+
     @Test
     public void issueSYNCOPE1128() throws Exception {
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
@@ -58,4 +89,136 @@ public class XMLContentExporterTest extends AbstractTest {
         assertTrue(realms.get(3).contains("NAME=\"even\""));
     }
 
+    @Test
+    public void exportChunks() throws Exception {
+        Path directory = folder.getRoot().toPath().resolve("export");
+        Files.createDirectories(directory);
+        Path stale = Files.write(directory.resolve("STALE.00000.xml.gz"), new byte[] { 0 });
+        Files.write(directory.resolve("manifest"), Collections.singletonList("STALE"), StandardCharsets.UTF_8);
+
+        exporter.export("Master", directory, 2, null, null, null);
+
+        // any previous complete export is replaced
+        assertFalse(Files.exists(stale));
+
+        List<String> tables = Files.readAllLines(directory.resolve("manifest"), StandardCharsets.UTF_8);
+        assertTrue(tables.contains("REALM"));
+        assertFalse(tables.contains("SYNCOPEUSER"));
+        assertTrue(tables.indexOf("REALM") < tables.indexOf("SYNCOPEROLE_REALM"));
+
+        List<String> chunks = Files.readAllLines(directory.resolve("REALM.manifest"), StandardCharsets.UTF_8);
+        assertEquals(1, chunks.size());
+        String[] chunk = chunks.get(0).split(" ");
+        assertEquals("REALM.00000.xml.gz", chunk[0]);
+        assertEquals("4", chunk[1]);
+
+        List<String> realms;
+        try (InputStream is = new GZIPInputStream(Files.newInputStream(directory.resolve(chunk[0])))) {
+            realms = IOUtils.readLines(is, StandardCharsets.UTF_8).stream().
+                    filter(row -> row.startsWith("<REALM")).collect(Collectors.toList());
+        }
+        assertEquals(4, realms.size());
+        assertTrue(realms.get(0).contains("NAME=\"/\""));
+        assertTrue(realms.get(1).contains("NAME=\"two\""));
+    }
+
+    @Test
+    public void resumeExport() throws Exception {
+        Path directory = folder.getRoot().toPath().resolve("resume");
+        exporter.export("Master", directory, 2, null, null, null);
+
+        // interrupted while exporting REALM
+        Files.delete(directory.resolve("manifest"));
+        Files.write(directory.resolve("REALM.00000.xml.gz"), new byte[] { 0 });
+        Path exported = directory.resolve("PLAINSCHEMA.manifest");
+        FileTime past = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(exported, past);
+
+        exporter.export("Master", directory, 2, null, null, null);
+
+        assertTrue(Files.isRegularFile(directory.resolve("manifest")));
+        // tables already exported are skipped...
+        assertEquals(past, Files.getLastModifiedTime(exported));
+        // ...while the others are exported again
+        String[] chunk = Files.readAllLines(directory.resolve("REALM.manifest"), StandardCharsets.UTF_8).get(0).
+                split(" ");
+        try (InputStream is = new GZIPInputStream(Files.newInputStream(directory.resolve(chunk[0])))) {
+            assertEquals(4, IOUtils.readLines(is, StandardCharsets.UTF_8).stream().
+                    filter(row -> row.startsWith("<REALM")).count());
+        }
+    }
+
+    @Test
+    public void exportAndLoad() throws Exception {
+        DataSource master = domainsHolder.getDomains().get("Master");
+        String content = "a\u0001b\tc\nd<&\"e" + StringUtils.repeat('x', 20000) + "\uD83D\uDE00" + "\u000B";
+
+        // committed on its own connection, to be seen by the export
+        try (Connection conn = master.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE EXPORTTEST (id VARCHAR(255) NOT NULL PRIMARY KEY, content CLOB)");
+            try (PreparedStatement insert = conn.prepareStatement("INSERT INTO EXPORTTEST VALUES (?, ?)")) {
+                insert.setString(1, "1");
+                insert.setString(2, content);
+                insert.executeUpdate();
+            }
+        }
+        try {
+            Path directory = folder.getRoot().toPath().resolve("snapshot");
+            exporter.export("Master", directory, 2, null, null, null);
+            List<String> tables = Files.readAllLines(directory.resolve("manifest"), StandardCharsets.UTF_8);
+            assertTrue(tables.contains("EXPORTTEST"));
+
+            // empty database with the same schema
+            DriverManagerDataSource target = new DriverManagerDataSource("jdbc:h2:mem:exportAndLoad;DB_CLOSE_DELAY=-1");
+            JdbcTemplate targetTemplate = new JdbcTemplate(target);
+            try (Connection conn = master.getConnection(); Statement stmt = conn.createStatement();
+                    ResultSet rs = stmt.executeQuery("SCRIPT NODATA")) {
+
+                while (rs.next()) {
+                    targetTemplate.execute(rs.getString(1));
+                }
+            }
+
+            // a corrupted chunk prevents loading anything
+            Path realmChunk = directory.resolve("REALM.00000.xml.gz");
+            byte[] realmChunkContent = Files.readAllBytes(realmChunk);
+            Files.write(realmChunk, new byte[] { 0 });
+            try {
+                loader.load("Target", target, directory);
+                fail("Corrupted chunk must be detected");
+            } catch (IOException e) {
+                assertTrue(e.getMessage().contains("REALM.00000.xml.gz"));
+            }
+            assertEquals(0, targetTemplate.queryForObject("SELECT COUNT(0) FROM REALM", Integer.class).intValue());
+            Files.write(realmChunk, realmChunkContent);
+
+            loader.load("Target", target, directory);
+
+            JdbcTemplate masterTemplate = new JdbcTemplate(master);
+            for (String table : tables) {
+                // propagation tasks are not exported
+                String filter = "TASK".equals(table) ? " WHERE DTYPE <> 'PropagationTask'" : "";
+                assertEquals(table,
+                        masterTemplate.queryForObject("SELECT COUNT(0) FROM " + table + filter, Integer.class),
+                        targetTemplate.queryForObject("SELECT COUNT(0) FROM " + table, Integer.class));
+            }
+
+            // characters not allowed in XML are replaced, all others are preserved
+            assertEquals(
+                    "a\uFFFDb\tc\nd<&\"e" + StringUtils.repeat('x', 20000) + "\uD83D\uDE00" + "\uFFFD",
+                    targetTemplate.queryForObject("SELECT content FROM EXPORTTEST WHERE id='1'", String.class));
+
+            // loading again is not allowed
+            try {
+                loader.load("Target", target, directory);
+                fail("Non empty tables must be detected");
+            } catch (IllegalStateException e) {
+                assertNotNull(e.getMessage());
+            }
+        } finally {
+            try (Connection conn = master.getConnection(); Statement stmt = conn.createStatement()) {
+                stmt.execute("DROP TABLE EXPORTTEST");
+            }
+        }
+    }
 }
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.outer;
+
+import static org.junit.Assert.assertEquals;
+
+import javax.sql.DataSource;
+import org.apache.syncope.core.persistence.api.DomainsHolder;
+import org.apache.syncope.core.persistence.api.content.ContentLoader;
+import org.apache.syncope.core.persistence.jpa.AbstractTest;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public class XMLContentLoaderTest extends AbstractTest {
+
+    @Autowired
+    private ContentLoader loader;
+
+    @Autowired
+    private DomainsHolder domainsHolder;
+
+    @Test
+    public void createMissingTables() {
+        DataSource master = domainsHolder.getDomains().get("Master");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(master);
+
+        // as found in databases created before the table was introduced
+        jdbcTemplate.execute("DROP TABLE DynMembershipStaging");
+
+        loader.load("Master", master);
+
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(0) FROM DynMembershipStaging", Integer.class).intValue());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(DISTINCT INDEX_NAME) FROM INFORMATION_SCHEMA.INDEXES "
+                + "WHERE INDEX_NAME='DYNMEMBERSHIPSTAGING_OWNER_ID'",
+                Integer.class).intValue());
+    }
+}
@@ -36,14 +36,54 @@ public interface ConnIdBundleManager {
 
     Map<URI, ConnectorInfoManager> getConnManagers();
 
+    /**
+     * Returns the connector information for the first usable location of the given connector instance.
+     *
+     * @param connInstance connector instance
+     * @return location and connector information
+     * @see #getConnectorInfos(org.apache.syncope.core.persistence.api.entity.ConnInstance)
+     */
     Pair<URI, ConnectorInfo> getConnectorInfo(ConnInstance connInstance);
 
+    /**
+     * Returns the connector information for each of the (possibly many, comma-separated) equivalent locations of
+     * the given connector instance which provide its bundle: locations currently available come first.
+     *
+     * @param connInstance connector instance
+     * @return locations and connector information, never empty
+     */
+    List<Pair<URI, ConnectorInfo>> getConnectorInfos(ConnInstance connInstance);
+
     Map<URI, ConnectorInfoManager> getConnInfoManagers();
 
     void resetConnManagers();
 
+    /**
+     * @return a number which changes whenever ConnectorInfoManager instances are reset or a remote location is
+     * initialized after being missing: connector information obtained with a different number shall be obtained again
+     */
+    long getConnManagersVersion();
+
     List<URI> getLocations();
 
     void setStringLocations(String stringLocations);
 
+    /**
+     * @param location ConnId location
+     * @return whether the given location was reachable when last checked
+     */
+    boolean isAvailable(URI location);
+
+    /**
+     * Flags the given location as not available, until the next successful health check.
+     *
+     * @param location ConnId location
+     */
+    void setUnavailable(URI location);
+
+    /**
+     * Probes all remote ConnId locations, (re-)initializing those which are reachable again.
+     */
+    void checkLocations();
+
 }
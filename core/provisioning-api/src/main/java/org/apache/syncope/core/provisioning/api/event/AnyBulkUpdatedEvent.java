@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.api.event;
+
+import java.util.Collections;
+import java.util.List;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published in place of several {@link AnyCreatedUpdatedEvent}s when many any objects of the same kind are updated
+ * at once, as happens for dynamic membership changes; entities are not loaded, only their keys are reported.
+ */
+public class AnyBulkUpdatedEvent extends ApplicationEvent {
+
+    private static final long serialVersionUID = 2970312466512358532L;
+
+    private final AnyTypeKind anyTypeKind;
+
+    private final List<String> anyKeys;
+
+    private final String domain;
+
+    public AnyBulkUpdatedEvent(
+            final Object source,
+            final AnyTypeKind anyTypeKind,
+            final List<String> anyKeys,
+            final String domain) {
+
+        super(source);
+        this.anyTypeKind = anyTypeKind;
+        this.anyKeys = Collections.unmodifiableList(anyKeys);
+        this.domain = domain;
+    }
+
+    public AnyTypeKind getAnyTypeKind() {
+        return anyTypeKind;
+    }
+
+    public List<String> getAnyKeys() {
+        return anyKeys;
+    }
+
+    public String getDomain() {
+        return domain;
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.api.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * JVM-wide registry of core metrics, meant to be scraped in
+ * <a href="https://prometheus.io/docs/instrumenting/exposition_formats/">Prometheus text format</a>.
+ *
+ * Metrics are grouped in families sharing the same name, help text and type; each metric in a family is identified
+ * by its label values, passed as alternating names and values, e.g.
+ * <pre>
+ * MetricsRegistry.getInstance().timer(
+ *     "syncope_connector_request_seconds", "Connector request latency",
+ *     "resource", "resource-ldap", "operation", "create").record(nanos);
+ * </pre>
+ * Counters and timers are lock-free, so they can be safely updated from hot paths.
+ */
+public final class MetricsRegistry {
+
+    private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+
+    public static MetricsRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    private enum Type {
+        COUNTER,
+        GAUGE,
+        HISTOGRAM;
+
+    }
+
+    private static final class Family {
+
+        private final String help;
+
+        private final Type type;
+
+        private final ConcurrentMap<String, Object> metrics = new ConcurrentHashMap<>();
+
+        Family(final String help, final Type type) {
+            this.help = help;
+            this.type = type;
+        }
+    }
+
+    private final ConcurrentMap<String, Family> families = new ConcurrentHashMap<>();
+
+    private MetricsRegistry() {
+        // private constructor for singleton
+    }
+
+    private static String escape(final String value) {
+        return value == null
+                ? ""
+                : value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String labels(final String... labels) {
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException("Labels must be provided as name / value pairs");
+        }
+
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < labels.length; i += 2) {
+            if (i > 0) {
+                result.append(',');
+            }
+            result.append(labels[i]).append("=\"").append(escape(labels[i + 1])).append('"');
+        }
+        return result.toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T get(
+            final String name,
+            final String help,
+            final Type type,
+            final Supplier<T> factory,
+            final String... labels) {
+
+        Family family = families.get(name);
+        if (family == null) {
+            family = families.computeIfAbsent(name, k -> new Family(help, type));
+        }
+        if (family.type != type) {
+            throw new IllegalArgumentException("Metric " + name + " already registered as " + family.type);
+        }
+
+        String key = labels(labels);
+        Object metric = family.metrics.get(key);
+        if (metric == null) {
+            metric = family.metrics.computeIfAbsent(key, k -> factory.get());
+        }
+        return (T) metric;
+    }
+
+    public Counter counter(final String name, final String help, final String... labels) {
+        return get(name, help, Type.COUNTER, Counter::new, labels);
+    }
+
+    public Gauge gauge(final String name, final String help, final String... labels) {
+        return get(name, help, Type.GAUGE, Gauge::new, labels);
+    }
+
+    public Timer timer(final String name, final String help, final String... labels) {
+        return get(name, help, Type.HISTOGRAM, Timer::new, labels);
+    }
+
+    private static void sample(
+            final Writer writer, final String name, final String labels, final String value)
+            throws IOException {
+
+        writer.write(name);
+        if (!labels.isEmpty()) {
+            writer.write('{');
+            writer.write(labels);
+            writer.write('}');
+        }
+        writer.write(' ');
+        writer.write(value);
+        writer.write('\n');
+    }
+
+    private static String withLe(final String labels, final String le) {
+        return (labels.isEmpty() ? "" : labels + ",") + "le=\"" + le + "\"";
+    }
+
+    /**
+     * Writes all registered metrics, sorted by name and labels, in Prometheus text format (version 0.0.4).
+     *
+     * @param writer where to write metrics to
+     * @throws IOException if the writer cannot be written to
+     */
+    public void write(final Writer writer) throws IOException {
+        for (Map.Entry<String, Family> entry : new TreeMap<>(families).entrySet()) {
+            String name = entry.getKey();
+            Family family = entry.getValue();
+
+            writer.write("# HELP " + name + " " + family.help.replace("\\", "\\\\").replace("\n", "\\n") + "\n");
+            writer.write("# TYPE " + name + " " + family.type.name().toLowerCase(Locale.ROOT) + "\n");
+
+            for (Map.Entry<String, Object> metric : new TreeMap<>(family.metrics).entrySet()) {
+                switch (family.type) {
+                    case COUNTER:
+                        sample(writer, name, metric.getKey(), String.valueOf(((Counter) metric.getValue()).get()));
+                        break;
+
+                    case GAUGE:
+                        sample(writer, name, metric.getKey(), String.valueOf(((Gauge) metric.getValue()).get()));
+                        break;
+
+                    case HISTOGRAM:
+                    default:
+                        Timer timer = (Timer) metric.getValue();
+                        long[] counts = timer.getCumulativeCounts();
+                        for (int i = 0; i < Timer.BUCKETS.length; i++) {
+                            sample(writer, name + "_bucket",
+                                    withLe(metric.getKey(), String.valueOf(Timer.BUCKETS[i])),
+                                    String.valueOf(counts[i]));
+                        }
+                        sample(writer, name + "_bucket",
+                                withLe(metric.getKey(), "+Inf"), String.valueOf(counts[counts.length - 1]));
+                        sample(writer, name + "_sum", metric.getKey(), String.valueOf(timer.getSumSeconds()));
+                        sample(writer, name + "_count", metric.getKey(), String.valueOf(counts[counts.length - 1]));
+                }
+            }
+        }
+        writer.flush();
+    }
+}
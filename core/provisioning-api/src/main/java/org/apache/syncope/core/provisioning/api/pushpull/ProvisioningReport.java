@@ -31,6 +31,7 @@ public class ProvisioningReport {
 
         SUCCESS,
         IGNORE,
+        UNCHANGED,
         FAILURE
 
     }
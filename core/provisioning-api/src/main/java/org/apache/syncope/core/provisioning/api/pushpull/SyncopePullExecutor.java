@@ -18,10 +18,23 @@
  */
 package org.apache.syncope.core.provisioning.api.pushpull;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.apache.syncope.core.persistence.api.entity.resource.Provision;
 import org.identityconnectors.framework.common.objects.ObjectClass;
 import org.identityconnectors.framework.common.objects.SyncToken;
 
 public interface SyncopePullExecutor {
 
     void setLatestSyncToken(ObjectClass objectClass, SyncToken latestSyncToken);
+
+    /**
+     * Gives the index from connObjectKey values to any object keys built for the given provision, if any, at the
+     * beginning of the current full or filtered reconciliation.
+     *
+     * @param provision provision
+     * @return correlation index, if built
+     */
+    Optional<Map<String, List<String>>> getCorrelationIndex(Provision provision);
 }
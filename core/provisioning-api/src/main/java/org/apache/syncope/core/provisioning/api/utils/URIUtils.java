@@ -23,6 +23,9 @@ import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.commons.lang3.StringUtils;
 
 public final class URIUtils {
 
@@ -58,4 +61,27 @@ public final class URIUtils {
 
         return uri;
     }
+
+    /**
+     * Build valid URIs out of the given comma-separated list of equivalent locations.
+     *
+     * @param locations the candidate locations for URI, separated by comma
+     * @return valid URIs for the given locations, in the given order
+     * @throws MalformedURLException if any intermediate URL is not valid
+     * @throws URISyntaxException if any given location does not correspond to a valid URI
+     * @see #buildForConnId(java.lang.String)
+     */
+    public static List<URI> buildForConnIds(final String locations) throws MalformedURLException, URISyntaxException {
+        List<URI> uris = new ArrayList<>();
+        for (String location : StringUtils.split(locations, ',')) {
+            if (StringUtils.isNotBlank(location)) {
+                uris.add(buildForConnId(location));
+            }
+        }
+        if (uris.isEmpty()) {
+            throw new IllegalArgumentException("No valid URI found in " + locations);
+        }
+
+        return uris;
+    }
 }
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.api.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.Test;
+
+public class MetricsRegistryTest {
+
+    private static final MetricsRegistry REGISTRY = MetricsRegistry.getInstance();
+
+    /**
+     * The registry is JVM-wide: only keep the lines about the given metric family.
+     */
+    private static List<String> scrape(final String name) throws IOException {
+        StringWriter writer = new StringWriter();
+        REGISTRY.write(writer);
+        return Arrays.stream(writer.toString().split("\n")).
+                filter(line -> line.startsWith(name) || line.matches("# [A-Z]+ " + name + ".*")).
+                collect(Collectors.toList());
+    }
+
+    @Test
+    public void labels() {
+        Counter counter = REGISTRY.counter("test_labels_total", "Test", "resource", "ldap", "operation", "create");
+        assertSame(counter,
+                REGISTRY.counter("test_labels_total", "Test", "resource", "ldap", "operation", "create"));
+        assertNotSame(counter,
+                REGISTRY.counter("test_labels_total", "Test", "resource", "ldap", "operation", "update"));
+        assertNotSame(counter, REGISTRY.counter("test_labels_total", "Test"));
+
+        try {
+            REGISTRY.counter("test_labels_total", "Test", "resource");
+            fail("Odd number of labels must be rejected");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("pairs"));
+        }
+
+        try {
+            REGISTRY.gauge("test_labels_total", "Test", "resource", "ldap");
+            fail("Same name with different type must be rejected");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("COUNTER"));
+        }
+    }
+
+    @Test
+    public void concurrentIncrements() throws Exception {
+        int threads = 8;
+        int perThread = 10000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        // lookup on each iteration, as done by instrumented code
+                        REGISTRY.counter("test_concurrent_total", "Test", "kind", "a").increment();
+                        REGISTRY.timer("test_concurrent_seconds", "Test", "kind", "a").record(1000);
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(threads * perThread, REGISTRY.counter("test_concurrent_total", "Test", "kind", "a").get());
+        long[] counts = REGISTRY.timer("test_concurrent_seconds", "Test", "kind", "a").getCumulativeCounts();
+        assertEquals(threads * perThread, counts[counts.length - 1]);
+    }
+
+    @Test
+    public void counterAndGaugeFormat() throws IOException {
+        Counter counter = REGISTRY.counter("test_format_total", "Line one\nback\\slash", "path", "a\"b\\c\nd");
+        counter.increment();
+        counter.add(2);
+        REGISTRY.counter("test_format_total", "Line one\nback\\slash", "path", "0");
+
+        REGISTRY.gauge("test_format_gauge", "Gauge").set(0.5);
+
+        assertEquals(Arrays.asList(
+                "# HELP test_format_gauge Gauge",
+                "# TYPE test_format_gauge gauge",
+                "test_format_gauge 0.5",
+                "# HELP test_format_total Line one\\nback\\\\slash",
+                "# TYPE test_format_total counter",
+                "test_format_total{path=\"0\"} 0",
+                "test_format_total{path=\"a\\\"b\\\\c\\nd\"} 3"),
+                scrape("test_format_"));
+    }
+
+    @Test
+    public void histogramFormat() throws IOException {
+        Timer timer = REGISTRY.timer("test_histogram_seconds", "Histogram", "op", "x");
+        timer.record(TimeUnit.MILLISECONDS.toNanos(3));
+        timer.record(TimeUnit.MILLISECONDS.toNanos(200));
+        timer.record(TimeUnit.SECONDS.toNanos(120));
+
+        List<String> lines = scrape("test_histogram_seconds");
+        assertEquals("# HELP test_histogram_seconds Histogram", lines.get(0));
+        assertEquals("# TYPE test_histogram_seconds histogram", lines.get(1));
+        // one line per bucket, plus +Inf, sum and count
+        assertEquals(2 + Timer.BUCKETS.length + 3, lines.size());
+
+        assertTrue(lines.contains("test_histogram_seconds_bucket{op=\"x\",le=\"0.005\"} 1"));
+        assertTrue(lines.contains("test_histogram_seconds_bucket{op=\"x\",le=\"0.1\"} 1"));
+        assertTrue(lines.contains("test_histogram_seconds_bucket{op=\"x\",le=\"0.25\"} 2"));
+        assertTrue(lines.contains("test_histogram_seconds_bucket{op=\"x\",le=\"60.0\"} 2"));
+        assertTrue(lines.contains("test_histogram_seconds_bucket{op=\"x\",le=\"+Inf\"} 3"));
+        assertTrue(lines.contains("test_histogram_seconds_sum{op=\"x\"} 120.203"));
+        assertTrue(lines.contains("test_histogram_seconds_count{op=\"x\"} 3"));
+
+        // buckets are cumulative, hence never decreasing
+        long previous = 0;
+        for (String line : lines.subList(2, 2 + Timer.BUCKETS.length + 1)) {
+            long count = Long.parseLong(line.substring(line.lastIndexOf(' ') + 1));
+            assertTrue(count >= previous);
+            previous = count;
+        }
+    }
+}
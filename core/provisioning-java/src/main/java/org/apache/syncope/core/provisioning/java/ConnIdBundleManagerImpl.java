@@ -20,6 +20,8 @@ package org.apache.syncope.core.provisioning.java;
 
 import java.io.File;
 import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
 import java.net.URI;
 import java.net.URL;
 import java.security.cert.CertificateException;
@@ -29,6 +31,12 @@ import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
 import org.apache.commons.lang3.StringUtils;
@@ -36,6 +44,8 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.core.persistence.api.dao.NotFoundException;
 import org.apache.syncope.core.persistence.api.entity.ConnInstance;
 import org.apache.syncope.core.provisioning.api.ConnIdBundleManager;
+import org.apache.syncope.core.provisioning.api.metrics.Gauge;
+import org.apache.syncope.core.provisioning.api.metrics.MetricsRegistry;
 import org.apache.syncope.core.provisioning.api.utils.URIUtils;
 import org.identityconnectors.common.IOUtil;
 import org.identityconnectors.common.security.GuardedString;
@@ -48,11 +58,29 @@ import org.identityconnectors.framework.api.ConnectorKey;
 import org.identityconnectors.framework.api.RemoteFrameworkConnectionInfo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
 
-public class ConnIdBundleManagerImpl implements ConnIdBundleManager {
+public class ConnIdBundleManagerImpl implements ConnIdBundleManager, InitializingBean, DisposableBean {
 
     private static final Logger LOG = LoggerFactory.getLogger(ConnIdBundleManager.class);
 
+    private static final long DEFAULT_HEALTH_CHECK_INTERVAL = 30;
+
+    private static final int DEFAULT_HEALTH_CHECK_TIMEOUT = 5000;
+
+    /**
+     * Returns a representation of the given location suitable for logs and metrics, e.g. without any key.
+     *
+     * @param location ConnId location
+     * @return location representation
+     */
+    static String toLabel(final URI location) {
+        return "file".equals(location.getScheme())
+                ? location.toString()
+                : location.getScheme() + "://" + location.getHost() + ":" + location.getPort();
+    }
+
     private String stringLocations;
 
     /**
@@ -65,6 +93,61 @@ public class ConnIdBundleManagerImpl implements ConnIdBundleManager {
      */
     private final Map<URI, ConnectorInfoManager> connInfoManagers = Collections.synchronizedMap(new LinkedHashMap<>());
 
+    /**
+     * Remote locations which were found not reachable, either by health checks or by connector requests.
+     */
+    private final Set<URI> unavailable = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Changed whenever ConnectorInfoManager instances are reset or added after first initialization.
+     */
+    private final AtomicLong connManagersVersion = new AtomicLong();
+
+    private long healthCheckInterval = DEFAULT_HEALTH_CHECK_INTERVAL;
+
+    private int healthCheckTimeout = DEFAULT_HEALTH_CHECK_TIMEOUT;
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * @param healthCheckInterval seconds between health checks of remote locations; 0 or less disables them
+     */
+    public void setHealthCheckInterval(final long healthCheckInterval) {
+        this.healthCheckInterval = healthCheckInterval;
+    }
+
+    /**
+     * @param healthCheckTimeout milliseconds to wait for a remote location to accept connections
+     */
+    public void setHealthCheckTimeout(final int healthCheckTimeout) {
+        this.healthCheckTimeout = healthCheckTimeout;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (healthCheckInterval > 0) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "ConnIdBundleManager");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(() -> {
+                try {
+                    checkLocations();
+                } catch (Throwable t) {
+                    LOG.error("While checking ConnId locations", t);
+                }
+            }, healthCheckInterval, healthCheckInterval, TimeUnit.SECONDS);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
     @Override
     public List<URI> getLocations() {
         init();
@@ -187,6 +270,70 @@ public class ConnIdBundleManagerImpl implements ConnIdBundleManager {
     @Override
     public void resetConnManagers() {
         connInfoManagers.clear();
+        unavailable.clear();
+        connManagersVersion.incrementAndGet();
+    }
+
+    @Override
+    public long getConnManagersVersion() {
+        return connManagersVersion.get();
+    }
+
+    @Override
+    public boolean isAvailable(final URI location) {
+        return !unavailable.contains(location);
+    }
+
+    @Override
+    public void setUnavailable(final URI location) {
+        if (location.getScheme().startsWith("connid") && unavailable.add(location)) {
+            LOG.warn("ConnId location {} is not available", toLabel(location));
+            health(location).set(0);
+        }
+    }
+
+    private boolean probe(final URI location) {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(location.getHost(), location.getPort()), healthCheckTimeout);
+            return true;
+        } catch (IOException e) {
+            LOG.debug("ConnId location {} not reachable", toLabel(location), e);
+            return false;
+        }
+    }
+
+    @Override
+    public void checkLocations() {
+        getLocations().stream().filter(location -> location.getScheme().startsWith("connid")).forEach(location -> {
+            boolean up = probe(location);
+
+            // managers are initialized all together upon first access: only re-initialize the ones missing after
+            if (up && !connInfoManagers.isEmpty() && !connInfoManagers.containsKey(location)) {
+                try {
+                    initRemote(location);
+                    connManagersVersion.incrementAndGet();
+                    LOG.info("ConnId location {} initialized", toLabel(location));
+                } catch (Exception e) {
+                    LOG.debug("Could not process {}", toLabel(location), e);
+                    up = false;
+                }
+            }
+
+            if (up) {
+                if (unavailable.remove(location)) {
+                    LOG.info("ConnId location {} is available again", toLabel(location));
+                }
+                health(location).set(1);
+            } else {
+                setUnavailable(location);
+            }
+        });
+    }
+
+    private Gauge health(final URI location) {
+        return MetricsRegistry.getInstance().gauge(
+                "syncope_connid_location_up", "Whether the ConnId location is reachable (1) or not (0)",
+                "location", toLabel(location));
     }
 
     @Override
@@ -227,10 +374,15 @@ public class ConnIdBundleManagerImpl implements ConnIdBundleManager {
 
     @Override
     public Pair<URI, ConnectorInfo> getConnectorInfo(final ConnInstance connInstance) {
-        // check ConnIdLocation
-        URI uriLocation = null;
+        return getConnectorInfos(connInstance).get(0);
+    }
+
+    @Override
+    public List<Pair<URI, ConnectorInfo>> getConnectorInfos(final ConnInstance connInstance) {
+        // check ConnIdLocations
+        List<URI> uriLocations;
         try {
-            uriLocation = URIUtils.buildForConnId(connInstance.getLocation());
+            uriLocations = URIUtils.buildForConnIds(connInstance.getLocation());
         } catch (Exception e) {
             throw new IllegalArgumentException("Invalid ConnId location " + connInstance.getLocation(), e);
         }
@@ -245,16 +397,23 @@ public class ConnIdBundleManagerImpl implements ConnIdBundleManager {
                     + "\nBundle class: " + key.getConnectorName());
         }
 
-        // get the specified connector
-        ConnectorInfo info = null;
-        if (getConnManagers().containsKey(uriLocation)) {
-            info = getConnManagers().get(uriLocation).findConnectorInfo(key);
-        }
-        if (info == null) {
+        // get the specified connector from each location, available ones first
+        Map<URI, ConnectorInfoManager> managers = getConnManagers();
+        List<Pair<URI, ConnectorInfo>> infos = new ArrayList<>();
+        List<Pair<URI, ConnectorInfo>> unavailableInfos = new ArrayList<>();
+        uriLocations.forEach(uriLocation -> {
+            ConnectorInfoManager manager = managers.get(uriLocation);
+            ConnectorInfo info = manager == null ? null : manager.findConnectorInfo(key);
+            if (info != null) {
+                (isAvailable(uriLocation) ? infos : unavailableInfos).add(Pair.of(uriLocation, info));
+            }
+        });
+        infos.addAll(unavailableInfos);
+        if (infos.isEmpty()) {
             throw new NotFoundException("ConnectorInfo for location " + connInstance.getLocation() + " and key " + key);
         }
 
-        return Pair.of(uriLocation, info);
+        return infos;
     }
 
     @Override
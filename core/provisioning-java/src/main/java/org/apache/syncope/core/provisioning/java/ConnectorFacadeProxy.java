@@ -19,18 +19,31 @@
 package org.apache.syncope.core.provisioning.java;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.types.ConnectorCapability;
 import org.apache.syncope.core.persistence.api.entity.ConnInstance;
 import org.apache.syncope.core.provisioning.api.ConnIdBundleManager;
 import org.apache.syncope.core.provisioning.api.utils.ConnPoolConfUtils;
 import org.apache.syncope.core.provisioning.api.Connector;
 import org.apache.syncope.core.provisioning.api.TimeoutException;
+import org.apache.syncope.core.provisioning.api.metrics.Counter;
+import org.apache.syncope.core.provisioning.api.metrics.MetricsRegistry;
+import org.apache.syncope.core.provisioning.api.metrics.Timer;
 import org.apache.syncope.core.persistence.api.dao.search.OrderByClause;
 import org.apache.syncope.core.provisioning.api.pushpull.ReconciliationFilterBuilder;
 import org.apache.syncope.core.spring.ApplicationContextProvider;
@@ -70,20 +83,39 @@ public class ConnectorFacadeProxy implements Connector {
     private static final Integer DEFAULT_PAGE_SIZE = 100;
 
     /**
-     * Connector facade wrapped instance.
+     * Connector facade wrapped instances, one for each equivalent location, lazily built and validated upon first
+     * usage; they are built again as soon as the ConnId locations change, as reported by
+     * {@link ConnIdBundleManager#getConnManagersVersion()}.
      */
-    private final ConnectorFacade connector;
+    private volatile Pair<Long, List<Pair<URI, ConnectorFacade>>> connectors;
+
+    /**
+     * Set while connector facades are being built, for other callers to wait on.
+     */
+    private final AtomicReference<CompletableFuture<List<Pair<URI, ConnectorFacade>>>> building =
+            new AtomicReference<>();
+
+    /**
+     * Used to spread requests among available locations.
+     */
+    private final AtomicInteger next = new AtomicInteger();
 
     /**
      * Active connector instance.
      */
     private final ConnInstance connInstance;
 
+    /**
+     * Key of the resource this connector was built for, if any: only used for metrics.
+     */
+    private final String resource;
+
     @Autowired
     private AsyncConnectorFacade asyncFacade;
 
     /**
-     * Use the passed connector instance to build a ConnectorFacade that will be used to make all wrapped calls.
+     * Use the passed connector instance to build a ConnectorFacade that will be used to make all wrapped calls;
+     * the ConnectorFacade is built and validated upon first usage.
      *
      * @param connInstance the connector instance
      * @see ConnectorInfo
@@ -92,12 +124,186 @@ public class ConnectorFacadeProxy implements Connector {
      * @see ConnectorFacade
      */
     public ConnectorFacadeProxy(final ConnInstance connInstance) {
+        this(connInstance, null);
+    }
+
+    /**
+     * Same as {@link #ConnectorFacadeProxy(org.apache.syncope.core.persistence.api.entity.ConnInstance)}, for
+     * connectors bound to the given resource.
+     *
+     * @param connInstance the connector instance
+     * @param resource resource key
+     */
+    public ConnectorFacadeProxy(final ConnInstance connInstance, final String resource) {
         this.connInstance = connInstance;
+        this.resource = resource;
+    }
+
+    /**
+     * Builds and validates the wrapped ConnectorFacade instances, if not done yet; when this fails, the next
+     * invocation will try again (useful for managing failover scenarios).
+     *
+     * @return wrapped ConnectorFacade to be used for the next request
+     */
+    protected ConnectorFacade init() {
+        return candidates().get(0).getRight();
+    }
+
+    private ConnIdBundleManager bundleManager() {
+        return ApplicationContextProvider.getBeanFactory().getBean(ConnIdBundleManager.class);
+    }
+
+    /**
+     * Returns the wrapped ConnectorFacade instances, building them if not done yet or if ConnId locations changed
+     * meanwhile: only one caller at a time builds them, while the others wait for its outcome, up to the configured
+     * request timeout; no lock is held meanwhile.
+     *
+     * @return wrapped ConnectorFacade instances, with their location
+     */
+    private List<Pair<URI, ConnectorFacade>> facades() {
+        long version = bundleManager().getConnManagersVersion();
+        Pair<Long, List<Pair<URI, ConnectorFacade>>> current = connectors;
+        if (current != null && current.getLeft() == version) {
+            return current.getRight();
+        }
+
+        CompletableFuture<List<Pair<URI, ConnectorFacade>>> build = new CompletableFuture<>();
+        if (!building.compareAndSet(null, build)) {
+            CompletableFuture<List<Pair<URI, ConnectorFacade>>> other = building.get();
+            return other == null ? facades() : await(other);
+        }
+
+        try {
+            List<Pair<URI, ConnectorFacade>> facades = newConnectorFacades();
+            health(true);
+            connectors = Pair.of(version, facades);
+            build.complete(facades);
+            return facades;
+        } catch (RuntimeException e) {
+            health(false);
+            build.completeExceptionally(e);
+            throw e;
+        } finally {
+            building.set(null);
+        }
+    }
 
-        ConnIdBundleManager connIdBundleManager = ApplicationContextProvider.getBeanFactory().getBean(
-                ConnIdBundleManager.class);
-        ConnectorInfo info = connIdBundleManager.getConnectorInfo(connInstance).getRight();
+    private List<Pair<URI, ConnectorFacade>> await(final CompletableFuture<List<Pair<URI, ConnectorFacade>>> build) {
+        try {
+            return build.get(connInstance.getConnRequestTimeout(), TimeUnit.SECONDS);
+        } catch (java.util.concurrent.TimeoutException e) {
+            throw new TimeoutException("Request timeout");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException
+                    ? (RuntimeException) e.getCause()
+                    : new IllegalArgumentException(e.getCause());
+        }
+    }
 
+    /**
+     * Returns the wrapped ConnectorFacade instances in the order they shall be tried by the next request: available
+     * locations first, taking turns, then the others.
+     *
+     * @return wrapped ConnectorFacade instances, with their location
+     */
+    private List<Pair<URI, ConnectorFacade>> candidates() {
+        List<Pair<URI, ConnectorFacade>> facades = facades();
+        if (facades.size() == 1) {
+            return facades;
+        }
+
+        ConnIdBundleManager connIdBundleManager = bundleManager();
+        int start = Math.floorMod(next.getAndIncrement(), facades.size());
+        List<Pair<URI, ConnectorFacade>> candidates = new ArrayList<>(facades.size());
+        List<Pair<URI, ConnectorFacade>> unavailable = new ArrayList<>();
+        for (int i = 0; i < facades.size(); i++) {
+            Pair<URI, ConnectorFacade> facade = facades.get((start + i) % facades.size());
+            (connIdBundleManager.isAvailable(facade.getLeft()) ? candidates : unavailable).add(facade);
+        }
+        candidates.addAll(unavailable);
+        return candidates;
+    }
+
+    /**
+     * Tells whether the given failure was caused by the transport to the given remote location rather than by the
+     * connector: failures raised by connectors running on a connector server come back without any local
+     * {@link IOException} in their cause chain.
+     *
+     * @param location ConnId location
+     * @param t failure
+     * @return whether the given failure was caused by the transport to the given remote location
+     */
+    static boolean isTransportFailure(final URI location, final Throwable t) {
+        return location.getScheme().startsWith("connid")
+                && ExceptionUtils.indexOfType(t, IOException.class) != -1;
+    }
+
+    /**
+     * Builds one ConnectorFacade for each location providing the connector bundle, and validates all of them in
+     * parallel, within the configured request timeout; locations which cannot be reached at this time are flagged as
+     * unavailable but kept, as long as at least one ConnectorFacade can be validated.
+     *
+     * @return wrapped ConnectorFacade instances, with their location
+     */
+    private List<Pair<URI, ConnectorFacade>> newConnectorFacades() {
+        ConnIdBundleManager connIdBundleManager = bundleManager();
+
+        List<Pair<URI, ConnectorFacade>> facades = new ArrayList<>();
+        List<Future<String>> validations = new ArrayList<>();
+        for (Pair<URI, ConnectorInfo> info : connIdBundleManager.getConnectorInfos(connInstance)) {
+            ConnectorFacade facade = newConnectorFacade(info.getRight());
+            facades.add(Pair.of(info.getLeft(), facade));
+            // make sure we have set up the Configuration properly
+            validations.add(asyncFacade.validate(facade));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(connInstance.getConnRequestTimeout());
+        RuntimeException failure = null;
+        for (int i = 0; i < facades.size(); i++) {
+            URI location = facades.get(i).getLeft();
+            Future<String> validation = validations.get(i);
+            try {
+                validation.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (java.util.concurrent.TimeoutException e) {
+                validation.cancel(true);
+
+                LOG.warn("Timeout while validating {} on {}",
+                        connInstance.getDisplayName(), ConnIdBundleManagerImpl.toLabel(location));
+                connIdBundleManager.setUnavailable(location);
+                failure = new TimeoutException("Request timeout");
+            } catch (InterruptedException e) {
+                validations.forEach(v -> v.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            } catch (ExecutionException e) {
+                RuntimeException cause = e.getCause() instanceof RuntimeException
+                        ? (RuntimeException) e.getCause()
+                        : new IllegalArgumentException(e.getCause());
+                if (!isTransportFailure(location, cause)) {
+                    validations.forEach(v -> v.cancel(true));
+                    throw cause;
+                }
+
+                LOG.warn("Could not validate {} on {}",
+                        connInstance.getDisplayName(), ConnIdBundleManagerImpl.toLabel(location), cause);
+                connIdBundleManager.setUnavailable(location);
+                failure = cause;
+            }
+        }
+
+        if (failure != null
+                && facades.stream().noneMatch(facade -> connIdBundleManager.isAvailable(facade.getLeft()))) {
+
+            throw failure;
+        }
+
+        return facades;
+    }
+
+    private ConnectorFacade newConnectorFacade(final ConnectorInfo info) {
         // create default configuration
         APIConfiguration apiConfig = info.createDefaultAPIConfiguration();
         // enable filtered results handler in validation mode
@@ -123,10 +329,115 @@ public class ConnectorFacadeProxy implements Connector {
         }
 
         // gets new connector, with the given configuration
-        connector = ConnectorFacadeFactory.getInstance().newInstance(apiConfig);
+        return ConnectorFacadeFactory.getInstance().newInstance(apiConfig);
+    }
+
+    private void health(final boolean up) {
+        if (resource != null) {
+            MetricsRegistry.getInstance().gauge(
+                    "syncope_connector_up", "Whether the connector could be built and validated (1) or not (0)",
+                    "connector", connInstance.getDisplayName(), "resource", resource).set(up ? 1 : 0);
+        }
+    }
+
+    private Timer timer(final String operation) {
+        return MetricsRegistry.getInstance().timer(
+                "syncope_connector_request_seconds", "Connector request latency",
+                "connector", connInstance.getDisplayName(), "resource", resource, "operation", operation);
+    }
 
-        // make sure we have set up the Configuration properly
-        connector.validate();
+    private Counter errors(final String operation) {
+        return MetricsRegistry.getInstance().counter(
+                "syncope_connector_request_errors_total", "Connector request failures",
+                "connector", connInstance.getDisplayName(), "resource", resource, "operation", operation);
+    }
+
+    private Timer timer(final URI location) {
+        return MetricsRegistry.getInstance().timer(
+                "syncope_connid_location_request_seconds", "Connector request latency, by ConnId location",
+                "location", ConnIdBundleManagerImpl.toLabel(location));
+    }
+
+    private Counter errors(final URI location) {
+        return MetricsRegistry.getInstance().counter(
+                "syncope_connid_location_request_errors_total", "Connector request failures, by ConnId location",
+                "location", ConnIdBundleManagerImpl.toLabel(location));
+    }
+
+    /**
+     * Submits the given asynchronous connector request to the first location which can be reached, and waits for
+     * its outcome; locations found not reachable are flagged as unavailable.
+     * Only requests not changing anything on the connector side can be replayed on the next location: the others
+     * are submitted once, as a transport failure does not tell whether they were processed or not.
+     *
+     * @param <T> request result type
+     * @param operation operation name, for metrics
+     * @param replayable whether the request can be replayed on the next location upon transport failure
+     * @param request asynchronous connector request, for the given ConnectorFacade
+     * @return request result
+     */
+    private <T> T execute(
+            final String operation,
+            final boolean replayable,
+            final Function<ConnectorFacade, Future<T>> request) {
+
+        List<Pair<URI, ConnectorFacade>> candidates = candidates();
+        if (!replayable) {
+            candidates = candidates.subList(0, 1);
+        }
+
+        RuntimeException failure = null;
+        for (Pair<URI, ConnectorFacade> candidate : candidates) {
+            try {
+                return execute(operation, candidate.getLeft(), () -> request.apply(candidate.getRight()));
+            } catch (RuntimeException e) {
+                if (!isTransportFailure(candidate.getLeft(), e)) {
+                    throw e;
+                }
+
+                LOG.warn("Could not reach {} while executing {} on {}",
+                        ConnIdBundleManagerImpl.toLabel(candidate.getLeft()), operation, connInstance.getDisplayName());
+                bundleManager().setUnavailable(candidate.getLeft());
+                failure = e;
+            }
+        }
+
+        throw failure;
+    }
+
+    /**
+     * Submits the given asynchronous connector request and waits for its outcome, up to the configured request
+     * timeout; latency and failures are recorded for the given operation and location.
+     *
+     * @param <T> request result type
+     * @param operation operation name, for metrics
+     * @param location ConnId location, for metrics
+     * @param request asynchronous connector request
+     * @return request result
+     */
+    private <T> T execute(final String operation, final URI location, final Supplier<Future<T>> request) {
+        long start = System.nanoTime();
+        Future<T> future = request.get();
+        try {
+            return future.get(connInstance.getConnRequestTimeout(), TimeUnit.SECONDS);
+        } catch (java.util.concurrent.TimeoutException e) {
+            errors(operation).increment();
+            errors(location).increment();
+            future.cancel(true);
+            throw new TimeoutException("Request timeout");
+        } catch (Exception e) {
+            errors(operation).increment();
+            errors(location).increment();
+            LOG.error("Connector request execution failure", e);
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else {
+                throw new IllegalArgumentException(e.getCause());
+            }
+        } finally {
+            timer(operation).recordSince(start);
+            timer(location).recordSince(start);
+        }
     }
 
     @Override
@@ -134,21 +445,8 @@ public class ConnectorFacadeProxy implements Connector {
         Uid result = null;
 
         if (connInstance.getCapabilities().contains(ConnectorCapability.AUTHENTICATE)) {
-            Future<Uid> future = asyncFacade.authenticate(
-                    connector, username, new GuardedString(password.toCharArray()), options);
-            try {
-                result = future.get(connInstance.getConnRequestTimeout(), TimeUnit.SECONDS);
-            } catch (java.util.concurrent.TimeoutException e) {
-                future.cancel(true);
-                throw new TimeoutException("Request timeout");
-            } catch (Exception e) {
-                LOG.error("Connector request execution failure", e);
-                if (e.getCause() instanceof RuntimeException) {
-                    throw (RuntimeException) e.getCause();
-                } else {
-                    throw new IllegalArgumentException(e.getCause());
-                }
-            }
+            result = execute("authenticate", true, facade -> asyncFacade.authenticate(
+                    facade, username, new GuardedString(password.toCharArray()), options));
         } else {
             LOG.info("Authenticate was attempted, although the connector only has these capabilities: {}. No action.",
                     connInstance.getCapabilities());
@@ -169,20 +467,7 @@ public class ConnectorFacadeProxy implements Connector {
         if (connInstance.getCapabilities().contains(ConnectorCapability.CREATE)) {
             propagationAttempted[0] = true;
 
-            Future<Uid> future = asyncFacade.create(connector, objectClass, attrs, options);
-            try {
-                result = future.get(connInstance.getConnRequestTimeout(), TimeUnit.SECONDS);
-            } catch (java.util.concurrent.TimeoutException e) {
-                future.cancel(true);
-                throw new TimeoutException("Request timeout");
-            } catch (Exception e) {
-                LOG.error("Connector request execution failure", e);
-                if (e.getCause() instanceof RuntimeException) {
-                    throw (RuntimeException) e.getCause();
-                } else {
-                    throw new IllegalArgumentException(e.getCause());
-                }
-            }
+            result = execute("create", false, facade -> asyncFacade.create(facade, objectClass, attrs, options));
         } else {
             LOG.info("Create was attempted, although the connector only has these capabilities: {}. No action.",
                     connInstance.getCapabilities());
@@ -204,21 +489,8 @@ public class ConnectorFacadeProxy implements Connector {
         if (connInstance.getCapabilities().contains(ConnectorCapability.UPDATE)) {
             propagationAttempted[0] = true;
 
-            Future<Uid> future = asyncFacade.update(connector, objectClass, uid, attrs, options);
-
-            try {
-                result = future.get(connInstance.getConnRequestTimeout(), TimeUnit.SECONDS);
-            } catch (java.util.concurrent.TimeoutException e) {
-                future.cancel(true);
-                throw new TimeoutException("Request timeout");
-            } catch (Exception e) {
-                LOG.error("Connector request execution failure", e);
-                if (e.getCause() instanceof RuntimeException) {
-                    throw (RuntimeException) e.getCause();
-                } else {
-                    throw new IllegalArgumentException(e.getCause());
-                }
-            }
+            result = execute("update", false,
+                    facade -> asyncFacade.update(facade, objectClass, uid, attrs, options));
         } else {
             LOG.info("Update for {} was attempted, although the "
                     + "connector only has these capabilities: {}. No action.",
@@ -238,21 +510,7 @@ public class ConnectorFacadeProxy implements Connector {
         if (connInstance.getCapabilities().contains(ConnectorCapability.DELETE)) {
             propagationAttempted[0] = true;
 
-            Future<Uid> future = asyncFacade.delete(connector, objectClass, uid, options);
-
-            try {
-                future.get(connInstance.getConnRequestTimeout(), TimeUnit.SECONDS);
-            } catch (java.util.concurrent.TimeoutException e) {
-                future.cancel(true);
-                throw new TimeoutException("Request timeout");
-            } catch (Exception e) {
-                LOG.error("Connector request execution failure", e);
-                if (e.getCause() instanceof RuntimeException) {
-                    throw (RuntimeException) e.getCause();
-                } else {
-                    throw new IllegalArgumentException(e.getCause());
-                }
-            }
+            execute("delete", false, facade -> asyncFacade.delete(facade, objectClass, uid, options));
         } else {
             LOG.info("Delete for {} was attempted, although the connector only has these capabilities: {}. No action.",
                     uid.getUidValue(), connInstance.getCapabilities());
@@ -265,7 +523,21 @@ public class ConnectorFacadeProxy implements Connector {
             final OperationOptions options) {
 
         if (connInstance.getCapabilities().contains(ConnectorCapability.SYNC)) {
-            connector.sync(objectClass, token, handler, options);
+            Pair<URI, ConnectorFacade> candidate = candidates().get(0);
+            long start = System.nanoTime();
+            try {
+                candidate.getRight().sync(objectClass, token, handler, options);
+            } catch (RuntimeException e) {
+                errors("sync").increment();
+                errors(candidate.getLeft()).increment();
+                if (isTransportFailure(candidate.getLeft(), e)) {
+                    bundleManager().setUnavailable(candidate.getLeft());
+                }
+                throw e;
+            } finally {
+                timer("sync").recordSince(start);
+                timer(candidate.getLeft()).recordSince(start);
+            }
         } else {
             LOG.info("Sync was attempted, although the connector only has these capabilities: {}. No action.",
                     connInstance.getCapabilities());
@@ -277,21 +549,8 @@ public class ConnectorFacadeProxy implements Connector {
         SyncToken result = null;
 
         if (connInstance.getCapabilities().contains(ConnectorCapability.SYNC)) {
-            Future<SyncToken> future = asyncFacade.getLatestSyncToken(connector, objectClass);
-
-            try {
-                result = future.get(connInstance.getConnRequestTimeout(), TimeUnit.SECONDS);
-            } catch (java.util.concurrent.TimeoutException e) {
-                future.cancel(true);
-                throw new TimeoutException("Request timeout");
-            } catch (Exception e) {
-                LOG.error("Connector request execution failure", e);
-                if (e.getCause() instanceof RuntimeException) {
-                    throw (RuntimeException) e.getCause();
-                } else {
-                    throw new IllegalArgumentException(e.getCause());
-                }
-            }
+            result = execute("getLatestSyncToken", true,
+                    facade -> asyncFacade.getLatestSyncToken(facade, objectClass));
         } else {
             LOG.info("getLatestSyncToken was attempted, although the "
                     + "connector only has these capabilities: {}. No action.", connInstance.getCapabilities());
@@ -329,56 +588,17 @@ public class ConnectorFacadeProxy implements Connector {
 
     @Override
     public Set<ObjectClassInfo> getObjectClassInfo() {
-        Future<Set<ObjectClassInfo>> future = asyncFacade.getObjectClassInfo(connector);
-        try {
-            return future.get(connInstance.getConnRequestTimeout(), TimeUnit.SECONDS);
-        } catch (java.util.concurrent.TimeoutException e) {
-            future.cancel(true);
-            throw new TimeoutException("Request timeout");
-        } catch (Exception e) {
-            LOG.error("Connector request execution failure", e);
-            if (e.getCause() instanceof RuntimeException) {
-                throw (RuntimeException) e.getCause();
-            } else {
-                throw new IllegalArgumentException(e.getCause());
-            }
-        }
+        return execute("getObjectClassInfo", true, facade -> asyncFacade.getObjectClassInfo(facade));
     }
 
     @Override
     public void validate() {
-        Future<String> future = asyncFacade.test(connector);
-        try {
-            future.get(connInstance.getConnRequestTimeout(), TimeUnit.SECONDS);
-        } catch (java.util.concurrent.TimeoutException e) {
-            future.cancel(true);
-            throw new TimeoutException("Request timeout");
-        } catch (Exception e) {
-            LOG.error("Connector request execution failure", e);
-            if (e.getCause() instanceof RuntimeException) {
-                throw (RuntimeException) e.getCause();
-            } else {
-                throw new IllegalArgumentException(e.getCause());
-            }
-        }
+        execute("validate", true, facade -> asyncFacade.test(facade));
     }
 
     @Override
     public void test() {
-        Future<String> future = asyncFacade.test(connector);
-        try {
-            future.get(connInstance.getConnRequestTimeout(), TimeUnit.SECONDS);
-        } catch (java.util.concurrent.TimeoutException e) {
-            future.cancel(true);
-            throw new TimeoutException("Request timeout");
-        } catch (Exception e) {
-            LOG.error("Connector request execution failure", e);
-            if (e.getCause() instanceof RuntimeException) {
-                throw (RuntimeException) e.getCause();
-            } else {
-                throw new IllegalArgumentException(e.getCause());
-            }
-        }
+        execute("test", true, facade -> asyncFacade.test(facade));
     }
 
     @Override
@@ -387,28 +607,17 @@ public class ConnectorFacadeProxy implements Connector {
             final Attribute connObjectKey,
             final OperationOptions options) {
 
-        Future<ConnectorObject> future = null;
+        ConnectorObject result = null;
 
         if (connInstance.getCapabilities().contains(ConnectorCapability.SEARCH)) {
-            future = asyncFacade.getObject(connector, objectClass, connObjectKey, options);
+            result = execute("getObject", true,
+                    facade -> asyncFacade.getObject(facade, objectClass, connObjectKey, options));
         } else {
             LOG.info("Search was attempted, although the connector only has these capabilities: {}. No action.",
                     connInstance.getCapabilities());
         }
 
-        try {
-            return future == null ? null : future.get(connInstance.getConnRequestTimeout(), TimeUnit.SECONDS);
-        } catch (java.util.concurrent.TimeoutException e) {
-            future.cancel(true);
-            throw new TimeoutException("Request timeout");
-        } catch (Exception e) {
-            LOG.error("Connector request execution failure", e);
-            if (e.getCause() instanceof RuntimeException) {
-                throw (RuntimeException) e.getCause();
-            } else {
-                throw new IllegalArgumentException(e.getCause());
-            }
-        }
+        return result;
     }
 
     @Override
@@ -421,38 +630,67 @@ public class ConnectorFacadeProxy implements Connector {
         SearchResult result = null;
 
         if (connInstance.getCapabilities().contains(ConnectorCapability.SEARCH)) {
-            if (options.getPageSize() == null && options.getPagedResultsCookie() == null) {
-                OperationOptionsBuilder builder = new OperationOptionsBuilder(options).
-                        setPageSize(DEFAULT_PAGE_SIZE).setPagedResultsOffset(-1);
-
-                final String[] cookies = new String[] { null };
-                do {
-                    if (cookies[0] != null) {
-                        builder.setPagedResultsCookie(cookies[0]);
-                    }
+            // all pages are requested to the same location
+            Pair<URI, ConnectorFacade> candidate = candidates().get(0);
+            long start = System.nanoTime();
+            try {
+                result = doSearch(candidate.getRight(), objectClass, filter, handler, options);
+            } catch (RuntimeException e) {
+                errors("search").increment();
+                errors(candidate.getLeft()).increment();
+                if (isTransportFailure(candidate.getLeft(), e)) {
+                    bundleManager().setUnavailable(candidate.getLeft());
+                }
+                throw e;
+            } finally {
+                timer("search").recordSince(start);
+                timer(candidate.getLeft()).recordSince(start);
+            }
+        } else {
+            LOG.info("Search was attempted, although the connector only has these capabilities: {}. No action.",
+                    connInstance.getCapabilities());
+        }
 
-                    result = connector.search(objectClass, filter, new SearchResultsHandler() {
+        return result;
+    }
 
-                        @Override
-                        public void handleResult(final SearchResult result) {
-                            if (handler instanceof SearchResultsHandler) {
-                                SearchResultsHandler.class.cast(handler).handleResult(result);
-                            }
-                            cookies[0] = result.getPagedResultsCookie();
-                        }
+    private SearchResult doSearch(
+            final ConnectorFacade facade,
+            final ObjectClass objectClass,
+            final Filter filter,
+            final ResultsHandler handler,
+            final OperationOptions options) {
+
+        SearchResult result;
 
-                        @Override
-                        public boolean handle(final ConnectorObject connectorObject) {
-                            return handler.handle(connectorObject);
+        if (options.getPageSize() == null && options.getPagedResultsCookie() == null) {
+            OperationOptionsBuilder builder = new OperationOptionsBuilder(options).
+                    setPageSize(DEFAULT_PAGE_SIZE).setPagedResultsOffset(-1);
+
+            final String[] cookies = new String[] { null };
+            do {
+                if (cookies[0] != null) {
+                    builder.setPagedResultsCookie(cookies[0]);
+                }
+
+                result = facade.search(objectClass, filter, new SearchResultsHandler() {
+
+                    @Override
+                    public void handleResult(final SearchResult result) {
+                        if (handler instanceof SearchResultsHandler) {
+                            SearchResultsHandler.class.cast(handler).handleResult(result);
                         }
-                    }, builder.build());
-                } while (cookies[0] != null);
-            } else {
-                result = connector.search(objectClass, filter, handler, options);
-            }
+                        cookies[0] = result.getPagedResultsCookie();
+                    }
+
+                    @Override
+                    public boolean handle(final ConnectorObject connectorObject) {
+                        return handler.handle(connectorObject);
+                    }
+                }, builder.build());
+            } while (cookies[0] != null);
         } else {
-            LOG.info("Search was attempted, although the connector only has these capabilities: {}. No action.",
-                    connInstance.getCapabilities());
+            result = facade.search(objectClass, filter, handler, options);
         }
 
         return result;
@@ -528,6 +766,7 @@ public class ConnectorFacadeProxy implements Connector {
     @Override
     public String toString() {
         return "ConnectorFacadeProxy{"
-                + "connector=" + connector + "\n" + "capabitilies=" + connInstance.getCapabilities() + '}';
+                + "connector=" + (connectors == null ? connInstance.getDisplayName() : connectors.getRight()) + "\n"
+                + "capabitilies=" + connInstance.getCapabilities() + '}';
     }
 }
@@ -18,12 +18,17 @@
  */
 package org.apache.syncope.core.provisioning.java;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Resource;
 import org.apache.syncope.common.lib.types.ConnConfProperty;
 import org.apache.syncope.common.lib.types.ConnectorCapability;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
@@ -42,6 +47,7 @@ import org.identityconnectors.framework.api.ConnectorFacadeFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -56,6 +62,9 @@ public class ConnectorManager implements ConnectorRegistry, ConnectorFactory, Sy
     @Autowired
     private ExternalResourceDAO resourceDAO;
 
+    @Resource(name = "connectorManagerBootstrapExecutor")
+    private ThreadPoolTaskExecutor bootstrapExecutor;
+
     private EntityFactory entityFactory;
 
     @Override
@@ -144,11 +153,26 @@ public class ConnectorManager implements ConnectorRegistry, ConnectorFactory, Sy
 
     @Override
     public void registerConnector(final ExternalResource resource) {
+        ConnectorFacadeProxy connector = newConnector(resource);
+        // build and validate right away: callers expect invalid configurations to be reported here
+        connector.init();
+
+        doRegisterConnector(resource, connector);
+    }
+
+    private ConnectorFacadeProxy newConnector(final ExternalResource resource) {
         ConnInstance connInstance = buildConnInstanceOverride(
                 resource.getConnector(),
                 resource.getConfOverride(),
                 resource.isOverrideCapabilities() ? resource.getCapabilitiesOverride() : null);
-        Connector connector = createConnector(connInstance);
+        ConnectorFacadeProxy connector = new ConnectorFacadeProxy(connInstance, resource.getKey());
+        ApplicationContextProvider.getBeanFactory().autowireBean(connector);
+        return connector;
+    }
+
+    private ConnectorFacadeProxy doRegisterConnector(
+            final ExternalResource resource, final ConnectorFacadeProxy connector) {
+
         LOG.debug("Connector to be registered: {}", connector);
 
         String beanName = getBeanName(resource);
@@ -159,6 +183,8 @@ public class ConnectorManager implements ConnectorRegistry, ConnectorFactory, Sy
 
         ApplicationContextProvider.getBeanFactory().registerSingleton(beanName, connector);
         LOG.debug("Successfully registered bean {}", beanName);
+
+        return connector;
     }
 
     @Override
@@ -176,18 +202,31 @@ public class ConnectorManager implements ConnectorRegistry, ConnectorFactory, Sy
         connIdBundleManager.getConnManagers();
 
         // Load all resource-specific connectors
-        int connectors = 0;
+        List<ConnectorFacadeProxy> connectors = new ArrayList<>();
         for (ExternalResource resource : resourceDAO.findAll()) {
             LOG.info("Registering resource-connector pair {}-{}", resource, resource.getConnector());
             try {
-                registerConnector(resource);
-                connectors++;
+                connectors.add(doRegisterConnector(resource, newConnector(resource)));
             } catch (Exception e) {
                 LOG.error("While registering resource-connector pair {}-{}", resource, resource.getConnector(), e);
             }
         }
 
-        LOG.info("Done loading {} connectors", connectors);
+        LOG.info("Done loading {} connectors", connectors.size());
+
+        // Build and validate connector facades in background: failures are reported here and via metrics, and
+        // retried upon first usage
+        AtomicInteger failures = new AtomicInteger();
+        CompletableFuture.allOf(connectors.stream().map(connector -> CompletableFuture.runAsync(() -> {
+            try {
+                connector.init();
+            } catch (Exception e) {
+                failures.incrementAndGet();
+                LOG.error("While validating {}", connector, e);
+            }
+        }, bootstrapExecutor)).toArray(CompletableFuture[]::new)).
+                thenRun(() -> LOG.info("Done validating {} connectors, {} failed",
+                connectors.size(), failures.get()));
     }
 
     @Transactional(readOnly = true)
@@ -38,6 +38,8 @@ import org.apache.syncope.core.provisioning.api.MappingManager;
 import org.apache.syncope.core.provisioning.api.VirAttrHandler;
 import org.apache.syncope.core.provisioning.api.cache.VirAttrCache;
 import org.apache.syncope.core.provisioning.api.cache.VirAttrCacheValue;
+import org.apache.syncope.core.provisioning.api.metrics.Counter;
+import org.apache.syncope.core.provisioning.api.metrics.MetricsRegistry;
 import org.apache.syncope.core.provisioning.java.utils.MappingUtils;
 import org.identityconnectors.framework.common.objects.Attribute;
 import org.identityconnectors.framework.common.objects.AttributeBuilder;
@@ -66,6 +68,11 @@ public class VirAttrHandlerImpl implements VirAttrHandler {
     @Autowired
     private AnyUtilsFactory anyUtilsFactory;
 
+    private static Counter cacheRequests(final String result) {
+        return MetricsRegistry.getInstance().counter(
+                "syncope_cache_requests_total", "Cache requests", "cache", "virAttrCache", "result", result);
+    }
+
     private Map<VirSchema, List<String>> getValues(final Any<?> any, final Set<VirSchema> schemas) {
         Set<ExternalResource> ownedResources = anyUtilsFactory.getInstance(any).getAllResources(any);
 
@@ -81,7 +88,9 @@ public class VirAttrHandlerImpl implements VirAttrHandler {
                 if (virAttrCache.isValidEntry(virAttrCacheValue)) {
                     LOG.debug("Values for {} found in cache: {}", schema, virAttrCacheValue);
                     result.put(schema, virAttrCacheValue.getValues());
+                    cacheRequests("hit").increment();
                 } else {
+                    cacheRequests("miss").increment();
                     Set<VirSchema> schemasToRead = toRead.get(schema.getProvision());
                     if (schemasToRead == null) {
                         schemasToRead = new HashSet<>();
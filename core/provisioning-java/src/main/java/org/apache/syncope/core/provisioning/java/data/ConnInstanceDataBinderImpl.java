@@ -246,7 +246,10 @@ public class ConnInstanceDataBinderImpl implements ConnInstanceDataBinder {
         Pair<URI, ConnectorInfo> info = connIdBundleManager.getConnectorInfo(connInstance);
         BeanUtils.copyProperties(connInstance, connInstanceTO, IGNORE_PROPERTIES);
         connInstanceTO.setAdminRealm(connInstance.getAdminRealm().getFullPath());
-        connInstanceTO.setLocation(info.getLeft().toASCIIString());
+        // several equivalent locations are reported as stored
+        connInstanceTO.setLocation(connInstance.getLocation().indexOf(',') == -1
+                ? info.getLeft().toASCIIString()
+                : connInstance.getLocation());
         connInstanceTO.getConf().addAll(connInstance.getConf());
         // refresh stored properties in the given connInstance with direct information from underlying connector
         ConfigurationProperties properties = connIdBundleManager.getConfigurationProperties(info.getRight());
@@ -28,6 +28,7 @@ import org.apache.syncope.core.persistence.api.entity.task.SchedTask;
 import org.apache.syncope.core.persistence.api.entity.task.TaskExec;
 import org.apache.syncope.core.provisioning.api.AuditManager;
 import org.apache.syncope.core.provisioning.api.job.SchedTaskJobDelegate;
+import org.apache.syncope.core.provisioning.api.metrics.MetricsRegistry;
 import org.apache.syncope.core.provisioning.api.notification.NotificationManager;
 import org.quartz.JobExecutionContext;
 import org.quartz.JobExecutionException;
@@ -92,6 +93,7 @@ public abstract class AbstractSchedTaskJobDelegate implements SchedTaskJobDelega
 
         AuditElements.Result result;
 
+        long start = System.nanoTime();
         try {
             execution.setMessage(doExecute(dryRun));
             execution.setStatus(TaskJob.Status.SUCCESS.name());
@@ -104,6 +106,9 @@ public abstract class AbstractSchedTaskJobDelegate implements SchedTaskJobDelega
             execution.setStatus(TaskJob.Status.FAILURE.name());
         }
         execution.setEnd(new Date());
+        MetricsRegistry.getInstance().timer(
+                "syncope_job_duration_seconds", "Scheduled task execution time",
+                "job", getClass().getSimpleName(), "status", execution.getStatus()).recordSince(start);
 
         if (hasToBeRegistered(execution)) {
             taskExecDAO.saveAndAdd(taskKey, execution);
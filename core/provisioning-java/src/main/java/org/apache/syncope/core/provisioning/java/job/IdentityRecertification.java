@@ -18,31 +18,40 @@
  */
 package org.apache.syncope.core.provisioning.java.job;
 
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
-import org.apache.commons.lang3.StringUtils;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.apache.syncope.core.persistence.api.dao.AnyDAO;
 import org.apache.syncope.core.persistence.api.dao.ConfDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
 import org.apache.syncope.core.persistence.api.entity.conf.CPlainAttr;
 import org.apache.syncope.core.persistence.api.entity.task.TaskExec;
 import org.apache.syncope.core.persistence.api.entity.user.User;
-import org.apache.syncope.core.workflow.api.UserWorkflowAdapter;
+import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.quartz.JobExecutionException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
 
 public class IdentityRecertification extends AbstractSchedTaskJobDelegate {
 
     private static final String RECERTIFICATION_TIME = "identity.recertification.day.interval";
 
+    private static final String RECERTIFICATION_THREADS = "identity.recertification.threads";
+
+    private static final long DEFAULT_RECERTIFICATION_THREADS = 4L;
+
     @Autowired
     private ConfDAO confDAO;
 
     @Autowired
     private UserDAO userDAO;
 
-    @Autowired
-    private UserWorkflowAdapter uwfAdapter;
-
     private long recertificationTime = -1;
 
     protected void init() {
@@ -90,16 +99,51 @@ public class IdentityRecertification extends AbstractSchedTaskJobDelegate {
         }
 
         long now = System.currentTimeMillis();
-        for (int page = 1; page <= (userDAO.count() / AnyDAO.DEFAULT_PAGE_SIZE) + 1; page++) {
-            for (User user : userDAO.findAll(page, AnyDAO.DEFAULT_PAGE_SIZE)) {
-                LOG.debug("Processing user: {}", user.getUsername());
-
-                if (StringUtils.isNotBlank(user.getWorkflowId()) && isToBeRecertified(user, now)) {
-                    uwfAdapter.requestCertify(user);
-                } else {
-                    LOG.warn("Workflow for {} is null or empty", user);
+        // only users due for recertification are read, by means of an indexed query on lastRecertification
+        Date lastRecertificationBefore = new Date(now - recertificationTime);
+
+        String domain = AuthContextUtils.getDomain();
+        IdentityRecertificationHandler handler = (IdentityRecertificationHandler) ApplicationContextProvider.
+                getBeanFactory().createBean(
+                        IdentityRecertificationHandler.class, AbstractBeanDefinition.AUTOWIRE_BY_NAME, false);
+
+        int threads = (int) Math.max(1, confDAO.find(RECERTIFICATION_THREADS, DEFAULT_RECERTIFICATION_THREADS));
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        int failures = 0;
+        try {
+            String lastKey = null;
+            List<String> keys;
+            do {
+                keys = userDAO.findKeysToBeRecertified(lastRecertificationBefore, lastKey, AnyDAO.DEFAULT_FETCH_SIZE);
+
+                List<Future<?>> results = new ArrayList<>(keys.size());
+                keys.forEach(key -> results.add(executor.submit(() -> AuthContextUtils.execWithAuthContext(
+                        domain, () -> {
+                            handler.handle(key, user -> isToBeRecertified(user, now));
+                            return null;
+                        }))));
+                for (Future<?> result : results) {
+                    try {
+                        result.get();
+                    } catch (ExecutionException e) {
+                        LOG.error("While requesting recertification", e.getCause());
+                        failures++;
+                    }
                 }
-            }
+
+                if (!keys.isEmpty()) {
+                    lastKey = keys.get(keys.size() - 1);
+                }
+            } while (keys.size() == AnyDAO.DEFAULT_FETCH_SIZE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JobExecutionException("Interrupted while requesting recertifications", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        if (failures > 0) {
+            throw new JobExecutionException("Could not request recertification for " + failures + " user(s)");
         }
 
         return "SUCCESS";
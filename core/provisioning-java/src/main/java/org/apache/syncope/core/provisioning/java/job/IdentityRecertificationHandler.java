@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.job;
+
+import java.util.function.Predicate;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.workflow.api.UserWorkflowAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Requests the certification of one user at a time, each in its own transaction; invoked concurrently by the
+ * {@link IdentityRecertification} workers.
+ */
+public class IdentityRecertificationHandler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(IdentityRecertificationHandler.class);
+
+    @Autowired
+    private UserDAO userDAO;
+
+    @Autowired
+    private UserWorkflowAdapter uwfAdapter;
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void handle(final String key, final Predicate<User> toBeRecertified) {
+        User user = userDAO.find(key);
+        if (user == null) {
+            LOG.debug("User {} not found, skipping", key);
+            return;
+        }
+
+        LOG.debug("Processing user: {}", user.getUsername());
+
+        if (StringUtils.isBlank(user.getWorkflowId())) {
+            LOG.warn("Workflow for {} is null or empty", user);
+        } else if (toBeRecertified.test(user)) {
+            uwfAdapter.requestCertify(user);
+        }
+    }
+}
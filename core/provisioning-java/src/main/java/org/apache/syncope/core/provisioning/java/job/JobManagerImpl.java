@@ -28,6 +28,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import javax.sql.DataSource;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.SyncopeConstants;
@@ -69,6 +70,7 @@ import org.springframework.jdbc.datasource.DataSourceUtils;
 import org.apache.syncope.core.persistence.api.entity.task.PullTask;
 import org.apache.syncope.core.provisioning.api.job.SchedTaskJobDelegate;
 import org.apache.syncope.core.provisioning.java.job.notification.NotificationJob;
+import org.apache.syncope.core.provisioning.java.job.notification.NotificationJobDelegate;
 import org.apache.syncope.core.provisioning.java.job.report.ReportJob;
 import org.apache.syncope.core.provisioning.java.pushpull.PullJobDelegate;
 import org.apache.syncope.core.provisioning.java.pushpull.PushJobDelegate;
@@ -92,6 +94,9 @@ public class JobManagerImpl implements JobManager, SyncopeLoader {
     @Autowired
     private ConfDAO confDAO;
 
+    @Autowired
+    private NotificationJobDelegate notificationJobDelegate;
+
     private boolean disableQuartzInstance;
 
     public void setDisableQuartzInstance(final boolean disableQuartzInstance) {
@@ -283,6 +288,33 @@ public class JobManagerImpl implements JobManager, SyncopeLoader {
         return 200;
     }
 
+    private void registerDomainJobs(final String domain, final long interruptMaxRetries) {
+        AuthContextUtils.execWithAuthContext(domain, () -> {
+            // 1. jobs for SchedTasks
+            Set<SchedTask> tasks = new HashSet<>(taskDAO.<SchedTask>findAll(TaskType.SCHEDULED));
+            tasks.addAll(taskDAO.<PullTask>findAll(TaskType.PULL));
+            tasks.addAll(taskDAO.<PushTask>findAll(TaskType.PUSH));
+            tasks.forEach(task -> {
+                try {
+                    register(task, task.getStartAt(), interruptMaxRetries);
+                } catch (Exception e) {
+                    LOG.error("While loading job instance for task " + task.getKey(), e);
+                }
+            });
+
+            // 2. jobs for Reports
+            reportDAO.findAll().forEach(report -> {
+                try {
+                    register(report, null, interruptMaxRetries);
+                } catch (Exception e) {
+                    LOG.error("While loading job instance for report " + report.getName(), e);
+                }
+            });
+
+            return null;
+        });
+    }
+
     @Transactional
     @Override
     public void load() {
@@ -314,30 +346,7 @@ public class JobManagerImpl implements JobManager, SyncopeLoader {
         });
 
         for (String domain : domainsHolder.getDomains().keySet()) {
-            AuthContextUtils.execWithAuthContext(domain, () -> {
-                // 1. jobs for SchedTasks
-                Set<SchedTask> tasks = new HashSet<>(taskDAO.<SchedTask>findAll(TaskType.SCHEDULED));
-                tasks.addAll(taskDAO.<PullTask>findAll(TaskType.PULL));
-                tasks.addAll(taskDAO.<PushTask>findAll(TaskType.PUSH));
-                tasks.forEach(task -> {
-                    try {
-                        register(task, task.getStartAt(), conf.getRight());
-                    } catch (Exception e) {
-                        LOG.error("While loading job instance for task " + task.getKey(), e);
-                    }
-                });
-
-                // 2. jobs for Reports
-                reportDAO.findAll().forEach(report -> {
-                    try {
-                        register(report, null, conf.getRight());
-                    } catch (Exception e) {
-                        LOG.error("While loading job instance for report " + report.getName(), e);
-                    }
-                });
-
-                return null;
-            });
+            registerDomainJobs(domain, conf.getRight());
         }
 
         Map<String, Object> jobMap = new HashMap<>();
@@ -379,4 +388,30 @@ public class JobManagerImpl implements JobManager, SyncopeLoader {
             LOG.error("While loading {} instance", SystemLoadReporterJob.class.getSimpleName(), e);
         }
     }
+
+    @Override
+    public void load(final String domain, final DataSource datasource) {
+        long interruptMaxRetries = AuthContextUtils.execWithAuthContext(
+                SyncopeConstants.MASTER_DOMAIN, () -> confDAO.find("tasks.interruptMaxRetries", 1L));
+
+        registerDomainJobs(domain, interruptMaxRetries);
+    }
+
+    /**
+     * Jobs are left registered, as their triggers activate the domain again when firing; pending notifications are
+     * instead sent out now, since {@link NotificationJob} only deals with active domains.
+     *
+     * @param domain domain being passivated
+     */
+    @Override
+    public void unload(final String domain) {
+        AuthContextUtils.execWithAuthContext(domain, () -> {
+            try {
+                notificationJobDelegate.execute();
+            } catch (Exception e) {
+                LOG.error("[{}] While sending out notifications", domain, e);
+            }
+            return null;
+        });
+    }
 }
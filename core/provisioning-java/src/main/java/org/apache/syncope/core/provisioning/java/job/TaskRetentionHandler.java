@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.job;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import org.apache.syncope.core.persistence.api.dao.TaskDAO;
+import org.apache.syncope.core.persistence.api.dao.TaskExecDAO;
+import org.apache.syncope.core.persistence.api.entity.task.Task;
+import org.apache.syncope.core.persistence.api.entity.task.TaskUtilsFactory;
+import org.apache.syncope.core.provisioning.api.data.TaskDataBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Purges one chunk of tasks or task executions at a time, each in its own transaction; invoked by
+ * {@link TaskRetentionPurge}. When an archiver is given, each chunk of purged items is handed to it before being
+ * deleted.
+ */
+public class TaskRetentionHandler {
+
+    @Autowired
+    private TaskDAO taskDAO;
+
+    @Autowired
+    private TaskExecDAO taskExecDAO;
+
+    @Autowired
+    private TaskDataBinder binder;
+
+    @Autowired
+    private TaskUtilsFactory taskUtilsFactory;
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int purgeTasks(final List<String> keys, final Consumer<List<?>> archiver) {
+        List<Task> tasks = keys.stream().map(key -> taskDAO.<Task>find(key)).filter(Objects::nonNull).
+                collect(Collectors.toList());
+        if (archiver != null) {
+            archiver.accept(tasks.stream().
+                    map(task -> binder.getTaskTO(task, taskUtilsFactory.getInstance(task), true)).
+                    collect(Collectors.toList()));
+        }
+
+        // tasks are removed one by one, to cascade on executions and element collections
+        tasks.forEach(taskDAO::delete);
+        return tasks.size();
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int purgeExecs(final List<String> keys, final Consumer<List<?>> archiver) {
+        if (archiver != null) {
+            archiver.accept(keys.stream().map(taskExecDAO::find).filter(Objects::nonNull).
+                    map(binder::getExecTO).collect(Collectors.toList()));
+        }
+        return taskExecDAO.purge(keys);
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.job;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.syncope.common.lib.types.PropagationTaskExecStatus;
+import org.apache.syncope.common.lib.types.TaskType;
+import org.apache.syncope.core.persistence.api.dao.ConfDAO;
+import org.apache.syncope.core.persistence.api.dao.TaskDAO;
+import org.apache.syncope.core.persistence.api.dao.TaskExecDAO;
+import org.apache.syncope.core.persistence.api.entity.task.TaskExec;
+import org.apache.syncope.core.provisioning.api.metrics.MetricsRegistry;
+import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
+import org.apache.syncope.core.provisioning.java.job.notification.NotificationJob;
+import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.quartz.JobExecutionException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+
+/**
+ * Enforces the retention policies defined via the {@code tasks.retention.<TYPE>.<SUCCESS|FAILURE>.days}
+ * configuration parameters: propagation and notification tasks whose latest execution is older are purged together
+ * with their executions, while only executions are purged for scheduled, pull and push tasks.
+ * Purge happens in chunks of {@code tasks.retention.chunkSize} items, each in its own transaction; when
+ * {@code tasks.retention.archiveDirectory} is set, purged items are first archived there as gzipped JSON lines,
+ * within the same transaction.
+ */
+public class TaskRetentionPurge extends AbstractSchedTaskJobDelegate {
+
+    private static final String RETENTION_PREFIX = "tasks.retention.";
+
+    private static final String CHUNK_SIZE = RETENTION_PREFIX + "chunkSize";
+
+    private static final String ARCHIVE_DIRECTORY = RETENTION_PREFIX + "archiveDirectory";
+
+    private static final long DEFAULT_CHUNK_SIZE = 100L;
+
+    private enum Outcome {
+
+        SUCCESS(PropagationTaskExecStatus.SUCCESS.name(), NotificationJob.Status.SENT.name()),
+        FAILURE(PropagationTaskExecStatus.FAILURE.name(), PropagationTaskExecStatus.NOT_ATTEMPTED.name(),
+                NotificationJob.Status.NOT_SENT.name());
+
+        private final List<String> statuses;
+
+        Outcome(final String... statuses) {
+            this.statuses = Arrays.asList(statuses);
+        }
+
+    }
+
+    @FunctionalInterface
+    private interface KeyFinder {
+
+        List<String> find(TaskType type, Date endedBefore, Collection<String> statuses, String afterKey, int max);
+    }
+
+    @FunctionalInterface
+    private interface ChunkPurger {
+
+        int purge(List<String> keys, Archiver archiver);
+    }
+
+    /**
+     * Appends purged items as JSON lines to a gzipped file, as one complete gzip member per chunk: each member is
+     * finished and synced to disk before the chunk's items are deleted, so that the archive holds whatever was
+     * committed, even when the purge stops halfway.
+     */
+    static final class Archiver implements Consumer<List<?>> {
+
+        private final File file;
+
+        Archiver(final File file) {
+            this.file = file;
+        }
+
+        @Override
+        public void accept(final List<?> items) {
+            if (items.isEmpty()) {
+                return;
+            }
+
+            try {
+                ByteArrayOutputStream member = new ByteArrayOutputStream();
+                try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(member), StandardCharsets.UTF_8)) {
+                    for (Object item : items) {
+                        writer.write(POJOHelper.serialize(item));
+                        writer.write('\n');
+                    }
+                }
+
+                long length = file.length();
+                try (FileOutputStream fos = new FileOutputStream(file, true)) {
+                    try {
+                        member.writeTo(fos);
+                        fos.getFD().sync();
+                    } catch (IOException e) {
+                        // drop the incomplete member, so that the previous ones can still be read
+                        fos.getChannel().truncate(length);
+                        throw e;
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("While archiving to " + file.getAbsolutePath(), e);
+            }
+        }
+    }
+
+    @Autowired
+    private ConfDAO confDAO;
+
+    @Autowired
+    private TaskDAO taskDAO;
+
+    @Autowired
+    private TaskExecDAO taskExecDAO;
+
+    @Override
+    protected String doExecute(final boolean dryRun) throws JobExecutionException {
+        LOG.info("TaskRetentionPurge {} running [SchedTask {}]", dryRun ? "dry " : "", task.getKey());
+
+        int chunkSize = (int) Math.max(1, confDAO.find(CHUNK_SIZE, DEFAULT_CHUNK_SIZE));
+        String archiveDirectory = confDAO.find(ARCHIVE_DIRECTORY, StringUtils.EMPTY);
+        if (StringUtils.isNotBlank(archiveDirectory) && !new File(archiveDirectory).isDirectory()
+                && !new File(archiveDirectory).mkdirs()) {
+
+            throw new JobExecutionException("Could not create archive directory " + archiveDirectory);
+        }
+
+        TaskRetentionHandler handler = (TaskRetentionHandler) ApplicationContextProvider.getBeanFactory().
+                createBean(TaskRetentionHandler.class, AbstractBeanDefinition.AUTOWIRE_BY_NAME, false);
+        String timestamp = new SimpleDateFormat("yyyyMMddHHmmss").format(new Date());
+        long now = System.currentTimeMillis();
+
+        StringBuilder report = new StringBuilder();
+        for (TaskType type : TaskType.values()) {
+            for (Outcome outcome : Outcome.values()) {
+                long days = confDAO.find(RETENTION_PREFIX + type.name() + "." + outcome.name() + ".days", 0L);
+                if (days <= 0) {
+                    continue;
+                }
+                Date endedBefore = new Date(now - TimeUnit.DAYS.toMillis(days));
+
+                boolean tasks = type == TaskType.PROPAGATION || type == TaskType.NOTIFICATION;
+                File archive = StringUtils.isBlank(archiveDirectory)
+                        ? null
+                        : new File(archiveDirectory, AuthContextUtils.getDomain() + "_" + type.name() + "_"
+                                + outcome.name() + "_" + (tasks ? "tasks" : "execs") + "_" + timestamp + ".json.gz");
+
+                int purged = tasks
+                        ? purge(type, outcome, endedBefore, chunkSize, dryRun, archive,
+                                taskDAO::findKeysToPurge, handler::purgeTasks)
+                        : purge(type, outcome, endedBefore, chunkSize, dryRun, archive,
+                                taskExecDAO::findKeysToPurge, handler::purgeExecs);
+
+                report.append(type.name()).append(' ').append(outcome.name()).append(" older than ").
+                        append(days).append(" days: ").append(purged).append(tasks ? " task(s)" : " execution(s)").
+                        append(dryRun ? " to be purged" : " purged").append('\n');
+            }
+        }
+
+        return report.length() == 0 ? "NO RETENTION POLICY CONFIGURED" : report.toString();
+    }
+
+    private int purge(
+            final TaskType type,
+            final Outcome outcome,
+            final Date endedBefore,
+            final int chunkSize,
+            final boolean dryRun,
+            final File archive,
+            final KeyFinder finder,
+            final ChunkPurger purger) throws JobExecutionException {
+
+        int purged = 0;
+        Archiver archiver = archive == null ? null : new Archiver(archive);
+        try {
+            String lastKey = null;
+            List<String> keys;
+            do {
+                keys = finder.find(type, endedBefore, outcome.statuses, lastKey, chunkSize);
+                if (!keys.isEmpty()) {
+                    lastKey = keys.get(keys.size() - 1);
+
+                    int chunk = dryRun ? keys.size() : purger.purge(keys, archiver);
+                    purged += chunk;
+                    if (!dryRun) {
+                        MetricsRegistry.getInstance().counter(
+                                "syncope_retention_purged_total", "Tasks and task executions purged by retention",
+                                "type", type.name(), "outcome", outcome.name()).add(chunk);
+                    }
+                }
+            } while (keys.size() == chunkSize);
+        } catch (RuntimeException e) {
+            throw new JobExecutionException("While purging " + type + " " + outcome + " after " + purged, e);
+        }
+
+        LOG.debug("{} {} {} items older than {}", dryRun ? "Found" : "Purged", purged, type, endedBefore);
+        return purged;
+    }
+
+    @Override
+    protected boolean hasToBeRegistered(final TaskExec execution) {
+        return true;
+    }
+
+}
@@ -61,7 +61,8 @@ public class NotificationJob extends AbstractInterruptableJob {
 
         for (String domain : domainsHolder.getDomains().keySet()) {
             try {
-                AuthContextUtils.execWithAuthContext(domain, () -> {
+                // not counting as domain usage, for idle domains to be passivated anyway
+                domainsHolder.execInBackground(() -> AuthContextUtils.execWithAuthContext(domain, () -> {
                     try {
                         delegate.execute();
                     } catch (Exception e) {
@@ -70,7 +71,7 @@ public class NotificationJob extends AbstractInterruptableJob {
                     }
 
                     return null;
-                });
+                }));
             } catch (RuntimeException e) {
                 LOG.error("While sending out notifications", e);
                 throw new JobExecutionException("While sending out notifications", e);
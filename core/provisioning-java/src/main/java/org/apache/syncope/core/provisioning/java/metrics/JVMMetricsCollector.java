@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import org.apache.syncope.core.provisioning.api.metrics.MetricsCollector;
+import org.apache.syncope.core.provisioning.api.metrics.MetricsRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Samples the same information reported by
+ * {@link org.apache.syncope.core.provisioning.java.job.SystemLoadReporterJob}, plus thread and heap usage.
+ */
+@Component
+public class JVMMetricsCollector implements MetricsCollector {
+
+    @Override
+    public void collect(final MetricsRegistry registry) {
+        registry.gauge("syncope_jvm_system_load_average", "System load average for the last minute").
+                set(ManagementFactory.getOperatingSystemMXBean().getSystemLoadAverage());
+        registry.gauge("syncope_jvm_uptime_seconds", "JVM uptime").
+                set(ManagementFactory.getRuntimeMXBean().getUptime() / 1000D);
+        registry.gauge("syncope_jvm_threads", "Live threads").
+                set(ManagementFactory.getThreadMXBean().getThreadCount());
+
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        registry.gauge("syncope_jvm_heap_bytes", "Heap memory", "area", "used").set(heap.getUsed());
+        registry.gauge("syncope_jvm_heap_bytes", "Heap memory", "area", "committed").set(heap.getCommitted());
+        registry.gauge("syncope_jvm_heap_bytes", "Heap memory", "area", "max").set(heap.getMax());
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+import org.apache.syncope.core.provisioning.api.metrics.MetricsCollector;
+import org.apache.syncope.core.provisioning.api.metrics.MetricsRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Samples usage of all thread pools defined in the application context, among which the propagation and the
+ * asynchronous connector facade executors.
+ */
+@Component
+public class ThreadPoolMetricsCollector implements MetricsCollector {
+
+    @Autowired
+    private Map<String, ThreadPoolTaskExecutor> executors;
+
+    @Override
+    public void collect(final MetricsRegistry registry) {
+        executors.forEach((name, executor) -> {
+            ThreadPoolExecutor pool = executor.getThreadPoolExecutor();
+
+            registry.gauge("syncope_executor_queue_size", "Tasks waiting in executor queue",
+                    "executor", name).set(pool.getQueue().size());
+            registry.gauge("syncope_executor_active_threads", "Threads actively executing tasks",
+                    "executor", name).set(pool.getActiveCount());
+            registry.gauge("syncope_executor_pool_size", "Current number of threads in executor pool",
+                    "executor", name).set(pool.getPoolSize());
+            registry.gauge("syncope_executor_completed_tasks", "Tasks completed by executor",
+                    "executor", name).set(pool.getCompletedTaskCount());
+        });
+    }
+}
@@ -109,6 +109,7 @@ public abstract class AbstractProvisioningJobDelegate<T extends ProvisioningTask
         List<ProvisioningReport> uFailDelete = new ArrayList<>();
         List<ProvisioningReport> uSuccNone = new ArrayList<>();
         List<ProvisioningReport> uIgnore = new ArrayList<>();
+        List<ProvisioningReport> uUnchanged = new ArrayList<>();
         List<ProvisioningReport> gSuccCreate = new ArrayList<>();
         List<ProvisioningReport> gFailCreate = new ArrayList<>();
         List<ProvisioningReport> gSuccUpdate = new ArrayList<>();
@@ -117,6 +118,7 @@ public abstract class AbstractProvisioningJobDelegate<T extends ProvisioningTask
         List<ProvisioningReport> gFailDelete = new ArrayList<>();
         List<ProvisioningReport> gSuccNone = new ArrayList<>();
         List<ProvisioningReport> gIgnore = new ArrayList<>();
+        List<ProvisioningReport> gUnchanged = new ArrayList<>();
         List<ProvisioningReport> aSuccCreate = new ArrayList<>();
         List<ProvisioningReport> aFailCreate = new ArrayList<>();
         List<ProvisioningReport> aSuccUpdate = new ArrayList<>();
@@ -125,6 +127,7 @@ public abstract class AbstractProvisioningJobDelegate<T extends ProvisioningTask
         List<ProvisioningReport> aFailDelete = new ArrayList<>();
         List<ProvisioningReport> aSuccNone = new ArrayList<>();
         List<ProvisioningReport> aIgnore = new ArrayList<>();
+        List<ProvisioningReport> aUnchanged = new ArrayList<>();
 
         for (ProvisioningReport provResult : provResults) {
             AnyType anyType = anyTypeDAO.find(provResult.getAnyType());
@@ -282,6 +285,24 @@ public abstract class AbstractProvisioningJobDelegate<T extends ProvisioningTask
                     }
                     break;
 
+                case UNCHANGED:
+                    if (anyType != null) {
+                        switch (anyType.getKind()) {
+                            case USER:
+                                uUnchanged.add(provResult);
+                                break;
+
+                            case GROUP:
+                                gUnchanged.add(provResult);
+                                break;
+
+                            case ANY_OBJECT:
+                            default:
+                                aUnchanged.add(provResult);
+                        }
+                    }
+                    break;
+
                 case IGNORE:
                     if (anyType == null) {
                         rIgnore.add(provResult);
@@ -322,6 +343,8 @@ public abstract class AbstractProvisioningJobDelegate<T extends ProvisioningTask
                     append("[deleted/failures]: ").append(uSuccDelete.size()).append('/').append(uFailDelete.size()).
                     append(' ').
                     append("[no operation/ignored]: ").append(uSuccNone.size()).append('/').append(uIgnore.size()).
+                    append(' ').
+                    append("[unchanged]: ").append(uUnchanged.size()).
                     append('\n');
         }
         if (includeGroup) {
@@ -333,6 +356,8 @@ public abstract class AbstractProvisioningJobDelegate<T extends ProvisioningTask
                     append("[deleted/failures]: ").append(gSuccDelete.size()).append('/').append(gFailDelete.size()).
                     append(' ').
                     append("[no operation/ignored]: ").append(gSuccNone.size()).append('/').append(gIgnore.size()).
+                    append(' ').
+                    append("[unchanged]: ").append(gUnchanged.size()).
                     append('\n');
         }
         if (includeAnyObject) {
@@ -343,7 +368,9 @@ public abstract class AbstractProvisioningJobDelegate<T extends ProvisioningTask
                     append(' ').
                     append("[deleted/failures]: ").append(aSuccDelete.size()).append('/').append(aFailDelete.size()).
                     append(' ').
-                    append("[no operation/ignored]: ").append(aSuccNone.size()).append('/').append(aIgnore.size());
+                    append("[no operation/ignored]: ").append(aSuccNone.size()).append('/').append(aIgnore.size()).
+                    append(' ').
+                    append("[unchanged]: ").append(aUnchanged.size());
         }
         if (includeRealm) {
             report.append("Realms ").
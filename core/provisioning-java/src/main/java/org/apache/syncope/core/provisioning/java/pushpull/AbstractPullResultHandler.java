@@ -18,9 +18,19 @@
  */
 package org.apache.syncope.core.provisioning.java.pushpull;
 
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.crypto.Mac;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.syncope.common.lib.AnyOperations;
 import org.apache.syncope.common.lib.patch.AnyPatch;
@@ -36,8 +46,10 @@ import org.apache.syncope.common.lib.types.PullMode;
 import org.apache.syncope.common.lib.types.ResourceOperation;
 import org.apache.syncope.common.lib.types.UnmatchingRule;
 import org.apache.syncope.core.persistence.api.dao.NotFoundException;
+import org.apache.syncope.core.persistence.api.dao.PullFingerprintDAO;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationException;
 import org.apache.syncope.core.spring.security.DelegatedAdministrationException;
+import org.apache.syncope.core.spring.security.Encryptor;
 import org.apache.syncope.core.persistence.api.dao.VirSchemaDAO;
 import org.apache.syncope.core.persistence.api.entity.AnyUtils;
 import org.apache.syncope.core.persistence.api.entity.VirSchema;
@@ -53,8 +65,12 @@ import org.apache.syncope.core.provisioning.api.pushpull.ProvisioningReport;
 import org.apache.syncope.core.provisioning.api.pushpull.PullActions;
 import org.apache.syncope.core.provisioning.api.pushpull.SyncopePullExecutor;
 import org.apache.syncope.core.provisioning.api.pushpull.SyncopePullResultHandler;
+import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
 import org.apache.syncope.core.provisioning.java.utils.ConnObjectUtils;
+import org.identityconnectors.common.security.GuardedByteArray;
+import org.identityconnectors.common.security.GuardedString;
 import org.identityconnectors.framework.common.objects.Attribute;
+import org.identityconnectors.framework.common.objects.ConnectorObject;
 import org.identityconnectors.framework.common.objects.SyncDelta;
 import org.identityconnectors.framework.common.objects.SyncDeltaType;
 import org.quartz.JobExecutionException;
@@ -83,8 +99,16 @@ public abstract class AbstractPullResultHandler extends AbstractSyncopeResultHan
     @Autowired
     protected VirAttrCache virAttrCache;
 
+    @Autowired
+    protected PullFingerprintDAO pullFingerprintDAO;
+
     protected SyncopePullExecutor executor;
 
+    /**
+     * Fingerprints of mapping and template of the current task, by provision.
+     */
+    protected final Map<String, byte[]> provisionFingerprints = new ConcurrentHashMap<>();
+
     protected Result latestResult;
 
     protected abstract String getName(AnyTO anyTO);
@@ -168,6 +192,76 @@ public abstract class AbstractPullResultHandler extends AbstractSyncopeResultHan
         }
     }
 
+    protected Date findLastChange(final AnyTypeKind kind, final String key) {
+        switch (kind) {
+            case USER:
+                return userDAO.findLastChange(key);
+
+            case GROUP:
+                return groupDAO.findLastChange(key);
+
+            case ANY_OBJECT:
+            default:
+                return anyObjectDAO.findLastChange(key);
+        }
+    }
+
+    /**
+     * Computes the fingerprint of the given connector object, from the values of all the attributes read - e.g.
+     * the ones mapped plus any further requested by pull actions - and from the mapping itself plus the template
+     * and destination realm defined by the current task.
+     * As the values read might include passwords, the fingerprint is a HMAC keyed with the configured secret key,
+     * rather than a plain digest.
+     *
+     * @param connObj connector object
+     * @param provision provisioning info
+     * @return hex encoded fingerprint
+     */
+    protected String fingerprint(final ConnectorObject connObj, final Provision provision) {
+        Mac digest = newMac();
+        digest.update(provisionFingerprints.computeIfAbsent(provision.getKey(), k -> {
+            Mac provisionDigest = newMac();
+            provision.getMapping().getItems().forEach(item -> update(provisionDigest,
+                    item.getIntAttrName(), item.getExtAttrName(), item.getPurpose(), item.isConnObjectKey(),
+                    item.isPassword(), item.getPullJEXLTransformer(), item.getTransformerClassNames()));
+            profile.getTask().getTemplate(provision.getAnyType()).
+                    ifPresent(template -> update(provisionDigest, POJOHelper.serialize(template.get())));
+            update(provisionDigest, profile.getTask().getDestinatioRealm().getFullPath());
+            return provisionDigest.doFinal();
+        }));
+
+        connObj.getAttributes().stream().
+                sorted(Comparator.comparing(Attribute::getName)).forEachOrdered(attr -> {
+                    update(digest, attr.getName());
+                    if (attr.getValue() != null) {
+                        attr.getValue().forEach(value -> update(digest, value instanceof GuardedString
+                                || value instanceof GuardedByteArray
+                                        ? ConnObjectUtils.getPassword(value)
+                                        : value instanceof byte[]
+                                                ? Base64.getEncoder().encodeToString((byte[]) value)
+                                                : value));
+                    }
+                    digest.update((byte) 1);
+                });
+
+        return String.format("%064x", new BigInteger(1, digest.doFinal()));
+    }
+
+    private static Mac newMac() {
+        try {
+            return Encryptor.getInstance().newMac();
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void update(final Mac digest, final Object... values) {
+        for (Object value : values) {
+            digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+    }
+
     protected List<ProvisioningReport> assign(
             final SyncDelta delta, final Provision provision, final AnyUtils anyUtils)
             throws JobExecutionException {
@@ -307,6 +401,9 @@ public abstract class AbstractPullResultHandler extends AbstractSyncopeResultHan
 
         List<ProvisioningReport> results = new ArrayList<>();
 
+        String connObjectKey = delta.getUid().getUidValue();
+        String fingerprint = fingerprint(delta.getObject(), provision);
+
         SyncDelta workingDelta = delta;
         for (String key : anys) {
             LOG.debug("About to update {}", key);
@@ -317,6 +414,21 @@ public abstract class AbstractPullResultHandler extends AbstractSyncopeResultHan
             result.setStatus(ProvisioningReport.Status.SUCCESS);
             result.setKey(key);
 
+            if (pullFingerprintDAO.matches(
+                    profile.getTask().getResource().getKey(), provision.getAnyType().getKey(), connObjectKey,
+                    key, fingerprint, findLastChange(provision.getAnyType().getKind(), key))) {
+
+                LOG.debug("{} {} unchanged since latest pull", provision.getAnyType().getKey(), key);
+
+                result.setOperation(ResourceOperation.NONE);
+                result.setStatus(ProvisioningReport.Status.UNCHANGED);
+                result.setName(delta.getObject().getName().getNameValue());
+                results.add(result);
+
+                finalize(MatchingRule.toEventName(MatchingRule.UPDATE), Result.SUCCESS, null, null, delta);
+                continue;
+            }
+
             AnyTO before = getAnyTO(key);
             if (before == null) {
                 result.setStatus(ProvisioningReport.Status.FAILURE);
@@ -347,8 +459,16 @@ public abstract class AbstractPullResultHandler extends AbstractSyncopeResultHan
                             workingDelta = action.beforeUpdate(profile, workingDelta, before, anyPatch);
                         }
 
-                        effectivePatch = doUpdate(before, anyPatch, workingDelta, result);
-                        AnyTO updated = AnyOperations.patch(before, effectivePatch);
+                        AnyTO updated;
+                        if (anyPatch.isEmpty()) {
+                            LOG.debug("Nothing to update for {} {}", provision.getAnyType().getKey(), key);
+
+                            effectivePatch = anyPatch;
+                            updated = before;
+                        } else {
+                            effectivePatch = doUpdate(before, anyPatch, workingDelta, result);
+                            updated = AnyOperations.patch(before, effectivePatch);
+                        }
 
                         for (PullActions action : profile.getActions()) {
                             action.after(profile, workingDelta, updated, result);
@@ -358,6 +478,13 @@ public abstract class AbstractPullResultHandler extends AbstractSyncopeResultHan
                         resultStatus = Result.SUCCESS;
                         result.setName(getName(updated));
 
+                        if (result.getStatus() == ProvisioningReport.Status.SUCCESS) {
+                            pullFingerprintDAO.save(
+                                    profile.getTask().getResource().getKey(), provision.getAnyType().getKey(),
+                                    connObjectKey, key, fingerprint,
+                                    findLastChange(provision.getAnyType().getKind(), key));
+                        }
+
                         LOG.debug("{} {} successfully updated", provision.getAnyType().getKey(), key);
                     } catch (PropagationException e) {
                         // A propagation failure doesn't imply a pull failure.
@@ -710,7 +837,11 @@ public abstract class AbstractPullResultHandler extends AbstractSyncopeResultHan
                 : delta.getPreviousUid().getUidValue();
 
         try {
-            List<String> anyKeys = pullUtils.findExisting(uid, delta.getObject(), provision, anyUtils);
+            // look up the correlation index first, if available: any object not found there might have been
+            // created during the current pull, hence fall back to queries
+            List<String> anyKeys = executor.getCorrelationIndex(provision).
+                    flatMap(index -> pullUtils.findIndexed(uid, provision, anyUtils, index)).
+                    orElseGet(() -> pullUtils.findExisting(uid, delta.getObject(), provision, anyUtils));
             LOG.debug("Match(es) found for {} as {}: {}",
                     delta.getUid().getUidValue(), delta.getObject().getObjectClass(), anyKeys);
 
@@ -30,6 +30,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.syncope.common.lib.collections.IteratorChain;
 import org.apache.syncope.common.lib.policy.PullPolicySpec;
 import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.apache.syncope.core.persistence.api.dao.ConfDAO;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
 import org.apache.syncope.core.persistence.api.dao.NotFoundException;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
@@ -72,8 +73,13 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
     @Autowired
     protected PullUtils pullUtils;
 
+    @Autowired
+    protected ConfDAO confDAO;
+
     protected final Map<ObjectClass, SyncToken> latestSyncTokens = new HashMap<>();
 
+    protected final Map<String, Map<String, List<String>>> correlationIndexes = new HashMap<>();
+
     protected ProvisioningProfile<PullTask, PullActions> profile;
 
     protected RealmPullResultHandler rhandler;
@@ -89,6 +95,19 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
         latestSyncTokens.put(objectClass, latestSyncToken);
     }
 
+    @Override
+    public Optional<Map<String, List<String>>> getCorrelationIndex(final Provision provision) {
+        return Optional.ofNullable(correlationIndexes.get(provision.getKey()));
+    }
+
+    protected void buildCorrelationIndex(final Provision provision) {
+        long maxSize = confDAO.find("pull.correlationIndex.maxSize", 100000L);
+        if (maxSize > 0) {
+            pullUtils.buildCorrelationIndex(provision, maxSize).
+                    ifPresent(index -> correlationIndexes.put(provision.getKey(), index));
+        }
+    }
+
     protected void setGroupOwners(final GroupPullResultHandler ghandler) {
         ghandler.getGroupOwnerMap().entrySet().stream().map(entry -> {
             Group group = groupDAO.find(entry.getKey());
@@ -188,6 +207,7 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
         profile.setResAct(getPullPolicySpec(pullTask).getConflictResolutionAction());
 
         latestSyncTokens.clear();
+        correlationIndexes.clear();
 
         if (!profile.isDryRun()) {
             for (PullActions action : actions) {
@@ -301,6 +321,7 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
                                             createBean(
                                                     Class.forName(pullTask.getReconciliationFilterBuilderClassName()),
                                                     AbstractBeanDefinition.AUTOWIRE_BY_NAME, false);
+                            buildCorrelationIndex(provision);
                             connector.filteredReconciliation(provision.getObjectClass(),
                                     filterBuilder,
                                     handler,
@@ -309,6 +330,7 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
 
                         case FULL_RECONCILIATION:
                         default:
+                            buildCorrelationIndex(provision);
                             connector.fullReconciliation(provision.getObjectClass(),
                                     handler,
                                     options);
@@ -21,10 +21,13 @@ package org.apache.syncope.core.provisioning.java.pushpull;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.common.lib.types.AttrSchemaType;
+import org.apache.syncope.common.lib.types.SchemaType;
 import org.apache.syncope.common.lib.policy.PullPolicySpec;
 import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
 import org.apache.syncope.core.persistence.api.attrvalue.validation.ParsingValidationException;
@@ -171,15 +174,11 @@ public class PullUtils {
                         : groupDAO;
     }
 
-    private List<String> findByConnObjectKeyItem(
-            final String uid, final Provision provision, final AnyUtils anyUtils) {
-
-        Optional<MappingItem> connObjectKeyItem = MappingUtils.getConnObjectKeyItem(provision);
-
+    private String transform(final String uid, final MappingItem connObjectKeyItem) {
         String transfUid = uid;
-        for (ItemTransformer transformer : MappingUtils.getItemTransformers(connObjectKeyItem.get())) {
+        for (ItemTransformer transformer : MappingUtils.getItemTransformers(connObjectKeyItem)) {
             List<Object> output = transformer.beforePull(
-                    connObjectKeyItem.get(),
+                    connObjectKeyItem,
                     null,
                     Collections.<Object>singletonList(transfUid));
             if (output != null && !output.isEmpty()) {
@@ -187,6 +186,16 @@ public class PullUtils {
             }
         }
 
+        return transfUid;
+    }
+
+    private List<String> findByConnObjectKeyItem(
+            final String uid, final Provision provision, final AnyUtils anyUtils) {
+
+        Optional<MappingItem> connObjectKeyItem = MappingUtils.getConnObjectKeyItem(provision);
+
+        String transfUid = transform(uid, connObjectKeyItem.get());
+
         List<String> result = new ArrayList<>();
 
         IntAttrName intAttrName = intAttrNameParser.parse(
@@ -326,6 +335,156 @@ public class PullUtils {
         }
     }
 
+    /**
+     * Builds, with a single query per involved DAO, an index of all existing any objects by the value of the
+     * internal attribute mapped as connObjectKey for the given provision; this avoids running one query for each
+     * object received during full or filtered reconciliation.
+     * No index is built if a pull correlation rule is defined, if the connObjectKey is mapped on key, derived or
+     * binary attributes, or if there are more than the given number of any objects.
+     *
+     * @param provision external resource
+     * @param maxSize maximum number of existing any objects for the index to be built
+     * @return index from connObjectKey value to matching any object keys, if built
+     */
+    public Optional<Map<String, List<String>>> buildCorrelationIndex(final Provision provision, final long maxSize) {
+        PullPolicySpec pullPolicySpec = null;
+        if (provision.getResource().getPullPolicy() != null) {
+            pullPolicySpec = provision.getResource().getPullPolicy().getSpecification();
+        }
+        if (pullPolicySpec != null && getCorrelationRule(provision, pullPolicySpec) != null) {
+            return Optional.empty();
+        }
+
+        Optional<MappingItem> connObjectKeyItem = MappingUtils.getConnObjectKeyItem(provision);
+        if (!connObjectKeyItem.isPresent()) {
+            return Optional.empty();
+        }
+
+        AnyDAO<?> anyDAO = getAnyDAO(provision.getAnyType().getKind());
+        if (anyDAO.count() > maxSize) {
+            LOG.debug("More than {} {} found, not building correlation index", maxSize, provision.getAnyType());
+            return Optional.empty();
+        }
+
+        Map<String, List<String>> index = null;
+        try {
+            IntAttrName intAttrName = intAttrNameParser.parse(
+                    connObjectKeyItem.get().getIntAttrName(),
+                    provision.getAnyType().getKind());
+
+            if (intAttrName.getField() != null) {
+                switch (intAttrName.getField()) {
+                    case "username":
+                        index = userDAO.findKeysByName();
+                        break;
+
+                    case "name":
+                        index = groupDAO.findKeysByName();
+                        for (Map.Entry<String, List<String>> entry : anyObjectDAO.findKeysByName().entrySet()) {
+                            index.computeIfAbsent(entry.getKey(), k -> new ArrayList<>()).addAll(entry.getValue());
+                        }
+                        break;
+
+                    default:
+                }
+            } else if (intAttrName.getSchemaType() == SchemaType.PLAIN) {
+                PlainSchema schema = plainSchemaDAO.find(intAttrName.getSchemaName());
+                if (schema != null && schema.getType() != AttrSchemaType.Binary) {
+                    index = anyDAO.findKeysByPlainAttrValue(schema.getKey());
+                }
+            }
+        } catch (RuntimeException e) {
+            LOG.error("While building correlation index for {}", provision, e);
+        }
+
+        LOG.debug("Correlation index for {}: {}", provision, index == null ? "not built" : index.size() + " entries");
+        return Optional.ofNullable(index);
+    }
+
+    /**
+     * Find any objects based on mapped uid value (or previous uid value, if updated), by looking up the given index.
+     * As the index was built at the beginning of the pull, each indexed match is verified to still exist and bear
+     * the given uid value.
+     *
+     * @param uid for finding by connObjectKey
+     * @param provision external resource
+     * @param anyUtils any util
+     * @param correlationIndex as built by {@link #buildCorrelationIndex(Provision, long)}
+     * @return list of matching users / groups, or empty if the given uid was not found in the index or if any of the
+     * indexed matches has changed meanwhile
+     */
+    public Optional<List<String>> findIndexed(
+            final String uid,
+            final Provision provision,
+            final AnyUtils anyUtils,
+            final Map<String, List<String>> correlationIndex) {
+
+        Optional<MappingItem> connObjectKeyItem = MappingUtils.getConnObjectKeyItem(provision);
+
+        String indexKey = transform(uid, connObjectKeyItem.get());
+
+        IntAttrName intAttrName = intAttrNameParser.parse(
+                connObjectKeyItem.get().getIntAttrName(),
+                provision.getAnyType().getKind());
+        if (intAttrName.getSchemaType() == SchemaType.PLAIN) {
+            PlainSchema schema = plainSchemaDAO.find(intAttrName.getSchemaName());
+            PlainAttrValue value = anyUtils.newPlainAttrValue();
+            try {
+                value.parseValue(schema, indexKey);
+                indexKey = value.getValueAsString(schema.getType());
+            } catch (ParsingValidationException e) {
+                LOG.debug("While parsing provided __UID__ {}", indexKey, e);
+                return Optional.empty();
+            }
+        }
+
+        List<String> anyKeys = correlationIndex.get(indexKey);
+        if (anyKeys == null) {
+            return Optional.empty();
+        }
+
+        for (String anyKey : anyKeys) {
+            if (!stillMatches(anyKey, intAttrName, provision, indexKey)) {
+                LOG.debug("Indexed match {} for {} has changed, not using correlation index", anyKey, indexKey);
+                return Optional.empty();
+            }
+        }
+        return Optional.of(new ArrayList<>(anyKeys));
+    }
+
+    private boolean stillMatches(
+            final String anyKey, final IntAttrName intAttrName, final Provision provision, final String indexKey) {
+
+        if (intAttrName.getField() != null) {
+            switch (intAttrName.getField()) {
+                case "username":
+                    User user = userDAO.find(anyKey);
+                    return user != null && indexKey.equals(user.getUsername());
+
+                case "name":
+                    Group group = groupDAO.find(anyKey);
+                    if (group != null) {
+                        return indexKey.equals(group.getName());
+                    }
+                    AnyObject anyObject = anyObjectDAO.find(anyKey);
+                    return anyObject != null && indexKey.equals(anyObject.getName());
+
+                default:
+                    return false;
+            }
+        }
+
+        Any<?> any = getAnyDAO(provision.getAnyType().getKind()).find(anyKey);
+        if (any == null) {
+            return false;
+        }
+        PlainSchema schema = plainSchemaDAO.find(intAttrName.getSchemaName());
+        return any.getPlainAttr(intAttrName.getSchemaName()).map(attr -> attr.getUniqueValue() == null
+                ? attr.getValues().stream().anyMatch(value -> indexKey.equals(value.getValueAsString(schema.getType())))
+                : indexKey.equals(attr.getUniqueValue().getValueAsString(schema.getType()))).
+                orElse(false);
+    }
+
     public List<String> findExisting(
             final String uid,
             final ConnectorObject connObj,
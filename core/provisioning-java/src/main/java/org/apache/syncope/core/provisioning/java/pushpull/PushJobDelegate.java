@@ -20,8 +20,10 @@ package org.apache.syncope.core.provisioning.java.pushpull;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.core.persistence.api.search.SearchCondConverter;
@@ -32,7 +34,6 @@ import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
 import org.apache.syncope.core.persistence.api.dao.RealmDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
-import org.apache.syncope.core.persistence.api.dao.search.OrderByClause;
 import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.persistence.api.entity.Any;
 import org.apache.syncope.core.persistence.api.entity.Realm;
@@ -108,12 +109,13 @@ public class PushJobDelegate extends AbstractProvisioningJobDelegate<PushTask> {
     }
 
     protected void doHandle(
-            final List<? extends Any<?>> anys,
+            final Stream<? extends Any<?>> anys,
             final SyncopePushResultHandler handler,
             final ExternalResource resource)
             throws JobExecutionException {
 
-        for (Any<?> any : anys) {
+        for (Iterator<? extends Any<?>> itor = anys.iterator(); itor.hasNext();) {
+            Any<?> any = itor.next();
             try {
                 handler.handle(any.getKey());
             } catch (Exception e) {
@@ -235,20 +237,15 @@ public class PushJobDelegate extends AbstractProvisioningJobDelegate<PushTask> {
                 SearchCond cond = StringUtils.isBlank(filter)
                         ? anyDAO.getAllMatchingCond()
                         : SearchCondConverter.convert(filter);
-                int count = searchDAO.count(
+                // any objects are only read here: each is pushed, and possibly updated (e.g. when linking), in its
+                // own transaction, so that they can be detached once consumed
+                Stream<? extends Any<?>> anys = searchDAO.stream(
                         Collections.singleton(profile.getTask().getSourceRealm().getFullPath()),
                         cond,
+                        AnyDAO.DEFAULT_FETCH_SIZE,
+                        true,
                         provision.getAnyType().getKind());
-                for (int page = 1; page <= (count / AnyDAO.DEFAULT_PAGE_SIZE) + 1; page++) {
-                    List<? extends Any<?>> anys = searchDAO.search(
-                            Collections.singleton(profile.getTask().getSourceRealm().getFullPath()),
-                            cond,
-                            page,
-                            AnyDAO.DEFAULT_PAGE_SIZE,
-                            Collections.<OrderByClause>emptyList(),
-                            provision.getAnyType().getKind());
-                    doHandle(anys, handler, pushTask.getResource());
-                }
+                doHandle(anys, handler, pushTask.getResource());
             }
         }
 
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.util.List;
+import org.apache.syncope.core.provisioning.api.metrics.MetricsRegistry;
+import org.apache.syncope.core.provisioning.api.utils.URIUtils;
+import org.junit.Test;
+
+public class ConnIdBundleManagerTest {
+
+    @Test
+    public void buildForConnIds() throws Exception {
+        List<URI> uris = URIUtils.buildForConnIds(
+                "connid://key@host1:4554, connids://key@host2:4554?trustAllCerts=true,");
+        assertEquals(2, uris.size());
+        assertEquals("host1", uris.get(0).getHost());
+        assertEquals("host2", uris.get(1).getHost());
+
+        assertEquals("connids://host2:4554", ConnIdBundleManagerImpl.toLabel(uris.get(1)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void buildForConnIdsWithInvalid() throws Exception {
+        URIUtils.buildForConnIds("connid://key@host1:4554,http://host2");
+    }
+
+    @Test
+    public void checkLocations() throws IOException {
+        int closedPort;
+        try (ServerSocket closed = new ServerSocket(0)) {
+            closedPort = closed.getLocalPort();
+        }
+
+        try (ServerSocket open = new ServerSocket(0)) {
+            URI up = URI.create("connid://key@localhost:" + open.getLocalPort());
+            URI down = URI.create("connid://key@localhost:" + closedPort);
+
+            ConnIdBundleManagerImpl bundleManager = new ConnIdBundleManagerImpl();
+            bundleManager.setStringLocations(up + "," + down);
+            bundleManager.setHealthCheckTimeout(1000);
+
+            bundleManager.checkLocations();
+            assertTrue(bundleManager.isAvailable(up));
+            assertFalse(bundleManager.isAvailable(down));
+            assertEquals(0, MetricsRegistry.getInstance().gauge("syncope_connid_location_up", "",
+                    "location", ConnIdBundleManagerImpl.toLabel(down)).get(), 0);
+
+            // flagged by a failing request, then restored by the next health check
+            bundleManager.setUnavailable(up);
+            assertFalse(bundleManager.isAvailable(up));
+            bundleManager.checkLocations();
+            assertTrue(bundleManager.isAvailable(up));
+            assertEquals(1, MetricsRegistry.getInstance().gauge("syncope_connid_location_up", "",
+                    "location", ConnIdBundleManagerImpl.toLabel(up)).get(), 0);
+        }
+    }
+
+    @Test
+    public void connManagersVersion() {
+        ConnIdBundleManagerImpl bundleManager = new ConnIdBundleManagerImpl();
+        bundleManager.setStringLocations("connid://key@localhost:4554");
+
+        long version = bundleManager.getConnManagersVersion();
+        bundleManager.setUnavailable(bundleManager.getLocations().get(0));
+        assertEquals(version, bundleManager.getConnManagersVersion());
+
+        bundleManager.resetConnManagers();
+        assertNotEquals(version, bundleManager.getConnManagersVersion());
+    }
+}
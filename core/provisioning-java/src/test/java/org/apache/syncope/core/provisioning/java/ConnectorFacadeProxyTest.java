@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.net.ConnectException;
+import java.net.URI;
+import org.identityconnectors.framework.common.exceptions.ConnectionFailedException;
+import org.identityconnectors.framework.common.exceptions.ConnectorIOException;
+import org.junit.Test;
+
+public class ConnectorFacadeProxyTest {
+
+    @Test
+    public void isTransportFailure() {
+        URI remote = URI.create("connid://key@localhost:4554");
+        URI local = URI.create("file:/opt/bundles");
+
+        // the connector server could not be reached
+        ConnectorIOException unreachable = new ConnectorIOException(
+                "Failed to init remote connection", new ConnectException("Connection refused"));
+        assertTrue(ConnectorFacadeProxy.isTransportFailure(remote, unreachable));
+        assertTrue(ConnectorFacadeProxy.isTransportFailure(remote, new IllegalArgumentException(unreachable)));
+
+        // the connector could not reach its own backend
+        assertFalse(ConnectorFacadeProxy.isTransportFailure(remote, new ConnectorIOException("LDAP server down")));
+        assertFalse(ConnectorFacadeProxy.isTransportFailure(remote, new ConnectionFailedException("Refused")));
+        assertFalse(ConnectorFacadeProxy.isTransportFailure(local, unreachable));
+    }
+}
@@ -20,6 +20,7 @@ package org.apache.syncope.core.provisioning.java;
 
 import static org.junit.Assert.assertEquals;
 
+import javax.annotation.Resource;
 import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
 import org.apache.syncope.core.provisioning.api.ConnIdBundleManager;
 import org.apache.syncope.core.provisioning.api.Connector;
@@ -27,6 +28,7 @@ import org.apache.syncope.core.spring.ApplicationContextProvider;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -41,11 +43,15 @@ public class ConnectorManagerTest extends AbstractTest {
     @Autowired
     private ExternalResourceDAO resourceDAO;
 
+    @Resource(name = "connectorManagerBootstrapExecutor")
+    private ThreadPoolTaskExecutor bootstrapExecutor;
+
     @Before
     public void before() {
         connManager = new ConnectorManager();
         ReflectionTestUtils.setField(connManager, "connIdBundleManager", connIdBundleManager);
         ReflectionTestUtils.setField(connManager, "resourceDAO", resourceDAO);
+        ReflectionTestUtils.setField(connManager, "bootstrapExecutor", bootstrapExecutor);
 
         // Remove any other connector instance bean set up by standard ConnectorManager.load()
         connManager.unload();
@@ -55,11 +61,8 @@ public class ConnectorManagerTest extends AbstractTest {
     public void load() {
         connManager.load();
 
-        // only consider local connector bundles
-        long expected = resourceDAO.findAll().stream().
-                filter(resource -> resource.getConnector().getLocation().startsWith("file")).count();
-
-        assertEquals(expected,
+        // connectors are registered for all resources, even if not (yet) reachable
+        assertEquals(resourceDAO.findAll().size(),
                 ApplicationContextProvider.getBeanFactory().
                         getBeanNamesForType(Connector.class, false, true).length);
     }
@@ -0,0 +1,237 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.job;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import org.apache.commons.io.IOUtils;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.common.lib.types.AttrSchemaType;
+import org.apache.syncope.common.lib.types.PropagationTaskExecStatus;
+import org.apache.syncope.common.lib.types.ResourceOperation;
+import org.apache.syncope.core.persistence.api.dao.ConfDAO;
+import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
+import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
+import org.apache.syncope.core.persistence.api.dao.TaskDAO;
+import org.apache.syncope.core.persistence.api.entity.EntityFactory;
+import org.apache.syncope.core.persistence.api.entity.PlainSchema;
+import org.apache.syncope.core.persistence.api.entity.conf.CPlainAttr;
+import org.apache.syncope.core.persistence.api.entity.conf.CPlainAttrValue;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationTask;
+import org.apache.syncope.core.persistence.api.entity.task.SchedTask;
+import org.apache.syncope.core.persistence.api.entity.task.TaskExec;
+import org.apache.syncope.core.provisioning.java.AbstractTest;
+import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.identityconnectors.framework.common.objects.AttributeBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.quartz.JobExecutionException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+public class TaskRetentionPurgeTest extends AbstractTest {
+
+    private static final String DAYS = "tasks.retention.PROPAGATION.SUCCESS.days";
+
+    private static final String CHUNK_SIZE = "tasks.retention.chunkSize";
+
+    private static final String ARCHIVE_DIRECTORY = "tasks.retention.archiveDirectory";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Autowired
+    private TaskDAO taskDAO;
+
+    @Autowired
+    private ConfDAO confDAO;
+
+    @Autowired
+    private PlainSchemaDAO plainSchemaDAO;
+
+    @Autowired
+    private ExternalResourceDAO resourceDAO;
+
+    @Autowired
+    private EntityFactory entityFactory;
+
+    private TransactionTemplate txTemplate;
+
+    private final List<String> expired = new ArrayList<>();
+
+    private static List<String> read(final File archive) throws IOException {
+        // one gzip member per chunk
+        try (InputStream is = new GZIPInputStream(Files.newInputStream(archive.toPath()))) {
+            return IOUtils.readLines(is, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static Date date(final int year) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(year, 0, 1);
+        return calendar.getTime();
+    }
+
+    @Before
+    public void setUp() {
+        txTemplate = new TransactionTemplate(ApplicationContextProvider.getBeanFactory().
+                getBean("MasterTransactionManager", PlatformTransactionManager.class));
+
+        // propagation tasks succeeded well before any found in test content
+        txTemplate.execute(status -> {
+            for (int i = 0; i < 2; i++) {
+                PropagationTask task = entityFactory.newEntity(PropagationTask.class);
+                task.setResource(resourceDAO.find("ws-target-resource-1"));
+                task.setAnyTypeKind(AnyTypeKind.USER);
+                task.setAnyType(AnyTypeKind.USER.name());
+                task.setOperation(ResourceOperation.UPDATE);
+                task.setConnObjectKey("retention" + i);
+                task.setAttributes(Collections.singleton(AttributeBuilder.build("surname", "retention" + i)));
+
+                TaskExec exec = entityFactory.newEntity(TaskExec.class);
+                exec.setTask(task);
+                exec.setStatus(PropagationTaskExecStatus.SUCCESS.name());
+                exec.setStart(date(1990));
+                exec.setEnd(date(1990));
+                task.add(exec);
+
+                expired.add(taskDAO.save(task).getKey());
+            }
+            return null;
+        });
+        Collections.sort(expired);
+    }
+
+    @After
+    public void cleanUp() {
+        txTemplate.execute(status -> {
+            for (String key : Arrays.asList(DAYS, CHUNK_SIZE, ARCHIVE_DIRECTORY)) {
+                if (plainSchemaDAO.find(key) != null) {
+                    confDAO.delete(key);
+                    plainSchemaDAO.delete(key);
+                }
+            }
+            expired.forEach(taskDAO::delete);
+            return null;
+        });
+    }
+
+    private void setConf(final String key, final AttrSchemaType type, final String value) {
+        txTemplate.execute(status -> {
+            PlainSchema schema = entityFactory.newEntity(PlainSchema.class);
+            schema.setKey(key);
+            schema.setType(type);
+            schema = plainSchemaDAO.save(schema);
+
+            CPlainAttr attr = entityFactory.newEntity(CPlainAttr.class);
+            attr.setOwner(confDAO.get());
+            attr.setSchema(schema);
+            attr.add(value, entityFactory.newEntity(CPlainAttrValue.class));
+            return confDAO.save(attr);
+        });
+    }
+
+    private TaskRetentionPurge newJob() {
+        TaskRetentionPurge job = AopTestUtils.getTargetObject(ApplicationContextProvider.getBeanFactory().
+                createBean(TaskRetentionPurge.class, AbstractBeanDefinition.AUTOWIRE_BY_TYPE, false));
+        ReflectionTestUtils.setField(job, "task", entityFactory.newEntity(SchedTask.class));
+        return job;
+    }
+
+    private String execute(final TaskRetentionPurge job, final boolean dryRun) {
+        // as AbstractSchedTaskJobDelegate#execute does, while each chunk is purged in its own transaction
+        return txTemplate.execute(status -> {
+            try {
+                return job.doExecute(dryRun);
+            } catch (JobExecutionException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    @Test
+    public void archiveOneMemberPerChunk() throws IOException {
+        File archive = new File(folder.getRoot(), "archive.json.gz");
+        TaskRetentionPurge.Archiver archiver = new TaskRetentionPurge.Archiver(archive);
+
+        // each chunk can be read back as soon as handed over, before its transaction commits
+        archiver.accept(Arrays.asList("first", "second"));
+        assertEquals(2, read(archive).size());
+
+        archiver.accept(Arrays.asList());
+        archiver.accept(Arrays.asList("third"));
+        List<String> lines = read(archive);
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(2).contains("third"));
+    }
+
+    @Test
+    public void purge() throws IOException {
+        // only tasks ended before 2000 are expired
+        long days = TimeUnit.MILLISECONDS.toDays(System.currentTimeMillis() - date(2000).getTime());
+        setConf(DAYS, AttrSchemaType.Long, String.valueOf(days));
+        setConf(CHUNK_SIZE, AttrSchemaType.Long, "1");
+        setConf(ARCHIVE_DIRECTORY, AttrSchemaType.String, folder.getRoot().getAbsolutePath());
+        TaskRetentionPurge job = newJob();
+
+        // dry run: nothing purged nor archived
+        assertTrue(execute(job, true).contains(
+                "PROPAGATION SUCCESS older than " + days + " days: 2 task(s) to be purged"));
+        expired.forEach(key -> assertNotNull(taskDAO.find(key)));
+        assertEquals(0, folder.getRoot().listFiles().length);
+
+        assertTrue(execute(job, false).contains(
+                "PROPAGATION SUCCESS older than " + days + " days: 2 task(s) purged"));
+        expired.forEach(key -> assertNull(taskDAO.find(key)));
+        assertNotNull(taskDAO.find("1e697572-b896-484c-ae7f-0c8f63fcbc6c"));
+
+        File[] archives = folder.getRoot().listFiles();
+        assertEquals(1, archives.length);
+        assertTrue(archives[0].getName().startsWith("Master_PROPAGATION_SUCCESS_tasks_"));
+        List<String> lines = read(archives[0]);
+        assertEquals(2, lines.size());
+        for (int i = 0; i < expired.size(); i++) {
+            assertTrue(lines.get(i).contains(expired.get(i)));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.rest.cxf;
+
+import java.io.IOException;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.ext.Provider;
+import org.apache.syncope.core.provisioning.api.metrics.MetricsRegistry;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Records latency of each REST request, by service, method and response status.
+ */
+@Provider
+public class MetricsFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    private static final String START_PROPERTY = MetricsFilter.class.getName() + ".start";
+
+    @Context
+    private ResourceInfo resourceInfo;
+
+    @Override
+    public void filter(final ContainerRequestContext reqCtx) throws IOException {
+        reqCtx.setProperty(START_PROPERTY, System.nanoTime());
+    }
+
+    @Override
+    public void filter(final ContainerRequestContext reqCtx, final ContainerResponseContext resCtx) throws IOException {
+        Object start = reqCtx.getProperty(START_PROPERTY);
+        if (start instanceof Long) {
+            String service = "unmatched";
+            String method = "unmatched";
+            if (resourceInfo != null && resourceInfo.getResourceClass() != null) {
+                service = ClassUtils.getUserClass(resourceInfo.getResourceClass()).getSimpleName();
+                method = resourceInfo.getResourceMethod().getName();
+            }
+
+            MetricsRegistry.getInstance().timer(
+                    "syncope_rest_request_seconds", "REST request latency",
+                    "service", service, "method", method, "status", String.valueOf(resCtx.getStatus())).
+                    recordSince((Long) start);
+        }
+    }
+}
@@ -47,7 +47,7 @@ public class SyncopeSwagger2Customizer extends Swagger2Customizer {
         if (domains == null) {
             domains = new ArrayList<>(
                     ApplicationContextProvider.getApplicationContext().
-                    getBean(DomainsHolder.class).getDomains().keySet());
+                    getBean(DomainsHolder.class).getAvailableDomains());
         }
 
         boolean domainHeaderParameterFound = false;
@@ -21,6 +21,7 @@ package org.apache.syncope.core.rest.cxf;
 import javax.servlet.ServletRequestEvent;
 import javax.servlet.ServletRequestListener;
 import org.apache.syncope.core.provisioning.api.utils.FormatUtils;
+import org.apache.syncope.core.spring.security.AuthorizationCache;
 import org.identityconnectors.common.l10n.CurrentLocale;
 import org.identityconnectors.framework.impl.api.local.ThreadClassLoaderManager;
 
@@ -37,6 +38,7 @@ public class ThreadLocalCleanupListener implements ServletRequestListener {
     @Override
     public void requestDestroyed(final ServletRequestEvent sre) {
         FormatUtils.clear();
+        AuthorizationCache.clear();
 
         ThreadClassLoaderManager.clearInstance();
         CurrentLocale.clear();
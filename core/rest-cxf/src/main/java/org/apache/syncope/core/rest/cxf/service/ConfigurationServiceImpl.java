@@ -68,4 +68,9 @@ public class ConfigurationServiceImpl extends AbstractServiceImpl implements Con
     public void set(final AttrTO value) {
         logic.set(value);
     }
+
+    @Override
+    public void reload() {
+        logic.reload();
+    }
 }
@@ -18,9 +18,23 @@
  */
 package org.apache.syncope.core.rest.cxf.service;
 
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
 import java.text.ParseException;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import javax.annotation.Resource;
 import javax.ws.rs.BadRequestException;
+import javax.ws.rs.InternalServerErrorException;
+import javax.ws.rs.ServiceUnavailableException;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.syncope.common.lib.log.EventCategoryTO;
 import org.apache.syncope.common.lib.log.LogAppender;
 import org.apache.syncope.common.lib.log.LogStatementTO;
@@ -31,14 +45,20 @@ import org.apache.syncope.common.rest.api.LoggerWrapper;
 import org.apache.syncope.common.rest.api.service.LoggerService;
 import org.apache.syncope.core.logic.LoggerLogic;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
 import org.springframework.stereotype.Service;
 
 @Service
 public class LoggerServiceImpl extends AbstractServiceImpl implements LoggerService {
 
+    private static final int STREAM_BUFFER_SIZE = 8192;
+
     @Autowired
     private LoggerLogic logic;
 
+    @Resource(name = "logStatementStreamExecutor")
+    private Executor logStatementStreamExecutor;
+
     @Override
     public List<LogAppender> memoryAppenders() {
         return logic.memoryAppenders();
@@ -49,6 +69,61 @@ public class LoggerServiceImpl extends AbstractServiceImpl implements LoggerServ
         return logic.getLastLogStatements(memoryAppender);
     }
 
+    @Override
+    public List<LogStatementTO> getLogStatements(final String memoryAppender, final long since) {
+        return logic.getLogStatements(memoryAppender, since);
+    }
+
+    @Override
+    public void streamLogStatements(final String memoryAppender, final long since, final AsyncResponse asyncResponse) {
+        // fails on the request thread, hence with proper status, for unknown appenders or missing entitlements
+        logic.getLogStatements(memoryAppender, Long.MAX_VALUE);
+
+        long lastEventId = NumberUtils.toLong(
+                messageContext.getHttpHeaders().getHeaderString(HttpHeaders.LAST_EVENT_ID_HEADER), 0);
+
+        PipedInputStream in = new PipedInputStream(STREAM_BUFFER_SIZE);
+        PipedOutputStream out;
+        try {
+            out = new PipedOutputStream(in);
+        } catch (IOException e) {
+            asyncResponse.resume(new InternalServerErrorException(e));
+            return;
+        }
+
+        try {
+            // appender polling and event writing take place in the bounded pool, with the caller's security context;
+            // the container thread serving the response only relays what is written there
+            logStatementStreamExecutor.execute(new DelegatingSecurityContextRunnable(() -> {
+                try {
+                    logic.streamLogStatements(memoryAppender, Math.max(since, lastEventId), out);
+                } finally {
+                    IOUtils.closeQuietly(out);
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            LOG.warn("Too many log statement streams, rejecting request for {}", memoryAppender);
+            IOUtils.closeQuietly(in);
+            asyncResponse.resume(new ServiceUnavailableException());
+            return;
+        }
+
+        StreamingOutput sout = (os) -> {
+            try {
+                byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    os.write(buffer, 0, read);
+                    os.flush();
+                }
+            } finally {
+                // makes the pool thread stop writing on client disconnection
+                IOUtils.closeQuietly(in);
+            }
+        };
+        asyncResponse.resume(Response.ok(sout).header(HttpHeaders.CACHE_CONTROL, "no-cache").build());
+    }
+
     @Override
     public void delete(final LoggerType type, final String name) {
         switch (type) {
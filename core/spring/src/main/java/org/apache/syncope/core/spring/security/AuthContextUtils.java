@@ -121,6 +121,8 @@ public final class AuthContextUtils {
 
     public static <T> T execWithAuthContext(final String domainKey, final Executable<T> executable) {
         SecurityContext ctx = SecurityContextHolder.getContext();
+        // work on a new context, as the current one is restored afterwards
+        SecurityContextHolder.setContext(SecurityContextHolder.createEmptyContext());
         setFakeAuth(domainKey);
         try {
             return executable.exec();
@@ -128,6 +130,7 @@ public final class AuthContextUtils {
             LOG.debug("Error during execution with domain {} context", domainKey, t);
             throw t;
         } finally {
+            AuthorizationCache.clear();
             SecurityContextHolder.clearContext();
             SecurityContextHolder.setContext(ctx);
         }
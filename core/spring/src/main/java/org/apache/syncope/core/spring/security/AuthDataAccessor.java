@@ -18,27 +18,33 @@
  */
 package org.apache.syncope.core.spring.security;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import javax.annotation.Resource;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.SyncopeConstants;
-import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.common.lib.types.AuditElements;
 import org.apache.syncope.common.lib.types.StandardEntitlement;
 import org.apache.syncope.core.persistence.api.ImplementationLookup;
 import org.apache.syncope.core.persistence.api.dao.AccessTokenDAO;
-import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
+import org.apache.syncope.core.persistence.api.dao.LoginIdentifierDAO;
 import org.apache.syncope.core.provisioning.api.utils.RealmUtils;
 import org.apache.syncope.core.persistence.api.dao.AnyTypeDAO;
 import org.apache.syncope.core.persistence.api.dao.ConfDAO;
@@ -46,24 +52,22 @@ import org.apache.syncope.core.persistence.api.dao.DomainDAO;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
 import org.apache.syncope.core.persistence.api.dao.RealmDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
-import org.apache.syncope.core.persistence.api.dao.search.AttributeCond;
-import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.persistence.api.entity.AccessToken;
 import org.apache.syncope.core.persistence.api.entity.Domain;
-import org.apache.syncope.core.persistence.api.entity.Realm;
-import org.apache.syncope.core.persistence.api.entity.conf.CPlainAttr;
+import org.apache.syncope.core.persistence.api.entity.conf.ConfSnapshot;
 import org.apache.syncope.core.persistence.api.entity.resource.ExternalResource;
 import org.apache.syncope.core.persistence.api.entity.user.User;
 import org.apache.syncope.core.provisioning.api.AuditManager;
+import org.apache.syncope.core.provisioning.api.Connector;
 import org.apache.syncope.core.provisioning.api.ConnectorFactory;
 import org.apache.syncope.core.provisioning.api.EntitlementsHolder;
 import org.apache.syncope.core.provisioning.api.MappingManager;
 import org.apache.syncope.core.spring.ApplicationContextProvider;
-import org.identityconnectors.framework.common.objects.Uid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
 import org.springframework.security.authentication.AuthenticationServiceException;
 import org.springframework.security.authentication.DisabledException;
@@ -116,7 +120,7 @@ public class AuthDataAccessor {
     protected AnyTypeDAO anyTypeDAO;
 
     @Autowired
-    protected AnySearchDAO searchDAO;
+    protected LoginIdentifierDAO loginIdentifierDAO;
 
     @Autowired
     protected AccessTokenDAO accessTokenDAO;
@@ -133,6 +137,12 @@ public class AuthDataAccessor {
     @Autowired
     protected ImplementationLookup implementationLookup;
 
+    @Autowired
+    protected LastLoginDateBuffer lastLoginDateBuffer;
+
+    @Resource(name = "passthroughAuthenticationExecutor")
+    protected AsyncTaskExecutor passthroughAuthenticationExecutor;
+
     private Map<String, JWTSSOProvider> jwtSSOProviders;
 
     public JWTSSOProvider getJWTSSOProvider(final String issuer) {
@@ -181,20 +191,21 @@ public class AuthDataAccessor {
     public Pair<User, Boolean> authenticate(final Authentication authentication) {
         User user = null;
 
-        Optional<? extends CPlainAttr> authAttrs = confDAO.find("authentication.attributes");
-        List<String> authAttrValues = authAttrs.isPresent()
-                ? authAttrs.get().getValuesAsStrings()
-                : Collections.singletonList("username");
+        ConfSnapshot conf = confDAO.snapshot();
+
+        List<String> authAttrValues = conf.getValuesAsStrings("authentication.attributes").
+                orElse(Collections.singletonList("username"));
+        Map<String, List<String>> loginIdentifiers = null;
         for (int i = 0; user == null && i < authAttrValues.size(); i++) {
             if ("username".equals(authAttrValues.get(i))) {
                 user = userDAO.findByUsername(authentication.getName());
             } else {
-                AttributeCond attrCond = new AttributeCond(AttributeCond.Type.EQ);
-                attrCond.setSchema(authAttrValues.get(i));
-                attrCond.setExpression(authentication.getName());
-                List<User> users = searchDAO.search(SearchCond.getLeafCond(attrCond), AnyTypeKind.USER);
-                if (users.size() == 1) {
-                    user = users.get(0);
+                if (loginIdentifiers == null) {
+                    loginIdentifiers = loginIdentifierDAO.find(authentication.getName());
+                }
+                List<String> userKeys = loginIdentifiers.getOrDefault(authAttrValues.get(i), Collections.emptyList());
+                if (userKeys.size() == 1) {
+                    user = userDAO.find(userKeys.get(0));
                 } else {
                     LOG.warn("Value {} provided for {} does not uniquely identify a user",
                             authentication.getName(), authAttrValues.get(i));
@@ -210,31 +221,22 @@ public class AuthDataAccessor {
                 throw new DisabledException("User " + user.getUsername() + " is suspended");
             }
 
-            Optional<? extends CPlainAttr> authStatuses = confDAO.find("authentication.statuses");
-            if (authStatuses.isPresent() && !authStatuses.get().getValuesAsStrings().contains(user.getStatus())) {
+            Optional<List<String>> authStatuses = conf.getValuesAsStrings("authentication.statuses");
+            if (authStatuses.isPresent() && !authStatuses.get().contains(user.getStatus())) {
                 throw new DisabledException("User " + user.getUsername() + " not allowed to authenticate");
             }
 
-            boolean userModified = false;
             authenticated = AuthDataAccessor.this.authenticate(user, authentication.getCredentials().toString());
             if (authenticated) {
-                if (confDAO.find("log.lastlogindate", true)) {
-                    user.setLastLoginDate(new Date());
-                    userModified = true;
+                if (conf.get("log.lastlogindate", true)) {
+                    lastLoginDateBuffer.add(user.getKey(), new Date());
                 }
 
                 if (user.getFailedLogins() != 0) {
-                    user.setFailedLogins(0);
-                    userModified = true;
+                    userDAO.resetFailedLogins(user.getKey());
                 }
-
             } else {
-                user.setFailedLogins(user.getFailedLogins() + 1);
-                userModified = true;
-            }
-
-            if (userModified) {
-                userDAO.save(user);
+                userDAO.incrementFailedLogins(user.getKey());
             }
         }
 
@@ -245,54 +247,89 @@ public class AuthDataAccessor {
         boolean authenticated = ENCRYPTOR.verify(password, user.getCipherAlgorithm(), user.getPassword());
         LOG.debug("{} authenticated on internal storage: {}", user.getUsername(), authenticated);
 
-        for (Iterator<? extends ExternalResource> itor = getPassthroughResources(user).iterator();
-                itor.hasNext() && !authenticated;) {
+        if (!authenticated) {
+            authenticated = passthroughAuthenticate(user, password);
+        }
+
+        return authenticated;
+    }
 
-            ExternalResource resource = itor.next();
-            String connObjectKey = null;
+    /**
+     * Attempts to authenticate the given user concurrently on all pass-through resources: the first succeeding causes
+     * global success and all other attempts are cancelled; attempts not completed within
+     * {@code authentication.passthrough.timeout} seconds are cancelled as well.
+     * Resources are skipped when the executor queue is full, so that a backlog of attempts cannot pile up.
+     *
+     * @param user user
+     * @param password password
+     * @return whether authentication succeeded on any pass-through resource
+     */
+    protected boolean passthroughAuthenticate(final User user, final String password) {
+        Collection<? extends ExternalResource> resources = getPassthroughResources(user);
+        if (resources.isEmpty()) {
+            return false;
+        }
+
+        String username = user.getUsername();
+        CompletionService<Boolean> completionService =
+                new ExecutorCompletionService<>(passthroughAuthenticationExecutor);
+        List<Future<Boolean>> attempts = new ArrayList<>(resources.size());
+        for (ExternalResource resource : resources) {
+            String resourceKey = resource.getKey();
+            String connObjectKey;
+            Connector connector;
             try {
                 connObjectKey = mappingManager.getConnObjectKeyValue(
                         user, resource.getProvision(anyTypeDAO.findUser()).get()).get();
-                Uid uid = connFactory.getConnector(resource).authenticate(connObjectKey, password, null);
-                if (uid != null) {
-                    authenticated = true;
-                }
+                connector = connFactory.getConnector(resource);
             } catch (Exception e) {
-                LOG.debug("Could not authenticate {} on {}", user.getUsername(), resource.getKey(), e);
+                LOG.debug("Could not authenticate {} on {}", username, resourceKey, e);
+                continue;
             }
-            LOG.debug("{} authenticated on {} as {}: {}",
-                    user.getUsername(), resource.getKey(), connObjectKey, authenticated);
-        }
-
-        return authenticated;
-    }
 
-    protected Set<? extends ExternalResource> getPassthroughResources(final User user) {
-        Set<? extends ExternalResource> result = null;
-
-        // 1. look for assigned resources, pick the ones whose account policy has authentication resources
-        for (ExternalResource resource : userDAO.findAllResources(user)) {
-            if (resource.getAccountPolicy() != null && !resource.getAccountPolicy().getResources().isEmpty()) {
-                if (result == null) {
-                    result = resource.getAccountPolicy().getResources();
-                } else {
-                    result.retainAll(resource.getAccountPolicy().getResources());
-                }
+            try {
+                attempts.add(completionService.submit(() -> {
+                    boolean authenticated = false;
+                    try {
+                        authenticated = connector.authenticate(connObjectKey, password, null) != null;
+                    } catch (Exception e) {
+                        LOG.debug("Could not authenticate {} on {}", username, resourceKey, e);
+                    }
+                    LOG.debug("{} authenticated on {} as {}: {}",
+                            username, resourceKey, connObjectKey, authenticated);
+                    return authenticated;
+                }));
+            } catch (RejectedExecutionException e) {
+                LOG.warn("Too many pending pass-through authentications, skipping {} on {}", username, resourceKey);
             }
         }
 
-        // 2. look for realms, pick the ones whose account policy has authentication resources
-        for (Realm realm : realmDAO.findAncestors(user.getRealm())) {
-            if (realm.getAccountPolicy() != null && !realm.getAccountPolicy().getResources().isEmpty()) {
-                if (result == null) {
-                    result = realm.getAccountPolicy().getResources();
-                } else {
-                    result.retainAll(realm.getAccountPolicy().getResources());
+        boolean authenticated = false;
+        long deadline = System.nanoTime()
+                + TimeUnit.SECONDS.toNanos(confDAO.find("authentication.passthrough.timeout", 10L));
+        try {
+            for (int i = 0; i < attempts.size() && !authenticated; i++) {
+                Future<Boolean> attempt = completionService.poll(
+                        deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (attempt == null) {
+                    LOG.debug("Pass-through authentication of {} timed out", username);
+                    break;
                 }
+                authenticated = attempt.get();
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            LOG.debug("While attempting pass-through authentication of {}", username, e);
+        } finally {
+            attempts.forEach(attempt -> attempt.cancel(true));
         }
 
-        return result == null ? Collections.emptySet() : result;
+        return authenticated;
+    }
+
+    protected Collection<? extends ExternalResource> getPassthroughResources(final User user) {
+        return userDAO.findPassthroughResources(user);
     }
 
     protected Set<SyncopeGrantedAuthority> getAdminAuthorities() {
@@ -405,8 +442,8 @@ public class AuthDataAccessor {
                 throw new DisabledException("User " + username + " is suspended");
             }
 
-            Optional<? extends CPlainAttr> authStatuses = confDAO.find("authentication.statuses");
-            if (authStatuses.isPresent() && !authStatuses.get().getValuesAsStrings().contains(user.getStatus())) {
+            Optional<List<String>> authStatuses = confDAO.snapshot().getValuesAsStrings("authentication.statuses");
+            if (authStatuses.isPresent() && !authStatuses.get().contains(user.getStatus())) {
                 throw new DisabledException("User " + username + " not allowed to authenticate");
             }
 
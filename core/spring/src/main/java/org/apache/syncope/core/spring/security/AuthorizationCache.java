@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.spring.security;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import org.apache.syncope.core.provisioning.api.utils.RealmUtils;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Evaluates delegated administration checks for the current request, caching the data they need: realms granted by
+ * each entitlement are arranged into prefix tries, and the dynamic realms of each any object are only read once.
+ * The cache is bound to the current thread and to the {@link Authentication} it was built for, hence it is rebuilt
+ * as soon as the authentication changes; {@link #clear()} is invoked when the request is completed.
+ */
+public final class AuthorizationCache {
+
+    /**
+     * Upper bound to the number of any objects whose dynamic realms are cached, for long running threads.
+     */
+    private static final int MAX_DYN_REALMS_ENTRIES = 10000;
+
+    private static final ThreadLocal<AuthorizationCache> CACHE = new ThreadLocal<>();
+
+    public static AuthorizationCache get() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        AuthorizationCache cache = CACHE.get();
+        if (cache == null || cache.authentication != authentication) {
+            cache = new AuthorizationCache(authentication);
+            CACHE.set(cache);
+        }
+        return cache;
+    }
+
+    /**
+     * Discards the cached dynamic realms of the given any object, if any: to be invoked when its dynamic realm
+     * memberships change.
+     *
+     * @param anyKey any object key, or null to discard the cached dynamic realms of all any objects
+     */
+    public static void evictDynRealms(final String anyKey) {
+        AuthorizationCache cache = CACHE.get();
+        if (cache != null) {
+            if (anyKey == null) {
+                cache.dynRealms.clear();
+            } else {
+                cache.dynRealms.remove(anyKey);
+            }
+        }
+    }
+
+    public static void clear() {
+        CACHE.remove();
+    }
+
+    /**
+     * Character trie of realm paths, telling whether any of them is prefix of a given path.
+     */
+    private static final class RealmTrie {
+
+        private final Map<Character, RealmTrie> children = new HashMap<>();
+
+        private boolean terminal;
+
+        private void add(final String realm) {
+            RealmTrie node = this;
+            for (int i = 0; i < realm.length() && !node.terminal; i++) {
+                node = node.children.computeIfAbsent(realm.charAt(i), c -> new RealmTrie());
+            }
+            node.terminal = true;
+        }
+
+        private boolean hasPrefixOf(final String path) {
+            RealmTrie node = this;
+            for (int i = 0; i < path.length() && !node.terminal; i++) {
+                node = node.children.get(path.charAt(i));
+                if (node == null) {
+                    return false;
+                }
+            }
+            return node.terminal;
+        }
+    }
+
+    private final Authentication authentication;
+
+    private final Map<String, Set<String>> authorizations;
+
+    private final Map<String, RealmTrie> realmTries = new HashMap<>();
+
+    private final Map<String, Boolean> hasDynRealms = new HashMap<>();
+
+    private final Map<String, List<String>> dynRealms = new HashMap<>();
+
+    private AuthorizationCache(final Authentication authentication) {
+        this.authentication = authentication;
+        this.authorizations = AuthContextUtils.getAuthorizations();
+    }
+
+    /**
+     * @param entitlement entitlement
+     * @return realms for which the given entitlement is granted, including dynamic realms
+     */
+    public Set<String> getRealms(final String entitlement) {
+        return authorizations.getOrDefault(entitlement, Collections.emptySet());
+    }
+
+    /**
+     * @param entitlement entitlement
+     * @param realmFullPath realm full path
+     * @return whether the given entitlement is granted on the given realm, either directly or via one of its parents
+     */
+    public boolean isRealmAuthorized(final String entitlement, final String realmFullPath) {
+        return realmTries.computeIfAbsent(entitlement, e -> {
+            RealmTrie trie = new RealmTrie();
+            getRealms(e).stream().filter(realm -> realm.startsWith("/")).forEach(trie::add);
+            return trie;
+        }).hasPrefixOf(realmFullPath);
+    }
+
+    /**
+     * Checks whether the given entitlement is granted on any of the dynamic realms the given any object belongs to;
+     * dynamic realms are not read at all if the entitlement is not granted on any dynamic realm.
+     *
+     * @param entitlement entitlement
+     * @param anyKey any object key
+     * @param dynRealmsFinder finds the dynamic realms of an any object, if not cached yet
+     * @return whether the given entitlement is granted on any of the dynamic realms of the given any object
+     */
+    public boolean isDynRealmAuthorized(
+            final String entitlement, final String anyKey, final Function<String, List<String>> dynRealmsFinder) {
+
+        Set<String> realms = getRealms(entitlement);
+        if (!hasDynRealms.computeIfAbsent(
+                entitlement, e -> realms.stream().anyMatch(new RealmUtils.DynRealmsPredicate()))) {
+
+            return false;
+        }
+
+        List<String> anyDynRealms = dynRealms.get(anyKey);
+        if (anyDynRealms == null) {
+            if (dynRealms.size() >= MAX_DYN_REALMS_ENTRIES) {
+                dynRealms.clear();
+            }
+            anyDynRealms = dynRealmsFinder.apply(anyKey);
+            dynRealms.put(anyKey, anyDynRealms);
+        }
+        return anyDynRealms.stream().anyMatch(realms::contains);
+    }
+}
@@ -29,6 +29,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
 import javax.crypto.IllegalBlockSizeException;
+import javax.crypto.Mac;
 import javax.crypto.NoSuchPaddingException;
 import javax.crypto.spec.SecretKeySpec;
 import org.apache.commons.lang3.ArrayUtils;
@@ -49,6 +50,8 @@ public final class Encryptor {
 
     private static final String DEFAULT_SECRET_KEY = "1abcdefghilmnopqrstuvz2!";
 
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+
     /**
      * Default value for salted {@link StandardStringDigester#setIterations(int)}.
      */
@@ -229,6 +232,20 @@ public final class Encryptor {
         return value;
     }
 
+    /**
+     * Returns a new HMAC instance keyed with the configured secret key, for fingerprints of values - as passwords -
+     * which shall not be open to offline guessing.
+     *
+     * @return new HMAC instance
+     * @throws NoSuchAlgorithmException if HMAC-SHA256 is not available
+     * @throws InvalidKeyException if the configured secret key cannot be used
+     */
+    public Mac newMac() throws NoSuchAlgorithmException, InvalidKeyException {
+        Mac mac = Mac.getInstance(MAC_ALGORITHM);
+        mac.init(new SecretKeySpec(keySpec.getEncoded(), MAC_ALGORITHM));
+        return mac;
+    }
+
     private StandardStringDigester getDigester(final CipherAlgorithm cipherAlgorithm) {
         StandardStringDigester digester = new StandardStringDigester();
 
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.spring.security;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Coalesces last login dates recorded upon successful authentication and writes them in batch, at most
+ * {@link #setFlushInterval(long)} seconds later, rather than saving the user at each login.
+ */
+public class LastLoginDateBuffer implements InitializingBean, DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LastLoginDateBuffer.class);
+
+    private static final long DEFAULT_FLUSH_INTERVAL = 5;
+
+    @Autowired
+    private UserDAO userDAO;
+
+    private final Map<String, Map<String, Date>> pending = new ConcurrentHashMap<>();
+
+    private long flushInterval = DEFAULT_FLUSH_INTERVAL;
+
+    private ScheduledExecutorService scheduler;
+
+    public void setFlushInterval(final long flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "LastLoginDateBuffer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (Throwable t) {
+                LOG.error("While writing last login dates", t);
+            }
+        }, flushInterval, flushInterval, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Records the last login date of the given user, for the current domain.
+     *
+     * @param key user key
+     * @param date last login date
+     */
+    public void add(final String key, final Date date) {
+        pending.computeIfAbsent(AuthContextUtils.getDomain(), domain -> new ConcurrentHashMap<>()).
+                merge(key, date, (previous, current) -> current.after(previous) ? current : previous);
+    }
+
+    /**
+     * Writes all pending last login dates, for all domains.
+     */
+    public void flush() {
+        pending.forEach((domain, dates) -> {
+            Map<String, Date> batch = new HashMap<>();
+            new ArrayList<>(dates.keySet()).forEach(key -> {
+                Date date = dates.remove(key);
+                if (date != null) {
+                    batch.put(key, date);
+                }
+            });
+
+            if (!batch.isEmpty()) {
+                try {
+                    AuthContextUtils.execWithAuthContext(domain, () -> {
+                        userDAO.updateLastLoginDates(batch);
+                        return null;
+                    });
+                } catch (Exception e) {
+                    LOG.error("Could not write last login dates for domain {}, will retry", domain, e);
+                    batch.forEach((key, date) -> dates.merge(
+                            key, date, (previous, current) -> current.after(previous) ? current : previous));
+                }
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        flush();
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.spring.security;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+public class AuthorizationCacheTest {
+
+    private static void authenticate(final SyncopeGrantedAuthority... authorities) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("admin", "password", Arrays.asList(authorities)));
+    }
+
+    @After
+    public void cleanup() {
+        AuthorizationCache.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void realms() {
+        SyncopeGrantedAuthority userRead = new SyncopeGrantedAuthority("USER_READ");
+        userRead.addRealms(Arrays.asList("/even/two", "/odd"));
+        authenticate(userRead);
+
+        AuthorizationCache cache = AuthorizationCache.get();
+        assertSame(cache, AuthorizationCache.get());
+
+        assertTrue(cache.isRealmAuthorized("USER_READ", "/odd"));
+        assertTrue(cache.isRealmAuthorized("USER_READ", "/even/two/three"));
+        assertFalse(cache.isRealmAuthorized("USER_READ", "/even"));
+        assertFalse(cache.isRealmAuthorized("USER_READ", "/"));
+        assertFalse(cache.isRealmAuthorized("GROUP_READ", "/odd"));
+
+        // a different authentication gets a different cache
+        authenticate(new SyncopeGrantedAuthority("USER_READ", "/"));
+        assertNotSame(cache, AuthorizationCache.get());
+        assertTrue(AuthorizationCache.get().isRealmAuthorized("USER_READ", "/even"));
+    }
+
+    @Test
+    public void dynRealms() {
+        SyncopeGrantedAuthority userRead = new SyncopeGrantedAuthority("USER_READ", "/odd");
+        userRead.addRealm("dynRealm");
+        authenticate(userRead, new SyncopeGrantedAuthority("GROUP_READ", "/odd"));
+
+        AtomicInteger lookups = new AtomicInteger();
+        Function<String, List<String>> finder = key -> {
+            lookups.incrementAndGet();
+            return "member".equals(key) ? Collections.singletonList("dynRealm") : Collections.emptyList();
+        };
+
+        AuthorizationCache cache = AuthorizationCache.get();
+
+        // no dynamic realm granted, no lookup
+        assertFalse(cache.isDynRealmAuthorized("GROUP_READ", "member", finder));
+        assertEquals(0, lookups.get());
+
+        assertTrue(cache.isDynRealmAuthorized("USER_READ", "member", finder));
+        assertTrue(cache.isDynRealmAuthorized("USER_READ", "member", finder));
+        assertEquals(1, lookups.get());
+
+        assertFalse(cache.isDynRealmAuthorized("USER_READ", "other", finder));
+        assertEquals(2, lookups.get());
+
+        AuthorizationCache.evictDynRealms("member");
+        assertTrue(cache.isDynRealmAuthorized("USER_READ", "member", finder));
+        assertFalse(cache.isDynRealmAuthorized("USER_READ", "other", finder));
+        assertEquals(3, lookups.get());
+    }
+}
@@ -20,11 +20,14 @@ package org.apache.syncope.core.spring.security;
 
 import org.apache.syncope.core.spring.security.Encryptor;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import org.apache.syncope.common.lib.types.CipherAlgorithm;
 import org.junit.Test;
 
@@ -73,6 +76,15 @@ public class EncryptorTest {
         assertEquals(password, decPassword);
     }
 
+    @Test
+    public void testMac() throws Exception {
+        byte[] value = password.getBytes(StandardCharsets.UTF_8);
+
+        byte[] mac = encryptor.newMac().doFinal(value);
+        assertArrayEquals(mac, encryptor.newMac().doFinal(value));
+        assertFalse(Arrays.equals(mac, Encryptor.getInstance("anotherSecretKey!").newMac().doFinal(value)));
+    }
+
     @Test
     public void testSaltedHash() throws Exception {
         String encPassword = encryptor.encode(password, CipherAlgorithm.SSHA256);
@@ -18,9 +18,12 @@
  */
 package org.apache.syncope.core.workflow.api;
 
+import java.util.Date;
 import java.util.List;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.patch.AnyPatch;
 import org.apache.syncope.common.lib.to.WorkflowFormTO;
+import org.apache.syncope.core.persistence.api.dao.search.OrderByClause;
 import org.apache.syncope.core.provisioning.api.WorkflowResult;
 
 public interface WorkflowAdapter {
@@ -31,11 +34,27 @@ public interface WorkflowAdapter {
     String getPrefix();
 
     /**
-     * Get all defined forms for current workflow process instances.
+     * Get defined forms for current workflow process instances, matching the given conditions.
      *
-     * @return list of defined forms
+     * @param username username of the user the forms are about, if any
+     * @param formKey form key, if any
+     * @param createdAfter lower bound for form creation time, if any
+     * @param createdBefore upper bound for form creation time, if any
+     * @param page search page
+     * @param size search page size
+     * @param orderByClauses ordering clauses
+     * @param details whether form properties and user information are to be included
+     * @return total number of matching forms, and the requested page of defined forms
      */
-    List<WorkflowFormTO> getForms();
+    Pair<Integer, List<WorkflowFormTO>> getForms(
+            String username,
+            String formKey,
+            Date createdAfter,
+            Date createdBefore,
+            int page,
+            int size,
+            List<OrderByClause> orderByClauses,
+            boolean details);
 
     /**
      * Get form for given workflowId (if present).
@@ -24,12 +24,15 @@ import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 import javax.annotation.Resource;
+import javax.sql.DataSource;
 import org.apache.commons.io.IOUtils;
 import org.apache.syncope.core.spring.ResourceWithFallbackLoader;
 import org.apache.syncope.core.persistence.api.SyncopeLoader;
 import org.apache.syncope.core.workflow.flowable.spring.DomainProcessEngine;
+import org.apache.syncope.core.workflow.flowable.spring.DomainProcessEngineFactoryBean;
 import org.flowable.engine.ProcessEngine;
 import org.flowable.engine.repository.ProcessDefinition;
+import org.flowable.engine.task.Task;
 import org.flowable.spring.SpringProcessEngineConfiguration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,12 +44,17 @@ public class FlowableDefinitionLoader implements SyncopeLoader {
 
     private static final Logger LOG = LoggerFactory.getLogger(FlowableDefinitionLoader.class);
 
+    private static final int BACKFILL_PAGE_SIZE = 1000;
+
     @Resource(name = "userWorkflowDef")
     private ResourceWithFallbackLoader userWorkflowDef;
 
     @Autowired
     private DomainProcessEngine dpEngine;
 
+    @Autowired
+    private DomainProcessEngineFactoryBean dpEngineFactory;
+
     @Override
     public Integer getPriority() {
         return Integer.MIN_VALUE;
@@ -54,6 +62,34 @@ public class FlowableDefinitionLoader implements SyncopeLoader {
 
     @Override
     public void load() {
+        byte[] wfDef = loadWorkflowDef();
+
+        for (Map.Entry<String, ProcessEngine> entry : dpEngine.getEngines().entrySet()) {
+            deploy(entry.getKey(), entry.getValue(), wfDef);
+        }
+    }
+
+    @Override
+    public void load(final String domain, final DataSource datasource) {
+        ProcessEngine engine = dpEngineFactory.build(domain, datasource);
+        ProcessEngine previous = dpEngine.getEngines().put(domain, engine);
+        if (previous != null) {
+            // left by a previous activation of the domain
+            previous.close();
+        }
+
+        deploy(domain, engine, loadWorkflowDef());
+    }
+
+    @Override
+    public void unload(final String domain) {
+        ProcessEngine engine = dpEngine.getEngines().remove(domain);
+        if (engine != null) {
+            engine.close();
+        }
+    }
+
+    private byte[] loadWorkflowDef() {
         byte[] wfDef = new byte[0];
 
         InputStream wfIn = null;
@@ -66,31 +102,68 @@ public class FlowableDefinitionLoader implements SyncopeLoader {
             IOUtils.closeQuietly(wfIn);
         }
 
-        for (Map.Entry<String, ProcessEngine> entry : dpEngine.getEngines().entrySet()) {
-            List<ProcessDefinition> processes = entry.getValue().getRepositoryService().
-                    createProcessDefinitionQuery().processDefinitionKey(FlowableUserWorkflowAdapter.WF_PROCESS_ID).
-                    list();
-            LOG.debug(FlowableUserWorkflowAdapter.WF_PROCESS_ID + " Flowable processes in repository: {}", processes);
+        return wfDef;
+    }
 
-            // Only loads process definition from file if not found in repository
-            if (processes.isEmpty()) {
-                entry.getValue().getRepositoryService().createDeployment().addInputStream(
-                        userWorkflowDef.getResource().getFilename(), new ByteArrayInputStream(wfDef)).deploy();
+    private void deploy(final String domain, final ProcessEngine engine, final byte[] wfDef) {
+        List<ProcessDefinition> processes = engine.getRepositoryService().
+                createProcessDefinitionQuery().processDefinitionKey(FlowableUserWorkflowAdapter.WF_PROCESS_ID).
+                list();
+        LOG.debug(FlowableUserWorkflowAdapter.WF_PROCESS_ID + " Flowable processes in repository: {}", processes);
 
-                ProcessDefinition procDef = entry.getValue().getRepositoryService().createProcessDefinitionQuery().
-                        processDefinitionKey(FlowableUserWorkflowAdapter.WF_PROCESS_ID).latestVersion().
-                        singleResult();
+        // Only loads process definition from file if not found in repository
+        if (processes.isEmpty()) {
+            engine.getRepositoryService().createDeployment().addInputStream(
+                    userWorkflowDef.getResource().getFilename(), new ByteArrayInputStream(wfDef)).deploy();
 
-                FlowableDeployUtils.deployModel(entry.getValue(), procDef);
+            ProcessDefinition procDef = engine.getRepositoryService().createProcessDefinitionQuery().
+                    processDefinitionKey(FlowableUserWorkflowAdapter.WF_PROCESS_ID).latestVersion().
+                    singleResult();
 
-                LOG.debug("Flowable Workflow definition loaded for domain {}", entry.getKey());
-            }
+            FlowableDeployUtils.deployModel(engine, procDef);
+
+            LOG.debug("Flowable Workflow definition loaded for domain {}", domain);
+        }
 
-            // jump to the next ID block
-            for (int i = 0; i < entry.getValue().getProcessEngineConfiguration().getIdBlockSize(); i++) {
-                SpringProcessEngineConfiguration.class.cast(entry.getValue().getProcessEngineConfiguration()).
-                        getIdGenerator().getNextId();
+        backfillTaskFormKeys(domain, engine);
+
+        // jump to the next ID block
+        for (int i = 0; i < engine.getProcessEngineConfiguration().getIdBlockSize(); i++) {
+            SpringProcessEngineConfiguration.class.cast(engine.getProcessEngineConfiguration()).
+                    getIdGenerator().getNextId();
+        }
+    }
+
+    /**
+     * Form tasks created before {@link FlowableUserWorkflowAdapter#TASK_FORM_KEY} was introduced lack such variable,
+     * hence would not be found when filtering forms by key: set it for them.
+     *
+     * @param domain domain
+     * @param engine Flowable engine for the given domain
+     */
+    private void backfillTaskFormKeys(final String domain, final ProcessEngine engine) {
+        int backfilled = 0;
+        int page = 0;
+        List<Task> tasks;
+        do {
+            tasks = engine.getTaskService().createTaskQuery().
+                    taskVariableValueEquals(FlowableUserWorkflowAdapter.TASK_IS_FORM, Boolean.TRUE).
+                    includeTaskLocalVariables().orderByTaskId().asc().
+                    listPage(page * BACKFILL_PAGE_SIZE, BACKFILL_PAGE_SIZE);
+
+            for (Task task : tasks) {
+                if (!task.getTaskLocalVariables().containsKey(FlowableUserWorkflowAdapter.TASK_FORM_KEY)) {
+                    engine.getTaskService().setVariableLocal(task.getId(), FlowableUserWorkflowAdapter.TASK_FORM_KEY,
+                            engine.getFormService().getTaskFormData(task.getId()).getFormKey());
+                    backfilled++;
+                }
             }
+
+            page++;
+        } while (tasks.size() == BACKFILL_PAGE_SIZE);
+
+        if (backfilled > 0) {
+            LOG.info("Set form key for {} form tasks in domain {}", backfilled, domain);
         }
     }
 }
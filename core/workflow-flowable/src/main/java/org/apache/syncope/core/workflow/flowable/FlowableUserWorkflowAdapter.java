@@ -26,6 +26,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -51,6 +52,7 @@ import org.apache.syncope.core.spring.BeanUtils;
 import org.apache.syncope.core.persistence.api.attrvalue.validation.InvalidEntityException;
 import org.apache.syncope.core.persistence.api.attrvalue.validation.ParsingValidationException;
 import org.apache.syncope.core.persistence.api.dao.NotFoundException;
+import org.apache.syncope.core.persistence.api.dao.search.OrderByClause;
 import org.apache.syncope.core.persistence.api.entity.user.User;
 import org.apache.syncope.core.provisioning.api.WorkflowResult;
 import org.apache.syncope.core.workflow.flowable.spring.DomainProcessEngine;
@@ -62,7 +64,6 @@ import org.flowable.bpmn.model.BpmnModel;
 import org.flowable.editor.constants.ModelDataJsonConstants;
 import org.flowable.editor.language.json.converter.BpmnJsonConverter;
 import org.flowable.engine.common.api.FlowableException;
-import org.flowable.engine.common.api.query.Query;
 import org.flowable.engine.form.FormProperty;
 import org.flowable.engine.form.FormType;
 import org.flowable.engine.form.TaskFormData;
@@ -74,6 +75,7 @@ import org.flowable.engine.repository.Model;
 import org.flowable.engine.repository.ProcessDefinition;
 import org.flowable.engine.runtime.ProcessInstance;
 import org.flowable.engine.task.Task;
+import org.flowable.engine.task.TaskQuery;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -116,6 +118,8 @@ public class FlowableUserWorkflowAdapter extends AbstractUserWorkflowAdapter {
 
     public static final String TASK_IS_FORM = "taskIsForm";
 
+    public static final String TASK_FORM_KEY = "taskFormKey";
+
     public static final String MODEL_DATA_JSON_MODEL = "model";
 
     public static final String STORE_PASSWORD = "storePassword";
@@ -217,6 +221,9 @@ public class FlowableUserWorkflowAdapter extends AbstractUserWorkflowAdapter {
 
             // SYNCOPE-238: This is needed to simplify the task query in this.getForms()
             engine.getTaskService().setVariableLocal(formTaskId, TASK_IS_FORM, Boolean.TRUE);
+            // ...and this to allow filtering such query by form key
+            engine.getTaskService().setVariableLocal(formTaskId, TASK_FORM_KEY,
+                    engine.getFormService().getTaskFormData(formTaskId).getFormKey());
 
             engine.getRuntimeService().setVariable(user.getWorkflowId(), PROP_BY_RESOURCE, propByRes);
             if (propByRes != null) {
@@ -594,58 +601,128 @@ public class FlowableUserWorkflowAdapter extends AbstractUserWorkflowAdapter {
         return formTO;
     }
 
+    /**
+     * Builds a form with no properties nor user information, out of the given task.
+     *
+     * @param task Flowable task
+     * @return form summary
+     */
+    protected WorkflowFormTO getFormSummaryTO(final Task task) {
+        WorkflowFormTO formTO = new WorkflowFormTO();
+
+        User user = userDAO.findByWorkflowId(task.getProcessInstanceId());
+        if (user == null) {
+            throw new NotFoundException("User with workflow id " + task.getProcessInstanceId());
+        }
+        formTO.setUsername(user.getUsername());
+
+        formTO.setTaskId(task.getId());
+        formTO.setKey(task.getFormKey());
+        BeanUtils.copyProperties(task, formTO);
+
+        return formTO;
+    }
+
     @Transactional(readOnly = true)
     @Override
-    public List<WorkflowFormTO> getForms() {
-        List<WorkflowFormTO> forms = new ArrayList<>();
+    public Pair<Integer, List<WorkflowFormTO>> getForms(
+            final String username,
+            final String formKey,
+            final Date createdAfter,
+            final Date createdBefore,
+            final int page,
+            final int size,
+            final List<OrderByClause> orderByClauses,
+            final boolean details) {
+
+        TaskQuery query = engine.getTaskService().createTaskQuery().
+                taskVariableValueEquals(TASK_IS_FORM, Boolean.TRUE);
 
         String authUser = AuthContextUtils.getUsername();
-        if (adminUser.equals(authUser)) {
-            forms.addAll(getForms(engine.getTaskService().createTaskQuery().
-                    taskVariableValueEquals(TASK_IS_FORM, Boolean.TRUE)));
-        } else {
+        if (!adminUser.equals(authUser)) {
             User user = userDAO.findByUsername(authUser);
             if (user == null) {
                 throw new NotFoundException("Syncope User " + authUser);
             }
 
-            forms.addAll(getForms(engine.getTaskService().createTaskQuery().
-                    taskVariableValueEquals(TASK_IS_FORM, Boolean.TRUE).
-                    taskCandidateOrAssigned(user.getKey())));
-
-            List<String> candidateGroups = new ArrayList<>();
-            userDAO.findAllGroupNames(user).forEach(group -> {
-                candidateGroups.add(group);
-            });
-            if (!candidateGroups.isEmpty()) {
-                forms.addAll(getForms(engine.getTaskService().createTaskQuery().
-                        taskVariableValueEquals(TASK_IS_FORM, Boolean.TRUE).
-                        taskCandidateGroupIn(candidateGroups)));
+            List<String> candidateGroups = new ArrayList<>(userDAO.findAllGroupNames(user));
+            if (candidateGroups.isEmpty()) {
+                query.taskCandidateOrAssigned(user.getKey());
+            } else {
+                query.or().
+                        taskCandidateOrAssigned(user.getKey()).
+                        taskCandidateGroupIn(candidateGroups).
+                        endOr();
             }
         }
 
-        return forms;
-    }
+        if (username != null) {
+            User user = userDAO.findByUsername(username);
+            if (user == null || user.getWorkflowId() == null) {
+                return Pair.of(0, Collections.<WorkflowFormTO>emptyList());
+            }
+            query.processInstanceId(user.getWorkflowId());
+        }
+        if (formKey != null) {
+            query.taskVariableValueEquals(TASK_FORM_KEY, formKey);
+        }
+        if (createdAfter != null) {
+            query.taskCreatedAfter(createdAfter);
+        }
+        if (createdBefore != null) {
+            query.taskCreatedBefore(createdBefore);
+        }
 
-    protected <T extends Query<?, ?>, U extends Object> List<WorkflowFormTO> getForms(final Query<T, U> query) {
-        List<WorkflowFormTO> forms = new ArrayList<>();
+        orderByClauses.forEach(clause -> {
+            boolean sorted = true;
+            switch (clause.getField().trim()) {
+                case "taskId":
+                    query.orderByTaskId();
+                    break;
 
-        query.list().forEach(obj -> {
-            try {
-                if (obj instanceof HistoricTaskInstance) {
-                    forms.add(getFormTO((HistoricTaskInstance) obj));
-                } else if (obj instanceof Task) {
-                    forms.add(getFormTO((Task) obj));
+                case "createTime":
+                    query.orderByTaskCreateTime();
+                    break;
+
+                case "dueDate":
+                    query.orderByTaskDueDate();
+                    break;
+
+                case "owner":
+                    query.orderByTaskOwner();
+                    break;
+
+                default:
+                    LOG.warn("Form sort request by {}: unsupported, ignoring", clause.getField().trim());
+                    sorted = false;
+            }
+            if (sorted) {
+                if (clause.getDirection() == OrderByClause.Direction.ASC) {
+                    query.asc();
                 } else {
-                    throw new FlowableException(
-                            "Failure retrieving form", new IllegalArgumentException("Invalid task type"));
+                    query.desc();
+                }
+            }
+        });
+
+        int count = (int) query.count();
+
+        // each task counted above shall result in one form: tasks whose form data cannot be read are returned as
+        // summaries rather than skipped, otherwise total count and page sizes would disagree
+        List<WorkflowFormTO> forms = new ArrayList<>();
+        query.listPage(size * (page <= 0 ? 0 : page - 1), size).forEach(task -> {
+            WorkflowFormTO form = null;
+            if (details) {
+                try {
+                    form = getFormTO(task);
+                } catch (FlowableException e) {
+                    LOG.warn("Could not read form data for task {}, returning summary", task.getId(), e);
                 }
-            } catch (FlowableException e) {
-                LOG.debug("No form found for task {}", obj, e);
             }
+            forms.add(form == null ? getFormSummaryTO(task) : form);
         });
 
-        return forms;
+        return Pair.of(count, forms);
     }
 
     @Override
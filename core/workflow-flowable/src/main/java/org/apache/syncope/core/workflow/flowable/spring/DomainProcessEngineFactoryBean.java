@@ -61,29 +61,7 @@ public class DomainProcessEngineFactoryBean
                     filter(entry -> (!entry.getKey().startsWith("local"))).
                     forEachOrdered(entry -> {
                         String domain = StringUtils.substringBefore(entry.getKey(), DataSource.class.getSimpleName());
-                        DataSource dataSource = entry.getValue();
-                        PlatformTransactionManager transactionManager = ctx.getBean(
-                                domain + "TransactionManager", PlatformTransactionManager.class);
-                        Object entityManagerFactory = ctx.getBean(domain + "EntityManagerFactory");
-
-                        SpringProcessEngineConfiguration conf = ctx.getBean(SpringProcessEngineConfiguration.class);
-                        conf.setDataSource(dataSource);
-                        conf.setTransactionManager(transactionManager);
-                        conf.setTransactionsExternallyManaged(true);
-                        conf.setJpaEntityManagerFactory(entityManagerFactory);
-                        if (conf.getBeans() == null) {
-                            conf.setBeans(new SpringBeanFactoryProxyMap(ctx));
-                        }
-                        if (conf.getExpressionManager() == null) {
-                            conf.setExpressionManager(new SpringExpressionManager(ctx, conf.getBeans()));
-                        }
-                        if (EngineServiceUtil.getIdmEngineConfiguration(conf) == null) {
-                            conf.addEngineConfiguration(
-                                    EngineConfigurationConstants.KEY_IDM_ENGINE_CONFIG,
-                                    ctx.getBean(SpringIdmEngineConfiguration.class));
-                        }
-
-                        engines.put(domain, conf.buildProcessEngine());
+                        engines.put(domain, build(domain, entry.getValue()));
                     });
 
             engine = new DomainProcessEngine(engines);
@@ -92,6 +70,38 @@ public class DomainProcessEngineFactoryBean
         return engine;
     }
 
+    /**
+     * Builds a new {@link ProcessEngine} for the given domain, which needs to be already active.
+     *
+     * @param domain domain
+     * @param dataSource domain's data source
+     * @return process engine for the given domain
+     */
+    public ProcessEngine build(final String domain, final DataSource dataSource) {
+        PlatformTransactionManager transactionManager = ctx.getBean(
+                domain + "TransactionManager", PlatformTransactionManager.class);
+        Object entityManagerFactory = ctx.getBean(domain + "EntityManagerFactory");
+
+        SpringProcessEngineConfiguration conf = ctx.getBean(SpringProcessEngineConfiguration.class);
+        conf.setDataSource(dataSource);
+        conf.setTransactionManager(transactionManager);
+        conf.setTransactionsExternallyManaged(true);
+        conf.setJpaEntityManagerFactory(entityManagerFactory);
+        if (conf.getBeans() == null) {
+            conf.setBeans(new SpringBeanFactoryProxyMap(ctx));
+        }
+        if (conf.getExpressionManager() == null) {
+            conf.setExpressionManager(new SpringExpressionManager(ctx, conf.getBeans()));
+        }
+        if (EngineServiceUtil.getIdmEngineConfiguration(conf) == null) {
+            conf.addEngineConfiguration(
+                    EngineConfigurationConstants.KEY_IDM_ENGINE_CONFIG,
+                    ctx.getBean(SpringIdmEngineConfiguration.class));
+        }
+
+        return conf.buildProcessEngine();
+    }
+
     @Override
     public Class<DomainProcessEngine> getObjectType() {
         return DomainProcessEngine.class;
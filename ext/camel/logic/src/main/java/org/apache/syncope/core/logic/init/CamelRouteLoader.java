@@ -19,7 +19,6 @@
 package org.apache.syncope.core.logic.init;
 
 import java.io.StringWriter;
-import java.util.Map;
 import javax.sql.DataSource;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -95,18 +94,18 @@ public class CamelRouteLoader implements SyncopeLoader {
 
     @Override
     public void load() {
-        for (Map.Entry<String, DataSource> entry : domainsHolder.getDomains().entrySet()) {
-            loadRoutes(entry.getKey(), entry.getValue(),
-                    userRoutesLoader.getResource(), AnyTypeKind.USER);
-            loadRoutes(entry.getKey(), entry.getValue(),
-                    groupRoutesLoader.getResource(), AnyTypeKind.GROUP);
-            loadRoutes(entry.getKey(), entry.getValue(),
-                    anyObjectRoutesLoader.getResource(), AnyTypeKind.ANY_OBJECT);
-        }
+        domainsHolder.getDomains().forEach(this::load);
 
         EntitlementsHolder.getInstance().init(CamelEntitlement.values());
     }
 
+    @Override
+    public void load(final String domain, final DataSource datasource) {
+        loadRoutes(domain, datasource, userRoutesLoader.getResource(), AnyTypeKind.USER);
+        loadRoutes(domain, datasource, groupRoutesLoader.getResource(), AnyTypeKind.GROUP);
+        loadRoutes(domain, datasource, anyObjectRoutesLoader.getResource(), AnyTypeKind.ANY_OBJECT);
+    }
+
     private String nodeToString(final Node content, final DOMImplementationLS domImpl) {
         StringWriter writer = new StringWriter();
         try {
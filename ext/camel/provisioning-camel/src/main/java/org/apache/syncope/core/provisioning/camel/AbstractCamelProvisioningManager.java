@@ -18,13 +18,10 @@
  */
 package org.apache.syncope.core.provisioning.camel;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
+import java.util.Collections;
 import java.util.Map;
-import org.apache.camel.Endpoint;
 import org.apache.camel.Exchange;
-import org.apache.camel.PollingConsumer;
+import org.apache.camel.ExchangePattern;
 import org.apache.camel.ProducerTemplate;
 import org.apache.camel.impl.DefaultExchange;
 import org.apache.camel.impl.DefaultMessage;
@@ -49,23 +46,23 @@ abstract class AbstractCamelProvisioningManager {
 
     protected RoutesDefinition routes;
 
-    protected final Map<String, PollingConsumer> consumerMap = new HashMap<>();
-
-    protected final List<String> knownURIs = new ArrayList<>();
-
-    protected void sendMessage(final String uri, final Object obj) {
-        Exchange exchange = new DefaultExchange(contextFactory.getContext());
-
-        DefaultMessage message = new DefaultMessage();
-        message.setBody(obj);
-        exchange.setIn(message);
-
-        ProducerTemplate template = contextFactory.getContext().createProducerTemplate();
-        template.send(uri, exchange);
+    protected Exchange sendMessage(final String uri, final Object obj) {
+        return sendMessage(uri, obj, Collections.<String, Object>emptyMap());
     }
 
-    protected void sendMessage(final String uri, final Object body, final Map<String, Object> properties) {
-        Exchange exchange = new DefaultExchange(contextFactory.getContext());
+    /**
+     * Sends the given body to the given endpoint as InOut exchange, and waits for the route to complete: the returned
+     * exchange carries the result (or the exception) for this very request, whatever the number of concurrent ones.
+     *
+     * @param uri endpoint URI
+     * @param body message body
+     * @param properties exchange properties
+     * @return completed exchange
+     */
+    protected Exchange sendMessage(final String uri, final Object body, final Map<String, Object> properties) {
+        ProducerTemplate template = contextFactory.getProducerTemplate();
+
+        Exchange exchange = new DefaultExchange(template.getCamelContext(), ExchangePattern.InOut);
 
         for (Map.Entry<String, Object> property : properties.entrySet()) {
             exchange.setProperty(property.getKey(), property.getValue());
@@ -75,25 +72,17 @@ abstract class AbstractCamelProvisioningManager {
         DefaultMessage message = new DefaultMessage();
         message.setBody(body);
         exchange.setIn(message);
-        ProducerTemplate template = contextFactory.getContext().createProducerTemplate();
+
         template.send(uri, exchange);
-    }
 
-    protected PollingConsumer getConsumer(final String uri) {
-        if (!knownURIs.contains(uri)) {
-            knownURIs.add(uri);
-            Endpoint endpoint = contextFactory.getContext().getEndpoint(uri);
-            PollingConsumer pollingConsumer = null;
-            try {
-                pollingConsumer = endpoint.createPollingConsumer();
-                consumerMap.put(uri, pollingConsumer);
-                pollingConsumer.start();
-            } catch (Exception ex) {
-                LOG.error("Unexpected error in Consumer creation ", ex);
-            }
-            return pollingConsumer;
-        } else {
-            return consumerMap.get(uri);
+        // routes report failures via the exchange property below: make sure that exceptions raised outside any
+        // doTry / doCatch block are reported in the same way
+        if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) == null && exchange.getException() != null) {
+            exchange.setProperty(Exchange.EXCEPTION_CAUGHT, exchange.getException() instanceof RuntimeException
+                    ? exchange.getException()
+                    : new CamelException(exchange.getException()));
         }
+
+        return exchange;
     }
 }
@@ -25,7 +25,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.apache.camel.Exchange;
-import org.apache.camel.PollingConsumer;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.patch.AnyObjectPatch;
 import org.apache.syncope.common.lib.to.PropagationStatus;
@@ -48,15 +47,11 @@ public class CamelAnyObjectProvisioningManager
     public Pair<String, List<PropagationStatus>> create(
             final AnyObjectTO anyObjectTO, final Set<String> excludedResources, final boolean nullPriorityAsync) {
 
-        PollingConsumer pollingConsumer = getConsumer("direct:createAnyObjectPort");
-
         Map<String, Object> props = new HashMap<>();
         props.put("excludedResources", excludedResources);
         props.put("nullPriorityAsync", nullPriorityAsync);
 
-        sendMessage("direct:createAnyObject", anyObjectTO, props);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:createAnyObject", anyObjectTO, props);
 
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
@@ -78,15 +73,11 @@ public class CamelAnyObjectProvisioningManager
     public Pair<AnyObjectPatch, List<PropagationStatus>> update(
             final AnyObjectPatch anyPatch, final Set<String> excludedResources, final boolean nullPriorityAsync) {
 
-        PollingConsumer pollingConsumer = getConsumer("direct:updateAnyObjectPort");
-
         Map<String, Object> props = new HashMap<>();
         props.put("excludedResources", excludedResources);
         props.put("nullPriorityAsync", nullPriorityAsync);
 
-        sendMessage("direct:updateAnyObject", anyPatch, props);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:updateAnyObject", anyPatch, props);
 
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
@@ -106,15 +97,11 @@ public class CamelAnyObjectProvisioningManager
     public List<PropagationStatus> delete(
             final String key, final Set<String> excludedResources, final boolean nullPriorityAsync) {
 
-        PollingConsumer pollingConsumer = getConsumer("direct:deleteAnyObjectPort");
-
         Map<String, Object> props = new HashMap<>();
         props.put("excludedResources", excludedResources);
         props.put("nullPriorityAsync", nullPriorityAsync);
 
-        sendMessage("direct:deleteAnyObject", key, props);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:deleteAnyObject", key, props);
 
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
@@ -125,11 +112,7 @@ public class CamelAnyObjectProvisioningManager
 
     @Override
     public String unlink(final AnyObjectPatch anyObjectPatch) {
-        PollingConsumer pollingConsumer = getConsumer("direct:unlinkAnyObjectPort");
-
-        sendMessage("direct:unlinkAnyObject", anyObjectPatch);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:unlinkAnyObject", anyObjectPatch);
 
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
@@ -140,11 +123,7 @@ public class CamelAnyObjectProvisioningManager
 
     @Override
     public String link(final AnyObjectPatch anyObjectPatch) {
-        PollingConsumer pollingConsumer = getConsumer("direct:linkAnyObjectPort");
-
-        sendMessage("direct:linkAnyObject", anyObjectPatch);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:linkAnyObject", anyObjectPatch);
 
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
@@ -158,15 +137,11 @@ public class CamelAnyObjectProvisioningManager
     public List<PropagationStatus> provision(
             final String key, final Collection<String> resources, final boolean nullPriorityAsync) {
 
-        PollingConsumer pollingConsumer = getConsumer("direct:provisionAnyObjectPort");
-
         Map<String, Object> props = new HashMap<>();
         props.put("resources", resources);
         props.put("nullPriorityAsync", nullPriorityAsync);
 
-        sendMessage("direct:provisionAnyObject", key, props);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:provisionAnyObject", key, props);
 
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
@@ -180,15 +155,11 @@ public class CamelAnyObjectProvisioningManager
     public List<PropagationStatus> deprovision(
             final String key, final Collection<String> resources, final boolean nullPriorityAsync) {
 
-        PollingConsumer pollingConsumer = getConsumer("direct:deprovisionAnyObjectPort");
-
         Map<String, Object> props = new HashMap<>();
         props.put("resources", resources);
         props.put("nullPriorityAsync", nullPriorityAsync);
 
-        sendMessage("direct:deprovisionAnyObject", key, props);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:deprovisionAnyObject", key, props);
 
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
@@ -26,7 +26,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.apache.camel.Exchange;
-import org.apache.camel.PollingConsumer;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.patch.StatusPatch;
 import org.apache.syncope.common.lib.patch.UserPatch;
@@ -68,8 +67,6 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
             final Set<String> excludedResources,
             final boolean nullPriorityAsync) {
 
-        PollingConsumer pollingConsumer = getConsumer("direct:createPort");
-
         Map<String, Object> props = new HashMap<>();
         props.put("storePassword", storePassword);
         props.put("disablePwdPolicyCheck", disablePwdPolicyCheck);
@@ -77,9 +74,7 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
         props.put("excludedResources", excludedResources);
         props.put("nullPriorityAsync", nullPriorityAsync);
 
-        sendMessage("direct:createUser", userTO, props);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:createUser", userTO, props);
 
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
@@ -91,14 +86,10 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
     @Override
     @SuppressWarnings("unchecked")
     public Pair<UserPatch, List<PropagationStatus>> update(final UserPatch userPatch, final boolean nullPriorityAsync) {
-        PollingConsumer pollingConsumer = getConsumer("direct:updatePort");
-
         Map<String, Object> props = new HashMap<>();
         props.put("nullPriorityAsync", nullPriorityAsync);
 
-        sendMessage("direct:updateUser", userPatch, props);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:updateUser", userPatch, props);
 
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
@@ -125,15 +116,11 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
     public List<PropagationStatus> delete(
             final String key, final Set<String> excludedResources, final boolean nullPriorityAsync) {
 
-        PollingConsumer pollingConsumer = getConsumer("direct:deletePort");
-
         Map<String, Object> props = new HashMap<>();
         props.put("excludedResources", excludedResources);
         props.put("nullPriorityAsync", nullPriorityAsync);
 
-        sendMessage("direct:deleteUser", key, props);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:deleteUser", key, props);
 
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
@@ -144,11 +131,7 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
 
     @Override
     public String unlink(final UserPatch userPatch) {
-        PollingConsumer pollingConsumer = getConsumer("direct:unlinkPort");
-
-        sendMessage("direct:unlinkUser", userPatch);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:unlinkUser", userPatch);
 
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
@@ -162,24 +145,21 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
     public Pair<String, List<PropagationStatus>> activate(
             final StatusPatch statusPatch, final boolean nullPriorityAsync) {
 
-        PollingConsumer pollingConsumer = getConsumer("direct:statusPort");
-
         Map<String, Object> props = new HashMap<>();
         props.put("token", statusPatch.getToken());
         props.put("key", statusPatch.getKey());
         props.put("statusPatch", statusPatch);
         props.put("nullPriorityAsync", nullPriorityAsync);
 
+        Exchange exchange;
         if (statusPatch.isOnSyncope()) {
-            sendMessage("direct:activateUser", statusPatch.getKey(), props);
+            exchange = sendMessage("direct:activateUser", statusPatch.getKey(), props);
         } else {
             WorkflowResult<String> updated =
                     new WorkflowResult<>(statusPatch.getKey(), null, statusPatch.getType().name().toLowerCase());
-            sendMessage("direct:userStatusPropagation", updated, props);
+            exchange = sendMessage("direct:userStatusPropagation", updated, props);
         }
 
-        Exchange exchange = pollingConsumer.receive();
-
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
         }
@@ -192,23 +172,20 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
     public Pair<String, List<PropagationStatus>> reactivate(
             final StatusPatch statusPatch, final boolean nullPriorityAsync) {
 
-        PollingConsumer pollingConsumer = getConsumer("direct:statusPort");
-
         Map<String, Object> props = new HashMap<>();
         props.put("key", statusPatch.getKey());
         props.put("statusPatch", statusPatch);
         props.put("nullPriorityAsync", nullPriorityAsync);
 
+        Exchange exchange;
         if (statusPatch.isOnSyncope()) {
-            sendMessage("direct:reactivateUser", statusPatch.getKey(), props);
+            exchange = sendMessage("direct:reactivateUser", statusPatch.getKey(), props);
         } else {
             WorkflowResult<String> updated =
                     new WorkflowResult<>(statusPatch.getKey(), null, statusPatch.getType().name().toLowerCase());
-            sendMessage("direct:userStatusPropagation", updated, props);
+            exchange = sendMessage("direct:userStatusPropagation", updated, props);
         }
 
-        Exchange exchange = pollingConsumer.receive();
-
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
         }
@@ -221,23 +198,20 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
     public Pair<String, List<PropagationStatus>> suspend(
             final StatusPatch statusPatch, final boolean nullPriorityAsync) {
 
-        PollingConsumer pollingConsumer = getConsumer("direct:statusPort");
-
         Map<String, Object> props = new HashMap<>();
         props.put("key", statusPatch.getKey());
         props.put("statusPatch", statusPatch);
         props.put("nullPriorityAsync", nullPriorityAsync);
 
+        Exchange exchange;
         if (statusPatch.isOnSyncope()) {
-            sendMessage("direct:suspendUser", statusPatch.getKey(), props);
+            exchange = sendMessage("direct:suspendUser", statusPatch.getKey(), props);
         } else {
             WorkflowResult<String> updated =
                     new WorkflowResult<>(statusPatch.getKey(), null, statusPatch.getType().name().toLowerCase());
-            sendMessage("direct:userStatusPropagation", updated, props);
+            exchange = sendMessage("direct:userStatusPropagation", updated, props);
         }
 
-        Exchange exchange = pollingConsumer.receive();
-
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
         }
@@ -247,11 +221,7 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
 
     @Override
     public String link(final UserPatch anyPatch) {
-        PollingConsumer pollingConsumer = getConsumer("direct:linkPort");
-
-        sendMessage("direct:linkUser", anyPatch);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:linkUser", anyPatch);
 
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
@@ -269,8 +239,6 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
             final Collection<String> resources,
             final boolean nullPriorityAsync) {
 
-        PollingConsumer pollingConsumer = getConsumer("direct:provisionPort");
-
         Map<String, Object> props = new HashMap<>();
         props.put("key", key);
         props.put("changePwd", changePwd);
@@ -278,9 +246,7 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
         props.put("resources", resources);
         props.put("nullPriorityAsync", nullPriorityAsync);
 
-        sendMessage("direct:provisionUser", key, props);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:provisionUser", key, props);
 
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
@@ -294,15 +260,11 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
     public List<PropagationStatus> deprovision(
             final String user, final Collection<String> resources, final boolean nullPriorityAsync) {
 
-        PollingConsumer pollingConsumer = getConsumer("direct:deprovisionPort");
-
         Map<String, Object> props = new HashMap<>();
         props.put("resources", resources);
         props.put("nullPriorityAsync", nullPriorityAsync);
 
-        sendMessage("direct:deprovisionUser", user, props);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:deprovisionUser", user, props);
 
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
@@ -321,8 +283,6 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
             final Set<String> excludedResources,
             final boolean nullPriorityAsync) {
 
-        PollingConsumer pollingConsumer = getConsumer("direct:updateInPullPort");
-
         Map<String, Object> props = new HashMap<>();
         props.put("key", userPatch.getKey());
         props.put("result", result);
@@ -330,9 +290,7 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
         props.put("excludedResources", excludedResources);
         props.put("nullPriorityAsync", nullPriorityAsync);
 
-        sendMessage("direct:updateUserInPull", userPatch, props);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:updateUserInPull", userPatch, props);
 
         Exception ex = (Exception) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
         if (ex != null) {
@@ -345,8 +303,7 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
             WorkflowResult<Pair<UserPatch, Boolean>> updated = new WorkflowResult<>(
                     Pair.of(userPatch, false), new PropagationByResource(),
                     new HashSet<>());
-            sendMessage("direct:userInPull", updated, props);
-            exchange = pollingConsumer.receive();
+            exchange = sendMessage("direct:userInPull", updated, props);
         }
 
         return exchange.getIn().getBody(Pair.class);
@@ -354,11 +311,7 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
 
     @Override
     public void internalSuspend(final String key) {
-        PollingConsumer pollingConsumer = getConsumer("direct:internalSuspendUserPort");
-
-        sendMessage("direct:internalSuspendUser", key);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:internalSuspendUser", key);
 
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
@@ -367,11 +320,7 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
 
     @Override
     public void requestPasswordReset(final String key) {
-        PollingConsumer pollingConsumer = getConsumer("direct:requestPwdResetPort");
-
-        sendMessage("direct:requestPwdReset", key);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:requestPwdReset", key);
 
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
@@ -380,16 +329,12 @@ public class CamelUserProvisioningManager extends AbstractCamelProvisioningManag
 
     @Override
     public void confirmPasswordReset(final String key, final String token, final String password) {
-        PollingConsumer pollingConsumer = getConsumer("direct:confirmPwdResetPort");
-
         Map<String, Object> props = new HashMap<>();
         props.put("key", key);
         props.put("token", token);
         props.put("password", password);
 
-        sendMessage("direct:confirmPwdReset", key, props);
-
-        Exchange exchange = pollingConsumer.receive();
+        Exchange exchange = sendMessage("direct:confirmPwdReset", key, props);
 
         if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
             throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
@@ -27,10 +27,14 @@ import java.util.List;
 import java.util.stream.Collectors;
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.Unmarshaller;
+import org.apache.camel.Endpoint;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.component.direct.DirectEndpoint;
 import org.apache.camel.component.metrics.routepolicy.MetricsRoutePolicyFactory;
 import org.apache.camel.model.Constants;
 import org.apache.camel.model.RouteDefinition;
 import org.apache.camel.spring.SpringCamelContext;
+import org.apache.camel.util.ServiceHelper;
 import org.apache.commons.io.IOUtils;
 import org.apache.syncope.core.spring.ApplicationContextProvider;
 import org.apache.syncope.core.persistence.api.dao.CamelRouteDAO;
@@ -57,6 +61,8 @@ public class SyncopeCamelContext {
 
     private SpringCamelContext camelContext;
 
+    private volatile ProducerTemplate producerTemplate;
+
     public SpringCamelContext getContext() {
         synchronized (this) {
             if (camelContext == null) {
@@ -65,23 +71,65 @@ public class SyncopeCamelContext {
                 camelContext.setAllowUseOriginalMessage(false);
                 camelContext.addRoutePolicyFactory(new MetricsRoutePolicyFactory());
             }
-        }
 
-        if (camelContext.getRouteDefinitions().isEmpty()) {
-            List<CamelRoute> routes = routeDAO.findAll();
-            LOG.debug("{} route(s) are going to be loaded ", routes.size());
-            loadContext(routes.stream().map(input -> input.getContent()).collect(Collectors.toList()));
-            try {
-                camelContext.start();
-            } catch (Exception e) {
-                LOG.error("While starting Camel context", e);
-                throw new CamelException(e);
+            if (camelContext.getRouteDefinitions().isEmpty()) {
+                List<CamelRoute> routes = routeDAO.findAll();
+                LOG.debug("{} route(s) are going to be loaded ", routes.size());
+                loadContext(routes.stream().map(input -> input.getContent()).collect(Collectors.toList()));
+                try {
+                    camelContext.start();
+                } catch (Exception e) {
+                    LOG.error("While starting Camel context", e);
+                    throw new CamelException(e);
+                }
+                bindReplyPorts();
             }
         }
 
         return camelContext;
     }
 
+    /**
+     * Returns the {@link ProducerTemplate} shared by all provisioning managers: it is thread-safe and caches the
+     * producers it creates, hence it can serve any number of concurrent requests.
+     *
+     * @return shared producer template
+     */
+    public ProducerTemplate getProducerTemplate() {
+        ProducerTemplate template = producerTemplate;
+        if (template == null) {
+            synchronized (this) {
+                template = producerTemplate;
+                if (template == null) {
+                    template = getContext().createProducerTemplate();
+                    producerTemplate = template;
+                }
+            }
+        }
+        return template;
+    }
+
+    /**
+     * Routes deliver their result to {@code direct:*Port} endpoints; provisioning managers send InOut exchanges and
+     * read the result from the exchange itself, so such endpoints only need a consumer which accepts the exchange,
+     * otherwise the direct component would reject the call.
+     */
+    private void bindReplyPorts() {
+        for (Endpoint endpoint : camelContext.getEndpoints()) {
+            if (endpoint instanceof DirectEndpoint && ((DirectEndpoint) endpoint).getConsumer() == null) {
+                try {
+                    ServiceHelper.startService(endpoint.createConsumer(exchange -> {
+                        // nothing to do: the reply travels back with the exchange
+                    }));
+                    LOG.debug("Bound reply port {}", endpoint.getEndpointUri());
+                } catch (Exception e) {
+                    LOG.error("While binding reply port {}", endpoint.getEndpointUri(), e);
+                    throw new CamelException(e);
+                }
+            }
+        }
+    }
+
     private void loadContext(final Collection<String> routes) {
         try {
             DOMImplementationRegistry reg = DOMImplementationRegistry.newInstance();
@@ -116,8 +164,11 @@ public class SyncopeCamelContext {
         if (camelContext == null) {
             getContext();
         } else if (!camelContext.getRouteDefinitions().isEmpty()) {
-            camelContext.getRouteDefinitions().remove(camelContext.getRouteDefinition(routeKey));
-            loadContext(Collections.singletonList(routeDAO.find(routeKey).getContent()));
+            synchronized (this) {
+                camelContext.getRouteDefinitions().remove(camelContext.getRouteDefinition(routeKey));
+                loadContext(Collections.singletonList(routeDAO.find(routeKey).getContent()));
+                bindReplyPorts();
+            }
         }
     }
 
@@ -127,6 +178,7 @@ public class SyncopeCamelContext {
             loadContext(Collections.singletonList(routeContent));
 
             camelContext.start();
+            bindReplyPorts();
         } catch (Exception e) {
             LOG.error("While restoring Camel route {}", routeKey, e);
             throw new CamelException(e);
@@ -135,8 +187,14 @@ public class SyncopeCamelContext {
 
     public void restartContext() {
         try {
-            camelContext.stop();
-            camelContext.start();
+            synchronized (this) {
+                ServiceHelper.stopService(producerTemplate);
+                producerTemplate = null;
+
+                camelContext.stop();
+                camelContext.start();
+                bindReplyPorts();
+            }
         } catch (Exception e) {
             LOG.error("While restarting Camel context", e);
             throw new CamelException(e);
@@ -0,0 +1,251 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.camel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.camel.Exchange;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.dao.CamelRouteDAO;
+import org.apache.syncope.core.persistence.api.entity.CamelRoute;
+import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+/**
+ * Verifies that, under parallel load, each request gets back the reply of its own exchange.
+ */
+public class CamelReplyRoutingTest {
+
+    private static final String ECHO_ROUTE =
+            "<route id=\"echo\">"
+            + "  <from uri=\"direct:echo\"/>"
+            + "  <doTry>"
+            + "    <delay><simple>${random(0,10)}</simple></delay>"
+            + "    <transform><simple>reply-${body}</simple></transform>"
+            + "    <to uri=\"direct:echoPort\"/>"
+            + "    <doCatch>"
+            + "      <exception>java.lang.RuntimeException</exception>"
+            + "      <handled><constant>false</constant></handled>"
+            + "      <to uri=\"direct:echoPort\"/>"
+            + "    </doCatch>"
+            + "  </doTry>"
+            + "</route>";
+
+    private static final String FAIL_ROUTE =
+            "<route id=\"fail\">"
+            + "  <from uri=\"direct:fail\"/>"
+            + "  <throwException exceptionType=\"java.lang.IllegalArgumentException\" message=\"${body}\"/>"
+            + "  <to uri=\"direct:failPort\"/>"
+            + "</route>";
+
+    private static AnnotationConfigApplicationContext CTX;
+
+    private static TestProvisioningManager MANAGER;
+
+    @BeforeClass
+    public static void setUp() {
+        CTX = new AnnotationConfigApplicationContext();
+        CTX.register(
+                ApplicationContextProvider.class,
+                TestCamelRouteDAO.class,
+                SyncopeCamelContext.class,
+                TestProvisioningManager.class);
+        CTX.refresh();
+
+        MANAGER = CTX.getBean(TestProvisioningManager.class);
+    }
+
+    @AfterClass
+    public static void tearDown() throws Exception {
+        CTX.getBean(SyncopeCamelContext.class).getContext().stop();
+        CTX.close();
+    }
+
+    @Test
+    public void parallelReplies() throws Exception {
+        int requests = 500;
+
+        ExecutorService executor = Executors.newFixedThreadPool(50);
+        try {
+            List<Future<String>> replies = new ArrayList<>(requests);
+            for (int i = 0; i < requests; i++) {
+                String body = String.valueOf(i);
+                replies.add(executor.submit(() -> MANAGER.echo(body)));
+            }
+
+            for (int i = 0; i < requests; i++) {
+                assertEquals("reply-" + i, replies.get(i).get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void parallelFailures() throws Exception {
+        int requests = 100;
+
+        ExecutorService executor = Executors.newFixedThreadPool(20);
+        try {
+            List<Future<Exchange>> replies = new ArrayList<>(requests);
+            for (int i = 0; i < requests; i++) {
+                String body = String.valueOf(i);
+                boolean fail = i % 2 == 0;
+                replies.add(executor.submit(() -> fail
+                        ? MANAGER.sendMessage("direct:fail", body)
+                        : MANAGER.sendMessage("direct:echo", body)));
+            }
+
+            for (int i = 0; i < requests; i++) {
+                Exchange exchange = replies.get(i).get();
+                if (i % 2 == 0) {
+                    Exception e = exchange.getProperty(Exchange.EXCEPTION_CAUGHT, Exception.class);
+                    assertNotNull(e);
+                    assertTrue(e instanceof IllegalArgumentException);
+                    assertEquals(String.valueOf(i), e.getMessage());
+                } else {
+                    assertEquals("reply-" + i, exchange.getIn().getBody(String.class));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    public static class TestProvisioningManager extends AbstractCamelProvisioningManager {
+
+        public String echo(final String body) {
+            Exchange exchange = sendMessage("direct:echo", body);
+
+            if (exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null) {
+                throw (RuntimeException) exchange.getProperty(Exchange.EXCEPTION_CAUGHT);
+            }
+
+            return exchange.getIn().getBody(String.class);
+        }
+    }
+
+    public static class TestCamelRouteDAO implements CamelRouteDAO {
+
+        private final List<CamelRoute> routes = Arrays.asList(
+                new TestCamelRoute("echo", ECHO_ROUTE), new TestCamelRoute("fail", FAIL_ROUTE));
+
+        @Override
+        public CamelRoute find(final String key) {
+            return routes.stream().filter(route -> route.getKey().equals(key)).findFirst().orElse(null);
+        }
+
+        @Override
+        public List<CamelRoute> find(final AnyTypeKind anyTypeKind) {
+            return routes;
+        }
+
+        @Override
+        public List<CamelRoute> findAll() {
+            return routes;
+        }
+
+        @Override
+        public CamelRoute save(final CamelRoute route) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void delete(final String key) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void refresh(final CamelRoute entity) {
+            // nothing to do
+        }
+
+        @Override
+        public void detach(final CamelRoute entity) {
+            // nothing to do
+        }
+
+        @Override
+        public void flush() {
+            // nothing to do
+        }
+
+        @Override
+        public void clear() {
+            // nothing to do
+        }
+    }
+
+    private static class TestCamelRoute implements CamelRoute {
+
+        private static final long serialVersionUID = -6128512547312046271L;
+
+        private String key;
+
+        private AnyTypeKind anyTypeKind = AnyTypeKind.USER;
+
+        private String content;
+
+        TestCamelRoute(final String key, final String content) {
+            this.key = key;
+            this.content = content;
+        }
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public void setKey(final String key) {
+            this.key = key;
+        }
+
+        @Override
+        public AnyTypeKind getAnyTypeKind() {
+            return anyTypeKind;
+        }
+
+        @Override
+        public void setAnyTypeKind(final AnyTypeKind anyTypeKind) {
+            this.anyTypeKind = anyTypeKind;
+        }
+
+        @Override
+        public String getContent() {
+            return content;
+        }
+
+        @Override
+        public void setContent(final String content) {
+            this.content = content;
+        }
+    }
+}
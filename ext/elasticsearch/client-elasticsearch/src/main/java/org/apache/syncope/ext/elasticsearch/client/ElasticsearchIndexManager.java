@@ -20,9 +20,12 @@ package org.apache.syncope.ext.elasticsearch.client;
 
 import java.io.IOException;
 import org.apache.syncope.core.persistence.api.entity.Any;
+import org.apache.syncope.core.provisioning.api.event.AnyBulkUpdatedEvent;
 import org.apache.syncope.core.provisioning.api.event.AnyCreatedUpdatedEvent;
 import org.apache.syncope.core.provisioning.api.event.AnyDeletedEvent;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.elasticsearch.action.bulk.BulkRequestBuilder;
+import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteResponse;
 import org.elasticsearch.action.get.GetResponse;
 import org.elasticsearch.action.index.IndexResponse;
@@ -77,6 +80,30 @@ public class ElasticsearchIndexManager {
         }
     }
 
+    @TransactionalEventListener
+    public void after(final AnyBulkUpdatedEvent event) throws IOException {
+        LOG.debug("About to update index for {} {}", event.getAnyKeys().size(), event.getAnyTypeKind());
+
+        BulkRequestBuilder bulkRequest = client.prepareBulk();
+        elasticsearchUtils.builders(event.getAnyTypeKind(), event.getAnyKeys()).forEach((key, builder) -> {
+            bulkRequest.add(client.prepareIndex(
+                    AuthContextUtils.getDomain().toLowerCase(),
+                    event.getAnyTypeKind().name(),
+                    key).
+                    setSource(builder));
+        });
+        if (bulkRequest.numberOfActions() > 0) {
+            BulkResponse response = bulkRequest.get();
+            if (response.hasFailures()) {
+                LOG.error("While updating index for {} {}: {}",
+                        event.getAnyKeys().size(), event.getAnyTypeKind(), response.buildFailureMessage());
+            } else {
+                LOG.debug("Index successfully updated for {} {}: {}",
+                        event.getAnyKeys().size(), event.getAnyTypeKind(), response);
+            }
+        }
+    }
+
     @TransactionalEventListener
     public void after(final AnyDeletedEvent event) {
         LOG.debug("About to delete index for {}[{}]", event.getAnyTypeKind(), event.getAnyKey());
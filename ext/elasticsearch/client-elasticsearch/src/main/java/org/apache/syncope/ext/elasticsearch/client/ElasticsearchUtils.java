@@ -21,9 +21,12 @@ package org.apache.syncope.ext.elasticsearch.client;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
@@ -71,6 +74,31 @@ public class ElasticsearchUtils {
         return retryOnConflict;
     }
 
+    /**
+     * Returns the builders specialized with content from the any objects with the provided kind and keys; any objects
+     * not found are skipped.
+     *
+     * @param kind any type kind
+     * @param keys user, group or any object keys
+     * @return builders specialized with content from the any objects found, by key
+     * @throws IOException in case of errors
+     */
+    @Transactional(readOnly = true)
+    public Map<String, XContentBuilder> builders(final AnyTypeKind kind, final List<String> keys) throws IOException {
+        Map<String, XContentBuilder> builders = new LinkedHashMap<>(keys.size());
+        for (String key : keys) {
+            Any<?> any = kind == AnyTypeKind.USER
+                    ? userDAO.find(key)
+                    : kind == AnyTypeKind.GROUP
+                            ? groupDAO.find(key)
+                            : anyObjectDAO.find(key);
+            if (any != null) {
+                builders.put(key, builder(any));
+            }
+        }
+        return builders;
+    }
+
     /**
      * Returns the builder specialized with content from the provided any.
      *
@@ -18,6 +18,7 @@
  */
 package org.apache.syncope.core.provisioning.java.job;
 
+import java.util.Iterator;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.core.persistence.api.dao.AnyDAO;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
@@ -119,40 +120,43 @@ public class ElasticsearchReindex extends AbstractSchedTaskJobDelegate {
                         AuthContextUtils.getDomain().toLowerCase(), createIndexResponse);
 
                 LOG.debug("Indexing users...");
-                for (int page = 1; page <= (userDAO.count() / AnyDAO.DEFAULT_PAGE_SIZE) + 1; page++) {
-                    for (User user : userDAO.findAll(page, AnyDAO.DEFAULT_PAGE_SIZE)) {
-                        IndexResponse response = client.prepareIndex(
-                                AuthContextUtils.getDomain().toLowerCase(),
-                                AnyTypeKind.USER.name(),
-                                user.getKey()).
-                                setSource(elasticsearchUtils.builder(user)).
-                                get();
-                        LOG.debug("Index successfully created for {}: {}", user, response);
-                    }
+                for (Iterator<User> itor = userDAO.streamAll(AnyDAO.DEFAULT_FETCH_SIZE, true).iterator();
+                        itor.hasNext();) {
+
+                    User user = itor.next();
+                    IndexResponse response = client.prepareIndex(
+                            AuthContextUtils.getDomain().toLowerCase(),
+                            AnyTypeKind.USER.name(),
+                            user.getKey()).
+                            setSource(elasticsearchUtils.builder(user)).
+                            get();
+                    LOG.debug("Index successfully created for {}: {}", user, response);
                 }
                 LOG.debug("Indexing groups...");
-                for (int page = 1; page <= (groupDAO.count() / AnyDAO.DEFAULT_PAGE_SIZE) + 1; page++) {
-                    for (Group group : groupDAO.findAll(page, AnyDAO.DEFAULT_PAGE_SIZE)) {
-                        IndexResponse response = client.prepareIndex(
-                                AuthContextUtils.getDomain().toLowerCase(),
-                                AnyTypeKind.GROUP.name(),
-                                group.getKey()).
-                                setSource(elasticsearchUtils.builder(group)).
-                                get();
-                        LOG.debug("Index successfully created for {}: {}", group, response);
-                    }
+                for (Iterator<Group> itor = groupDAO.streamAll(AnyDAO.DEFAULT_FETCH_SIZE, true).iterator();
+                        itor.hasNext();) {
+
+                    Group group = itor.next();
+                    IndexResponse response = client.prepareIndex(
+                            AuthContextUtils.getDomain().toLowerCase(),
+                            AnyTypeKind.GROUP.name(),
+                            group.getKey()).
+                            setSource(elasticsearchUtils.builder(group)).
+                            get();
+                    LOG.debug("Index successfully created for {}: {}", group, response);
                 }
                 LOG.debug("Indexing any objects...");
-                for (int page = 1; page <= (anyObjectDAO.count() / AnyDAO.DEFAULT_PAGE_SIZE) + 1; page++) {
-                    for (AnyObject anyObject : anyObjectDAO.findAll(page, AnyDAO.DEFAULT_PAGE_SIZE)) {
-                        IndexResponse response = client.prepareIndex(
-                                AuthContextUtils.getDomain().toLowerCase(),
-                                AnyTypeKind.ANY_OBJECT.name(),
-                                anyObject.getKey()).
-                                setSource(elasticsearchUtils.builder(anyObject)).
-                                get();
-                        LOG.debug("Index successfully created for {}: {}", anyObject, response);
-                    }
+                for (Iterator<AnyObject> itor = anyObjectDAO.streamAll(AnyDAO.DEFAULT_FETCH_SIZE, true).iterator();
+                        itor.hasNext();) {
+
+                    AnyObject anyObject = itor.next();
+                    IndexResponse response = client.prepareIndex(
+                            AuthContextUtils.getDomain().toLowerCase(),
+                            AnyTypeKind.ANY_OBJECT.name(),
+                            anyObject.getKey()).
+                            setSource(elasticsearchUtils.builder(anyObject)).
+                            get();
+                    LOG.debug("Index successfully created for {}: {}", anyObject, response);
                 }
 
                 LOG.debug("Rebuild index {} successfully completed", AuthContextUtils.getDomain().toLowerCase());
@@ -73,6 +73,10 @@ public class SAML2SPLoader implements SyncopeLoader {
 
     private String signatureAlgorithm;
 
+    private int replayCacheMaxSize;
+
+    private long replayCacheTTL;
+
     @Override
     public Integer getPriority() {
         return 1000;
@@ -99,6 +103,8 @@ public class SAML2SPLoader implements SyncopeLoader {
         String certAlias = props.getProperty("sp.cert.alias");
         assertNotNull(certAlias, "<sp.cert.alias>");
         signatureAlgorithm = props.getProperty("signature.algorithm");
+        replayCacheMaxSize = Integer.valueOf(props.getProperty("replayCache.maxSize", "10000"));
+        replayCacheTTL = Long.valueOf(props.getProperty("replayCache.ttl", "300"));
 
         LOG.debug("Attempting to load the provided keystore...");
         try {
@@ -149,4 +155,12 @@ public class SAML2SPLoader implements SyncopeLoader {
         return signatureAlgorithm;
     }
 
+    public int getReplayCacheMaxSize() {
+        return replayCacheMaxSize;
+    }
+
+    public long getReplayCacheTTL() {
+        return replayCacheTTL;
+    }
+
 }
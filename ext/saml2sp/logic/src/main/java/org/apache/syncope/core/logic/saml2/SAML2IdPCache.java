@@ -65,9 +65,10 @@ public class SAML2IdPCache {
     public SAML2IdPEntity put(
             final EntityDescriptor entityDescriptor,
             final SAML2IdPTO idpTO)
-            throws CertificateException, IOException, KeyStoreException, NoSuchAlgorithmException {
+            throws CertificateException, IOException, KeyStoreException, NoSuchAlgorithmException,
+            WSSecurityException {
 
-        SAML2IdPEntity idp = new SAML2IdPEntity(entityDescriptor, idpTO, loader.getKeyPass());
+        SAML2IdPEntity idp = new SAML2IdPEntity(entityDescriptor, idpTO, loader.getKeyStore(), loader.getKeyPass());
         cache.put(entityDescriptor.getEntityID(), idp);
         return idp;
     }
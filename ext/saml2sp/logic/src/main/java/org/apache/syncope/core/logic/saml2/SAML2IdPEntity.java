@@ -36,6 +36,9 @@ import org.apache.syncope.common.lib.to.ItemTO;
 import org.apache.syncope.common.lib.to.SAML2IdPTO;
 import org.apache.syncope.common.lib.to.UserTO;
 import org.apache.syncope.common.lib.types.SAML2BindingType;
+import org.apache.wss4j.common.crypto.Crypto;
+import org.apache.wss4j.common.crypto.Merlin;
+import org.apache.wss4j.common.ext.WSSecurityException;
 import org.opensaml.saml.common.xml.SAMLConstants;
 import org.opensaml.saml.saml2.metadata.Endpoint;
 import org.opensaml.saml.saml2.metadata.EntityDescriptor;
@@ -64,11 +67,15 @@ public class SAML2IdPEntity {
 
     private final KeyStore trustStore;
 
+    private final Merlin crypto;
+
     public SAML2IdPEntity(
             final EntityDescriptor entityDescriptor,
             final SAML2IdPTO idpTO,
+            final KeyStore keyStore,
             final String keyPass)
-            throws CertificateException, IOException, KeyStoreException, NoSuchAlgorithmException {
+            throws CertificateException, IOException, KeyStoreException, NoSuchAlgorithmException,
+            WSSecurityException {
 
         this.id = entityDescriptor.getEntityID();
         this.idpTO = idpTO;
@@ -115,6 +122,13 @@ public class SAML2IdPEntity {
             LOG.debug("[{}] Set default X.509 certificate {}", id, chain.get(0).getSubjectX500Principal().getName());
             this.trustStore.setCertificateEntry(id, chain.get(0));
         }
+
+        // built once here (and re-built only when the IdP is refreshed) then shared by all response validations:
+        // only read access is performed on it afterwards, so eagerly init what Merlin would otherwise init lazily
+        this.crypto = new Merlin();
+        this.crypto.setKeyStore(keyStore);
+        this.crypto.setTrustStore(trustStore);
+        this.crypto.getCertificateFactory();
     }
 
     public void setIdpTO(final SAML2IdPTO idpTO) {
@@ -177,4 +191,11 @@ public class SAML2IdPEntity {
         return trustStore;
     }
 
+    /**
+     * @return crypto holding the SP keystore and this IdP's trust store, for validating SAML responses
+     */
+    public Crypto getCrypto() {
+        return crypto;
+    }
+
 }
@@ -45,6 +45,8 @@ import org.apache.cxf.rs.security.saml.DeflateEncoderDecoder;
 import org.apache.cxf.rs.security.saml.sso.SAMLProtocolResponseValidator;
 import org.apache.cxf.rs.security.saml.sso.SAMLSSOResponseValidator;
 import org.apache.cxf.rs.security.saml.sso.SSOValidatorResponse;
+import org.apache.cxf.rs.security.saml.sso.TokenReplayCache;
+import org.apache.commons.io.IOUtils;
 import org.apache.cxf.staxutils.StaxUtils;
 import org.apache.syncope.common.lib.SSOConstants;
 import org.apache.syncope.common.lib.types.SAML2BindingType;
@@ -95,6 +97,10 @@ public class SAML2ReaderWriter {
 
     private SAMLSPCallbackHandler callbackHandler;
 
+    private SAMLProtocolResponseValidator protocolValidator;
+
+    private TokenReplayCache<String> replayCache;
+
     public void init() {
         X509KeyInfoGeneratorFactory keyInfoGeneratorFactory = new X509KeyInfoGeneratorFactory();
         keyInfoGeneratorFactory.setEmitEntityCertificate(true);
@@ -127,6 +133,12 @@ public class SAML2ReaderWriter {
         }
 
         callbackHandler = new SAMLSPCallbackHandler(loader.getKeyPass());
+
+        // stateless once configured, hence shared by all validations
+        protocolValidator = new SAMLProtocolResponseValidator();
+        protocolValidator.setKeyInfoMustBeAvailable(true);
+
+        replayCache = new SAML2ReplayCache(loader.getReplayCacheMaxSize(), loader.getReplayCacheTTL());
     }
 
     public String getSigAlgo() {
@@ -143,7 +155,7 @@ public class SAML2ReaderWriter {
     }
 
     public XMLObject read(final boolean useDeflateEncoding, final String response)
-            throws DataFormatException, UnsupportedEncodingException, XMLStreamException, WSSecurityException {
+            throws DataFormatException, IOException, XMLStreamException, WSSecurityException {
 
         InputStream tokenStream;
         byte[] deflatedToken = Base64.getDecoder().decode(response);
@@ -151,23 +163,16 @@ public class SAML2ReaderWriter {
                 ? new DeflateEncoderDecoder().inflateToken(deflatedToken)
                 : new ByteArrayInputStream(deflatedToken);
 
-        // parse the provided SAML response
-        Document responseDoc = StaxUtils.read(new InputStreamReader(tokenStream, StandardCharsets.UTF_8));
-        XMLObject responseObject = OpenSAMLUtil.fromDom(responseDoc.getDocumentElement());
-
+        // log the SAML response as received, rather than serializing again the parsed object
         if (LOG.isDebugEnabled()) {
-            try {
-                StringWriter writer = new StringWriter();
-                write(writer, responseObject, false);
-                writer.close();
-
-                LOG.debug("Parsed SAML response: {}", writer.toString());
-            } catch (Exception e) {
-                LOG.error("Could not log the received SAML response", e);
-            }
+            byte[] token = IOUtils.toByteArray(tokenStream);
+            LOG.debug("Received SAML response: {}", new String(token, StandardCharsets.UTF_8));
+            tokenStream = new ByteArrayInputStream(token);
         }
 
-        return responseObject;
+        // parse the provided SAML response
+        Document responseDoc = StaxUtils.read(new InputStreamReader(tokenStream, StandardCharsets.UTF_8));
+        return OpenSAMLUtil.fromDom(responseDoc.getDocumentElement());
     }
 
     public void sign(final SignableSAMLObject signableObject) throws SecurityException {
@@ -230,21 +235,23 @@ public class SAML2ReaderWriter {
             throws WSSecurityException {
 
         // validate the SAML response and, if needed, decrypt the provided assertion(s)
-        Merlin crypto = new Merlin();
-        crypto.setKeyStore(loader.getKeyStore());
-        crypto.setTrustStore(idp.getTrustStore());
-
-        SAMLProtocolResponseValidator protocolValidator = new SAMLProtocolResponseValidator();
-        protocolValidator.setKeyInfoMustBeAvailable(true);
-        protocolValidator.validateSamlResponse(samlResponse, crypto, callbackHandler);
+        protocolValidator.validateSamlResponse(samlResponse, idp.getCrypto(), callbackHandler);
 
+        // this one holds per-request state, and is cheap to create
         SAMLSSOResponseValidator ssoResponseValidator = new SAMLSSOResponseValidator();
+        ssoResponseValidator.setReplayCache(replayCache);
         ssoResponseValidator.setAssertionConsumerURL(assertionConsumerURL);
         ssoResponseValidator.setIssuerIDP(idp.getId());
         ssoResponseValidator.setRequestId(requestId);
         ssoResponseValidator.setSpIdentifier(spEntityID);
-        SSOValidatorResponse validatorResponse =
-                ssoResponseValidator.validateSamlResponse(samlResponse, idp.getBindingType() == SAML2BindingType.POST);
+        SSOValidatorResponse validatorResponse;
+        try {
+            validatorResponse = ssoResponseValidator.validateSamlResponse(
+                    samlResponse, idp.getBindingType() == SAML2BindingType.POST);
+        } catch (SAML2ReplayCache.ReplayCacheException e) {
+            LOG.error("Rejecting SAML response {}: {}", samlResponse.getID(), e.getMessage());
+            throw new WSSecurityException(WSSecurityException.ErrorCode.FAILURE, e, "invalidSAMLsecurity");
+        }
 
         if (LOG.isDebugEnabled()) {
             try {
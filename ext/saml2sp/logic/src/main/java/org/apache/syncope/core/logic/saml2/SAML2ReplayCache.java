@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.logic.saml2;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.cxf.rs.security.saml.sso.TokenReplayCache;
+
+/**
+ * Bounded in-memory cache of the assertion IDs already consumed, used to detect replay attempts; each ID is kept
+ * until the expiration of the related assertion.
+ * When full, no live ID is ever evicted: new IDs are rejected instead, until some of the cached ones expire.
+ */
+public class SAML2ReplayCache implements TokenReplayCache<String> {
+
+    /**
+     * Thrown when an ID cannot be accepted, either because it was already consumed or because the cache is full.
+     */
+    public static class ReplayCacheException extends RuntimeException {
+
+        private static final long serialVersionUID = -3441213425542407282L;
+
+        public ReplayCacheException(final String message) {
+            super(message);
+        }
+    }
+
+    private final Map<String, Long> ids = new HashMap<>();
+
+    private final PriorityQueue<Pair<Long, String>> expirations = new PriorityQueue<>(
+            Comparator.<Pair<Long, String>, Long>comparing(Pair::getLeft));
+
+    private final int maxSize;
+
+    private final long defaultTTL;
+
+    /**
+     * @param maxSize maximum number of IDs kept; when reached, new IDs are rejected
+     * @param defaultTTL TTL (in seconds) for IDs put without an explicit TTL
+     */
+    public SAML2ReplayCache(final int maxSize, final long defaultTTL) {
+        this.maxSize = maxSize;
+        this.defaultTTL = defaultTTL;
+    }
+
+    protected long now() {
+        return System.currentTimeMillis();
+    }
+
+    private void purge(final long now) {
+        while (!expirations.isEmpty() && expirations.peek().getLeft() <= now) {
+            Pair<Long, String> expired = expirations.poll();
+            ids.remove(expired.getRight(), expired.getLeft());
+        }
+    }
+
+    @Override
+    public synchronized String getId(final String id) {
+        purge(now());
+        return ids.containsKey(id) ? id : null;
+    }
+
+    @Override
+    public void putId(final String id) {
+        putId(id, defaultTTL);
+    }
+
+    @Override
+    public synchronized void putId(final String id, final long timeToLive) {
+        if (id == null) {
+            return;
+        }
+
+        long now = now();
+        purge(now);
+
+        if (ids.containsKey(id)) {
+            throw new ReplayCacheException("Assertion ID " + id + " was already consumed");
+        }
+        if (ids.size() >= maxSize) {
+            throw new ReplayCacheException("Replay cache full, cannot accept assertion ID " + id);
+        }
+
+        long expiration = now + (timeToLive > 0 ? timeToLive : defaultTTL) * 1000L;
+        ids.put(id, expiration);
+        expirations.add(Pair.of(expiration, id));
+    }
+
+    public synchronized int size() {
+        purge(now());
+        return ids.size();
+    }
+
+    @Override
+    public synchronized void close() {
+        ids.clear();
+        expirations.clear();
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.logic.saml2;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyStore;
+import java.security.cert.X509Certificate;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.UUID;
+import org.apache.cxf.rs.security.saml.DeflateEncoderDecoder;
+import org.apache.cxf.rs.security.saml.sso.SAMLProtocolResponseValidator;
+import org.apache.cxf.helpers.DOMUtils;
+import org.apache.cxf.staxutils.StaxUtils;
+import org.apache.syncope.common.lib.to.SAML2IdPTO;
+import org.apache.syncope.common.lib.types.SAML2BindingType;
+import org.apache.syncope.core.logic.init.SAML2SPLoader;
+import org.apache.wss4j.common.crypto.Merlin;
+import org.apache.wss4j.common.ext.WSSecurityException;
+import org.apache.wss4j.common.saml.OpenSAMLUtil;
+import org.apache.wss4j.common.util.DOM2Writer;
+import org.apache.wss4j.common.saml.SAMLCallback;
+import org.apache.wss4j.common.saml.SamlAssertionWrapper;
+import org.apache.wss4j.common.saml.bean.AudienceRestrictionBean;
+import org.apache.wss4j.common.saml.bean.AuthenticationStatementBean;
+import org.apache.wss4j.common.saml.bean.ConditionsBean;
+import org.apache.wss4j.common.saml.bean.SubjectBean;
+import org.apache.wss4j.common.saml.bean.SubjectConfirmationDataBean;
+import org.apache.wss4j.common.saml.bean.Version;
+import org.apache.wss4j.common.saml.builder.SAML2Constants;
+import org.joda.time.DateTime;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opensaml.saml.saml2.core.Issuer;
+import org.opensaml.saml.saml2.core.Response;
+import org.opensaml.saml.saml2.core.Status;
+import org.opensaml.saml.saml2.core.StatusCode;
+import org.opensaml.saml.saml2.core.impl.IssuerBuilder;
+import org.opensaml.saml.saml2.core.impl.ResponseBuilder;
+import org.opensaml.saml.saml2.core.impl.StatusBuilder;
+import org.opensaml.saml.saml2.core.impl.StatusCodeBuilder;
+import org.opensaml.saml.saml2.metadata.EntityDescriptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class SAML2ReaderWriterTest {
+
+    private static final String IDP = "urn:org:apache:syncope:test:idp";
+
+    private static final String SP = "http://recipient.apache.org/";
+
+    private static final String ACS = "http://recipient.apache.org/saml2sp/assertion-consumer";
+
+    private static final String PASSWORD = "security";
+
+    private static KeyStore idpKeyStore;
+
+    private static SAML2IdPEntity idp;
+
+    private static class TestSAML2SPLoader extends SAML2SPLoader {
+
+        private final int replayCacheMaxSize;
+
+        TestSAML2SPLoader(final int replayCacheMaxSize) {
+            this.replayCacheMaxSize = replayCacheMaxSize;
+        }
+
+        @Override
+        public String getKeyPass() {
+            return PASSWORD;
+        }
+
+        @Override
+        public String getSignatureAlgorithm() {
+            return "RSA_SHA256";
+        }
+
+        @Override
+        public int getReplayCacheMaxSize() {
+            return replayCacheMaxSize;
+        }
+
+        @Override
+        public long getReplayCacheTTL() {
+            return 300;
+        }
+    }
+
+    @BeforeClass
+    public static void setUp() throws Exception {
+        // SAML2SPLoader's static initializer takes care of initializing OpenSAML
+        Class.forName(SAML2SPLoader.class.getName());
+
+        idpKeyStore = KeyStore.getInstance("JKS");
+        try (InputStream keystore = SAML2ReaderWriterTest.class.getResourceAsStream("/idpkeystore")) {
+            idpKeyStore.load(keystore, PASSWORD.toCharArray());
+        }
+        X509Certificate cert = (X509Certificate) idpKeyStore.getCertificate("idp");
+
+        String metadata = "<md:EntityDescriptor xmlns:md=\"urn:oasis:names:tc:SAML:2.0:metadata\""
+                + " xmlns:ds=\"http://www.w3.org/2000/09/xmldsig#\" entityID=\"" + IDP + "\">"
+                + "<md:IDPSSODescriptor protocolSupportEnumeration=\"urn:oasis:names:tc:SAML:2.0:protocol\">"
+                + "<md:KeyDescriptor use=\"signing\"><ds:KeyInfo><ds:X509Data><ds:X509Certificate>"
+                + Base64.getEncoder().encodeToString(cert.getEncoded())
+                + "</ds:X509Certificate></ds:X509Data></ds:KeyInfo></md:KeyDescriptor>"
+                + "<md:SingleSignOnService Binding=\"urn:oasis:names:tc:SAML:2.0:bindings:HTTP-POST\""
+                + " Location=\"http://idp.apache.org/sso\"/>"
+                + "</md:IDPSSODescriptor></md:EntityDescriptor>";
+        EntityDescriptor entityDescriptor = (EntityDescriptor) OpenSAMLUtil.fromDom(
+                StaxUtils.read(new StringReader(metadata)).getDocumentElement());
+
+        SAML2IdPTO idpTO = new SAML2IdPTO();
+        idpTO.setEntityID(IDP);
+        idpTO.setBindingType(SAML2BindingType.POST);
+
+        KeyStore spKeyStore = KeyStore.getInstance("JKS");
+        spKeyStore.load(null, PASSWORD.toCharArray());
+
+        idp = new SAML2IdPEntity(entityDescriptor, idpTO, spKeyStore, PASSWORD);
+    }
+
+    private static SAML2ReaderWriter readerWriter(final int replayCacheMaxSize) {
+        SAML2ReaderWriter rw = new SAML2ReaderWriter();
+        ReflectionTestUtils.setField(rw, "loader", new TestSAML2SPLoader(replayCacheMaxSize));
+        rw.init();
+        return rw;
+    }
+
+    private static Response createResponse(final String requestId) throws Exception {
+        SAMLCallback samlCallback = new SAMLCallback();
+        samlCallback.setSamlVersion(Version.SAML_20);
+        samlCallback.setIssuer(IDP);
+
+        SubjectConfirmationDataBean subjectConfirmationData = new SubjectConfirmationDataBean();
+        subjectConfirmationData.setInResponseTo(requestId);
+        subjectConfirmationData.setNotAfter(new DateTime().plusMinutes(5));
+        subjectConfirmationData.setRecipient(ACS);
+        SubjectBean subject = new SubjectBean("puccini", null, SAML2Constants.CONF_BEARER);
+        subject.setSubjectConfirmationData(subjectConfirmationData);
+        samlCallback.setSubject(subject);
+
+        ConditionsBean conditions = new ConditionsBean();
+        conditions.setNotBefore(new DateTime());
+        conditions.setNotAfter(new DateTime().plusMinutes(5));
+        AudienceRestrictionBean audienceRestriction = new AudienceRestrictionBean();
+        audienceRestriction.setAudienceURIs(Collections.singletonList(SP));
+        conditions.setAudienceRestrictions(Collections.singletonList(audienceRestriction));
+        samlCallback.setConditions(conditions);
+
+        AuthenticationStatementBean authBean = new AuthenticationStatementBean();
+        authBean.setAuthenticationMethod("Password");
+        samlCallback.setAuthenticationStatementData(Collections.singletonList(authBean));
+
+        SamlAssertionWrapper assertion = new SamlAssertionWrapper(samlCallback);
+        Merlin issuerCrypto = new Merlin();
+        issuerCrypto.setKeyStore(idpKeyStore);
+        assertion.signAssertion("idp", PASSWORD, issuerCrypto, false);
+
+        Issuer issuer = new IssuerBuilder().buildObject();
+        issuer.setValue(IDP);
+
+        StatusCode statusCode = new StatusCodeBuilder().buildObject();
+        statusCode.setValue(SAMLProtocolResponseValidator.SAML2_STATUSCODE_SUCCESS);
+        Status status = new StatusBuilder().buildObject();
+        status.setStatusCode(statusCode);
+
+        Response response = new ResponseBuilder().buildObject();
+        response.setID(UUID.randomUUID().toString());
+        response.setIssueInstant(new DateTime());
+        response.setInResponseTo(requestId);
+        response.setIssuer(issuer);
+        response.setStatus(status);
+        response.setDestination(ACS);
+        response.getAssertions().add(assertion.getSaml2());
+
+        return response;
+    }
+
+    /**
+     * Serializes the response as the IdP would send it, computing the assertion signature.
+     */
+    private static byte[] serialize(final Response response) throws Exception {
+        return DOM2Writer.nodeToString(OpenSAMLUtil.toDom(response, DOMUtils.newDocument())).
+                getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Response roundTrip(final SAML2ReaderWriter rw, final Response response) throws Exception {
+        return (Response) rw.read(false, Base64.getEncoder().encodeToString(serialize(response)));
+    }
+
+    @Test
+    public void read() throws Exception {
+        SAML2ReaderWriter rw = readerWriter(10);
+        Response response = createResponse("_request");
+
+        byte[] payload = serialize(response);
+
+        Response plain = (Response) rw.read(false, Base64.getEncoder().encodeToString(payload));
+        assertEquals(response.getID(), plain.getID());
+        assertEquals(response.getAssertions().get(0).getID(), plain.getAssertions().get(0).getID());
+
+        Response deflated = (Response) rw.read(
+                true, Base64.getEncoder().encodeToString(new DeflateEncoderDecoder().deflateToken(payload)));
+        assertEquals(response.getID(), deflated.getID());
+        assertEquals(response.getAssertions().get(0).getID(), deflated.getAssertions().get(0).getID());
+    }
+
+    @Test
+    public void validateAndRejectReplay() throws Exception {
+        SAML2ReaderWriter rw = readerWriter(10);
+        Response response = createResponse("_request");
+
+        assertNotNull(rw.validate(roundTrip(rw, response), idp, ACS, "_request", SP));
+
+        try {
+            rw.validate(roundTrip(rw, response), idp, ACS, "_request", SP);
+            fail("Replayed assertion must be rejected");
+        } catch (WSSecurityException e) {
+            assertNotNull(e);
+        }
+    }
+
+    @Test
+    public void rejectWhenReplayCacheFull() throws Exception {
+        SAML2ReaderWriter rw = readerWriter(1);
+
+        assertNotNull(rw.validate(roundTrip(rw, createResponse("_request1")), idp, ACS, "_request1", SP));
+
+        try {
+            rw.validate(roundTrip(rw, createResponse("_request2")), idp, ACS, "_request2", SP);
+            fail("New assertions must be rejected while the replay cache is full");
+        } catch (WSSecurityException e) {
+            assertTrue(e.getCause() instanceof SAML2ReplayCache.ReplayCacheException);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.logic.saml2;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Test;
+
+public class SAML2ReplayCacheTest {
+
+    private static class ClockedReplayCache extends SAML2ReplayCache {
+
+        private final AtomicLong clock = new AtomicLong(1000000L);
+
+        ClockedReplayCache(final int maxSize, final long defaultTTL) {
+            super(maxSize, defaultTTL);
+        }
+
+        @Override
+        protected long now() {
+            return clock.get();
+        }
+
+        void advance(final long seconds) {
+            clock.addAndGet(seconds * 1000L);
+        }
+    }
+
+    @Test
+    public void replay() {
+        ClockedReplayCache cache = new ClockedReplayCache(10, 300);
+
+        assertNull(cache.getId("id1"));
+        cache.putId("id1");
+        assertEquals("id1", cache.getId("id1"));
+
+        try {
+            cache.putId("id1");
+            fail("Replayed ID must be rejected");
+        } catch (SAML2ReplayCache.ReplayCacheException e) {
+            assertNotNull(e.getMessage());
+        }
+    }
+
+    @Test
+    public void expiration() {
+        ClockedReplayCache cache = new ClockedReplayCache(10, 300);
+
+        cache.putId("default");
+        cache.putId("short", 10);
+        assertEquals(2, cache.size());
+
+        cache.advance(10);
+        assertNull(cache.getId("short"));
+        assertEquals("default", cache.getId("default"));
+
+        cache.advance(290);
+        assertNull(cache.getId("default"));
+        assertEquals(0, cache.size());
+
+        // once expired, the same ID is accepted again
+        cache.putId("short", 10);
+        assertEquals("short", cache.getId("short"));
+    }
+
+    @Test
+    public void failClosedWhenFull() {
+        ClockedReplayCache cache = new ClockedReplayCache(2, 300);
+
+        cache.putId("id1", 60);
+        cache.putId("id2", 120);
+        try {
+            cache.putId("id3");
+            fail("Full cache must reject new IDs");
+        } catch (SAML2ReplayCache.ReplayCacheException e) {
+            assertNotNull(e.getMessage());
+        }
+
+        // no live ID was evicted
+        assertEquals("id1", cache.getId("id1"));
+        assertEquals("id2", cache.getId("id2"));
+        assertNull(cache.getId("id3"));
+
+        // as soon as the ID closest to expiration expires, there is room again
+        cache.advance(60);
+        cache.putId("id3");
+        assertNull(cache.getId("id1"));
+        assertEquals("id2", cache.getId("id2"));
+        assertEquals("id3", cache.getId("id3"));
+    }
+
+    @Test
+    public void concurrentPut() throws Exception {
+        SAML2ReplayCache cache = new SAML2ReplayCache(1000, 300);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Boolean>> puts = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                puts.add(() -> {
+                    try {
+                        cache.putId("same");
+                        return true;
+                    } catch (SAML2ReplayCache.ReplayCacheException e) {
+                        return false;
+                    }
+                });
+            }
+
+            int accepted = 0;
+            for (Future<Boolean> result : executor.invokeAll(puts)) {
+                if (result.get()) {
+                    accepted++;
+                }
+            }
+            assertEquals(1, accepted);
+            assertEquals(1, cache.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -24,18 +24,25 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.fail;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
 import java.util.List;
 import java.util.Properties;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.xml.ws.WebServiceException;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.cxf.jaxrs.client.WebClient;
+import org.apache.syncope.client.lib.SyncopeClient;
 import org.apache.syncope.common.lib.SyncopeClientException;
 import org.apache.syncope.common.lib.log.EventCategoryTO;
 import org.apache.syncope.common.lib.log.LogAppender;
@@ -52,6 +59,8 @@ import org.apache.syncope.common.lib.types.LoggerLevel;
 import org.apache.syncope.common.lib.types.LoggerType;
 import org.apache.syncope.common.lib.types.ResourceOperation;
 import org.apache.syncope.common.rest.api.LoggerWrapper;
+import org.apache.syncope.common.rest.api.RESTHeaders;
+import org.apache.syncope.common.rest.api.service.LoggerService;
 import org.apache.syncope.core.logic.ConnectorLogic;
 import org.apache.syncope.core.logic.ReportLogic;
 import org.apache.syncope.core.logic.ResourceLogic;
@@ -87,6 +96,41 @@ public class LoggerITCase extends AbstractITCase {
         assertNotNull(statement.getTimeMillis());
     }
 
+    private Response streamStatements(final SyncopeClient client) {
+        return WebClient.fromClient(WebClient.client(client.getService(LoggerService.class))).
+                path("memoryAppenders").path("connid").path("logStatements").path("stream").
+                accept(MediaType.SERVER_SENT_EVENTS_TYPE).
+                header(RESTHeaders.DOMAIN, client.getDomain()).
+                header(HttpHeaders.AUTHORIZATION, "Bearer " + client.getJWT()).
+                get();
+    }
+
+    @Test
+    public void streamStatements() throws IOException {
+        // 1. non-admin user: forbidden, before any stream is started
+        Response response = streamStatements(clientFactory.create("rossini", ADMIN_PWD));
+        assertEquals(Response.Status.FORBIDDEN.getStatusCode(), response.getStatus());
+        response.close();
+
+        // 2. admin: the stream starts with the reconnection delay, then brings the available statements
+        response = streamStatements(adminClient);
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(response.readEntity(InputStream.class), StandardCharsets.UTF_8))) {
+
+            assertTrue(reader.readLine().startsWith("retry: "));
+            assertEquals(StringUtils.EMPTY, reader.readLine());
+
+            String line = reader.readLine();
+            assertNotNull(line);
+            assertTrue(line.startsWith("id: "));
+            assertEquals("event: logStatement", reader.readLine());
+            assertTrue(reader.readLine().startsWith("data: "));
+        } finally {
+            response.close();
+        }
+    }
+
     @Test
     public void listLogs() {
         List<LoggerTO> loggers = loggerService.list(LoggerType.LOG);
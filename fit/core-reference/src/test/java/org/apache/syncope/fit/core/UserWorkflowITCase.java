@@ -21,14 +21,18 @@ package org.apache.syncope.fit.core;
 import org.apache.syncope.fit.FlowableDetector;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import javax.sql.DataSource;
 import javax.ws.rs.core.Response;
@@ -40,11 +44,13 @@ import org.apache.syncope.common.lib.patch.StringPatchItem;
 import org.apache.syncope.common.lib.patch.StringReplacePatchItem;
 import org.apache.syncope.common.lib.patch.UserPatch;
 import org.apache.syncope.common.lib.to.MembershipTO;
+import org.apache.syncope.common.lib.to.PagedResult;
 import org.apache.syncope.common.lib.to.ProvisioningResult;
 import org.apache.syncope.common.lib.to.UserTO;
 import org.apache.syncope.common.lib.to.WorkflowFormTO;
 import org.apache.syncope.common.lib.types.ClientExceptionType;
 import org.apache.syncope.common.lib.types.PatchOperation;
+import org.apache.syncope.common.rest.api.beans.WorkflowFormQuery;
 import org.apache.syncope.common.rest.api.service.UserSelfService;
 import org.apache.syncope.common.rest.api.service.UserWorkflowService;
 import org.apache.syncope.fit.AbstractITCase;
@@ -143,9 +149,10 @@ public class UserWorkflowITCase extends AbstractITCase {
         Assume.assumeTrue(FlowableDetector.isFlowableEnabledForUsers(syncopeService));
 
         // read forms *before* any operation
-        List<WorkflowFormTO> forms = userWorkflowService.getForms();
+        PagedResult<WorkflowFormTO> forms =
+                userWorkflowService.getForms(new WorkflowFormQuery.Builder().page(1).size(1000).build());
         assertNotNull(forms);
-        int preForms = forms.size();
+        int preForms = forms.getTotalCount();
 
         UserTO userTO = UserITCase.getUniqueSampleTO("createWithApproval@syncope.apache.org");
         userTO.getResources().add(RESOURCE_NAME_TESTDB);
@@ -177,9 +184,9 @@ public class UserWorkflowITCase extends AbstractITCase {
         assertNotNull(exception);
 
         // 2. request if there is any pending form for user just created
-        forms = userWorkflowService.getForms();
+        forms = userWorkflowService.getForms(new WorkflowFormQuery.Builder().page(1).size(1000).build());
         assertNotNull(forms);
-        assertEquals(preForms + 1, forms.size());
+        assertEquals(preForms + 1, forms.getTotalCount());
 
         // 3. as admin, request for changes: still pending approval
         String updatedUsername = "changed-" + UUID.randomUUID().toString();
@@ -229,9 +236,10 @@ public class UserWorkflowITCase extends AbstractITCase {
         Assume.assumeTrue(FlowableDetector.isFlowableEnabledForUsers(syncopeService));
 
         // read forms *before* any operation
-        List<WorkflowFormTO> forms = userWorkflowService.getForms();
+        PagedResult<WorkflowFormTO> forms =
+                userWorkflowService.getForms(new WorkflowFormQuery.Builder().page(1).size(1000).build());
         assertNotNull(forms);
-        int preForms = forms.size();
+        int preForms = forms.getTotalCount();
 
         UserTO created = createUser(UserITCase.getUniqueSampleTO("updateApproval@syncope.apache.org")).getEntity();
         assertNotNull(created);
@@ -247,9 +255,9 @@ public class UserWorkflowITCase extends AbstractITCase {
         assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
         assertEquals("updateApproval", userService.read(created.getKey()).getStatus());
 
-        forms = userWorkflowService.getForms();
+        forms = userWorkflowService.getForms(new WorkflowFormQuery.Builder().page(1).size(1000).build());
         assertNotNull(forms);
-        assertEquals(preForms + 1, forms.size());
+        assertEquals(preForms + 1, forms.getTotalCount());
 
         WorkflowFormTO form = userWorkflowService.getFormForUser(created.getKey());
         assertNotNull(form);
@@ -287,9 +295,10 @@ public class UserWorkflowITCase extends AbstractITCase {
         Assume.assumeTrue(FlowableDetector.isFlowableEnabledForUsers(syncopeService));
 
         // read forms *before* any operation
-        List<WorkflowFormTO> forms = userWorkflowService.getForms();
+        PagedResult<WorkflowFormTO> forms =
+                userWorkflowService.getForms(new WorkflowFormQuery.Builder().page(1).size(1000).build());
         assertNotNull(forms);
-        int preForms = forms.size();
+        int preForms = forms.getTotalCount();
 
         UserTO userTO = UserITCase.getUniqueSampleTO("issueSYNCOPE15@syncope.apache.org");
         userTO.getResources().clear();
@@ -312,8 +321,8 @@ public class UserWorkflowITCase extends AbstractITCase {
         assertEquals(userTO.getCreationDate(), userTO.getLastChangeDate());
 
         // 2. request if there is any pending form for user just created
-        forms = userWorkflowService.getForms();
-        assertEquals(preForms + 1, forms.size());
+        forms = userWorkflowService.getForms(new WorkflowFormQuery.Builder().page(1).size(1000).build());
+        assertEquals(preForms + 1, forms.getTotalCount());
 
         WorkflowFormTO form = userWorkflowService.getFormForUser(userTO.getKey());
         assertNotNull(form);
@@ -336,12 +345,83 @@ public class UserWorkflowITCase extends AbstractITCase {
         // 6. submit approve
         userTO = userWorkflowService.submitForm(form);
         assertNotNull(userTO);
-        assertEquals(preForms, userWorkflowService.getForms().size());
+        assertEquals(preForms, userWorkflowService.getForms(
+                new WorkflowFormQuery.Builder().page(1).size(1).build()).getTotalCount());
         assertNull(userWorkflowService.getFormForUser(userTO.getKey()));
 
         // 7.check that no more forms are still to be processed
-        forms = userWorkflowService.getForms();
-        assertEquals(preForms, forms.size());
+        forms = userWorkflowService.getForms(new WorkflowFormQuery.Builder().page(1).size(1000).build());
+        assertEquals(preForms, forms.getTotalCount());
     }
 
+
+    @Test
+    public void getFormsPaged() {
+        Assume.assumeTrue(FlowableDetector.isFlowableEnabledForUsers(syncopeService));
+
+        // users with group 0cbcabd2-4410-4b6b-8f05-a052b451d18f are defined in workflow as subject to approval
+        List<UserTO> users = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            UserTO userTO = UserITCase.getUniqueSampleTO("getFormsPaged" + i + "@syncope.apache.org");
+            userTO.getMemberships().add(
+                    new MembershipTO.Builder().group("0cbcabd2-4410-4b6b-8f05-a052b451d18f").build());
+            users.add(createUser(userTO).getEntity());
+        }
+
+        try {
+            PagedResult<WorkflowFormTO> all = userWorkflowService.getForms(
+                    new WorkflowFormQuery.Builder().page(1).size(1000).details(false).build());
+            int total = all.getTotalCount();
+            assertTrue(total >= users.size());
+            assertEquals(total, all.getResult().size());
+
+            // pages add up to the total count, with no overlap
+            Set<String> taskIds = new HashSet<>();
+            int page = 1;
+            PagedResult<WorkflowFormTO> paged;
+            do {
+                paged = userWorkflowService.getForms(
+                        new WorkflowFormQuery.Builder().page(page).size(2).details(false).build());
+                assertEquals(total, paged.getTotalCount());
+                assertEquals(Math.min(2, total - (page - 1) * 2), paged.getResult().size());
+                paged.getResult().forEach(form -> assertTrue(taskIds.add(form.getTaskId())));
+                page++;
+            } while (paged.getNext() != null);
+            assertEquals(total, taskIds.size());
+
+            // sorting
+            List<WorkflowFormTO> asc = userWorkflowService.getForms(
+                    new WorkflowFormQuery.Builder().page(1).size(1000).details(false).
+                            orderBy(SyncopeClient.getOrderByClauseBuilder().asc("createTime").build()).build()).
+                    getResult();
+            for (int i = 1; i < asc.size(); i++) {
+                assertFalse(asc.get(i).getCreateTime().before(asc.get(i - 1).getCreateTime()));
+            }
+            List<WorkflowFormTO> desc = userWorkflowService.getForms(
+                    new WorkflowFormQuery.Builder().page(1).size(1000).details(false).
+                            orderBy(SyncopeClient.getOrderByClauseBuilder().desc("createTime").build()).build()).
+                    getResult();
+            for (int i = 1; i < desc.size(); i++) {
+                assertFalse(desc.get(i).getCreateTime().after(desc.get(i - 1).getCreateTime()));
+            }
+
+            // filtering: count and returned forms agree, with or without details
+            for (boolean details : new boolean[] { false, true }) {
+                PagedResult<WorkflowFormTO> byUser = userWorkflowService.getForms(
+                        new WorkflowFormQuery.Builder().page(1).size(10).details(details).
+                                user(users.get(0).getUsername()).build());
+                assertEquals(1, byUser.getTotalCount());
+                assertEquals(1, byUser.getResult().size());
+                assertEquals(users.get(0).getUsername(), byUser.getResult().get(0).getUsername());
+                assertEquals(details, byUser.getResult().get(0).getUserTO() != null);
+            }
+
+            PagedResult<WorkflowFormTO> none = userWorkflowService.getForms(
+                    new WorkflowFormQuery.Builder().page(1).size(10).user("notfound").build());
+            assertEquals(0, none.getTotalCount());
+            assertTrue(none.getResult().isEmpty());
+        } finally {
+            users.forEach(user -> deleteUser(user.getKey()));
+        }
+    }
 }